@@ -108,6 +108,13 @@ struct DisplayState
    int height;
    int activePlotIndex;
    int plotCount;
+
+   // identifies the active plot's contents, independent of its size
+   std::string plotId;
+
+   // the plots either side of the active one which have images rendered
+   // (so that clients can prefetch them)
+   core::json::Array neighborsJson;
 };
 
 extern const char * const kPngFormat;
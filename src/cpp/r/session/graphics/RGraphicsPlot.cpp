@@ -41,6 +41,7 @@ Plot::Plot(const GraphicsDeviceFunctions& graphicsDevice,
    : graphicsDevice_(graphicsDevice), 
      baseDirPath_(baseDirPath),
      needsUpdate_(false),
+     contentChanged_(true),
      manipulator_(manipulatorSEXP)
 {
 }
@@ -54,6 +55,8 @@ Plot::Plot(const GraphicsDeviceFunctions& graphicsDevice,
      storageUuid_(storageUuid),
      renderedSize_(renderedSize),
      needsUpdate_(false),
+     contentId_(storageUuid),
+     contentChanged_(false),
      manipulator_()
 {
    // invalidate if the image file doesn't exist (allows the server
@@ -72,6 +75,21 @@ bool Plot::hasValidStorage() const
    return hasStorage() && snapshotFilePath().exists();
 }
 
+std::string Plot::contentId() const
+{
+   return contentId_;
+}
+
+void Plot::markContentChanged()
+{
+   contentChanged_ = true;
+}
+
+bool Plot::hasCurrentImage() const
+{
+   return hasStorage() && !needsUpdate_ && imageFilePath(storageUuid_).exists();
+}
+
 void Plot::invalidate()
 {
    needsUpdate_ = true;
@@ -151,6 +169,7 @@ Error Plot::renderFromDisplay()
    // update state
    storageUuid_ = storageUuid;
    needsUpdate_ = false;
+   updateContentId();
    
    // return error status 
    return removeError;
@@ -194,12 +213,23 @@ Error Plot::renderFromDisplaySnapshot(SEXP snapshot)
    // update state
    storageUuid_ = storageUuid;
    needsUpdate_ = true;
+   updateContentId();
    
    // return error status
    return removeError;
 }
    
 
+void Plot::updateContentId()
+{
+   // new contents are identified by the storage they were first saved to
+   if (contentChanged_)
+   {
+      contentId_ = storageUuid_;
+      contentChanged_ = false;
+   }
+}
+
 std::string Plot::imageFilename() const
 {
    return imageFilePath(storageUuid()).getFilename();
@@ -58,6 +58,14 @@ public:
    bool hasValidStorage() const;
    const DisplaySize& renderedSize() const { return renderedSize_; }
 
+   // identifies the plot's contents; unlike the storage uuid this doesn't
+   // change when the plot is re-rendered at a different size
+   std::string contentId() const;
+   void markContentChanged();
+
+   // whether the plot's image is rendered and up to date
+   bool hasCurrentImage() const;
+
    bool hasManipulator() const;
    SEXP manipulatorSEXP() const;
    void manipulatorAsJson(core::json::Value* pValue) const;
@@ -77,6 +85,7 @@ public:
    
 private:
    bool hasStorage() const;
+   void updateContentId();
 
    core::FilePath snapshotFilePath() const;
    core::FilePath snapshotFilePath(const std::string& storageUuid) const;
@@ -93,6 +102,8 @@ private:
    std::string storageUuid_;
    DisplaySize renderedSize_;
    bool needsUpdate_;
+   std::string contentId_;
+   bool contentChanged_;
 
    // manipulator and protection scope for it
    mutable PlotManipulator manipulator_;
@@ -557,6 +557,25 @@ void PlotManager::render(boost::function<void(DisplayState)> outputFunction)
                              r::session::graphics::device::getHeight(),
                              activePlotIndex(), 
                              plotCount());
+   if (hasPlot())
+   {
+      currentState.plotId = activePlot().contentId();
+
+      for (int index : { activePlot_ - 1, activePlot_ + 1 })
+      {
+         if (!isValidPlotIndex(index) || !plots_[index]->hasCurrentImage())
+            continue;
+
+         const Plot& plot = *(plots_[index]);
+         json::Object neighborJson;
+         neighborJson["plotIndex"] = index;
+         neighborJson["plotId"] = plot.contentId();
+         neighborJson["filename"] = plot.imageFilename();
+         neighborJson["width"] = plot.renderedSize().width;
+         neighborJson["height"] = plot.renderedSize().height;
+         currentState.neighborsJson.push_back(neighborJson);
+      }
+   }
    outputFunction(currentState);
 }
    
@@ -858,6 +877,10 @@ void PlotManager::onDeviceDrawing()
    if (suppressDeviceEvents_)
       return;
    
+   // drawing (as opposed to resizing) changes the plot's contents
+   if (hasPlot())
+      activePlot().markContentChanged();
+
    invalidateActivePlot();
 }
 
@@ -241,6 +241,7 @@ namespace prefs {
 #define kExecutionBehaviorParagraph "paragraph"
 #define kShowTerminalTab "show_terminal_tab"
 #define kTerminalLocalEcho "terminal_local_echo"
+#define kTerminalDropFloodOutput "terminal_drop_flood_output"
 #define kTerminalWebsockets "terminal_websockets"
 #define kTerminalCloseBehavior "terminal_close_behavior"
 #define kTerminalCloseBehaviorAlways "always"
@@ -1264,6 +1265,12 @@ public:
    bool terminalLocalEcho();
    core::Error setTerminalLocalEcho(bool val);
 
+   /**
+    * Whether to discard older pending output when a program writes to the Terminal faster than it can be displayed.
+    */
+   bool terminalDropFloodOutput();
+   core::Error setTerminalDropFloodOutput(bool val);
+
    /**
     * Whether to use websockets to communicate with the shell in the Terminal tab.
     */
@@ -64,11 +64,24 @@ const std::string& findCategory()
 
 namespace {
 
-// This must be the same as MAX_COUNT in FindOutputPane.java
-const size_t MAX_COUNT = 1000;
-
 const size_t MAX_LINE_LENGTH = 3000;
 
+// The most results replayed to the client at session init, or saved when the
+// session suspends. Finds and replaces themselves are not limited; this only
+// bounds the size of the session init payload and the suspended state.
+const size_t MAX_REPLAY_COUNT = 10000;
+
+json::Array firstResults(const json::Array& results, size_t count)
+{
+   if (results.getSize() <= count)
+      return results;
+
+   json::Array first;
+   for (size_t i = 0; i < count; i++)
+      first.push_back(results[i]);
+   return first;
+}
+
 class ProgramArguments
 {
  public:
@@ -178,6 +191,7 @@ public:
       replace_(false),
       preview_(false),
       gitFlag_(false),
+      savedResultCount_(0),
       pReplaceProgress_(nullptr)
    {
    }
@@ -330,6 +344,7 @@ public:
       replacePattern_.clear();
       replaceMatchOns_.clear();
       replaceMatchOffs_.clear();
+      savedResultCount_ = 0;
       pReplaceProgress_ = nullptr;
    }
 
@@ -351,6 +366,11 @@ public:
       if (error)
          return error;
 
+      // results beyond those saved aren't restored, but are still counted
+      error = json::getOptionalParam(asJson, "resultCount", 0, &savedResultCount_);
+      if (error)
+         return error;
+
       error = json::readObject(results,
                                "file", files_,
                                "line", lineNums_,
@@ -372,7 +392,8 @@ public:
       return Success();
    }
 
-   json::Object asJson()
+   // Includes at most maxResults of the results, along with the total count
+   json::Object asJson(size_t maxResults)
    {
       json::Object obj;
       obj["handle"] = handle_;
@@ -382,14 +403,15 @@ public:
       obj["ignoreCase"] = ignoreCase_;
 
       json::Object results;
-      results["file"] = files_;
-      results["line"] = lineNums_;
-      results["lineValue"] = contents_;
-      results["matchOn"] = matchOns_;
-      results["matchOff"] = matchOffs_;
-      results["replaceMatchOn"] = replaceMatchOns_;
-      results["replaceMatchOff"] = replaceMatchOffs_;
+      results["file"] = firstResults(files_, maxResults);
+      results["line"] = firstResults(lineNums_, maxResults);
+      results["lineValue"] = firstResults(contents_, maxResults);
+      results["matchOn"] = firstResults(matchOns_, maxResults);
+      results["matchOff"] = firstResults(matchOffs_, maxResults);
+      results["replaceMatchOn"] = firstResults(replaceMatchOns_, maxResults);
+      results["replaceMatchOff"] = firstResults(replaceMatchOffs_, maxResults);
       obj["results"] = results;
+      obj["resultCount"] = std::max(resultCount(), savedResultCount_);
 
       obj["running"] = running_;
 
@@ -419,6 +441,7 @@ private:
    std::string replacePattern_;
    json::Array replaceMatchOns_;
    json::Array replaceMatchOffs_;
+   int savedResultCount_;
    // this is not tracked via json because it exclusively applies to replaces (not previews)
    // which can not currently be paused
    LocalProgress* pReplaceProgress_;
@@ -990,10 +1013,6 @@ private:
       json::Array replaceMatchOffs;
       json::Array errors;
 
-      int recordsToProcess = MAX_COUNT + 1 - findResults().resultCount();
-      if (recordsToProcess < 0)
-         recordsToProcess = 0; 
-
       // directories that should be ignored (e.g. virtual envs, website outpu
       std::vector<FilePath> ignoreDirs = module_context::ignoreContentDirs();
 
@@ -1001,8 +1020,7 @@ private:
       size_t nextLineStart = 0;
       size_t pos = -1;
       std::set<std::string> errorMessage;
-      while (recordsToProcess &&
-             std::string::npos != (pos = stdOutBuf_.find('\n', pos + 1)))
+      while (std::string::npos != (pos = stdOutBuf_.find('\n', pos + 1)))
       {
          std::string line = stdOutBuf_.substr(nextLineStart, pos - nextLineStart);
          nextLineStart = pos + 1;
@@ -1126,7 +1144,6 @@ private:
             replaceMatchOffs.push_back(replaceMatchOff);
             json::Array combinedErrors = json::toJsonArray(errorMessage);
             errors.push_back(combinedErrors);
-            recordsToProcess--;
          }
       }
       // when doing a replace, we haven't completed the replace for the last file here
@@ -1183,14 +1200,6 @@ private:
             module_context::enqueClientEvent(
                     ClientEvent(client_events::kReplaceResult, result));
       }
-
-      if (recordsToProcess <= 0)
-      {
-         if (!findResults().replace())
-            findResults().onFindEnd(handle());
-         else
-            findResults().onReplaceEnd(handle());
-      }
    }
 
    void onStderr(const core::system::ProcessOperations& /*ops*/, const std::string& data)
@@ -1814,7 +1823,7 @@ core::Error stopReplace(const json::JsonRpcRequest& request,
 void onSuspend(core::Settings* pSettings)
 {
    std::ostringstream os;
-   findResults().asJson().write(os);
+   findResults().asJson(MAX_REPLAY_COUNT).write(os);
    pSettings->set("find-in-files-state", os.str());
 }
 
@@ -1838,7 +1847,7 @@ void onResume(const core::Settings& settings)
 
 json::Object findInFilesStateAsJson()
 {
-   return findResults().asJson();
+   return findResults().asJson(MAX_REPLAY_COUNT);
 }
 
 core::Error initialize()
@@ -20,6 +20,9 @@
 
 #include "SessionPackages.hpp"
 
+#include <map>
+#include <set>
+
 #include <boost/format.hpp>
 #include <boost/bind/bind.hpp>
 
@@ -190,6 +193,82 @@ Error availablePackages(const core::json::JsonRpcRequest&,
    return Success();
 }
 
+// the package list most recently sent to the client, and its version; used
+// to send only the packages that changed when the package state changes
+json::Array s_packageList;
+int s_packageListVersion = 0;
+
+std::string packageField(const json::Object& package, const std::string& name)
+{
+   json::Object::Iterator it = package.find(name);
+   if (it == package.end() || !(*it).getValue().isString())
+      return std::string();
+   return (*it).getValue().getString();
+}
+
+// packages are identified by their name and library
+std::string packageKey(const json::Value& package)
+{
+   if (!package.isObject())
+      return std::string();
+
+   json::Object object = package.getObject();
+   return packageField(object, "name") + "\n" + packageField(object, "library");
+}
+
+// records the package list being sent to the client, returning its version
+int recordPackageList(const json::Value& packageListJson)
+{
+   json::Array packageList;
+   if (packageListJson.isArray())
+      packageList = packageListJson.getArray();
+
+   if (!(packageList == s_packageList))
+   {
+      s_packageList = packageList;
+      s_packageListVersion++;
+   }
+
+   return s_packageListVersion;
+}
+
+// computes the packages added (or changed) and removed between two package
+// lists; returns false if so much changed that the whole list should be sent
+bool packageListDelta(const json::Array& before,
+                      const json::Array& after,
+                      json::Array* pAdded,
+                      json::Array* pRemoved)
+{
+   std::map<std::string, json::Value> beforeByKey;
+   for (const json::Value& package : before)
+      beforeByKey[packageKey(package)] = package;
+
+   std::set<std::string> afterKeys;
+   for (const json::Value& package : after)
+   {
+      std::string key = packageKey(package);
+      afterKeys.insert(key);
+
+      auto it = beforeByKey.find(key);
+      if (it == beforeByKey.end() || !(it->second == package))
+         pAdded->push_back(package);
+   }
+
+   for (const auto& entry : beforeByKey)
+   {
+      if (afterKeys.count(entry.first))
+         continue;
+
+      json::Object package = entry.second.getObject();
+      json::Object removed;
+      removed["name"] = packageField(package, "name");
+      removed["library"] = packageField(package, "library");
+      pRemoved->push_back(removed);
+   }
+
+   return (pAdded->getSize() + pRemoved->getSize()) * 2 < after.getSize();
+}
+
 Error getPackageStateJson(json::Object* pJson)
 {
    using namespace module_context;
@@ -344,7 +423,10 @@ Error getPackageState(const json::JsonRpcRequest& ,
    if (error)
       LOG_ERROR(error);
    else
+   {
+      result["version"] = recordPackageList(result["package_list"]);
       pResponse->setResult(result);
+   }
    return error;
 }
 
@@ -355,12 +437,41 @@ void enquePackageStateChanged()
    json::Object pkgState;
    Error error = getPackageStateJson(&pkgState);
    if (error)
+   {
       LOG_ERROR(error);
-   else
+      return;
+   }
+
+   // if the client already has a package list, send just the packages
+   // which have changed since
+   json::Value packageListJson = pkgState["package_list"];
+   json::Array added, removed;
+   bool sendDelta =
+         s_packageListVersion > 0 &&
+         packageListJson.isArray() &&
+         packageListDelta(s_packageList, packageListJson.getArray(), &added, &removed);
+
+   int baseVersion = s_packageListVersion;
+   int count = packageListJson.isArray() ?
+         static_cast<int>(packageListJson.getArray().getSize()) : 0;
+   int version = recordPackageList(packageListJson);
+
+   if (sendDelta)
    {
-      ClientEvent event(client_events::kPackageStateChanged, pkgState);
-      module_context::enqueClientEvent(event);
+      json::Object delta;
+      delta["base_version"] = baseVersion;
+      delta["version"] = version;
+      delta["added"] = added;
+      delta["removed"] = removed;
+      delta["count"] = count;
+
+      pkgState.erase("package_list");
+      pkgState["package_delta"] = delta;
    }
+   pkgState["version"] = version;
+
+   ClientEvent event(client_events::kPackageStateChanged, pkgState);
+   module_context::enqueClientEvent(event);
 }
 
 Error initialize()
@@ -14,6 +14,7 @@
  */
 
 #include "SessionSource.hpp"
+#include "SessionSourceEdits.hpp"
 #include "rmarkdown/NotebookChunkDefs.hpp"
 
 #include <string>
@@ -140,10 +141,12 @@ std::string inferDocumentType(const FilePath& documentPath,
 }
 
 void writeDocToJson(boost::shared_ptr<SourceDocument> pDoc,
-                    core::json::Object* pDocJson)
+                    core::json::Object* pDocJson,
+                    bool includeContents = true)
 {
    // write the doc
-   pDoc->writeToJson(pDocJson);
+   pDoc->writeToJson(pDocJson, includeContents);
+   (*pDocJson)["contents_deferred"] = !includeContents;
 
    // derive the extended type property
    (*pDocJson)["extended_type"] = module_context::events()
@@ -151,7 +154,7 @@ void writeDocToJson(boost::shared_ptr<SourceDocument> pDoc,
 
    // amend with chunk definitions if an R Markdown document
    json::Object notebook;
-   if (pDoc->isRMarkdownDocument())
+   if (includeContents && pDoc->isRMarkdownDocument())
    {
       Error error = rmarkdown::notebook::getChunkValues(
             pDoc->path(), pDoc->id(), &notebook);
@@ -652,6 +655,97 @@ Error saveDocumentDiff(const json::JsonRpcRequest& request,
    return Success();
 }
 
+Error saveDocumentEdits(const json::JsonRpcRequest& request,
+                        json::JsonRpcResponse* pResponse)
+{
+   // unique id and jsonPath (can be null for auto-save)
+   std::string id;
+   json::Value jsonPath, jsonType, jsonEncoding, jsonFoldSpec, jsonChunkOutput;
+
+   // The edits made to the document since the last successful save, in the
+   // order they were made, along with the number of rows in the client's
+   // document (used, with the length each edit records removing, to detect
+   // edits lost on the client or applied to the wrong base).
+   json::Array edits;
+   int rowCount = 0;
+
+   // This is the expected hash of the current document. If the current hash
+   // value is different than this value, then the document cannot be patched
+   // and no hash is returned (signalling the client to save the full contents).
+   std::string hash;
+
+   // indicated whether or not this is write operation should be retried
+   // if the file handle cannot be acquired
+   bool retryWrite = false;
+
+   // read params
+   Error error = json::readParams(request.params,
+                                  &id,
+                                  &jsonPath,
+                                  &jsonType,
+                                  &jsonEncoding,
+                                  &jsonFoldSpec,
+                                  &jsonChunkOutput,
+                                  &edits,
+                                  &rowCount,
+                                  &hash,
+                                  &retryWrite);
+   if (error)
+      return error;
+
+   // if this has no path then it is an autosave, in this case
+   // suppress change detection and write retries
+   bool hasPath = json::isType<std::string>(jsonPath);
+   if (!hasPath)
+      pResponse->setSuppressDetectChanges(true);
+
+   // get the doc
+   boost::shared_ptr<SourceDocument> pDoc(new SourceDocument());
+   error = source_database::get(id, pDoc);
+   if (error)
+      return sourceDatabaseError(error);
+
+   // Don't even attempt anything if we're not working off the same original
+   if (pDoc->hash() != hash)
+      return Success();
+
+   // as with diff-based saves, failing to apply the edits leaves the response
+   // without a hash, which tells the client to fall back to a full save
+   try
+   {
+      std::string contents(pDoc->contents());
+      error = applyDocumentEdits(edits, &contents);
+      if (error)
+      {
+         LOG_ERROR(error);
+         return Success();
+      }
+
+      if (documentRowCount(contents) != rowCount)
+      {
+         LOG_WARNING_MESSAGE("Edited document does not match client; discarding edits");
+         return Success();
+      }
+
+      // track if we're updating the document contents
+      bool hasChanges = contents != pDoc->contents();
+      error = saveDocumentCore(contents, jsonPath, jsonType, jsonEncoding,
+                               jsonFoldSpec, jsonChunkOutput, pDoc, retryWrite);
+      if (error)
+         return error;
+
+      error = sourceDatabasePutWithUpdatedContents(pDoc, hasChanges, retryWrite);
+      if (error)
+         return error;
+
+      // set document hash
+      pResponse->setResult(pDoc->hash());
+   }
+   CATCH_UNEXPECTED_EXCEPTION
+
+   return Success();
+}
+
 Error checkForExternalEdit(const json::JsonRpcRequest& request,
                            json::JsonRpcResponse* pResponse)
 {
@@ -1437,6 +1531,17 @@ SEXP rs_readSourceDocument(SEXP idSEXP)
    return r::sexp::create(pDoc->contents(), &protect);
 }
 
+// clean documents backed by a file are restored by the client as placeholder
+// tabs, which fetch the document (with get_source_document) when first
+// needed; there's no need to send their contents with the session info
+bool canDeferContents(boost::shared_ptr<SourceDocument> pDoc)
+{
+   if (pDoc->dirty() || pDoc->path().empty() || !pDoc->collabServer().empty())
+      return false;
+
+   return module_context::resolveAliasedPath(pDoc->path()).isRegularFile();
+}
+
 } // anonymous namespace
 
 Error clientInitDocuments(core::json::Array* pJsonDocs)
@@ -1470,7 +1575,7 @@ Error clientInitDocuments(core::json::Array* pJsonDocs)
          LOG_ERROR(error);
 
       json::Object jsonDoc;
-      writeDocToJson(pDoc, &jsonDoc);
+      writeDocToJson(pDoc, &jsonDoc, !canDeferContents(pDoc));
       pJsonDocs->push_back(jsonDoc);
 
       source_database::events().onDocUpdated(pDoc);
@@ -1509,6 +1614,7 @@ Error initialize()
       (bind(registerRpcMethod, "open_document", openDocument))
       (bind(registerRpcMethod, "save_document", saveDocument))
       (bind(registerRpcMethod, "save_document_diff", saveDocumentDiff))
+      (bind(registerRpcMethod, "save_document_edits", saveDocumentEdits))
       (bind(registerRpcMethod, "check_for_external_edit", checkForExternalEdit))
       (bind(registerRpcMethod, "ignore_external_edit", ignoreExternalEdit))
       (bind(registerRpcMethod, "set_source_document_on_save", setSourceDocumentOnSave))
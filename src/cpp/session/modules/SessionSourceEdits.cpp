@@ -0,0 +1,170 @@
+/*
+ * SessionSourceEdits.cpp
+ *
+ * Copyright (C) 2022 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+
+#include "SessionSourceEdits.hpp"
+
+#include <algorithm>
+#include <cstdint>
+
+#include <shared_core/Error.hpp>
+
+using namespace rstudio::core;
+
+namespace rstudio {
+namespace session {
+namespace modules {
+namespace source {
+
+namespace {
+
+// Decodes the UTF-8 character starting at the given offset, advancing the
+// offset past it. Malformed sequences are decoded leniently (as the client
+// never sends them, they only need to be consumed consistently).
+std::uint32_t decodeCharacter(const std::string& contents,
+                              std::string::size_type* pOffset)
+{
+   unsigned char ch = static_cast<unsigned char>(contents[*pOffset]);
+
+   std::uint32_t codePoint;
+   int length;
+   if (ch < 0x80)
+   {
+      codePoint = ch;
+      length = 1;
+   }
+   else if (ch < 0xE0)
+   {
+      codePoint = ch & 0x1F;
+      length = 2;
+   }
+   else if (ch < 0xF0)
+   {
+      codePoint = ch & 0x0F;
+      length = 3;
+   }
+   else
+   {
+      codePoint = ch & 0x07;
+      length = 4;
+   }
+
+   *pOffset += 1;
+   for (int i = 1; i < length && *pOffset < contents.size(); i++, *pOffset += 1)
+      codePoint = (codePoint << 6) | (static_cast<unsigned char>(contents[*pOffset]) & 0x3F);
+
+   return codePoint;
+}
+
+// Converts a (row, column) position, with the column measured in UTF-16 code
+// units (as used by the client-side editor), into a byte offset within
+// the UTF-8 encoded document contents. Returns false if the position does
+// not exist in the document.
+bool documentPositionToOffset(const std::string& contents,
+                              int row,
+                              int column,
+                              std::string::size_type* pOffset)
+{
+   if (row < 0 || column < 0)
+      return false;
+
+   // find the start of the requested row
+   std::string::size_type lineStart = 0;
+   for (int i = 0; i < row; i++)
+   {
+      std::string::size_type newline = contents.find('\n', lineStart);
+      if (newline == std::string::npos)
+         return false;
+      lineStart = newline + 1;
+   }
+
+   // walk the row, counting UTF-16 code units; characters outside the basic
+   // multilingual plane occupy two code units (a surrogate pair)
+   std::string::size_type offset = lineStart;
+   int units = 0;
+   while (units < column && offset < contents.size() && contents[offset] != '\n')
+   {
+      std::uint32_t codePoint = decodeCharacter(contents, &offset);
+      units += (codePoint >= 0x10000) ? 2 : 1;
+   }
+
+   // a column past the end of the row means the client's document differs
+   if (units != column)
+      return false;
+
+   *pOffset = std::min(offset, contents.size());
+   return true;
+}
+
+// Counts the UTF-16 code units between two byte offsets within the UTF-8
+// encoded document contents.
+int utf16Length(const std::string& contents,
+                std::string::size_type start,
+                std::string::size_type end)
+{
+   int units = 0;
+   std::string::size_type offset = start;
+   while (offset < end)
+   {
+      std::uint32_t codePoint = decodeCharacter(contents, &offset);
+      units += (codePoint >= 0x10000) ? 2 : 1;
+   }
+   return units;
+}
+
+} // anonymous namespace
+
+Error applyDocumentEdits(const json::Array& edits, std::string* pContents)
+{
+   for (const json::Value& editJson : edits)
+   {
+      if (!json::isType<json::Object>(editJson))
+         return systemError(boost::system::errc::invalid_argument, ERROR_LOCATION);
+
+      int startRow, startColumn, endRow, endColumn, removedLength;
+      std::string text;
+      Error error = json::readObject(editJson.getObject(),
+                                     "start_row", startRow,
+                                     "start_column", startColumn,
+                                     "end_row", endRow,
+                                     "end_column", endColumn,
+                                     "removed_length", removedLength,
+                                     "text", text);
+      if (error)
+         return error;
+
+      std::string::size_type start, end;
+      if (!documentPositionToOffset(*pContents, startRow, startColumn, &start) ||
+          !documentPositionToOffset(*pContents, endRow, endColumn, &end) ||
+          end < start ||
+          utf16Length(*pContents, start, end) != removedLength)
+      {
+         return systemError(boost::system::errc::invalid_argument, ERROR_LOCATION);
+      }
+
+      pContents->replace(start, end - start, text);
+   }
+
+   return Success();
+}
+
+int documentRowCount(const std::string& contents)
+{
+   return static_cast<int>(std::count(contents.begin(), contents.end(), '\n')) + 1;
+}
+
+} // namespace source
+} // namespace modules
+} // namespace session
+} // namespace rstudio
@@ -0,0 +1,53 @@
+/*
+ * SessionSourceEdits.hpp
+ *
+ * Copyright (C) 2022 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+
+#ifndef SESSION_SOURCE_EDITS_HPP
+#define SESSION_SOURCE_EDITS_HPP
+
+#include <string>
+
+#include <shared_core/json/Json.hpp>
+
+namespace rstudio {
+namespace core {
+   class Error;
+}
+}
+
+namespace rstudio {
+namespace session {
+namespace modules {
+namespace source {
+
+// Applies a sequence of edits, as produced by the client from editor change
+// events, to the (UTF-8 encoded) document contents. Each edit replaces the
+// range between its start and end positions (as of the document produced by
+// the preceding edits, with columns in UTF-16 code units) with its text.
+// Fails, leaving the contents partially edited, if any edit's range does not
+// exist in the document or does not span the number of UTF-16 code units the
+// client recorded removing (in which case the documents have diverged).
+core::Error applyDocumentEdits(const core::json::Array& edits,
+                               std::string* pContents);
+
+// Returns the number of rows in the document, as counted by the client-side
+// editor (one more than the number of newlines).
+int documentRowCount(const std::string& contents);
+
+} // namespace source
+} // namespace modules
+} // namespace session
+} // namespace rstudio
+
+#endif // SESSION_SOURCE_EDITS_HPP
@@ -0,0 +1,143 @@
+/*
+ * SessionSourceEditsTests.cpp
+ *
+ * Copyright (C) 2022 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+
+#include "SessionSourceEdits.hpp"
+
+#include <shared_core/Error.hpp>
+
+#define RSTUDIO_NO_TESTTHAT_ALIASES
+#include <tests/TestThat.hpp>
+
+namespace rstudio {
+namespace session {
+namespace modules {
+namespace source {
+namespace tests {
+
+using namespace rstudio::core;
+
+namespace {
+
+json::Object edit(int startRow, int startColumn,
+                  int endRow, int endColumn,
+                  int removedLength,
+                  const std::string& text)
+{
+   json::Object edit;
+   edit["start_row"] = startRow;
+   edit["start_column"] = startColumn;
+   edit["end_row"] = endRow;
+   edit["end_column"] = endColumn;
+   edit["removed_length"] = removedLength;
+   edit["text"] = text;
+   return edit;
+}
+
+} // anonymous namespace
+
+TEST_CASE("SessionSourceEdits")
+{
+   SECTION("Insert text within a line")
+   {
+      std::string contents("x <- 1\ny <- 2");
+      json::Array edits;
+      edits.push_back(edit(0, 6, 0, 6, 0, "0"));
+
+      REQUIRE_FALSE(applyDocumentEdits(edits, &contents));
+      CHECK(contents == "x <- 10\ny <- 2");
+   }
+
+   SECTION("Replace text spanning lines")
+   {
+      std::string contents("a\nb\nc\nd");
+      json::Array edits;
+      edits.push_back(edit(1, 0, 2, 1, 3, "x\ny\nz"));
+
+      REQUIRE_FALSE(applyDocumentEdits(edits, &contents));
+      CHECK(contents == "a\nx\ny\nz\nd");
+   }
+
+   SECTION("Apply edits relative to the preceding edits")
+   {
+      std::string contents("one\ntwo");
+      json::Array edits;
+      edits.push_back(edit(0, 3, 0, 3, 0, "\nmiddle"));
+      edits.push_back(edit(2, 0, 2, 3, 3, "three"));
+      edits.push_back(edit(0, 0, 1, 0, 4, ""));
+
+      REQUIRE_FALSE(applyDocumentEdits(edits, &contents));
+      CHECK(contents == "middle\nthree");
+   }
+
+   SECTION("Measure columns in UTF-16 code units")
+   {
+      // 'é' is one code unit (two bytes); the emoji is two code units
+      // (four bytes)
+      std::string contents("caf\xC3\xA9 \xF0\x9F\x98\x80!");
+      json::Array edits;
+      edits.push_back(edit(0, 7, 0, 8, 1, "?"));
+      edits.push_back(edit(0, 4, 0, 5, 1, "_"));
+
+      REQUIRE_FALSE(applyDocumentEdits(edits, &contents));
+      CHECK(contents == "caf\xC3\xA9_\xF0\x9F\x98\x80?");
+   }
+
+   SECTION("Reject positions outside the document")
+   {
+      std::string contents("abc\ndef");
+
+      json::Array badRow;
+      badRow.push_back(edit(2, 0, 2, 0, 0, "x"));
+      CHECK(applyDocumentEdits(badRow, &contents));
+
+      json::Array badColumn;
+      badColumn.push_back(edit(0, 4, 0, 4, 0, "x"));
+      CHECK(applyDocumentEdits(badColumn, &contents));
+
+      json::Array reversed;
+      reversed.push_back(edit(1, 2, 0, 1, 0, "x"));
+      CHECK(applyDocumentEdits(reversed, &contents));
+   }
+
+   SECTION("Reject ranges not matching the removed length")
+   {
+      // the client removed two code units, but the range here spans three
+      std::string contents("ab\ncd");
+      json::Array edits;
+      edits.push_back(edit(0, 1, 1, 1, 2, ""));
+      CHECK(applyDocumentEdits(edits, &contents));
+
+      // removing the emoji removes two code units
+      std::string emoji("a\xF0\x9F\x98\x80b");
+      json::Array emojiEdits;
+      emojiEdits.push_back(edit(0, 1, 0, 3, 2, ""));
+      REQUIRE_FALSE(applyDocumentEdits(emojiEdits, &emoji));
+      CHECK(emoji == "ab");
+   }
+
+   SECTION("Count rows as the editor does")
+   {
+      CHECK(documentRowCount("") == 1);
+      CHECK(documentRowCount("abc") == 1);
+      CHECK(documentRowCount("abc\n") == 2);
+      CHECK(documentRowCount("a\nb\nc") == 3);
+   }
+}
+
+} // end namespace tests
+} // end namespace source
+} // end namespace modules
+} // end namespace session
+} // end namespace rstudio
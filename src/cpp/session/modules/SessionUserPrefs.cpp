@@ -59,6 +59,31 @@ Error setPreferences(const json::JsonRpcRequest& request,
    return userPrefs().writeLayer(PREF_LAYER_USER, val.getObject());
 }
 
+Error setPreferenceChanges(const json::JsonRpcRequest& request,
+                           json::JsonRpcResponse* pResponse)
+{
+   json::Object changed;
+   json::Array removed;
+   Error error = json::readParams(request.params, &changed, &removed);
+   if (error)
+      return error;
+
+   // Apply the changes to the user layer as it is now; the rest of the layer
+   // is left as it was
+   json::Object prefs = userPrefs().userPrefLayer();
+   for (const auto pref: changed)
+   {
+      prefs[pref.getName()] = pref.getValue();
+   }
+   for (const auto& name: removed)
+   {
+      if (name.isString())
+         prefs.erase(name.getString());
+   }
+
+   return userPrefs().writeLayer(PREF_LAYER_USER, prefs);
+}
+
 Error setState(const json::JsonRpcRequest& request,
                json::JsonRpcResponse* pResponse)
 {
@@ -396,6 +421,7 @@ core::Error initialize()
    ExecBlock initBlock;
    initBlock.addFunctions()
       (bind(registerRpcMethod, "set_user_prefs", setPreferences))
+      (bind(registerRpcMethod, "set_user_pref_changes", setPreferenceChanges))
       (bind(registerRpcMethod, "set_user_state", setState))
       (bind(registerRpcMethod, "edit_user_prefs", editPreferences))
       (bind(registerRpcMethod, "clear_user_prefs", clearPreferences))
@@ -368,15 +368,40 @@ void connectionListObjects(const json::JsonRpcRequest& request,
       return;
    }
 
+   // get the page of objects requested, and the filter to apply
+   int offset = 0;
+   int limit = 0;
+   std::string filter;
+   bool bypassCache = false;
+   error = json::readParam(request.params, 2, &offset);
+   if (!error)
+      error = json::readParam(request.params, 3, &limit);
+   if (!error)
+      error = json::readParam(request.params, 4, &filter);
+   if (!error)
+      error = json::readParam(request.params, 5, &bypassCache);
+   if (error)
+   {
+      json::JsonRpcResponse response;
+      continuation(error, &response);
+      return;
+   }
+
    // response
    json::JsonRpcResponse response;
 
-   // get the list of objects
+   // get the page of objects; the full list is cached (per connection) by
+   // the R function, so paging and filtering don't query the database again
+   // (unless the user explicitly asked for the objects to be refreshed)
    SEXP objects;
    r::sexp::Protect protect;
-   r::exec::RFunction listObjects(".rs.connectionListObjects",
+   r::exec::RFunction listObjects(".rs.connectionListObjectsPage",
                                  connectionId.type,
-                                 connectionId.host);
+                                 connectionId.host,
+                                 offset,
+                                 limit,
+                                 filter,
+                                 bypassCache);
    addObjectSpecifiers(objectSpecifier, &listObjects);
    error = listObjects.call(&objects, &protect);
    if (error)
@@ -448,7 +473,7 @@ void connectionListFields(const json::JsonRpcRequest& request,
    // get the list of fields
    r::sexp::Protect rProtect;
    SEXP sexpResult;
-   r::exec::RFunction listCols(".rs.connectionListColumns",
+   r::exec::RFunction listCols(".rs.connectionListColumnsCached",
                                  connectionId.type,
                                  connectionId.host);
    
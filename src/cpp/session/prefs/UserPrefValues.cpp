@@ -1804,6 +1804,19 @@ core::Error UserPrefValues::setTerminalLocalEcho(bool val)
    return writePref("terminal_local_echo", val);
 }
 
+/**
+ * Whether to discard older pending output when a program writes to the Terminal faster than it can be displayed.
+ */
+bool UserPrefValues::terminalDropFloodOutput()
+{
+   return readPref<bool>("terminal_drop_flood_output");
+}
+
+core::Error UserPrefValues::setTerminalDropFloodOutput(bool val)
+{
+   return writePref("terminal_drop_flood_output", val);
+}
+
 /**
  * Whether to use websockets to communicate with the shell in the Terminal tab.
  */
@@ -3478,6 +3491,7 @@ std::vector<std::string> UserPrefValues::allKeys()
       kExecutionBehavior,
       kShowTerminalTab,
       kTerminalLocalEcho,
+      kTerminalDropFloodOutput,
       kTerminalWebsockets,
       kTerminalCloseBehavior,
       kTerminalTrackEnvironment,
@@ -110,26 +110,10 @@ public class ConsoleOutputWriter
          virtualConsole_.setVirtualizedDisableOverride(false);
       }
 
-      // set the appendTarget to the VirtualConsole bucket if possible
-      Element appendTarget = virtualConsole_.getParent();
-
-      // we never want to count lines based on the trailing element so grab its parent, if possible
-      // otherwise just grab the outElement
-      if (appendTarget.getAttribute("tabindex").equals("-1") && appendTarget.getTagName().equalsIgnoreCase("span"))
-      {
-         if (appendTarget.getParentElement() != null)
-            appendTarget = appendTarget.getParentElement();
-         else {
-            appendTarget = outEl;
-         }
-      }
-
-      int oldLineCount = DomUtils.countLines(appendTarget, true);
       virtualConsole_.submit(text, className, isError, ariaLiveAnnounce);
-      int newLineCount = DomUtils.countLines(appendTarget, true);
 
       if (!virtualConsole_.isLimitConsoleVisible())
-         lines_ += newLineCount - oldLineCount;
+         lines_ += virtualConsole_.getLineCountDelta();
 
       return ignoreLineCount || !trimExcess();
    }
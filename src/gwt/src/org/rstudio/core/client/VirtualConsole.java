@@ -207,6 +207,7 @@ public class VirtualConsole
       clearPartialAnsiCode();
       output_.setLength(0);
       cursor_ = 0;
+      lineCount_ = 0;
       class_.clear();
       if (parent_ != null)
          parent_.setInnerHTML("");
@@ -538,6 +539,13 @@ public class VirtualConsole
             insertText(new ClassRange(start, clazz, text, preserveHTML_, hyperlink_));
       }
 
+      // keep the line count in sync with the characters we're replacing, so
+      // callers don't need to recount lines in the DOM after each submit
+      int replaceEnd = Math.min(end, output_.length());
+      if (start < replaceEnd)
+         lineCount_ -= StringUtil.newlineCount(output_.substring(start, replaceEnd));
+      lineCount_ += StringUtil.newlineCount(text);
+
       output_.replace(start, end, text);
       cursor_ += text.length();
    }
@@ -561,6 +569,13 @@ public class VirtualConsole
     * output range (span) even if style matches previous output
     */
    public void submit(String data, String clazz, boolean forceNewRange, boolean ariaLiveAnnounce)
+   {
+      int oldLineCount = lineCount_;
+      submitImpl(data, clazz, forceNewRange, ariaLiveAnnounce);
+      lineCountDelta_ = lineCount_ - oldLineCount;
+   }
+
+   private void submitImpl(String data, String clazz, boolean forceNewRange, boolean ariaLiveAnnounce)
    {
       boolean wasAtBottom = false;
       if (isVirtualized())
@@ -762,6 +777,20 @@ public class VirtualConsole
       return newText_ == null ? "" : newText_.toString();
    }
 
+   // Number of lines added (or, if negative, removed) by the last submit()
+   // call; computed from the text replaced in the output buffer so callers
+   // can track line counts without walking the DOM.
+   public int getLineCountDelta()
+   {
+      return lineCountDelta_;
+   }
+
+   // Number of lines currently held in the output buffer
+   public int getLineCount()
+   {
+      return lineCount_;
+   }
+
    public void ensureStartingOnNewLine()
    {
       if (isVirtualized())
@@ -925,6 +954,8 @@ public class VirtualConsole
    private final Element parent_;
 
    private int cursor_ = 0;
+   private int lineCount_ = 0;
+   private int lineCountDelta_ = 0;
    private AnsiCode ansi_;
    private String partialAnsiCode_;
    private AnsiCode.AnsiClazzes ansiCodeStyles_ = new AnsiCode.AnsiClazzes();
@@ -315,7 +315,9 @@ public class RStudio implements EntryPoint
       // load the requested page
       queue.addCommand(continuation -> onDelayLoadApplication());
 
-      GWT.runAsync(new RunAsyncCallback()
+      // this split point is named so that it can be the first in the
+      // load sequence (see RStudio.gwt.xml)
+      GWT.runAsync(RStudio.class, new RunAsyncCallback()
       {
          @Override
          public void onSuccess()
@@ -360,7 +360,7 @@ public interface RStudioGinjector extends Ginjector
 
    Application getApplication();
    ApplicationInterrupt getApplicationInterrupt();
-   VCSApplication getVCSApplication();
+   VCSApplication.Shim getVCSApplication();
    HTMLPreviewApplication getHTMLPreviewApplication();
    ShinyApplication getShinyApplication();
    ShinyViewerTypePopupMenu getShinyViewerTypePopupMenu();
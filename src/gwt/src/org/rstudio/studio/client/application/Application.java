@@ -555,6 +555,16 @@ public class Application implements ApplicationEventHandlers
       });
    }
 
+   @Handler
+   public void onShowSatelliteDiagnostics()
+   {
+      String statistics = satelliteManager_.getEventStatistics();
+      globalDisplay_.showMessage(
+            GlobalDisplay.MSG_INFO,
+            constants_.satelliteEventsCaption(),
+            statistics.isEmpty() ? constants_.noSatelliteEventsMessage() : statistics);
+   }
+
    @Handler
    public void onLogFocusedElement()
    {
@@ -134,6 +134,24 @@ public interface StudioClientApplicationConstants extends com.google.gwt.i18n.cl
     @Key("focusedElementLabel")
     String focusedElementLabel();
 
+    /**
+     * Translated "Satellite Window Events".
+     *
+     * @return translated "Satellite Window Events"
+     */
+    @DefaultMessage("Satellite Window Events")
+    @Key("satelliteEventsCaption")
+    String satelliteEventsCaption();
+
+    /**
+     * Translated "No events have been sent to satellite windows.".
+     *
+     * @return translated "No events have been sent to satellite windows."
+     */
+    @DefaultMessage("No events have been sent to satellite windows.")
+    @Key("noSatelliteEventsMessage")
+    String noSatelliteEventsMessage();
+
     /**
      * Translated "Loading workspace".
      *
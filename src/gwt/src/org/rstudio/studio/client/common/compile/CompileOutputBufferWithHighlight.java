@@ -16,7 +16,6 @@
 
 package org.rstudio.studio.client.common.compile;
 
-import com.google.gwt.core.client.GWT;
 import org.rstudio.core.client.StringUtil;
 import org.rstudio.core.client.VirtualConsole;
 import org.rstudio.core.client.dom.DomUtils;
@@ -24,21 +23,32 @@ import org.rstudio.core.client.widget.BottomScrollPanel;
 import org.rstudio.core.client.widget.FontSizer;
 import org.rstudio.core.client.widget.PreWidget;
 import org.rstudio.studio.client.RStudioGinjector;
-import org.rstudio.studio.client.common.StudioClientCommonConstants;
 import org.rstudio.studio.client.workbench.views.console.ConsoleResources;
 import org.rstudio.studio.client.workbench.views.source.editors.text.themes.AceTheme;
 
+import com.google.gwt.animation.client.AnimationScheduler;
+import com.google.gwt.dom.client.Style.Unit;
 import com.google.gwt.user.client.ui.Composite;
 
+import java.util.ArrayList;
+
+/**
+ * Displays compile (build, job, test) output. All output is kept in a
+ * CompileOutputLineBuffer, but only a window of at most MAX_LINES_DISPLAY
+ * lines is rendered at a time: normally the most recent lines, to which new
+ * output is appended once per animation frame. Scrolling back renders the
+ * older lines around the viewport from the buffer, with margins above and
+ * below the window standing in for the lines that aren't rendered.
+ */
 public class CompileOutputBufferWithHighlight extends Composite 
                                 implements CompileOutputDisplay
 {
-   public static enum PanelState { OK, OVERLOADED };
    public static enum OutputType { Command, Output, Error };
    
    public CompileOutputBufferWithHighlight()
    {
       styles_ = ConsoleResources.INSTANCE.consoleStyles();
+      buffer_ = new CompileOutputLineBuffer(MAX_LINES_BUFFERED, MAX_CHARS_BUFFERED);
       
       output_ = new PreWidget();
       output_.setStylePrimaryName(styles_.output());
@@ -51,6 +61,7 @@ public class CompileOutputBufferWithHighlight extends Composite
       scrollPanel_.addStyleName("ace_editor");
       scrollPanel_.addStyleName("ace_scroller");
       scrollPanel_.setWidget(output_);
+      scrollPanel_.addScrollHandler(event -> onScroll());
       
       initWidget(scrollPanel_);
    }
@@ -76,91 +87,197 @@ public class CompileOutputBufferWithHighlight extends Composite
    @Override
    public void scrollToBottom()
    {
+      if (!renderedToEnd_)
+         renderTail();
       scrollPanel_.scrollToBottom();
    }
 
    @Override
    public void clear()
    {
+      cancelFrame();
+      buffer_.clear();
+      pending_.clear();
+      pendingClasses_.clear();
+      pendingLines_ = 0;
       console_.clear();
-      state_ = PanelState.OK;
-      totalSubmittedLines_ = 0;
-      numDisplayedLines_ = 0;
       output_.setText("");
-      savedOutput_ = "";
-      numLinesSaved_ = 0;
+      renderedStart_ = 0;
+      renderedEnd_ = 0;
+      renderedToEnd_ = true;
+      updateMargins();
    }
    
    @Override
    public void onCompileCompleted()
    {
-      state_ = PanelState.OK;
-      if (savedOutput_.isEmpty())
-         return;
-      
-      String outputClass = styles_.output();
-      console_.submit("\n", outputClass);
-
       flushOutput();
    }
 
    @Override
    public void flushOutput()
    {
-      String[] lines = savedOutput_.split("\n");
-      int end = lines.length - 1;
-      int start = Math.max(0, end - 100);
-      for (int i = start; i < end; i++)
+      cancelFrame();
+      render();
+   }
+
+   private void write(String output, OutputType outputType, String className)
+   {
+      if (StringUtil.isNullOrEmpty(output))
+         return;
+
+      buffer_.append(output, outputType, className);
+
+      // output for the rendered window is submitted on the next frame, unless
+      // there's so much of it that it's cheaper to render the window afresh
+      if (renderedToEnd_ && pendingLines_ <= MAX_LINES_DISPLAY)
       {
-         console_.submit(lines[i] + "\n", styles_.output());
-         totalSubmittedLines_++;
+         pending_.add(output);
+         pendingClasses_.add(className);
+         pendingLines_ += StringUtil.newlineCount(output);
       }
 
-      savedOutput_ = "";
-      numLinesSaved_ = 0;
+      if (frame_ == null)
+         frame_ = AnimationScheduler.get().requestAnimationFrame(timestamp -> onFrame());
    }
 
-   private void write(String output, OutputType outputType, String className)
+   private void onFrame()
+   {
+      frame_ = null;
+      render();
+   }
+
+   private void render()
    {
-      switch (state_)
+      if (!renderedToEnd_)
       {
-      
-      case OK:
+         // the new output is below the rendered window
+         updateMargins();
+         return;
+      }
+
+      if (pendingLines_ > MAX_LINES_DISPLAY)
+      {
+         renderTail();
+      }
+      else
       {
-         console_.submit(output, className);
-         int numNewlines = StringUtil.newlineCount(output);
-         totalSubmittedLines_ += numNewlines;
-         numDisplayedLines_ += numNewlines;
+         for (int i = 0; i < pending_.size(); i++)
+            console_.submit(pending_.get(i), pendingClasses_.get(i));
+         pending_.clear();
+         pendingClasses_.clear();
+         pendingLines_ = 0;
 
-         if (numDisplayedLines_ > MAX_LINES_DISPLAY)
+         // trim the oldest lines from the window
+         renderedEnd_ = buffer_.getLineCount();
+         int excess = renderedEnd_ - renderedStart_ - MAX_LINES_DISPLAY;
+         if (excess > 0)
          {
-            DomUtils.trimLines(output_.getElement(), numDisplayedLines_ - MAX_LINES_DISPLAY);
-            numDisplayedLines_ = MAX_LINES_DISPLAY;
+            DomUtils.trimLines(output_.getElement(), excess);
+            renderedStart_ += excess;
          }
+         updateMargins();
+      }
+
+      scrollPanel_.onContentSizeChanged();
+   }
+
+   private void renderTail()
+   {
+      int end = buffer_.getLineCount();
+      renderWindow(Math.max(buffer_.getFirstLine(), end - MAX_LINES_DISPLAY), end);
+   }
 
-         if (totalSubmittedLines_ > MAX_LINES_OVERLOAD_BUFFER)
+   // renders the given lines from the buffer, replacing what was rendered
+   private void renderWindow(int start, int end)
+   {
+      pending_.clear();
+      pendingClasses_.clear();
+      pendingLines_ = 0;
+      console_.clear();
+      output_.setText("");
+
+      // submit runs of lines with the same style together
+      int count = buffer_.getLineCount();
+      StringBuilder run = new StringBuilder();
+      String runClass = null;
+      for (int line = start; line < end; line++)
+      {
+         String className = buffer_.getClassName(line);
+         if (run.length() > 0 && !StringUtil.equals(className, runClass))
          {
-            state_ = PanelState.OVERLOADED;
-            console_.submit(constants_.consoleBufferedMessage(MAX_LINES_OVERLOAD_BUFFER), styles_.warning());
+            console_.submit(run.toString(), runClass);
+            run.setLength(0);
          }
 
-         scrollPanel_.onContentSizeChanged();
-         return;
+         runClass = className;
+         run.append(buffer_.getText(line));
+         if (line < count - 1 || !buffer_.isLastLineOpen())
+            run.append('\n');
       }
+      if (run.length() > 0)
+         console_.submit(run.toString(), runClass);
 
-      case OVERLOADED:
-      {
-         numLinesSaved_++;
-         savedOutput_ += output;
+      renderedStart_ = start;
+      renderedEnd_ = end;
+      renderedToEnd_ = end == count;
 
-         if (numLinesSaved_ > MAX_LINES_OVERLOAD_BUFFER)
+      int height = output_.getOffsetHeight();
+      if (end > start && height > 0)
+         lineHeight_ = Math.max(1, height / (end - start));
+      updateMargins();
+   }
+
+   private void onScroll()
+   {
+      int first = buffer_.getFirstLine();
+      int count = buffer_.getLineCount();
+      if (count - first <= MAX_LINES_DISPLAY)
+         return;
+
+      if (scrollPanel_.isScrolledToBottom())
+      {
+         if (!renderedToEnd_)
          {
-            flushOutput();
-            console_.submit(constants_.consoleBufferedMessage(MAX_LINES_OVERLOAD_BUFFER), styles_.warning());
+            renderTail();
+            scrollPanel_.scrollToBottom();
          }
          return;
       }
-      
+
+      int visibleStart = first + scrollPanel_.getVerticalScrollPosition() / lineHeight_;
+      int visibleCount = scrollPanel_.getOffsetHeight() / lineHeight_ + 1;
+      boolean nearStart =
+            renderedStart_ > first &&
+            visibleStart < renderedStart_ + WINDOW_MARGIN;
+      boolean nearEnd =
+            !renderedToEnd_ &&
+            visibleStart + visibleCount > renderedEnd_ - WINDOW_MARGIN;
+      if (!nearStart && !nearEnd)
+         return;
+
+      // render a window centered on the viewport, then restore the viewport
+      // (the margins put each line where it would be if all were rendered)
+      int start = visibleStart - (MAX_LINES_DISPLAY - visibleCount) / 2;
+      start = Math.max(first, Math.min(start, count - MAX_LINES_DISPLAY));
+      renderWindow(start, Math.min(count, start + MAX_LINES_DISPLAY));
+      scrollPanel_.setVerticalScrollPosition((visibleStart - first) * lineHeight_);
+   }
+
+   private void updateMargins()
+   {
+      int above = Math.max(0, renderedStart_ - buffer_.getFirstLine());
+      int below = renderedToEnd_ ? 0 : buffer_.getLineCount() - renderedEnd_;
+      output_.getElement().getStyle().setMarginTop(above * lineHeight_, Unit.PX);
+      output_.getElement().getStyle().setMarginBottom(below * lineHeight_, Unit.PX);
+   }
+
+   private void cancelFrame()
+   {
+      if (frame_ != null)
+      {
+         frame_.cancel();
+         frame_ = null;
       }
    }
    
@@ -173,16 +290,31 @@ public class CompileOutputBufferWithHighlight extends Composite
  
    PreWidget output_;
    VirtualConsole console_;
-   PanelState state_ = PanelState.OK;
-   private int numDisplayedLines_;
-   private int totalSubmittedLines_;
-   private String savedOutput_ = "";
-   private int numLinesSaved_ = 0;
+   private final CompileOutputLineBuffer buffer_;
    private BottomScrollPanel scrollPanel_;
    private ConsoleResources.ConsoleStyles styles_;
+
+   // the lines of the buffer currently rendered; when the window extends to
+   // the end of the buffer, new output is appended to it
+   private int renderedStart_ = 0;
+   private int renderedEnd_ = 0;
+   private boolean renderedToEnd_ = true;
+   private int lineHeight_ = DEFAULT_LINE_HEIGHT;
+
+   // output not yet submitted to the rendered window
+   private final ArrayList<String> pending_ = new ArrayList<>();
+   private final ArrayList<String> pendingClasses_ = new ArrayList<>();
+   private int pendingLines_ = 0;
+   private AnimationScheduler.AnimationHandle frame_;
    
    private static final int MAX_LINES_DISPLAY = 500;
-   private static final int MAX_LINES_OVERLOAD_BUFFER = 5000;
+   private static final int MAX_LINES_BUFFERED = 500000;
+   private static final int MAX_CHARS_BUFFERED = 32 * 1024 * 1024;
+
+   // how close to the edge of the rendered window the viewport can get
+   // before another window is rendered
+   private static final int WINDOW_MARGIN = 50;
 
-   private static final StudioClientCommonConstants constants_ = GWT.create(StudioClientCommonConstants.class);
+   // estimated until lines have been rendered and measured
+   private static final int DEFAULT_LINE_HEIGHT = 15;
 }
@@ -0,0 +1,203 @@
+/*
+ * CompileOutputLineBuffer.java
+ *
+ * Copyright (C) 2022 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.common.compile;
+
+import java.util.ArrayList;
+
+import org.rstudio.studio.client.common.compile.CompileOutputBufferWithHighlight.OutputType;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArrayInteger;
+import com.google.gwt.core.client.JsArrayString;
+
+/**
+ * A ring buffer holding the lines of compile (build, job, test) output, along
+ * with the style of each line, so that output can be kept in full but only
+ * rendered a window at a time.
+ *
+ * Lines are numbered from the start of the output; once the buffer holds
+ * more than its maximum number of lines (or characters) the oldest lines are
+ * dropped, and getFirstLine() advances past them. The last line is "open"
+ * when the output so far doesn't end with a newline; further output
+ * continues it.
+ */
+public class CompileOutputLineBuffer
+{
+   public CompileOutputLineBuffer(int maxLines, int maxChars)
+   {
+      maxLines_ = maxLines;
+      maxChars_ = maxChars;
+      clear();
+   }
+
+   /**
+    * Appends output to the buffer. A line made up of output of different
+    * types takes the style of its most significant part, so that a line
+    * containing an error is always highlighted as one.
+    */
+   public void append(String text, OutputType type, String className)
+   {
+      int style = styleIndex(className);
+      int start = 0;
+      while (start < text.length())
+      {
+         int newline = text.indexOf('\n', start);
+         int end = newline == -1 ? text.length() : newline;
+         appendToLine(text.substring(start, end), type, style);
+         if (newline == -1)
+            break;
+
+         lastLineOpen_ = false;
+         start = newline + 1;
+      }
+
+      trim();
+   }
+
+   public void clear()
+   {
+      texts_ = JavaScriptObject.createArray().cast();
+      styles_ = JavaScriptObject.createArray().cast();
+      types_ = JavaScriptObject.createArray().cast();
+      classNames_.clear();
+      firstLine_ = 0;
+      lineCount_ = 0;
+      lastLineOpen_ = false;
+      charCount_ = 0;
+      droppedLines_ = 0;
+   }
+
+   /**
+    * @return The number of the oldest line still in the buffer.
+    */
+   public int getFirstLine()
+   {
+      return firstLine_;
+   }
+
+   /**
+    * @return The number of lines written, including any open last line and
+    *    any lines since dropped from the buffer.
+    */
+   public int getLineCount()
+   {
+      return lineCount_;
+   }
+
+   public boolean isLastLineOpen()
+   {
+      return lastLineOpen_;
+   }
+
+   public String getText(int line)
+   {
+      return texts_.get(slot(line));
+   }
+
+   public String getClassName(int line)
+   {
+      return classNames_.get(styles_.get(slot(line)));
+   }
+
+   public int getDroppedLines()
+   {
+      return droppedLines_;
+   }
+
+   private void appendToLine(String text, OutputType type, int style)
+   {
+      if (!lastLineOpen_)
+      {
+         int slot = slot(lineCount_);
+         if (lineCount_ - firstLine_ == maxLines_)
+            dropFirstLine();
+
+         texts_.set(slot, text);
+         styles_.set(slot, style);
+         types_.set(slot, type.ordinal());
+         lineCount_++;
+         lastLineOpen_ = true;
+         charCount_ += text.length();
+         return;
+      }
+
+      int slot = slot(lineCount_ - 1);
+      texts_.set(slot, texts_.get(slot) + text);
+      if (rank(type) > rank(OutputType.values()[types_.get(slot)]))
+      {
+         styles_.set(slot, style);
+         types_.set(slot, type.ordinal());
+      }
+      charCount_ += text.length();
+   }
+
+   // drops the oldest lines while the buffer holds too many characters,
+   // always keeping the last line
+   private void trim()
+   {
+      while (charCount_ > maxChars_ && lineCount_ - firstLine_ > 1)
+         dropFirstLine();
+   }
+
+   private void dropFirstLine()
+   {
+      int slot = slot(firstLine_);
+      charCount_ -= texts_.get(slot).length();
+      texts_.set(slot, null);
+      firstLine_++;
+      droppedLines_++;
+   }
+
+   private int slot(int line)
+   {
+      return line % maxLines_;
+   }
+
+   private int styleIndex(String className)
+   {
+      // there are only ever a handful of distinct styles
+      int index = classNames_.indexOf(className);
+      if (index == -1)
+      {
+         index = classNames_.size();
+         classNames_.add(className);
+      }
+      return index;
+   }
+
+   private static int rank(OutputType type)
+   {
+      switch (type)
+      {
+      case Error:   return 2;
+      case Command: return 1;
+      default:      return 0;
+      }
+   }
+
+   private final int maxLines_;
+   private final int maxChars_;
+
+   private JsArrayString texts_;
+   private JsArrayInteger styles_;
+   private JsArrayInteger types_;
+   private final ArrayList<String> classNames_ = new ArrayList<>();
+
+   private int firstLine_;
+   private int lineCount_;
+   private boolean lastLineOpen_;
+   private int charCount_;
+   private int droppedLines_;
+}
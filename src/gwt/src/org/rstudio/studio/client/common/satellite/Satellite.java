@@ -29,6 +29,7 @@ import org.rstudio.studio.client.workbench.model.SessionInfo;
 import org.rstudio.studio.client.workbench.prefs.model.UserPrefs;
 
 import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArrayString;
 import com.google.gwt.event.dom.client.FocusEvent;
 import com.google.gwt.event.dom.client.FocusHandler;
 import com.google.gwt.event.logical.shared.CloseEvent;
@@ -124,6 +125,13 @@ public class Satellite implements HasCloseHandlers<Satellite>
       $wnd.opener.flushPendingEvents(name);
    }-*/;
 
+   // register the types of events this satellite handles with the main
+   // window, which won't forward other events (null subscribes to all events)
+   public native final void setEventSubscriptions(String name,
+                                                  JsArrayString types) /*-{
+      $wnd.opener.setRStudioSatelliteEventSubscriptions(name, types);
+   }-*/;
+
    // satellite windows should call this during startup to setup a
    // communication channel with the main window
    private native void initializeNative(String name) /*-{
@@ -170,6 +178,12 @@ public class Satellite implements HasCloseHandlers<Satellite>
             satellite.@org.rstudio.studio.client.common.satellite.Satellite::dispatchEvent(Lcom/google/gwt/core/client/JavaScriptObject;)(clientEvent);
          }
       );
+      $wnd.dispatchEventsToRStudioSatellite = $entry(
+         function(clientEvents) {
+            for (var i = 0; i < clientEvents.length; i++)
+               satellite.@org.rstudio.studio.client.common.satellite.Satellite::dispatchEvent(Lcom/google/gwt/core/client/JavaScriptObject;)(clientEvents[i]);
+         }
+      );
 
       // export request activation callback
       $wnd.notifyPendingReactivate = $entry(function() {
@@ -16,6 +16,7 @@ package org.rstudio.studio.client.common.satellite;
 
 import com.google.gwt.core.client.GWT;
 import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArrayString;
 import com.google.gwt.core.client.RunAsyncCallback;
 import com.google.gwt.dom.client.Style;
 import com.google.gwt.dom.client.Style.Unit;
@@ -31,6 +32,7 @@ import org.rstudio.core.client.command.AppCommand;
 import org.rstudio.core.client.command.CommandHandler;
 import org.rstudio.studio.client.application.ApplicationUncaughtExceptionHandler;
 import org.rstudio.studio.client.application.ui.RequestLogVisualization;
+import org.rstudio.studio.client.server.remote.ClientEvent;
 import org.rstudio.studio.client.workbench.commands.Commands;
 import org.rstudio.studio.client.workbench.prefs.model.UserPrefs;
 import org.rstudio.studio.client.workbench.views.source.editors.text.themes.AceThemes;
@@ -118,6 +120,28 @@ public class SatelliteApplication
       return false;
    }
    
+   /**
+    * Have subclasses override and return the types of server events the
+    * satellite handles (usually via withCommonEventTypes); the main window
+    * won't forward other events. Returns null (all events) by default.
+    */
+   protected String[] getEventSubscriptions()
+   {
+      return null;
+   }
+
+   /**
+    * @return The given event types, plus those that every satellite needs
+    *    to respond to (session state, preferences, etc.).
+    */
+   protected static String[] withCommonEventTypes(String... types)
+   {
+      String[] subscriptions = new String[COMMON_EVENT_TYPES.length + types.length];
+      System.arraycopy(COMMON_EVENT_TYPES, 0, subscriptions, 0, COMMON_EVENT_TYPES.length);
+      System.arraycopy(types, 0, subscriptions, COMMON_EVENT_TYPES.length, types.length);
+      return subscriptions;
+   }
+
    public void go(RootLayoutPanel rootPanel, 
                   final Command dismissLoadingProgress)
    {
@@ -131,6 +155,16 @@ public class SatelliteApplication
                                }
                             });
 
+      // register our subscriptions before any buffered events are flushed
+      String[] subscriptions = getEventSubscriptions();
+      if (subscriptions != null)
+      {
+         JsArrayString types = JavaScriptObject.createArray().cast();
+         for (String type : subscriptions)
+            types.push(type);
+         satellite_.setEventSubscriptions(name_, types);
+      }
+
       if (!manuallyFlushPendingEvents())
       {
          flushPendingEvents();
@@ -166,6 +200,24 @@ public class SatelliteApplication
    }
 
 
+   private static final String[] COMMON_EVENT_TYPES = {
+      ClientEvent.Busy,
+      ClientEvent.AbendWarning,
+      ClientEvent.Quit,
+      ClientEvent.Suicide,
+      ClientEvent.SessionSerialization,
+      ClientEvent.SuspendAndRestart,
+      ClientEvent.ReloadWithLastChanceSave,
+      ClientEvent.DeferredInitCompleted,
+      ClientEvent.UserPrefsChanged,
+      ClientEvent.UserStateChanged,
+      ClientEvent.ComputeThemeColors,
+      ClientEvent.ExecuteAppCommand,
+      ClientEvent.CommandCallbacksChanged,
+      ClientEvent.EditorCommand,
+      ClientEvent.ClipboardAction
+   };
+
    private String name_;
    private SatelliteApplicationView view_;
    private Satellite satellite_;
@@ -15,7 +15,9 @@
 package org.rstudio.studio.client.common.satellite;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map.Entry;
 
 import com.google.inject.Provider;
@@ -40,12 +42,17 @@ import org.rstudio.studio.client.common.satellite.events.AllSatellitesClosingEve
 import org.rstudio.studio.client.common.satellite.events.SatelliteClosedEvent;
 import org.rstudio.studio.client.common.satellite.events.WindowClosedEvent;
 import org.rstudio.studio.client.common.satellite.events.WindowOpenedEvent;
+import org.rstudio.studio.client.server.remote.ClientEvent;
 import org.rstudio.studio.client.workbench.model.Session;
 import org.rstudio.studio.client.workbench.model.SessionInfo;
 import org.rstudio.studio.client.workbench.prefs.model.UserPrefs;
+import org.rstudio.studio.client.workbench.views.console.model.ConsoleText;
 import org.rstudio.studio.client.workbench.views.source.SourceWindowManager;
 
 import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArray;
+import com.google.gwt.core.client.JsArrayString;
+import com.google.gwt.core.client.Scheduler;
 import com.google.gwt.dom.client.Document;
 import com.google.gwt.event.logical.shared.CloseEvent;
 import com.google.gwt.event.logical.shared.CloseHandler;
@@ -187,7 +194,7 @@ public class SatelliteManager implements CloseHandler<Window>
       if (!pendingEventsBySatelliteName_.containsKey(name))
       {
          pendingEventsBySatelliteName_.put(name,
-                                           new ArrayList<>());
+                                           new PendingEvents());
       }
 
       // record satellite params for subsequent setting (this value is read
@@ -343,47 +350,57 @@ public class SatelliteManager implements CloseHandler<Window>
       }
    }
 
-   // dispatch an event to all satellites
+   // dispatch an event to the satellites subscribed to it. events are queued
+   // and delivered to each satellite in a single batch once the current
+   // set of events has been processed
    public void dispatchClientEvent(JavaScriptObject clientEvent)
    {
+      String type = clientEvent.<ClientEvent>cast().getType();
+
       // list of windows to remove (because they were closed)
       ArrayList<ActiveSatellite> removeWindows = null;
 
-      // iterate over the satellites (make a copy to avoid races if
-      // for some reason firing an event creates or destroys a satellite)
-      @SuppressWarnings("unchecked")
-      ArrayList<ActiveSatellite> satellites =
-                           (ArrayList<ActiveSatellite>)satellites_.clone();
-      for (ActiveSatellite satellite : satellites)
+      for (ActiveSatellite satellite : satellites_)
       {
+         // If we're buffering events for this satellite, then don't dispatch
+         // them
+         String name = satellite.getName();
+         if (pendingEventsBySatelliteName_.containsKey(name))
+            continue;
+
+         boolean closed;
          try
          {
-            // If we're buffering events for this satellite, then don't dispatch
-            // them
-            if (pendingEventsBySatelliteName_.containsKey(satellite.getName()))
-               continue;
-
-            WindowEx satelliteWnd = satellite.getWindow();
-            if (satelliteWnd.isClosed())
-            {
-               if (removeWindows == null)
-                  removeWindows = new ArrayList<>();
-               removeWindows.add(satellite);
-            }
-            else
-            {
-               callDispatchEvent(satelliteWnd, clientEvent);
-            }
+            closed = satellite.getWindow().isClosed();
          }
          catch(Throwable e)
          {
+            continue;
+         }
+
+         if (closed)
+         {
+            if (removeWindows == null)
+               removeWindows = new ArrayList<>();
+            removeWindows.add(satellite);
+         }
+         else if (isSubscribed(name, type))
+         {
+            satellite.queueEvent(clientEvent);
+         }
+         else
+         {
+            getEventStats(name).suppressed++;
          }
       }
 
-      for (Entry<String, ArrayList<JavaScriptObject>> entry :
+      for (Entry<String, PendingEvents> entry :
                                        pendingEventsBySatelliteName_.entrySet())
       {
-         entry.getValue().add(clientEvent);
+         if (isSubscribed(entry.getKey(), type))
+            addPendingEvent(entry.getKey(), entry.getValue(), clientEvent);
+         else
+            getEventStats(entry.getKey()).suppressed++;
       }
 
       // remove windows if necessary
@@ -394,6 +411,37 @@ public class SatelliteManager implements CloseHandler<Window>
             satellites_.remove(satellite);
          }
       }
+
+      if (!batchFlushScheduled_)
+      {
+         batchFlushScheduled_ = true;
+         Scheduler.get().scheduleFinally(() -> flushBatchedEvents());
+      }
+   }
+
+   /**
+    * @return A summary of the events forwarded to and suppressed for each
+    *    satellite, and of those buffered while satellites were loading.
+    */
+   public String getEventStatistics()
+   {
+      ArrayList<String> names = new ArrayList<>(eventStatsBySatelliteName_.keySet());
+      Collections.sort(names);
+
+      StringBuilder statistics = new StringBuilder();
+      for (String name : names)
+      {
+         SatelliteEventStats stats = eventStatsBySatelliteName_.get(name);
+         PendingEvents pending = pendingEventsBySatelliteName_.get(name);
+         statistics.append(name).append("\n");
+         statistics.append("  Events forwarded: ").append(stats.forwarded).append("\n");
+         statistics.append("  Events suppressed: ").append(stats.suppressed).append("\n");
+         statistics.append("  Pending events coalesced: ").append(stats.coalesced).append("\n");
+         statistics.append("  Pending events dropped: ").append(stats.dropped).append("\n");
+         statistics.append("  Events pending: ")
+                   .append(pending == null ? 0 : pending.events.size()).append("\n");
+      }
+      return statistics.toString();
    }
 
    // dispatch a command to the named satellite window, or to the main window
@@ -420,6 +468,9 @@ public class SatelliteManager implements CloseHandler<Window>
    // dispatch a cross-window event to all satellites
    public void dispatchCrossWindowEvent(CrossWindowEvent<?> event)
    {
+      // deliver any client events queued ahead of this one first
+      flushBatchedEvents();
+
       for (ActiveSatellite satellite: satellites_)
       {
          events_.fireEventToSatellite(event, satellite.getWindow());
@@ -503,10 +554,24 @@ public class SatelliteManager implements CloseHandler<Window>
 
    private void flushPendingEvents(String name)
    {
-      ArrayList<JavaScriptObject> events =
-                                    pendingEventsBySatelliteName_.remove(name);
+      PendingEvents pending = pendingEventsBySatelliteName_.remove(name);
+
+      if (pending == null || pending.events.size() == 0)
+         return;
+
+      // the satellite may have registered its subscriptions since these
+      // events were buffered
+      SatelliteEventStats stats = getEventStats(name);
+      JsArray<JavaScriptObject> batch = JavaScriptObject.createArray().cast();
+      for (JavaScriptObject evt : pending.events)
+      {
+         if (isSubscribed(name, evt.<ClientEvent>cast().getType()))
+            batch.push(evt);
+         else
+            stats.suppressed++;
+      }
 
-      if (events == null || events.size() == 0)
+      if (batch.length() == 0)
          return;
 
       for (ActiveSatellite satellite :
@@ -515,21 +580,167 @@ public class SatelliteManager implements CloseHandler<Window>
          if (satellite.getName() == name
              && !satellite.getWindow().isClosed())
          {
-            for (JavaScriptObject evt : events)
+            try
             {
-               try
-               {
-                  callDispatchEvent(satellite.getWindow(), evt);
-               }
-               catch (Exception e)
-               {
-                  pUncaughtExceptionHandler_.get().onUncaughtException(e);
-               }
+               callDispatchEvents(satellite.getWindow(), batch);
+               stats.forwarded += batch.length();
+            }
+            catch (Exception e)
+            {
+               pUncaughtExceptionHandler_.get().onUncaughtException(e);
+            }
+         }
+      }
+   }
+
+   // deliver the events queued for each satellite since the last flush
+   private void flushBatchedEvents()
+   {
+      batchFlushScheduled_ = false;
+
+      for (ActiveSatellite satellite : new ArrayList<>(satellites_))
+      {
+         JsArray<JavaScriptObject> events = satellite.takeQueuedEvents();
+         if (events == null)
+            continue;
+
+         try
+         {
+            if (!satellite.getWindow().isClosed())
+            {
+               callDispatchEvents(satellite.getWindow(), events);
+               getEventStats(satellite.getName()).forwarded += events.length();
             }
          }
+         catch(Throwable e)
+         {
+         }
       }
    }
 
+   // called by satellites to register the types of events they handle; a
+   // null list of types subscribes the satellite to all events
+   private void setEventSubscriptions(String name, JsArrayString types)
+   {
+      if (types == null)
+      {
+         subscriptionsBySatelliteName_.remove(name);
+         return;
+      }
+
+      HashSet<String> subscriptions = new HashSet<>();
+      for (int i = 0; i < types.length(); i++)
+         subscriptions.add(types.get(i));
+      subscriptionsBySatelliteName_.put(name, subscriptions);
+   }
+
+   private boolean isSubscribed(String name, String type)
+   {
+      HashSet<String> subscriptions = subscriptionsBySatelliteName_.get(name);
+      return subscriptions == null || subscriptions.contains(type);
+   }
+
+   // buffer an event for a satellite that's still loading. console output
+   // is merged into the preceding event for the same console; once too many
+   // events are buffered the oldest is dropped, except for events that must
+   // be delivered (e.g. quit notifications), which are always kept
+   private void addPendingEvent(String name,
+                                PendingEvents pending,
+                                JavaScriptObject clientEvent)
+   {
+      SatelliteEventStats stats = getEventStats(name);
+      ArrayList<JavaScriptObject> events = pending.events;
+
+      if (!events.isEmpty())
+      {
+         int last = events.size() - 1;
+         if (canMergeConsoleText(events.get(last), clientEvent))
+         {
+            events.set(last, mergeConsoleText(events.get(last), clientEvent));
+            stats.coalesced++;
+            return;
+         }
+      }
+
+      events.add(clientEvent);
+      if (isMustDeliver(clientEvent.<ClientEvent>cast().getType()))
+         return;
+
+      pending.droppable++;
+      if (pending.droppable <= MAX_PENDING_EVENTS)
+         return;
+
+      // only must-deliver events can precede the oldest droppable event, so
+      // this rarely looks past the first few events
+      for (int i = 0; i < events.size(); i++)
+      {
+         if (!isMustDeliver(events.get(i).<ClientEvent>cast().getType()))
+         {
+            events.remove(i);
+            pending.droppable--;
+            stats.dropped++;
+            return;
+         }
+      }
+   }
+
+   private static boolean isMustDeliver(String type)
+   {
+      // chunk output finished is kept so notebooks don't wait on a chunk
+      // whose output was dropped
+      return StringUtil.equals(type, ClientEvent.Quit) ||
+             StringUtil.equals(type, ClientEvent.SuspendAndRestart) ||
+             StringUtil.equals(type, ClientEvent.ChunkOutputFinished);
+   }
+
+   private static boolean isConsoleText(String type)
+   {
+      return StringUtil.equals(type, ClientEvent.ConsoleOutput) ||
+             StringUtil.equals(type, ClientEvent.ConsoleError);
+   }
+
+   private static boolean canMergeConsoleText(JavaScriptObject previous,
+                                              JavaScriptObject next)
+   {
+      ClientEvent previousEvent = previous.cast();
+      ClientEvent nextEvent = next.cast();
+      if (!isConsoleText(nextEvent.getType()) ||
+          !StringUtil.equals(previousEvent.getType(), nextEvent.getType()))
+      {
+         return false;
+      }
+
+      ConsoleText previousText = previousEvent.getData();
+      ConsoleText nextText = nextEvent.getData();
+      return StringUtil.equals(previousText.console, nextText.console) &&
+             StringUtil.notNull(previousText.text).length() < MAX_MERGED_TEXT;
+   }
+
+   // merge two console text events into a new event (the originals are
+   // shared with the main window and other satellites, so aren't modified)
+   private static native JavaScriptObject mergeConsoleText(JavaScriptObject previous,
+                                                           JavaScriptObject next) /*-{
+      return {
+         id: next.id,
+         type: next.type,
+         data: {
+            text: (previous.data.text || "") + (next.data.text || ""),
+            console: next.data.console
+         }
+      };
+   }-*/;
+
+   private SatelliteEventStats getEventStats(String name)
+   {
+      SatelliteEventStats stats = eventStatsBySatelliteName_.get(name);
+      if (stats == null)
+      {
+         stats = new SatelliteEventStats();
+         eventStatsBySatelliteName_.put(name, stats);
+      }
+      return stats;
+   }
+
    // export the global function required for satellites to register
    private native void exportSatelliteRegistrationCallback() /*-{
       var manager = this;
@@ -541,6 +752,11 @@ public class SatelliteManager implements CloseHandler<Window>
             manager.@org.rstudio.studio.client.common.satellite.SatelliteManager::registerAsSatellite(Ljava/lang/String;Lcom/google/gwt/core/client/JavaScriptObject;)(name, satelliteWnd);
          }
       );
+      $wnd.setRStudioSatelliteEventSubscriptions = $entry(
+         function(name, types) {
+            manager.@org.rstudio.studio.client.common.satellite.SatelliteManager::setEventSubscriptions(Ljava/lang/String;Lcom/google/gwt/core/client/JsArrayString;)(name, types);
+         }
+      );
       $wnd.flushPendingEvents = $entry(
          function(name) {
             manager.@org.rstudio.studio.client.common.satellite.SatelliteManager::flushPendingEvents(Ljava/lang/String;)(name);
@@ -610,10 +826,10 @@ public class SatelliteManager implements CloseHandler<Window>
       satellite.notifyRStudioSatelliteReactivated(params);
    }-*/;
 
-   // dispatch event to a satellite
-   private native void callDispatchEvent(JavaScriptObject satellite,
-                                         JavaScriptObject clientEvent) /*-{
-      satellite.dispatchEventToRStudioSatellite(clientEvent);
+   // dispatch a batch of events to a satellite
+   private native void callDispatchEvents(JavaScriptObject satellite,
+                                          JavaScriptObject clientEvents) /*-{
+      satellite.dispatchEventsToRStudioSatellite(clientEvents);
    }-*/;
 
    // dispatch command to a satellite
@@ -663,9 +879,37 @@ public class SatelliteManager implements CloseHandler<Window>
 
    private final HashMap<String,JavaScriptObject> satelliteParams_ = new HashMap<>();
 
-   private final HashMap<String, ArrayList<JavaScriptObject>>
+   private final HashMap<String, PendingEvents>
          pendingEventsBySatelliteName_ = new HashMap<>();
 
+   private final HashMap<String, HashSet<String>>
+         subscriptionsBySatelliteName_ = new HashMap<>();
+
+   private final HashMap<String, SatelliteEventStats>
+         eventStatsBySatelliteName_ = new HashMap<>();
+
+   private boolean batchFlushScheduled_ = false;
+
+   // bounds on the events buffered for a satellite that's still loading
+   private static final int MAX_PENDING_EVENTS = 500;
+   private static final int MAX_MERGED_TEXT = 64 * 1024;
+
+   private static class SatelliteEventStats
+   {
+      public int forwarded = 0;
+      public int suppressed = 0;
+      public int coalesced = 0;
+      public int dropped = 0;
+   }
+
+   // the events buffered for a satellite that's still loading, along with
+   // how many of them may be dropped (i.e. aren't must-deliver events)
+   private static class PendingEvents
+   {
+      public final ArrayList<JavaScriptObject> events = new ArrayList<>();
+      public int droppable = 0;
+   }
+
    private class ActiveSatellite
    {
       public ActiveSatellite(String name, WindowEx window)
@@ -684,6 +928,20 @@ public class SatelliteManager implements CloseHandler<Window>
          return window_;
       }
 
+      public void queueEvent(JavaScriptObject clientEvent)
+      {
+         if (queuedEvents_ == null)
+            queuedEvents_ = JavaScriptObject.createArray().cast();
+         queuedEvents_.push(clientEvent);
+      }
+
+      public JsArray<JavaScriptObject> takeQueuedEvents()
+      {
+         JsArray<JavaScriptObject> events = queuedEvents_;
+         queuedEvents_ = null;
+         return events;
+      }
+
       public void close()
       {
          try
@@ -710,6 +968,7 @@ public class SatelliteManager implements CloseHandler<Window>
 
       private final String name_;
       private final WindowEx window_;
+      private JsArray<JavaScriptObject> queuedEvents_ = null;
    }
 
    private final Provider<UserPrefs> pUIPrefs_;
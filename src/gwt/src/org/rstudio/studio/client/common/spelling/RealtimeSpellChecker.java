@@ -15,7 +15,6 @@
 package org.rstudio.studio.client.common.spelling;
 
 import com.google.gwt.core.client.GWT;
-import com.google.gwt.core.client.JavaScriptObject;
 import com.google.gwt.core.client.JsArrayString;
 import com.google.gwt.event.logical.shared.ValueChangeHandler;
 import com.google.gwt.event.shared.HandlerRegistration;
@@ -35,7 +34,6 @@ import org.rstudio.studio.client.workbench.prefs.model.UserPrefs;
 import org.rstudio.studio.client.workbench.views.source.editors.text.spelling.SpellingDoc;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
 
 public class RealtimeSpellChecker
@@ -145,17 +143,24 @@ public class RealtimeSpellChecker
 
    public SpellCheckerResult getCachedWords(ArrayList<String> words)
    {
+      SpellingCache cache = spellingService_.getCache();
       SpellCheckerResult result = new SpellCheckerResult();
       for (String word : words)
       {
-         if (isWordIgnored(word) || correctWords.contains(word))
+         if (isWordIgnored(word))
          {
             result.getCorrect().add(word);
+            continue;
          }
-         else if (incorrectWords.containsKey(word))
-         {
+
+         Boolean isCorrect = cache.isCorrect(word);
+         if (isCorrect == null)
+            continue;
+
+         if (isCorrect)
+            result.getCorrect().add(word);
+         else
             result.getIncorrect().add(word);
-         }
       }
 
       return result;
@@ -164,66 +169,53 @@ public class RealtimeSpellChecker
    public void checkWords(ArrayList<String> words,
                           ServerRequestCallback<SpellCheckerResult> callback)
    {
-      SpellCheckerResult knownWords = getCachedWords(words);
-
-      // we've already cached all of the words, don't hit the server
-      if (knownWords.getIncorrect().size() + knownWords.getCorrect().size() == words.size())
+      // ignored words are always considered correct; the spelling service
+      // answers the rest from its cache where possible, and batches the
+      // remaining words with those from other requests
+      SpellCheckerResult ignoredWords = new SpellCheckerResult();
+      ArrayList<String> wordsToCheck = new ArrayList<>();
+      for (String word : words)
       {
-         callback.onResponseReceived(knownWords);
+         if (isWordIgnored(word))
+            ignoredWords.getCorrect().add(word);
+         else
+            wordsToCheck.add(word);
       }
-      else
+
+      spellingService_.checkSpelling(wordsToCheck, new ServerRequestCallback<SpellCheckerResult>()
       {
-         spellingService_.checkSpelling(words, new ServerRequestCallback<SpellCheckerResult>()
+         @Override
+         public void onResponseReceived(SpellCheckerResult response)
          {
-            @Override
-            public void onResponseReceived(SpellCheckerResult response)
-            {
-               // cache responses so we don't have to hit the server for these words again in the session
-               correctWords.addAll(response.getCorrect());
-               for (String wrongWord : response.getIncorrect())
-               {
-                  incorrectWords.put(wrongWord, null);
-               }
-
-               response.getCorrect().addAll(knownWords.getCorrect());
-               response.getIncorrect().addAll(knownWords.getIncorrect());
-               callback.onResponseReceived(response);
-            }
-
-            @Override
-            public void onError(ServerError error)
-            {
-               Debug.logError(error);
-            }
-         });
-      }
+            response.getCorrect().addAll(ignoredWords.getCorrect());
+            callback.onResponseReceived(response);
+         }
+
+         @Override
+         public void onError(ServerError error)
+         {
+            Debug.logError(error);
+         }
+      });
    }
 
    public void suggestionList(String word,
                               ServerRequestCallback<JsArrayString> callback)
    {
-      if (incorrectWords.containsKey(word) && incorrectWords.get(word) != null)
-         callback.onResponseReceived(incorrectWords.get(word));
-      else
-         spellingService_.suggestionList(word, new ServerRequestCallback<JsArrayString>()
+      spellingService_.suggestionList(word, new ServerRequestCallback<JsArrayString>()
+      {
+         @Override
+         public void onResponseReceived(JsArrayString response)
+         {
+            callback.onResponseReceived(response);
+         }
+
+         @Override
+         public void onError(ServerError error)
          {
-            @Override
-            public void onResponseReceived(JsArrayString response)
-            {
-               if (response != null)
-                  incorrectWords.put(word, response);
-               else
-                  incorrectWords.put(word, JavaScriptObject.createArray().cast());
-
-               callback.onResponseReceived(incorrectWords.get(word));
-            }
-
-            @Override
-            public void onError(ServerError error)
-            {
-
-            }
-         });
+
+         }
+      });
    }
 
    private boolean isWordIgnored(String word)
@@ -298,9 +290,6 @@ public class RealtimeSpellChecker
    private final HashSet<String> allIgnoredWords_ = new HashSet<>();
    private final HashSet<String> domainSpecificWords_ = new HashSet<>();
 
-   private final HashSet<String> correctWords = new HashSet<>();
-   private final HashMap<String, JsArrayString> incorrectWords = new HashMap<>();
-
    private SpellingService spellingService_;
    private UserPrefs userPrefs_;
 }
@@ -0,0 +1,139 @@
+/*
+ * SpellingCache.java
+ *
+ * Copyright (C) 2022 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.common.spelling;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.rstudio.core.client.StringUtil;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArrayString;
+
+/**
+ * A size-bounded cache of spell checking results, evicting the least recently
+ * used words once full. Keeps track of hits and misses so its size can be
+ * tuned.
+ */
+public class SpellingCache
+{
+   public SpellingCache(int capacity)
+   {
+      capacity_ = capacity;
+   }
+
+   /**
+    * @return Whether the word is spelled correctly, or null if unknown.
+    */
+   public Boolean isCorrect(String word)
+   {
+      Object entry = entries_.get(word);
+      if (entry == null)
+      {
+         misses_++;
+         return null;
+      }
+
+      hits_++;
+      return Boolean.TRUE.equals(entry);
+   }
+
+   public void put(String word, boolean correct)
+   {
+      // keep any suggestions we already have for a misspelled word
+      if (!correct && entries_.get(word) instanceof String)
+         return;
+
+      entries_.put(word, correct ? Boolean.TRUE : Boolean.FALSE);
+   }
+
+   /**
+    * @return The suggestions for a misspelled word, or null if unknown.
+    */
+   public JsArrayString getSuggestions(String word)
+   {
+      Object entry = entries_.get(word);
+      if (!(entry instanceof String))
+         return null;
+
+      String suggestions = (String) entry;
+      if (suggestions.isEmpty())
+         return JavaScriptObject.createArray().cast();
+      return StringUtil.split(suggestions, "\n");
+   }
+
+   public void putSuggestions(String word, JsArrayString suggestions)
+   {
+      entries_.put(word, suggestions.join("\n"));
+   }
+
+   public void clear()
+   {
+      entries_.clear();
+   }
+
+   public int size()
+   {
+      return entries_.size();
+   }
+
+   public int getCapacity()
+   {
+      return capacity_;
+   }
+
+   public int getHits()
+   {
+      return hits_;
+   }
+
+   public int getMisses()
+   {
+      return misses_;
+   }
+
+   public int getEvictions()
+   {
+      return evictions_;
+   }
+
+   public double getHitRate()
+   {
+      int lookups = hits_ + misses_;
+      return lookups == 0 ? 0 : (double) hits_ / lookups;
+   }
+
+   private final int capacity_;
+   private int hits_ = 0;
+   private int misses_ = 0;
+   private int evictions_ = 0;
+
+   // maps each word to Boolean.TRUE if it's spelled correctly, Boolean.FALSE
+   // if it's misspelled, or (for misspelled words whose suggestions have been
+   // requested) its suggestions joined into a single newline-delimited string
+   private final LinkedHashMap<String, Object> entries_ =
+         new LinkedHashMap<String, Object>(16, 0.75f, true)
+   {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Object> eldest)
+      {
+         if (size() <= capacity_)
+            return false;
+
+         evictions_++;
+         return true;
+      }
+   };
+}
@@ -16,7 +16,7 @@
 package org.rstudio.studio.client.common.spelling;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 
 import org.rstudio.core.client.js.JsUtil;
@@ -27,8 +27,10 @@ import org.rstudio.studio.client.server.ServerRequestCallback;
 import org.rstudio.studio.client.workbench.prefs.model.SpellingPrefsContext;
 import org.rstudio.studio.client.workbench.prefs.model.UserPrefs;
 
+import com.google.gwt.core.client.JavaScriptObject;
 import com.google.gwt.core.client.JsArrayInteger;
 import com.google.gwt.core.client.JsArrayString;
+import com.google.gwt.core.client.Scheduler;
 import com.google.gwt.dom.client.Document;
 import com.google.gwt.event.dom.client.ChangeEvent;
 import com.google.gwt.event.dom.client.ChangeHandler;
@@ -83,7 +85,7 @@ public class SpellingService implements HasChangeHandlers
       for (int i = 0; i<words.size(); i++)
       {
          String word = words.get(i);
-         Boolean isCorrect = previousResults_.get(word);
+         Boolean isCorrect = cache_.isCorrect(word);
          if (isCorrect != null)
          {
             if (isCorrect)
@@ -104,36 +106,44 @@ public class SpellingService implements HasChangeHandlers
          return;
       }
       
-      // hit the server
-      server_.checkSpelling(JsUtil.toJsArrayString(wordsToCheck), 
-                            new ServerRequestCallback<JsArrayInteger>() {
+      // queue the words to be checked along with those from any other
+      // requests made before the batch is sent (e.g. from other editors)
+      if (pendingBatch_ == null)
+      {
+         pendingBatch_ = new CheckSpellingBatch();
+         Scheduler.get().scheduleDeferred(() ->
+         {
+            CheckSpellingBatch batch = pendingBatch_;
+            pendingBatch_ = null;
+            batch.send();
+         });
+      }
+      pendingBatch_.add(wordsToCheck, spellCheckerResult, callback);
+   }
 
+   public void suggestionList(final String word,
+                              final ServerRequestCallback<JsArrayString> callback)
+   {
+      JsArrayString suggestions = cache_.getSuggestions(word);
+      if (suggestions != null)
+      {
+         callback.onResponseReceived(suggestions);
+         return;
+      }
+      
+      final int generation = cacheGeneration_;
+      server_.suggestionList(word, new ServerRequestCallback<JsArrayString>() {
+         
          @Override
-         public void onResponseReceived(JsArrayInteger result)
+         public void onResponseReceived(JsArrayString result)
          {
-            // get misspelled indexes
-            ArrayList<Integer> misspelledIndexes = new ArrayList<>();
-            for (int i=0; i<result.length(); i++)
-               misspelledIndexes.add(result.get(i));
+            if (result == null)
+               result = JavaScriptObject.createArray().cast();
             
-            // determine correct/incorrect status and populate result & cache
-            for (int i=0; i<wordsToCheck.size(); i++)
-            {
-               String word = wordsToCheck.get(i);
-               if (misspelledIndexes.contains(i))
-               {
-                  spellCheckerResult.getIncorrect().add(word);
-                  previousResults_.put(word, false);
-               }
-               else
-               {
-                  spellCheckerResult.getCorrect().add(word);
-                  previousResults_.put(word,  true);
-               }
-            }
+            if (generation == cacheGeneration_)
+               cache_.putSuggestions(word, result);
             
-            // return result
-            callback.onResponseReceived(spellCheckerResult);     
+            callback.onResponseReceived(result);
          }
          
          @Override
@@ -143,11 +153,10 @@ public class SpellingService implements HasChangeHandlers
          }
       });
    }
-
-   public void suggestionList(String word,
-                              ServerRequestCallback<JsArrayString> callback)
+   
+   public SpellingCache getCache()
    {
-      server_.suggestionList(word, callback);
+      return cache_;
    }
    
    public void addCustomDictionary(
@@ -172,7 +181,8 @@ public class SpellingService implements HasChangeHandlers
    
    public void invalidateCache()
    {
-      previousResults_.clear();
+      cache_.clear();
+      cacheGeneration_++;
       DomEvent.fireNativeEvent(Document.get().createChangeEvent(),
                                handlerManager_);
    }
@@ -222,10 +232,92 @@ public class SpellingService implements HasChangeHandlers
    }
          
    
+   // words from one or more checkSpelling requests, checked with a single
+   // request to the server
+   private class CheckSpellingBatch
+   {
+      public void add(ArrayList<String> words,
+                      SpellCheckerResult result,
+                      ServerRequestCallback<SpellCheckerResult> callback)
+      {
+         for (String word : words)
+         {
+            if (wordSet_.add(word))
+               words_.add(word);
+         }
+         
+         requestWords_.add(words);
+         requestResults_.add(result);
+         requestCallbacks_.add(callback);
+      }
+      
+      public void send()
+      {
+         final int generation = cacheGeneration_;
+         server_.checkSpelling(JsUtil.toJsArrayString(words_), 
+                               new ServerRequestCallback<JsArrayInteger>() {
+
+            @Override
+            public void onResponseReceived(JsArrayInteger result)
+            {
+               // get misspelled indexes
+               HashSet<Integer> misspelledIndexes = new HashSet<>();
+               for (int i=0; i<result.length(); i++)
+                  misspelledIndexes.add(result.get(i));
+               
+               // determine correct/incorrect status and populate cache
+               HashSet<String> misspelledWords = new HashSet<>();
+               for (int i=0; i<words_.size(); i++)
+               {
+                  String word = words_.get(i);
+                  boolean isCorrect = !misspelledIndexes.contains(i);
+                  if (!isCorrect)
+                     misspelledWords.add(word);
+                  if (generation == cacheGeneration_)
+                     cache_.put(word, isCorrect);
+               }
+               
+               // populate and return the result for each request
+               for (int i=0; i<requestCallbacks_.size(); i++)
+               {
+                  SpellCheckerResult spellCheckerResult = requestResults_.get(i);
+                  for (String word : requestWords_.get(i))
+                  {
+                     if (misspelledWords.contains(word))
+                        spellCheckerResult.getIncorrect().add(word);
+                     else
+                        spellCheckerResult.getCorrect().add(word);
+                  }
+                  requestCallbacks_.get(i).onResponseReceived(spellCheckerResult);
+               }
+            }
+            
+            @Override
+            public void onError(ServerError error)
+            {
+               for (ServerRequestCallback<SpellCheckerResult> callback : requestCallbacks_)
+                  callback.onError(error);
+            }
+         });
+      }
+      
+      private final ArrayList<String> words_ = new ArrayList<>();
+      private final HashSet<String> wordSet_ = new HashSet<>();
+      
+      private final ArrayList<ArrayList<String>> requestWords_ = new ArrayList<>();
+      private final ArrayList<SpellCheckerResult> requestResults_ = new ArrayList<>();
+      private final ArrayList<ServerRequestCallback<SpellCheckerResult>> requestCallbacks_ =
+            new ArrayList<>();
+   }
+   
    private final SpellingServerOperations server_;
    private final UserPrefs uiPrefs_;
    
-   private HashMap<String,Boolean> previousResults_ = new HashMap<>();
+   private final SpellingCache cache_ = new SpellingCache(MAX_CACHED_WORDS);
+   private int cacheGeneration_ = 0;
+   private CheckSpellingBatch pendingBatch_;
+   
+   private static final int MAX_CACHED_WORDS = 20000;
    
    HandlerManager handlerManager_ = new HandlerManager(this);
    
@@ -107,6 +107,15 @@ public class StatusAndPath
       return directory_;
    }
 
+   /**
+    * @return Whether the file has no status, i.e. it's unchanged (or no
+    *    longer exists) and so shouldn't be listed.
+    */
+   public boolean isUnmodified()
+   {
+      return status_.trim().length() == 0;
+   }
+
    @Override
    public boolean equals(Object o)
    {
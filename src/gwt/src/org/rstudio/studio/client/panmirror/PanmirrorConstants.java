@@ -1800,4 +1800,13 @@ public interface PanmirrorConstants extends com.google.gwt.i18n.client.Messages
     @Key("readingCollectionsProgressText")
     String readingCollectionsProgressText();
 
+    /**
+     * Translated "The visual editor could not be loaded: {0}".
+     *
+     * @return translated "The visual editor could not be loaded: {0}"
+     */
+    @DefaultMessage("The visual editor could not be loaded: {0}")
+    @Key("visualEditorLoadError")
+    String visualEditorLoadError(String reason);
+
 }
@@ -68,6 +68,10 @@ import org.rstudio.studio.client.workbench.views.source.editors.text.MarkdownToo
 import org.rstudio.studio.client.workbench.views.source.editors.text.events.EditorThemeChangedEvent;
 import org.rstudio.studio.client.workbench.views.source.editors.text.themes.AceTheme;
 
+import com.google.gwt.core.client.GWT;
+import com.google.gwt.core.client.RunAsyncCallback;
+import com.google.gwt.core.client.prefetch.Prefetcher;
+import com.google.gwt.core.client.prefetch.RunAsyncCode;
 import com.google.gwt.dom.client.Style;
 import com.google.gwt.event.shared.GwtEvent;
 import com.google.gwt.event.shared.HandlerManager;
@@ -124,24 +128,52 @@ public class PanmirrorWidget extends DockLayoutPanel implements
                              int progressDelay,
                              CommandWithArg<PanmirrorWidget> completed) {
       
-      PanmirrorWidget editorWidget = new PanmirrorWidget(widgetOptions, toolbar);
-   
-      Panmirror.load(() -> {
+      // the widget (along with its toolbar, dialogs, etc.) is downloaded
+      // the first time a visual editor is created
+      GWT.runAsync(PanmirrorWidget.class, new RunAsyncCallback()
+      {
+         @Override
+         public void onSuccess()
+         {
+            PanmirrorWidget editorWidget = new PanmirrorWidget(widgetOptions, toolbar);
          
-         // get format (now that we have uiTools available)
-         PanmirrorFormat format = formatSource.getFormat(new PanmirrorUITools().format);
+            Panmirror.load(() -> {
                
-         // create the editor
-         new PromiseWithProgress<>(
-            PanmirrorEditor.create(editorWidget.editorParent_.getElement(), context, format, options),
-            null,
-            progressDelay,
-            editor -> {
-               editorWidget.attachEditor(editor);
-               completed.execute(editorWidget);
-            }
-         );
-       });  
+               // get format (now that we have uiTools available)
+               PanmirrorFormat format = formatSource.getFormat(new PanmirrorUITools().format);
+                     
+               // create the editor
+               new PromiseWithProgress<>(
+                  PanmirrorEditor.create(editorWidget.editorParent_.getElement(), context, format, options),
+                  null,
+                  progressDelay,
+                  editor -> {
+                     editorWidget.attachEditor(editor);
+                     completed.execute(editorWidget);
+                  }
+               );
+             });
+         }
+         
+         @Override
+         public void onFailure(Throwable reason)
+         {
+            // report the error, and let the caller know there's no editor
+            RStudioGinjector.INSTANCE.getGlobalDisplay().showErrorMessage(
+                  constants_.errorCaption(),
+                  constants_.visualEditorLoadError(reason.getMessage()));
+            completed.execute(null);
+         }
+      });
+   }
+   
+   /**
+    * Downloads the code for the visual editor (without creating one), so
+    * that switching to visual mode doesn't wait on it.
+    */
+   public static void prefetch()
+   {
+      Prefetcher.prefetch(RunAsyncCode.runAsyncCode(PanmirrorWidget.class));
    }
    
    private PanmirrorWidget(Options options, MarkdownToolbar toolbarHost)
@@ -740,6 +772,8 @@ public class PanmirrorWidget extends DockLayoutPanel implements
    private final HandlerManager handlers_ = new HandlerManager(this);
    private final HandlerRegistrations registrations_ = new HandlerRegistrations();
    private final ArrayList<JsVoidFunction> editorEventUnsubscribe_ = new ArrayList<>();
+
+   private static final PanmirrorConstants constants_ = GWT.create(PanmirrorConstants.class);
 }
 
 
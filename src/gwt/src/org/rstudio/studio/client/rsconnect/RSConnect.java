@@ -62,8 +62,7 @@ import org.rstudio.studio.client.rsconnect.model.RSConnectServerOperations;
 import org.rstudio.studio.client.rsconnect.model.RenderedDocPreview;
 import org.rstudio.studio.client.rsconnect.model.RmdPublishDetails;
 import org.rstudio.studio.client.rsconnect.ui.RSAccountConnector;
-import org.rstudio.studio.client.rsconnect.ui.RSConnectDeployDialog;
-import org.rstudio.studio.client.rsconnect.ui.RSConnectPublishWizard;
+import org.rstudio.studio.client.rsconnect.ui.RSConnectDeployLoader;
 import org.rstudio.studio.client.server.ServerError;
 import org.rstudio.studio.client.server.ServerRequestCallback;
 import org.rstudio.studio.client.workbench.commands.Commands;
@@ -115,6 +114,7 @@ public class RSConnect implements SessionInitEvent.Handler,
                     SourceServerOperations sourceServer,
                     RPubsServerOperations rpubsServer,
                     RSAccountConnector connector,
+                    RSConnectDeployLoader.Shim deployLoader,
                     Provider<UserPrefs> pUserPrefs,
                     Provider<UserState> pUserState,
                     PlotPublishMRUList plotMru)
@@ -128,6 +128,7 @@ public class RSConnect implements SessionInitEvent.Handler,
       rpubsServer_ = rpubsServer;
       events_ = events;
       connector_ = connector;
+      deployLoader_ = deployLoader;
       pUserPrefs_ = pUserPrefs;
       pUserState_ = pUserState;
       plotMru_ = plotMru;
@@ -538,19 +539,16 @@ public class RSConnect implements SessionInitEvent.Handler,
    private void publishAsFiles(RSConnectActionEvent event,
          RSConnectPublishSource source)
    {
-      RSConnectDeployDialog dialog =
-            new RSConnectDeployDialog(
-                      event.getContentType(),
-                      server_, this, display_,
-                      source,
-                      event.getFromPrevious());
-      dialog.showModal();
+      deployLoader_.showDeployDialog(
+            event.getContentType(),
+            this,
+            source,
+            event.getFromPrevious());
    }
 
    private void publishWithWizard(final RSConnectPublishInput input)
    {
-      RSConnectPublishWizard wizard =
-            new RSConnectPublishWizard(input,
+      deployLoader_.showPublishWizard(input,
                   new ProgressOperationWithInput<RSConnectPublishResult>()
             {
                @Override
@@ -573,7 +571,6 @@ public class RSConnect implements SessionInitEvent.Handler,
                   }
                }
             });
-      wizard.showModal();
    }
 
    @Override
@@ -1300,6 +1297,7 @@ public class RSConnect implements SessionInitEvent.Handler,
    private final DependencyManager dependencyManager_;
    private final EventBus events_;
    private final RSAccountConnector connector_;
+   private final RSConnectDeployLoader.Shim deployLoader_;
    private final Provider<UserPrefs> pUserPrefs_;
    private final Provider<UserState> pUserState_;
    private final PlotPublishMRUList plotMru_;
@@ -15,8 +15,12 @@
 package org.rstudio.studio.client.server.remote;
 
 
-import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
 
+import org.rstudio.core.client.CommandWithArg;
+import org.rstudio.core.client.StringUtil;
 import org.rstudio.core.client.command.CommandCallbacksChangedEvent;
 import org.rstudio.core.client.events.ExecuteAppCommandEvent;
 import org.rstudio.core.client.events.HighlightEvent;
@@ -262,6 +266,7 @@ public class ClientEventDispatcher
    public ClientEventDispatcher(EventBus eventBus)
    {
       eventBus_ = eventBus;
+      registerHandlers();
    }
    
    public void enqueEventAsJso(JavaScriptObject event)
@@ -279,909 +284,100 @@ public class ClientEventDispatcher
          {
             public boolean execute()
             {
-               for (int i = 0;
-                    i < MAX_EVENTS_AT_ONCE && pendingEvents_.size() > 0;
-                    i++)
+               int dispatched = 0;
+               while (dispatched < MAX_EVENTS_AT_ONCE && !pendingEvents_.isEmpty())
                {
-                  ClientEvent currentEvent = pendingEvents_.remove(0);
-                  dispatchEvent(currentEvent);
+                  ClientEvent currentEvent = pendingEvents_.poll();
+                  dispatched++;
+
+                  String type = currentEvent.getType();
+                  if (type == ClientEvent.ConsoleOutput ||
+                      type == ClientEvent.ConsoleError)
+                  {
+                     dispatched += coalesceConsoleText(currentEvent);
+                  }
+                  else
+                  {
+                     dispatchEvent(currentEvent);
+                  }
                }
-               return pendingEvents_.size() > 0;
+               return !pendingEvents_.isEmpty();
             }
          });
       }
    }
+
+   /**
+    * Dispatches a console output (or error) event, merging in any queued
+    * events of the same type that immediately follow it and target the same
+    * console, so that bursts of output reach the event bus as a single event.
+    *
+    * @param event The console output or error event to dispatch
+    * @return The number of additional queued events merged into it
+    */
+   private int coalesceConsoleText(ClientEvent event)
+   {
+      String type = event.getType();
+      ConsoleText first = event.getData();
+
+      StringBuilder text = null;
+      int merged = 0;
+      while (merged < MAX_EVENTS_AT_ONCE && !pendingEvents_.isEmpty())
+      {
+         ClientEvent next = pendingEvents_.peek();
+         if (next.getType() != type)
+            break;
+
+         ConsoleText nextText = next.getData();
+         if (!StringUtil.equals(first.console, nextText.console))
+            break;
+
+         if (text == null)
+            text = new StringBuilder(StringUtil.notNull(first.text));
+         text.append(StringUtil.notNull(nextText.text));
+
+         pendingEvents_.poll();
+         merged++;
+      }
+
+      if (text == null)
+      {
+         dispatchEvent(event);
+         return 0;
+      }
+
+      ConsoleText combined = new ConsoleText();
+      combined.text = text.toString();
+      combined.console = first.console;
+
+      try
+      {
+         if (type == ClientEvent.ConsoleOutput)
+            eventBus_.dispatchEvent(new ConsoleWriteOutputEvent(combined));
+         else
+            eventBus_.dispatchEvent(new ConsoleWriteErrorEvent(combined));
+      }
+      catch(Throwable e)
+      {
+         GWT.log("WARNING: Exception occurred dispatching event: " + type, e);
+      }
+
+      return merged;
+   }
    
-   private void dispatchEvent(ClientEvent event) 
-   { 
+   private void dispatchEvent(ClientEvent event)
+   {
       String type = event.getType();
       try
       {
-         if (type == ClientEvent.Busy)
-         {
-            boolean busy = event.<Bool>getData().getValue();
-            eventBus_.dispatchEvent(new BusyEvent(busy));
-         }
-         else if (type == ClientEvent.ConsoleOutput)
-         {
-            ConsoleText output = event.getData();
-            eventBus_.dispatchEvent(new ConsoleWriteOutputEvent(output));
-         }
-         else if (type == ClientEvent.ConsoleError)
-         {
-            ConsoleText error = event.getData();
-            eventBus_.dispatchEvent(new ConsoleWriteErrorEvent(error));
-         }
-         else if (type == ClientEvent.ConsoleWritePrompt)
-         {
-            String prompt = event.getData();
-            eventBus_.dispatchEvent(new ConsoleWritePromptEvent(prompt));
-         }
-         else if (type == ClientEvent.ConsoleWriteInput)
-         {
-            ConsoleText input = event.getData();
-            eventBus_.dispatchEvent(new ConsoleWriteInputEvent(input));
-         }
-         else if (type == ClientEvent.ConsolePrompt)
-         {
-            ConsolePrompt prompt = event.getData();
-            eventBus_.dispatchEvent(new ConsolePromptEvent(prompt));
-         }
-         else if (type == ClientEvent.ShowEditor)
-         {
-            ShowEditorData data = event.getData();
-            eventBus_.dispatchEvent(new ShowEditorEvent(data));
-         }
-         else if (type == ClientEvent.FileChanged)
-         {
-            FileChange fileChange = event.getData();
-            eventBus_.dispatchEvent(new FileChangeEvent(fileChange));
-         }
-         else if (type == ClientEvent.WorkingDirChanged)
-         {
-            String path = event.getData();
-            eventBus_.dispatchEvent(new WorkingDirChangedEvent(path));
-         }
-         else if (type == ClientEvent.ShowHelp)
-         {
-            String helpUrl = event.getData();
-            eventBus_.dispatchEvent(new ShowHelpEvent(helpUrl));
-         }
-         else if (type == ClientEvent.ShowErrorMessage)
-         {
-            ErrorMessage errorMessage = event.getData();
-            eventBus_.dispatchEvent(new ShowErrorMessageEvent(errorMessage));
-         }
-         else if (type == ClientEvent.ChooseFile)
-         {
-            boolean newFile = event.<Bool>getData().getValue();
-            eventBus_.dispatchEvent(new ChooseFileEvent(newFile));
-         }
-         else if (type == ClientEvent.BrowseUrl)
-         {
-            BrowseUrlInfo urlInfo = event.getData();
-            eventBus_.dispatchEvent(new BrowseUrlEvent(urlInfo));
-         }
-         else if (type == ClientEvent.PlotsStateChanged)
-         {
-            PlotsState plotsState = event.getData();
-            eventBus_.dispatchEvent(new PlotsChangedEvent(plotsState));
-         }
-         else if (type == ClientEvent.PackageStateChanged)
-         {
-            PackageState newState = event.getData();
-            eventBus_.dispatchEvent(new PackageStateChangedEvent(newState));
-         }
-         else if (type == ClientEvent.PackageStatusChanged)
-         {
-            PackageStatus status = event.getData();
-            eventBus_.dispatchEvent(new PackageStatusChangedEvent(status));
-         }
-         else if (type == ClientEvent.Locator)
-         {
-            eventBus_.dispatchEvent(new LocatorEvent());
-         }
-         else if (type == ClientEvent.ConsoleResetHistory)
-         {
-            ConsoleResetHistory reset = event.getData();
-            eventBus_.dispatchEvent(new ConsoleResetHistoryEvent(reset));
-         }
-         else if (type == ClientEvent.SessionSerialization)
-         {
-            SessionSerializationAction action = event.getData();
-            eventBus_.dispatchEvent(new SessionSerializationEvent(action));
-         }
-         else if (type == ClientEvent.HistoryEntriesAdded)
-         {
-            RpcObjectList<HistoryEntry> entries = event.getData();
-            eventBus_.dispatchEvent(new HistoryEntriesAddedEvent(entries));
-         }
-         else if (type == ClientEvent.QuotaStatus)
-         {
-            QuotaStatus quotaStatus = event.getData();
-            eventBus_.dispatchEvent(new QuotaStatusEvent(quotaStatus));
-         }
-         else if (type == ClientEvent.FileEdit)
-         {
-            FileEditEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new FileEditEvent(data));
-         }
-         else if (type == ClientEvent.ShowContent)
-         {
-            ContentItem content = event.getData();
-            eventBus_.dispatchEvent(new ShowContentEvent(content));
-         }
-         else if (type == ClientEvent.ShowData)
-         {
-            DataItem data = event.getData();
-            eventBus_.dispatchEvent(new ShowDataEvent(data));
-         }
-         else if (type == ClientEvent.AbendWarning)
-         {            
-            eventBus_.dispatchEvent(new SessionAbendWarningEvent());
-         }
-         else if (type == ClientEvent.ShowWarningBar)
-         {
-            eventBus_.dispatchEvent(new ShowWarningBarEvent(event.getData()));
-         }
-         else if (type == ClientEvent.OpenProjectError)
-         {
-            OpenProjectError error = event.getData();
-            eventBus_.dispatchEvent(new OpenProjectErrorEvent(error));
-         }
-         else if (type == ClientEvent.VcsRefresh)
-         {
-            JsObject data = event.getData();
-            eventBus_.dispatchEvent(new VcsRefreshEvent(Reason.NA,
-                                                    data.getInteger("delay")));
-         }
-         else if (type == ClientEvent.AskPass)
-         {
-            AskPassEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new AskPassEvent(data));
-         }
-         else if (type == ClientEvent.ConsoleProcessOutput)
-         {
-            ServerConsoleOutputEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ServerConsoleOutputEvent(data.getHandle(),
-                                                            data.getOutput()));
-         }
-         else if (type == ClientEvent.ConsoleProcessPrompt)
-         {
-            ServerConsolePromptEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ServerConsolePromptEvent(data.getHandle(),
-                                                             data.getPrompt()));
-         }
-         else if (type == ClientEvent.ConsoleProcessCreated)
-         {
-            ConsoleProcessCreatedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ConsoleProcessCreatedEvent(data));
-         }
-         else if (type == ClientEvent.ConsoleProcessExit)
-         {
-            ServerProcessExitEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ServerProcessExitEvent(data.getHandle(),
-                                                          data.getExitCode()));
-         }
-         else if (type == ClientEvent.HTMLPreviewStartedEvent)
-         {
-            HTMLPreviewStartedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new HTMLPreviewStartedEvent(data));
-         }
-         else if (type == ClientEvent.HTMLPreviewOutputEvent)
-         {
-            String output = event.getData();
-            eventBus_.dispatchEvent(new HTMLPreviewOutputEvent(output));
-         }
-         else if (type == ClientEvent.HTMLPreviewCompletedEvent)
-         {
-            HTMLPreviewResult result = event.getData();
-            eventBus_.dispatchEvent(new HTMLPreviewCompletedEvent(result));
-         }
-         else if (type == ClientEvent.CompilePdfStartedEvent)
-         {
-            CompilePdfStartedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new CompilePdfStartedEvent(data));
-         }
-         else if (type == ClientEvent.CompilePdfOutputEvent)
-         {
-            CompileOutput output = event.getData();
-            eventBus_.dispatchEvent(new CompilePdfOutputEvent(output));
-         }
-         else if (type == ClientEvent.CompilePdfErrorsEvent)
-         {
-            JsArray<SourceMarker> data = event.getData();
-            eventBus_.dispatchEvent(new CompilePdfErrorsEvent(data));
-         }
-         else if (type == ClientEvent.CompilePdfCompletedEvent)
-         {
-            CompilePdfResult result = event.getData();
-            eventBus_.dispatchEvent(new CompilePdfCompletedEvent(result));
-         }
-         else if (type == ClientEvent.SynctexEditFile)
-         {
-            SourceLocation sourceLocation = event.getData();
-            eventBus_.dispatchEvent(new SynctexEditFileEvent(sourceLocation));
-         }
-         else if (type == ClientEvent.FindResult)
-         {
-            FindResultEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new FindResultEvent(
-                  data.getHandle(), data.getResults().toArrayList()));
-         }
-         else if (type == ClientEvent.FindOperationEnded)
-         {
-            String data = event.getData();
-            eventBus_.dispatchEvent(new FindOperationEndedEvent(data));
-         }
-         else if (type == ClientEvent.ReplaceResult)
-         {
-            ReplaceResultEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ReplaceResultEvent(
-                   data.getHandle(), data.getResults().toArrayList()));
-         }
-         else if (type == ClientEvent.ReplaceProgress)
-         {
-            ReplaceProgressEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(
-               new ReplaceProgressEvent(data.getTotalReplaceCount(), data.getReplacedCount()));
-         }
-         else if (type == ClientEvent.RPubsUploadStatus)
-         {
-            RPubsUploadStatusEvent.Status status = event.getData();
-            eventBus_.dispatchEvent(new RPubsUploadStatusEvent(status));
-         }
-         else if (type == ClientEvent.BuildStarted)
-         {
-            BuildStartedEvent.Data buildStartedData = event.getData();
-            eventBus_.dispatchEvent(new BuildStartedEvent(buildStartedData));
-         }
-         else if (type == ClientEvent.BuildOutput)
-         {
-            CompileOutput data = event.getData();
-            eventBus_.dispatchEvent(new BuildOutputEvent(data));
-         }
-         else if (type == ClientEvent.BuildCompleted)
-         {
-            BuildCompletedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new BuildCompletedEvent(data));
-         }
-         else if (type == ClientEvent.BuildErrors)
-         {
-            BuildErrorsEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new BuildErrorsEvent(data));
-         }
-         else if (type == ClientEvent.DirectoryNavigate)
-         {
-            DirectoryNavigateEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new DirectoryNavigateEvent(data));
-         }
-         else if (type == ClientEvent.DeferredInitCompleted)
-         {
-            eventBus_.dispatchEvent(new DeferredInitCompletedEvent());
-         }
-         else if (type == ClientEvent.PlotsZoomSizeChanged)
-         {
-            PlotsZoomSizeChangedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new PlotsZoomSizeChangedEvent(data));
-         }
-         else if (type == ClientEvent.SourceCppStarted)
-         {
-            eventBus_.dispatchEvent(new SourceCppStartedEvent());
-         }
-         else if (type == ClientEvent.SourceCppCompleted)
-         {
-            SourceCppState state = event.getData();
-            eventBus_.dispatchEvent(new SourceCppCompletedEvent(state));
-         }
-         else if (type == ClientEvent.LoadedPackageUpdates)
-         {
-            String installCmd = event.getData();
-            eventBus_.dispatchEvent(new LoadedPackageUpdatesEvent(installCmd));
-         }
-         else if (type == ClientEvent.ActivatePane)
-         {
-            String pane = event.getData();
-            eventBus_.dispatchEvent(new ActivatePaneEvent(pane));
-         }
-         else if (type == ClientEvent.ShowPresentationPane)
-         {
-            PresentationState state = event.getData();
-            eventBus_.dispatchEvent(new ShowPresentationPaneEvent(state));
-         }
-         else if (type == ClientEvent.EnvironmentRefresh)
-         {
-            eventBus_.dispatchEvent(new EnvironmentRefreshEvent());
-         }
-         else if (type == ClientEvent.ListChanged)
-         {
-            eventBus_.dispatchEvent(new ListChangedEvent(event.<JsObject>getData()));
-         }
-         else if (type == ClientEvent.UserPrefsChanged)
-         {
-            PrefLayer data = event.getData();
-            eventBus_.dispatchEvent(new UserPrefsChangedEvent(data));
-         }
-         else if (type == ClientEvent.UserStateChanged)
-         {
-            PrefLayer data = event.getData();
-            eventBus_.dispatchEvent(new UserStateChangedEvent(data));
-         }
-         else if (type == ClientEvent.ContextDepthChanged)
-         {
-            EnvironmentContextData data = event.getData();
-            eventBus_.dispatchEvent(new ContextDepthChangedEvent(data, true));
-         }
-         else if (type == ClientEvent.HandleUnsavedChanges)
-         {
-            eventBus_.dispatchEvent(new HandleUnsavedChangesEvent());
-         }
-         else if (type == ClientEvent.Quit)
-         {
-            QuitEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new QuitEvent(data));
-         }
-         else if (type == ClientEvent.Suicide)
-         {
-            // NOTE: we don't explicitly stop listening for events here
-            // for the reasons cited above in ClientEvent.Quit
-            
-            // fire event
-            String message = event.getData();
-            eventBus_.dispatchEvent(new SuicideEvent(message));
-         }
-         else if (type == ClientEvent.SaveActionChanged)
-         {
-            SaveAction action = event.getData();
-            eventBus_.dispatchEvent(new SaveActionChangedEvent(action));
-         }
-         else if (type == ClientEvent.EnvironmentAssigned)
-         {
-            RObject objectInfo = event.getData();
-            eventBus_.dispatchEvent(new EnvironmentObjectAssignedEvent(objectInfo));
-         }
-         else if (type == ClientEvent.EnvironmentRemoved)
-         {
-            String objectName = event.getData();
-            eventBus_.dispatchEvent(new EnvironmentObjectRemovedEvent(objectName));
-         }
-         else if (type == ClientEvent.EnvironmentChanged)
-         {
-            EnvironmentChangedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new EnvironmentChangedEvent(data));
-         }
-         else if (type == ClientEvent.BrowserLineChanged)
-         {
-            LineData lineData = event.getData();
-            eventBus_.dispatchEvent(new BrowserLineChangedEvent(lineData));
-         }
-         else if (type == ClientEvent.PackageLoaded)
-         {
-            eventBus_.dispatchEvent(new PackageLoadedEvent(
-                  (String)event.getData()));
-         }
-         else if (type == ClientEvent.PackageUnloaded)
-         {
-            eventBus_.dispatchEvent(new PackageUnloadedEvent(
-                  (String)event.getData()));
-         }
-         else if (type == ClientEvent.PresentationPaneRequestCompleted)
-         {
-            eventBus_.dispatchEvent(new PresentationPaneRequestCompletedEvent());
-         }
-         else if (type == ClientEvent.UnhandledError)
-         {
-            UnhandledError err = event.getData();
-            eventBus_.dispatchEvent(new UnhandledErrorEvent(err));
-         }
-         else if (type == ClientEvent.ErrorHandlerChanged)
-         {
-            ErrorHandlerChangedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ErrorHandlerChangedEvent(data));
-         }
-         else if (type == ClientEvent.ViewerNavigate)
-         {
-            ViewerNavigateEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ViewerNavigateEvent(data));
-         }
-         else if (type == ClientEvent.SourceExtendedTypeDetected)
-         {
-            SourceExtendedTypeDetectedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new SourceExtendedTypeDetectedEvent(data));
-         }
-         else if (type == ClientEvent.ShinyViewer)
-         {
-            ShinyApplicationParams data = event.getData();
-            eventBus_.dispatchEvent(new ShinyApplicationStatusEvent(data, true));
-         }
-         else if (type == ClientEvent.DebugSourceCompleted)
-         {
-            DebugSourceResult result = (DebugSourceResult)event.getData();
-            eventBus_.dispatchEvent(new DebugSourceCompletedEvent(result));
-         }
-         else if (type == ClientEvent.RmdRenderStarted)
-         {
-            RmdRenderStartedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new RmdRenderStartedEvent(data));
-         }
-         else if (type == ClientEvent.RmdRenderOutput)
-         {
-            CompileOutput data = event.getData();
-            eventBus_.dispatchEvent(new RmdRenderOutputEvent(data));
-         }
-         else if (type == ClientEvent.RmdRenderCompleted)
-         {
-            RmdRenderResult result = event.getData();
-            eventBus_.dispatchEvent(new RmdRenderCompletedEvent(result));
-         }
-         else if (type == ClientEvent.RmdShinyDocStarted)
-         {
-            RmdShinyDocInfo docInfo = event.getData();
-            eventBus_.dispatchEvent(new RmdShinyDocStartedEvent(docInfo));
-         }
-         else if (type == ClientEvent.RSConnectDeploymentOutput)
-         {
-            CompileOutput output = event.getData();
-            eventBus_.dispatchEvent(new RSConnectDeploymentOutputEvent(output));
-         }
-         else if (type == ClientEvent.RSConnectDeploymentCompleted)
-         {
-            String url = event.getData();
-            eventBus_.dispatchEvent(new RSConnectDeploymentCompletedEvent(url));
-         }
-         else if (type == ClientEvent.RSConnectDeploymentFailed)
-         {
-            RSConnectDeploymentFailedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new RSConnectDeploymentFailedEvent(data));
-         }
-         else if (type == ClientEvent.UserPrompt)
-         {
-            UserPrompt prompt = event.getData();
-            eventBus_.dispatchEvent(new UserPromptEvent(prompt));
-         }
-         else if (type == ClientEvent.InstallRtools)
-         {
-            InstallRtoolsEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new InstallRtoolsEvent(data));
-         }
-         else if (type == ClientEvent.InstallShiny)
-         {
-            String userAction = event.getData();
-            eventBus_.dispatchEvent(new InstallShinyEvent(userAction));
-         }
-         else if (type == ClientEvent.SuspendAndRestart)
-         {
-            SuspendAndRestartEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new SuspendAndRestartEvent(data));
-         }
-         else if (type == ClientEvent.DataViewChanged)
-         {
-            DataViewChangedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new DataViewChangedEvent(data));
-         }
-         else if (type == ClientEvent.ViewFunction)
-         {
-            SearchPathFunctionDefinition data = event.getData();
-            eventBus_.dispatchEvent(new CodeBrowserNavigationEvent(
-                  data, null, false, true, false));
-         }
-         else if (type == ClientEvent.MarkersChanged)
-         {
-            MarkersChangedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new MarkersChangedEvent(data));
-         }
-         else if (type == ClientEvent.EnableRStudioConnect)
-         {
-            EnableRStudioConnectUIEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new EnableRStudioConnectUIEvent(data));
-         }
-         else if (type == ClientEvent.UpdateGutterMarkers)
-         {
-            LintEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new LintEvent(data));
-         }
-         else if (type == ClientEvent.SnippetsChanged)
-         {
-            SnippetsChangedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new SnippetsChangedEvent(data));
-         }
-         else if (type == ClientEvent.JumpToFunction)
-         {
-            JumpToFunctionEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new JumpToFunctionEvent(data));
-         }
-         else if (type == ClientEvent.CollabEditStarted)
-         {
-            CollabEditStartParams params = event.getData();
-            eventBus_.dispatchEvent(new CollabEditStartedEvent(params));
-         }
-         else if (type == ClientEvent.SessionCountChanged)
-         {
-            SessionCountChangedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new SessionCountChangedEvent(data));
-         }
-         else if (type == ClientEvent.SessionLabelChanged)
-         {
-            SessionLabelChangedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new SessionLabelChangedEvent(data));
-         }
-         else if (type == ClientEvent.CollabEditEnded)
-         {
-            CollabEditEndedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new CollabEditEndedEvent(data));
-         }
-         else if (type == ClientEvent.ProjectUsersChanged)
-         {
-            ProjectUserChangedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ProjectUserChangedEvent(data));
-         }
-         else if (type == ClientEvent.RVersionsChanged)
-         {
-            RVersionsInfo versions = event.getData();
-            eventBus_.dispatchEvent(new RVersionsChangedEvent(versions));
-         }
-         else if (type == ClientEvent.ShinyGadgetDialog)
-         {
-            ShinyGadgetDialogEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ShinyGadgetDialogEvent(data));
-         }
-         else if (type == ClientEvent.RmdParamsReady)
-         {
-            String paramsFile = event.getData();
-            eventBus_.dispatchEvent(new RmdParamsReadyEvent(paramsFile));
-         }
-         else if (type == ClientEvent.RegisterUserCommand)
-         {
-            RegisterUserCommandEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new RegisterUserCommandEvent(data));
-         }
-         else if (type == ClientEvent.SendToConsole)
-         {
-            SendToConsoleEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new SendToConsoleEvent(data));
-         }
-         else if (type == ClientEvent.UserFollowStarted)
-         {
-            ProjectUser user = event.getData();
-            eventBus_.dispatchEvent(new FollowUserEvent(user, true));
-         }
-         else if (type == ClientEvent.UserFollowEnded)
-         {
-            ProjectUser user = event.getData();
-            eventBus_.dispatchEvent(new FollowUserEvent(user, false));
-         }
-         else if (type == ClientEvent.ProjectAccessRevoked)
-         {
-            eventBus_.dispatchEvent(new ProjectAccessRevokedEvent());
-         }
-         else if (type == ClientEvent.CollabEditSaved)
-         {
-            CollabEditSavedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new CollabEditSavedEvent(data));
-         }
-         else if (type == ClientEvent.AddinRegistryUpdated)
-         {
-            RAddins data = event.getData();
-            eventBus_.dispatchEvent(new AddinRegistryUpdatedEvent(data));
-         }
-         else if (type == ClientEvent.ChunkOutput)
-         {
-            RmdChunkOutput data = event.getData();
-            eventBus_.dispatchEvent(new RmdChunkOutputEvent(data));
-         }
-         else if (type == ClientEvent.ChunkOutputFinished)
+         CommandWithArg<ClientEvent> handler = handlers_.get(type);
+         if (handler != null)
          {
-            RmdChunkOutputFinishedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new RmdChunkOutputFinishedEvent(data));
+            handler.execute(event);
          }
-         else if (type == ClientEvent.RprofStarted)
+         else
          {
-            eventBus_.dispatchEvent(new RprofEvent(RprofEvent.RprofEventType.START, null));
-         }
-         else if (type == ClientEvent.RprofStopped)
-         {
-            eventBus_.dispatchEvent(new RprofEvent(RprofEvent.RprofEventType.STOP, null));
-         }
-         else if (type == ClientEvent.RprofCreated)
-         {
-            RprofEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new RprofEvent(RprofEvent.RprofEventType.CREATE, data));
-         }
-         else if (type == ClientEvent.EditorCommand)
-         {
-            EditorCommandEvent.Data data = event.getData();
-            EditorCommandEvent payload = new EditorCommandEvent(data);
-            eventBus_.dispatchEvent(new EditorCommandDispatchEvent(payload));
-         }
-         else if (type == ClientEvent.PreviewRmd)
-         {
-            PreviewRmdEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new PreviewRmdEvent(data));
-         }
-         else if (type == ClientEvent.WebsiteFileSaved)
-         {
-            FileSystemItem fsi = event.getData();
-            eventBus_.dispatchEvent(new WebsiteFileSavedEvent(fsi));
-         }
-         else if (type == ClientEvent.ChunkPlotRefreshed)
-         {
-            ChunkPlotRefreshedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ChunkPlotRefreshedEvent(data));
-         }
-         else if (type == ClientEvent.ChunkPlotRefreshFinished)
-         {
-            ChunkPlotRefreshFinishedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ChunkPlotRefreshFinishedEvent(data));
-         }
-         else if (type == ClientEvent.ReloadWithLastChanceSave)
-         {
-            eventBus_.dispatchEvent(new ReloadWithLastChanceSaveEvent());
-         }
-         else if (type == ClientEvent.ConnectionUpdated)
-         {
-            ConnectionUpdatedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ConnectionUpdatedEvent(data));
-         }
-         else if (type == ClientEvent.EnableConnections)
-         {
-            eventBus_.dispatchEvent(new EnableConnectionsEvent());
-         }
-         else if (type == ClientEvent.ConnectionListChanged)
-         {
-            JsArray<Connection> connections = event.getData();
-            eventBus_.dispatchEvent(new ConnectionListChangedEvent(connections));
-         }
-         else if (type == ClientEvent.ActiveConnectionsChanged)
-         {
-            JsArray<ConnectionId> connections = event.getData();
-            eventBus_.dispatchEvent(new ActiveConnectionsChangedEvent(connections));
-         }
-         else if (type == ClientEvent.ConnectionOpened)
-         {
-            Connection connection = event.getData();
-            eventBus_.dispatchEvent(new ConnectionOpenedEvent(connection));
-         }
-         else if (type == ClientEvent.NotebookRangeExecuted)
-         {
-            NotebookRangeExecutedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new NotebookRangeExecutedEvent(data));
-         }
-         else if (type == ClientEvent.ChunkExecStateChanged)
-         {
-            ChunkExecStateChangedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ChunkExecStateChangedEvent(data));
-         }
-         else if (type == ClientEvent.NavigateShinyFrame)
-         {
-            ShinyFrameNavigatedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ShinyFrameNavigatedEvent(data));
-         }
-         else if (type == ClientEvent.UpdateNewConnectionDialog)
-         {
-            NewConnectionDialogUpdatedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new NewConnectionDialogUpdatedEvent(data));
-         }
-         else if (type == ClientEvent.ProjectTemplateRegistryUpdated)
-         {
-            ProjectTemplateRegistry data = event.getData();
-            eventBus_.dispatchEvent(new ProjectTemplateRegistryUpdatedEvent(data));
-         }
-         else if (type == ClientEvent.TerminalSubProcs)
-         {
-            TerminalSubprocEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new TerminalSubprocEvent(data));
-         }
-         else if (type == ClientEvent.PackageExtensionIndexingCompleted)
-         {
-            PackageProvidedExtensions.Data data = event.getData();
-            eventBus_.dispatchEvent(new PackageExtensionIndexingCompletedEvent(data));
-         }
-         else if (type == ClientEvent.RStudioAPIShowDialog)
-         {
-            RStudioAPIShowDialogEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new RStudioAPIShowDialogEvent(data));
-         }
-         else if (type == ClientEvent.ObjectExplorerEvent)
-         {
-            ObjectExplorerEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ObjectExplorerEvent(data));
-         }
-         else if (type == ClientEvent.SendToTerminal)
-         {
-            SendToTerminalEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new SendToTerminalEvent(data));
-         }
-         else if (type == ClientEvent.ClearTerminal)
-         {
-            ClearTerminalEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ClearTerminalEvent(data));
-         }
-         else if (type == ClientEvent.AddTerminal)
-         {
-            AddTerminalEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new AddTerminalEvent(data));
-         }
-         else if (type == ClientEvent.RemoveTerminal)
-         {
-            RemoveTerminalEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new RemoveTerminalEvent(data));
-         }
-         else if (type == ClientEvent.ActivateTerminal)
-         {
-            ActivateNamedTerminalEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ActivateNamedTerminalEvent(data));
-         }
-         else if (type == ClientEvent.TerminalCwd)
-         {
-            TerminalCwdEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new TerminalCwdEvent(data));
-         }
-         else if (type == ClientEvent.AdminNotification)
-         {
-            AdminNotification notification = event.getData();
-            eventBus_.dispatchEvent(new AdminNotificationEvent(notification));
-         }
-         else if (type == ClientEvent.RequestDocumentSave)
-         {
-            RequestDocumentSaveEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new RequestDocumentSaveEvent(data));
-         }
-         else if (type == ClientEvent.RequestOpenProject)
-         {
-            RequestOpenProjectEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new RequestOpenProjectEvent(data));
-         }
-         else if (type == ClientEvent.OpenFileDialog)
-         {
-            OpenFileDialogEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new OpenFileDialogEvent(data));
-         }
-         else if (type == ClientEvent.ShowPageViewer)
-         {
-            HTMLPreviewParams params = event.getData();
-            eventBus_.dispatchEvent(new ShowPageViewerEvent(params));
-         }
-         else if (type == ClientEvent.AskSecret)
-         {
-            AskSecretEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new AskSecretEvent(data));
-         }
-         else if (type == ClientEvent.TestsStarted)
-         {
-            TestsStartedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new TestsStartedEvent(data));
-         }
-         else if (type == ClientEvent.TestsOutput)
-         {
-            CompileOutput data = event.getData();
-            eventBus_.dispatchEvent(new TestsOutputEvent(data));
-         }
-         else if (type == ClientEvent.TestsCompleted)
-         {
-            TestsResult result = event.getData();
-            eventBus_.dispatchEvent(new TestsCompletedEvent(result));
-         }
-         else if (type == ClientEvent.JobUpdated)
-         {
-            JobUpdate data = event.getData();
-            eventBus_.dispatchEvent(new JobUpdatedEvent(data));
-         }
-         else if (type == ClientEvent.JobRefresh)
-         {
-            JobState data = event.getData();
-            eventBus_.dispatchEvent(new JobRefreshEvent(data));
-         }
-         else if (type == ClientEvent.JobOutput)
-         {
-            JobOutputEvent.Data output = event.getData();
-            eventBus_.dispatchEvent(new JobOutputEvent(output));
-         }
-         else if (type == ClientEvent.DataOutputCompleted)
-         {
-            DataOutputResult result = event.getData();
-            eventBus_.dispatchEvent(new DataOutputCompletedEvent(result));
-         }
-         else if (type == ClientEvent.NewDocumentWithCode)
-         {
-            NewDocumentWithCodeEvent.Data result = event.getData();
-            eventBus_.dispatchEvent(new NewDocumentWithCodeEvent(result));
-         }
-         else if (type == ClientEvent.AvailablePackagesReady)
-         {
-            AvailablePackagesReadyEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new AvailablePackagesReadyEvent(data));
-         }
-         else if (type == ClientEvent.PlumberViewer)
-         {
-            PlumberAPIParams data = event.getData();
-            eventBus_.dispatchEvent(new PlumberAPIStatusEvent(data, true));
-         }
-         else if (type == ClientEvent.ComputeThemeColors)
-         {
-            eventBus_.dispatchEvent(new ComputeThemeColorsEvent());
-         }
-         else if (type == ClientEvent.RequestDocumentClose)
-         {
-            RequestDocumentCloseEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new RequestDocumentCloseEvent(data));
-         }
-         else if (type == ClientEvent.ExecuteAppCommand)
-         {
-            ExecuteAppCommandEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ExecuteAppCommandEvent(data));
-         }
-         else if (type == ClientEvent.HighlightUi)
-         {
-            HighlightEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new HighlightEvent(data));
-         }
-         else if (type == ClientEvent.TutorialCommand)
-         {
-            TutorialCommandEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new TutorialCommandEvent(data));
-         }
-         else if (type == ClientEvent.TutorialLaunch)
-         {
-            TutorialLaunchEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new TutorialLaunchEvent(data));
-         }
-         else if (type == ClientEvent.ReticulateEvent)
-         {
-            ReticulateEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ReticulateEvent(data));
-         }
-         else if (type == ClientEvent.RStudioApiRequest)
-         {
-            RStudioApiRequestEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new RStudioApiRequestEvent(data));
-         }
-         else if (type == ClientEvent.DocumentCloseAllNoSave)
-         {
-            eventBus_.dispatchEvent(new DocumentCloseAllNoSaveEvent());
-         }
-         else if (type == ClientEvent.MemoryUsageChanged)
-         {
-            MemoryUsage data = event.getData();
-            eventBus_.dispatchEvent(new MemoryUsageChangedEvent(data));
-         }
-         else if (type == ClientEvent.CommandCallbacksChanged)
-         {
-            JsArrayString commands = event.getData();
-            eventBus_.dispatchEvent(new CommandCallbacksChangedEvent(commands));
-         }
-         else if (type == ClientEvent.ConsoleActivate)
-         {
-            boolean focusWindow = event.<Bool>getData().getValue();
-            eventBus_.dispatchEvent(new ConsoleActivateEvent(focusWindow));
-         }
-         else if (type == ClientEvent.JobsActivate)
-         {
-            JobsActivateEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new JobsActivateEvent(data));
-         }
-         else if (type == ClientEvent.PresentationPreview)
-         {
-            PresentationPreviewEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new PresentationPreviewEvent(data));
-         }
-         else if (type == ClientEvent.SuspendBlocked)
-         {
-            SessionSuspendBlockedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new SessionSuspendBlockedEvent(data));
-         }
-         else if (type == ClientEvent.ClipboardAction)
-         {
-            ClipboardActionEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ClipboardActionEvent(data));
-         }
-         else if (type == ClientEvent.DeploymentRecordsUpdated)
-         {
-            DeploymentRecordsUpdatedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new DeploymentRecordsUpdatedEvent(data));
-         }
-         else
-         {
-            GWT.log("WARNING: Server event not dispatched: " + type, null);
+            GWT.log("WARNING: Server event not dispatched: " + type, null);
          }
       }
       catch(Throwable e)
@@ -1189,11 +385,1076 @@ public class ClientEventDispatcher
          GWT.log("WARNING: Exception occurred dispatching event: " + type, e);
       }
    }
-   
+
+   private void registerHandlers()
+   {
+      handlers_.put(ClientEvent.Busy, (event) ->
+      {
+         boolean busy = event.<Bool>getData().getValue();
+         eventBus_.dispatchEvent(new BusyEvent(busy));
+      });
+
+      handlers_.put(ClientEvent.ConsoleOutput, (event) ->
+      {
+         ConsoleText output = event.getData();
+         eventBus_.dispatchEvent(new ConsoleWriteOutputEvent(output));
+      });
+
+      handlers_.put(ClientEvent.ConsoleError, (event) ->
+      {
+         ConsoleText error = event.getData();
+         eventBus_.dispatchEvent(new ConsoleWriteErrorEvent(error));
+      });
+
+      handlers_.put(ClientEvent.ConsoleWritePrompt, (event) ->
+      {
+         String prompt = event.getData();
+         eventBus_.dispatchEvent(new ConsoleWritePromptEvent(prompt));
+      });
+
+      handlers_.put(ClientEvent.ConsoleWriteInput, (event) ->
+      {
+         ConsoleText input = event.getData();
+         eventBus_.dispatchEvent(new ConsoleWriteInputEvent(input));
+      });
+
+      handlers_.put(ClientEvent.ConsolePrompt, (event) ->
+      {
+         ConsolePrompt prompt = event.getData();
+         eventBus_.dispatchEvent(new ConsolePromptEvent(prompt));
+      });
+
+      handlers_.put(ClientEvent.ShowEditor, (event) ->
+      {
+         ShowEditorData data = event.getData();
+         eventBus_.dispatchEvent(new ShowEditorEvent(data));
+      });
+
+      handlers_.put(ClientEvent.FileChanged, (event) ->
+      {
+         FileChange fileChange = event.getData();
+         eventBus_.dispatchEvent(new FileChangeEvent(fileChange));
+      });
+
+      handlers_.put(ClientEvent.WorkingDirChanged, (event) ->
+      {
+         String path = event.getData();
+         eventBus_.dispatchEvent(new WorkingDirChangedEvent(path));
+      });
+
+      handlers_.put(ClientEvent.ShowHelp, (event) ->
+      {
+         String helpUrl = event.getData();
+         eventBus_.dispatchEvent(new ShowHelpEvent(helpUrl));
+      });
+
+      handlers_.put(ClientEvent.ShowErrorMessage, (event) ->
+      {
+         ErrorMessage errorMessage = event.getData();
+         eventBus_.dispatchEvent(new ShowErrorMessageEvent(errorMessage));
+      });
+
+      handlers_.put(ClientEvent.ChooseFile, (event) ->
+      {
+         boolean newFile = event.<Bool>getData().getValue();
+         eventBus_.dispatchEvent(new ChooseFileEvent(newFile));
+      });
+
+      handlers_.put(ClientEvent.BrowseUrl, (event) ->
+      {
+         BrowseUrlInfo urlInfo = event.getData();
+         eventBus_.dispatchEvent(new BrowseUrlEvent(urlInfo));
+      });
+
+      handlers_.put(ClientEvent.PlotsStateChanged, (event) ->
+      {
+         PlotsState plotsState = event.getData();
+         eventBus_.dispatchEvent(new PlotsChangedEvent(plotsState));
+      });
+
+      handlers_.put(ClientEvent.PackageStateChanged, (event) ->
+      {
+         PackageState newState = event.getData();
+         eventBus_.dispatchEvent(new PackageStateChangedEvent(newState));
+      });
+
+      handlers_.put(ClientEvent.PackageStatusChanged, (event) ->
+      {
+         PackageStatus status = event.getData();
+         eventBus_.dispatchEvent(new PackageStatusChangedEvent(status));
+      });
+
+      handlers_.put(ClientEvent.Locator, (event) ->
+      {
+         eventBus_.dispatchEvent(new LocatorEvent());
+      });
+
+      handlers_.put(ClientEvent.ConsoleResetHistory, (event) ->
+      {
+         ConsoleResetHistory reset = event.getData();
+         eventBus_.dispatchEvent(new ConsoleResetHistoryEvent(reset));
+      });
+
+      handlers_.put(ClientEvent.SessionSerialization, (event) ->
+      {
+         SessionSerializationAction action = event.getData();
+         eventBus_.dispatchEvent(new SessionSerializationEvent(action));
+      });
+
+      handlers_.put(ClientEvent.HistoryEntriesAdded, (event) ->
+      {
+         RpcObjectList<HistoryEntry> entries = event.getData();
+         eventBus_.dispatchEvent(new HistoryEntriesAddedEvent(entries));
+      });
+
+      handlers_.put(ClientEvent.QuotaStatus, (event) ->
+      {
+         QuotaStatus quotaStatus = event.getData();
+         eventBus_.dispatchEvent(new QuotaStatusEvent(quotaStatus));
+      });
+
+      handlers_.put(ClientEvent.FileEdit, (event) ->
+      {
+         FileEditEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new FileEditEvent(data));
+      });
+
+      handlers_.put(ClientEvent.ShowContent, (event) ->
+      {
+         ContentItem content = event.getData();
+         eventBus_.dispatchEvent(new ShowContentEvent(content));
+      });
+
+      handlers_.put(ClientEvent.ShowData, (event) ->
+      {
+         DataItem data = event.getData();
+         eventBus_.dispatchEvent(new ShowDataEvent(data));
+      });
+
+      handlers_.put(ClientEvent.AbendWarning, (event) ->
+      {
+         eventBus_.dispatchEvent(new SessionAbendWarningEvent());
+      });
+
+      handlers_.put(ClientEvent.ShowWarningBar, (event) ->
+      {
+         eventBus_.dispatchEvent(new ShowWarningBarEvent(event.getData()));
+      });
+
+      handlers_.put(ClientEvent.OpenProjectError, (event) ->
+      {
+         OpenProjectError error = event.getData();
+         eventBus_.dispatchEvent(new OpenProjectErrorEvent(error));
+      });
+
+      handlers_.put(ClientEvent.VcsRefresh, (event) ->
+      {
+         JsObject data = event.getData();
+         eventBus_.dispatchEvent(new VcsRefreshEvent(Reason.NA,
+                                                 data.getInteger("delay")));
+      });
+
+      handlers_.put(ClientEvent.AskPass, (event) ->
+      {
+         AskPassEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new AskPassEvent(data));
+      });
+
+      handlers_.put(ClientEvent.ConsoleProcessOutput, (event) ->
+      {
+         ServerConsoleOutputEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new ServerConsoleOutputEvent(data.getHandle(),
+                                                         data.getOutput()));
+      });
+
+      handlers_.put(ClientEvent.ConsoleProcessPrompt, (event) ->
+      {
+         ServerConsolePromptEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new ServerConsolePromptEvent(data.getHandle(),
+                                                          data.getPrompt()));
+      });
+
+      handlers_.put(ClientEvent.ConsoleProcessCreated, (event) ->
+      {
+         ConsoleProcessCreatedEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new ConsoleProcessCreatedEvent(data));
+      });
+
+      handlers_.put(ClientEvent.ConsoleProcessExit, (event) ->
+      {
+         ServerProcessExitEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new ServerProcessExitEvent(data.getHandle(),
+                                                       data.getExitCode()));
+      });
+
+      handlers_.put(ClientEvent.HTMLPreviewStartedEvent, (event) ->
+      {
+         HTMLPreviewStartedEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new HTMLPreviewStartedEvent(data));
+      });
+
+      handlers_.put(ClientEvent.HTMLPreviewOutputEvent, (event) ->
+      {
+         String output = event.getData();
+         eventBus_.dispatchEvent(new HTMLPreviewOutputEvent(output));
+      });
+
+      handlers_.put(ClientEvent.HTMLPreviewCompletedEvent, (event) ->
+      {
+         HTMLPreviewResult result = event.getData();
+         eventBus_.dispatchEvent(new HTMLPreviewCompletedEvent(result));
+      });
+
+      handlers_.put(ClientEvent.CompilePdfStartedEvent, (event) ->
+      {
+         CompilePdfStartedEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new CompilePdfStartedEvent(data));
+      });
+
+      handlers_.put(ClientEvent.CompilePdfOutputEvent, (event) ->
+      {
+         CompileOutput output = event.getData();
+         eventBus_.dispatchEvent(new CompilePdfOutputEvent(output));
+      });
+
+      handlers_.put(ClientEvent.CompilePdfErrorsEvent, (event) ->
+      {
+         JsArray<SourceMarker> data = event.getData();
+         eventBus_.dispatchEvent(new CompilePdfErrorsEvent(data));
+      });
+
+      handlers_.put(ClientEvent.CompilePdfCompletedEvent, (event) ->
+      {
+         CompilePdfResult result = event.getData();
+         eventBus_.dispatchEvent(new CompilePdfCompletedEvent(result));
+      });
+
+      handlers_.put(ClientEvent.SynctexEditFile, (event) ->
+      {
+         SourceLocation sourceLocation = event.getData();
+         eventBus_.dispatchEvent(new SynctexEditFileEvent(sourceLocation));
+      });
+
+      handlers_.put(ClientEvent.FindResult, (event) ->
+      {
+         FindResultEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new FindResultEvent(
+               data.getHandle(), data.getResults()));
+      });
+
+      handlers_.put(ClientEvent.FindOperationEnded, (event) ->
+      {
+         String data = event.getData();
+         eventBus_.dispatchEvent(new FindOperationEndedEvent(data));
+      });
+
+      handlers_.put(ClientEvent.ReplaceResult, (event) ->
+      {
+         ReplaceResultEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new ReplaceResultEvent(
+                data.getHandle(), data.getResults()));
+      });
+
+      handlers_.put(ClientEvent.ReplaceProgress, (event) ->
+      {
+         ReplaceProgressEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(
+            new ReplaceProgressEvent(data.getTotalReplaceCount(), data.getReplacedCount()));
+      });
+
+      handlers_.put(ClientEvent.RPubsUploadStatus, (event) ->
+      {
+         RPubsUploadStatusEvent.Status status = event.getData();
+         eventBus_.dispatchEvent(new RPubsUploadStatusEvent(status));
+      });
+
+      handlers_.put(ClientEvent.BuildStarted, (event) ->
+      {
+         BuildStartedEvent.Data buildStartedData = event.getData();
+         eventBus_.dispatchEvent(new BuildStartedEvent(buildStartedData));
+      });
+
+      handlers_.put(ClientEvent.BuildOutput, (event) ->
+      {
+         CompileOutput data = event.getData();
+         eventBus_.dispatchEvent(new BuildOutputEvent(data));
+      });
+
+      handlers_.put(ClientEvent.BuildCompleted, (event) ->
+      {
+         BuildCompletedEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new BuildCompletedEvent(data));
+      });
+
+      handlers_.put(ClientEvent.BuildErrors, (event) ->
+      {
+         BuildErrorsEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new BuildErrorsEvent(data));
+      });
+
+      handlers_.put(ClientEvent.DirectoryNavigate, (event) ->
+      {
+         DirectoryNavigateEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new DirectoryNavigateEvent(data));
+      });
+
+      handlers_.put(ClientEvent.DeferredInitCompleted, (event) ->
+      {
+         eventBus_.dispatchEvent(new DeferredInitCompletedEvent());
+      });
+
+      handlers_.put(ClientEvent.PlotsZoomSizeChanged, (event) ->
+      {
+         PlotsZoomSizeChangedEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new PlotsZoomSizeChangedEvent(data));
+      });
+
+      handlers_.put(ClientEvent.SourceCppStarted, (event) ->
+      {
+         eventBus_.dispatchEvent(new SourceCppStartedEvent());
+      });
+
+      handlers_.put(ClientEvent.SourceCppCompleted, (event) ->
+      {
+         SourceCppState state = event.getData();
+         eventBus_.dispatchEvent(new SourceCppCompletedEvent(state));
+      });
+
+      handlers_.put(ClientEvent.LoadedPackageUpdates, (event) ->
+      {
+         String installCmd = event.getData();
+         eventBus_.dispatchEvent(new LoadedPackageUpdatesEvent(installCmd));
+      });
+
+      handlers_.put(ClientEvent.ActivatePane, (event) ->
+      {
+         String pane = event.getData();
+         eventBus_.dispatchEvent(new ActivatePaneEvent(pane));
+      });
+
+      handlers_.put(ClientEvent.ShowPresentationPane, (event) ->
+      {
+         PresentationState state = event.getData();
+         eventBus_.dispatchEvent(new ShowPresentationPaneEvent(state));
+      });
+
+      handlers_.put(ClientEvent.EnvironmentRefresh, (event) ->
+      {
+         eventBus_.dispatchEvent(new EnvironmentRefreshEvent());
+      });
+
+      handlers_.put(ClientEvent.ListChanged, (event) ->
+      {
+         eventBus_.dispatchEvent(new ListChangedEvent(event.<JsObject>getData()));
+      });
+
+      handlers_.put(ClientEvent.UserPrefsChanged, (event) ->
+      {
+         PrefLayer data = event.getData();
+         eventBus_.dispatchEvent(new UserPrefsChangedEvent(data));
+      });
+
+      handlers_.put(ClientEvent.UserStateChanged, (event) ->
+      {
+         PrefLayer data = event.getData();
+         eventBus_.dispatchEvent(new UserStateChangedEvent(data));
+      });
+
+      handlers_.put(ClientEvent.ContextDepthChanged, (event) ->
+      {
+         EnvironmentContextData data = event.getData();
+         eventBus_.dispatchEvent(new ContextDepthChangedEvent(data, true));
+      });
+
+      handlers_.put(ClientEvent.HandleUnsavedChanges, (event) ->
+      {
+         eventBus_.dispatchEvent(new HandleUnsavedChangesEvent());
+      });
+
+      handlers_.put(ClientEvent.Quit, (event) ->
+      {
+         QuitEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new QuitEvent(data));
+      });
+
+      handlers_.put(ClientEvent.Suicide, (event) ->
+      {
+         // NOTE: we don't explicitly stop listening for events here
+         // for the reasons cited above in ClientEvent.Quit
+
+         // fire event
+         String message = event.getData();
+         eventBus_.dispatchEvent(new SuicideEvent(message));
+      });
+
+      handlers_.put(ClientEvent.SaveActionChanged, (event) ->
+      {
+         SaveAction action = event.getData();
+         eventBus_.dispatchEvent(new SaveActionChangedEvent(action));
+      });
+
+      handlers_.put(ClientEvent.EnvironmentAssigned, (event) ->
+      {
+         RObject objectInfo = event.getData();
+         eventBus_.dispatchEvent(new EnvironmentObjectAssignedEvent(objectInfo));
+      });
+
+      handlers_.put(ClientEvent.EnvironmentRemoved, (event) ->
+      {
+         String objectName = event.getData();
+         eventBus_.dispatchEvent(new EnvironmentObjectRemovedEvent(objectName));
+      });
+
+      handlers_.put(ClientEvent.EnvironmentChanged, (event) ->
+      {
+         EnvironmentChangedEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new EnvironmentChangedEvent(data));
+      });
+
+      handlers_.put(ClientEvent.BrowserLineChanged, (event) ->
+      {
+         LineData lineData = event.getData();
+         eventBus_.dispatchEvent(new BrowserLineChangedEvent(lineData));
+      });
+
+      handlers_.put(ClientEvent.PackageLoaded, (event) ->
+      {
+         eventBus_.dispatchEvent(new PackageLoadedEvent(
+               (String)event.getData()));
+      });
+
+      handlers_.put(ClientEvent.PackageUnloaded, (event) ->
+      {
+         eventBus_.dispatchEvent(new PackageUnloadedEvent(
+               (String)event.getData()));
+      });
+
+      handlers_.put(ClientEvent.PresentationPaneRequestCompleted, (event) ->
+      {
+         eventBus_.dispatchEvent(new PresentationPaneRequestCompletedEvent());
+      });
+
+      handlers_.put(ClientEvent.UnhandledError, (event) ->
+      {
+         UnhandledError err = event.getData();
+         eventBus_.dispatchEvent(new UnhandledErrorEvent(err));
+      });
+
+      handlers_.put(ClientEvent.ErrorHandlerChanged, (event) ->
+      {
+         ErrorHandlerChangedEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new ErrorHandlerChangedEvent(data));
+      });
+
+      handlers_.put(ClientEvent.ViewerNavigate, (event) ->
+      {
+         ViewerNavigateEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new ViewerNavigateEvent(data));
+      });
+
+      handlers_.put(ClientEvent.SourceExtendedTypeDetected, (event) ->
+      {
+         SourceExtendedTypeDetectedEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new SourceExtendedTypeDetectedEvent(data));
+      });
+
+      handlers_.put(ClientEvent.ShinyViewer, (event) ->
+      {
+         ShinyApplicationParams data = event.getData();
+         eventBus_.dispatchEvent(new ShinyApplicationStatusEvent(data, true));
+      });
+
+      handlers_.put(ClientEvent.DebugSourceCompleted, (event) ->
+      {
+         DebugSourceResult result = (DebugSourceResult)event.getData();
+         eventBus_.dispatchEvent(new DebugSourceCompletedEvent(result));
+      });
+
+      handlers_.put(ClientEvent.RmdRenderStarted, (event) ->
+      {
+         RmdRenderStartedEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new RmdRenderStartedEvent(data));
+      });
+
+      handlers_.put(ClientEvent.RmdRenderOutput, (event) ->
+      {
+         CompileOutput data = event.getData();
+         eventBus_.dispatchEvent(new RmdRenderOutputEvent(data));
+      });
+
+      handlers_.put(ClientEvent.RmdRenderCompleted, (event) ->
+      {
+         RmdRenderResult result = event.getData();
+         eventBus_.dispatchEvent(new RmdRenderCompletedEvent(result));
+      });
+
+      handlers_.put(ClientEvent.RmdShinyDocStarted, (event) ->
+      {
+         RmdShinyDocInfo docInfo = event.getData();
+         eventBus_.dispatchEvent(new RmdShinyDocStartedEvent(docInfo));
+      });
+
+      handlers_.put(ClientEvent.RSConnectDeploymentOutput, (event) ->
+      {
+         CompileOutput output = event.getData();
+         eventBus_.dispatchEvent(new RSConnectDeploymentOutputEvent(output));
+      });
+
+      handlers_.put(ClientEvent.RSConnectDeploymentCompleted, (event) ->
+      {
+         String url = event.getData();
+         eventBus_.dispatchEvent(new RSConnectDeploymentCompletedEvent(url));
+      });
+
+      handlers_.put(ClientEvent.RSConnectDeploymentFailed, (event) ->
+      {
+         RSConnectDeploymentFailedEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new RSConnectDeploymentFailedEvent(data));
+      });
+
+      handlers_.put(ClientEvent.UserPrompt, (event) ->
+      {
+         UserPrompt prompt = event.getData();
+         eventBus_.dispatchEvent(new UserPromptEvent(prompt));
+      });
+
+      handlers_.put(ClientEvent.InstallRtools, (event) ->
+      {
+         InstallRtoolsEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new InstallRtoolsEvent(data));
+      });
+
+      handlers_.put(ClientEvent.InstallShiny, (event) ->
+      {
+         String userAction = event.getData();
+         eventBus_.dispatchEvent(new InstallShinyEvent(userAction));
+      });
+
+      handlers_.put(ClientEvent.SuspendAndRestart, (event) ->
+      {
+         SuspendAndRestartEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new SuspendAndRestartEvent(data));
+      });
+
+      handlers_.put(ClientEvent.DataViewChanged, (event) ->
+      {
+         DataViewChangedEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new DataViewChangedEvent(data));
+      });
+
+      handlers_.put(ClientEvent.ViewFunction, (event) ->
+      {
+         SearchPathFunctionDefinition data = event.getData();
+         eventBus_.dispatchEvent(new CodeBrowserNavigationEvent(
+               data, null, false, true, false));
+      });
+
+      handlers_.put(ClientEvent.MarkersChanged, (event) ->
+      {
+         MarkersChangedEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new MarkersChangedEvent(data));
+      });
+
+      handlers_.put(ClientEvent.EnableRStudioConnect, (event) ->
+      {
+         EnableRStudioConnectUIEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new EnableRStudioConnectUIEvent(data));
+      });
+
+      handlers_.put(ClientEvent.UpdateGutterMarkers, (event) ->
+      {
+         LintEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new LintEvent(data));
+      });
+
+      handlers_.put(ClientEvent.SnippetsChanged, (event) ->
+      {
+         SnippetsChangedEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new SnippetsChangedEvent(data));
+      });
+
+      handlers_.put(ClientEvent.JumpToFunction, (event) ->
+      {
+         JumpToFunctionEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new JumpToFunctionEvent(data));
+      });
+
+      handlers_.put(ClientEvent.CollabEditStarted, (event) ->
+      {
+         CollabEditStartParams params = event.getData();
+         eventBus_.dispatchEvent(new CollabEditStartedEvent(params));
+      });
+
+      handlers_.put(ClientEvent.SessionCountChanged, (event) ->
+      {
+         SessionCountChangedEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new SessionCountChangedEvent(data));
+      });
+
+      handlers_.put(ClientEvent.SessionLabelChanged, (event) ->
+      {
+         SessionLabelChangedEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new SessionLabelChangedEvent(data));
+      });
+
+      handlers_.put(ClientEvent.CollabEditEnded, (event) ->
+      {
+         CollabEditEndedEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new CollabEditEndedEvent(data));
+      });
+
+      handlers_.put(ClientEvent.ProjectUsersChanged, (event) ->
+      {
+         ProjectUserChangedEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new ProjectUserChangedEvent(data));
+      });
+
+      handlers_.put(ClientEvent.RVersionsChanged, (event) ->
+      {
+         RVersionsInfo versions = event.getData();
+         eventBus_.dispatchEvent(new RVersionsChangedEvent(versions));
+      });
+
+      handlers_.put(ClientEvent.ShinyGadgetDialog, (event) ->
+      {
+         ShinyGadgetDialogEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new ShinyGadgetDialogEvent(data));
+      });
+
+      handlers_.put(ClientEvent.RmdParamsReady, (event) ->
+      {
+         String paramsFile = event.getData();
+         eventBus_.dispatchEvent(new RmdParamsReadyEvent(paramsFile));
+      });
+
+      handlers_.put(ClientEvent.RegisterUserCommand, (event) ->
+      {
+         RegisterUserCommandEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new RegisterUserCommandEvent(data));
+      });
+
+      handlers_.put(ClientEvent.SendToConsole, (event) ->
+      {
+         SendToConsoleEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new SendToConsoleEvent(data));
+      });
+
+      handlers_.put(ClientEvent.UserFollowStarted, (event) ->
+      {
+         ProjectUser user = event.getData();
+         eventBus_.dispatchEvent(new FollowUserEvent(user, true));
+      });
+
+      handlers_.put(ClientEvent.UserFollowEnded, (event) ->
+      {
+         ProjectUser user = event.getData();
+         eventBus_.dispatchEvent(new FollowUserEvent(user, false));
+      });
+
+      handlers_.put(ClientEvent.ProjectAccessRevoked, (event) ->
+      {
+         eventBus_.dispatchEvent(new ProjectAccessRevokedEvent());
+      });
+
+      handlers_.put(ClientEvent.CollabEditSaved, (event) ->
+      {
+         CollabEditSavedEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new CollabEditSavedEvent(data));
+      });
+
+      handlers_.put(ClientEvent.AddinRegistryUpdated, (event) ->
+      {
+         RAddins data = event.getData();
+         eventBus_.dispatchEvent(new AddinRegistryUpdatedEvent(data));
+      });
+
+      handlers_.put(ClientEvent.ChunkOutput, (event) ->
+      {
+         RmdChunkOutput data = event.getData();
+         eventBus_.dispatchEvent(new RmdChunkOutputEvent(data));
+      });
+
+      handlers_.put(ClientEvent.ChunkOutputFinished, (event) ->
+      {
+         RmdChunkOutputFinishedEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new RmdChunkOutputFinishedEvent(data));
+      });
+
+      handlers_.put(ClientEvent.RprofStarted, (event) ->
+      {
+         eventBus_.dispatchEvent(new RprofEvent(RprofEvent.RprofEventType.START, null));
+      });
+
+      handlers_.put(ClientEvent.RprofStopped, (event) ->
+      {
+         eventBus_.dispatchEvent(new RprofEvent(RprofEvent.RprofEventType.STOP, null));
+      });
+
+      handlers_.put(ClientEvent.RprofCreated, (event) ->
+      {
+         RprofEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new RprofEvent(RprofEvent.RprofEventType.CREATE, data));
+      });
+
+      handlers_.put(ClientEvent.EditorCommand, (event) ->
+      {
+         EditorCommandEvent.Data data = event.getData();
+         EditorCommandEvent payload = new EditorCommandEvent(data);
+         eventBus_.dispatchEvent(new EditorCommandDispatchEvent(payload));
+      });
+
+      handlers_.put(ClientEvent.PreviewRmd, (event) ->
+      {
+         PreviewRmdEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new PreviewRmdEvent(data));
+      });
+
+      handlers_.put(ClientEvent.WebsiteFileSaved, (event) ->
+      {
+         FileSystemItem fsi = event.getData();
+         eventBus_.dispatchEvent(new WebsiteFileSavedEvent(fsi));
+      });
+
+      handlers_.put(ClientEvent.ChunkPlotRefreshed, (event) ->
+      {
+         ChunkPlotRefreshedEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new ChunkPlotRefreshedEvent(data));
+      });
+
+      handlers_.put(ClientEvent.ChunkPlotRefreshFinished, (event) ->
+      {
+         ChunkPlotRefreshFinishedEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new ChunkPlotRefreshFinishedEvent(data));
+      });
+
+      handlers_.put(ClientEvent.ReloadWithLastChanceSave, (event) ->
+      {
+         eventBus_.dispatchEvent(new ReloadWithLastChanceSaveEvent());
+      });
+
+      handlers_.put(ClientEvent.ConnectionUpdated, (event) ->
+      {
+         ConnectionUpdatedEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new ConnectionUpdatedEvent(data));
+      });
+
+      handlers_.put(ClientEvent.EnableConnections, (event) ->
+      {
+         eventBus_.dispatchEvent(new EnableConnectionsEvent());
+      });
+
+      handlers_.put(ClientEvent.ConnectionListChanged, (event) ->
+      {
+         JsArray<Connection> connections = event.getData();
+         eventBus_.dispatchEvent(new ConnectionListChangedEvent(connections));
+      });
+
+      handlers_.put(ClientEvent.ActiveConnectionsChanged, (event) ->
+      {
+         JsArray<ConnectionId> connections = event.getData();
+         eventBus_.dispatchEvent(new ActiveConnectionsChangedEvent(connections));
+      });
+
+      handlers_.put(ClientEvent.ConnectionOpened, (event) ->
+      {
+         Connection connection = event.getData();
+         eventBus_.dispatchEvent(new ConnectionOpenedEvent(connection));
+      });
+
+      handlers_.put(ClientEvent.NotebookRangeExecuted, (event) ->
+      {
+         NotebookRangeExecutedEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new NotebookRangeExecutedEvent(data));
+      });
+
+      handlers_.put(ClientEvent.ChunkExecStateChanged, (event) ->
+      {
+         ChunkExecStateChangedEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new ChunkExecStateChangedEvent(data));
+      });
+
+      handlers_.put(ClientEvent.NavigateShinyFrame, (event) ->
+      {
+         ShinyFrameNavigatedEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new ShinyFrameNavigatedEvent(data));
+      });
+
+      handlers_.put(ClientEvent.UpdateNewConnectionDialog, (event) ->
+      {
+         NewConnectionDialogUpdatedEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new NewConnectionDialogUpdatedEvent(data));
+      });
+
+      handlers_.put(ClientEvent.ProjectTemplateRegistryUpdated, (event) ->
+      {
+         ProjectTemplateRegistry data = event.getData();
+         eventBus_.dispatchEvent(new ProjectTemplateRegistryUpdatedEvent(data));
+      });
+
+      handlers_.put(ClientEvent.TerminalSubProcs, (event) ->
+      {
+         TerminalSubprocEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new TerminalSubprocEvent(data));
+      });
+
+      handlers_.put(ClientEvent.PackageExtensionIndexingCompleted, (event) ->
+      {
+         PackageProvidedExtensions.Data data = event.getData();
+         eventBus_.dispatchEvent(new PackageExtensionIndexingCompletedEvent(data));
+      });
+
+      handlers_.put(ClientEvent.RStudioAPIShowDialog, (event) ->
+      {
+         RStudioAPIShowDialogEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new RStudioAPIShowDialogEvent(data));
+      });
+
+      handlers_.put(ClientEvent.ObjectExplorerEvent, (event) ->
+      {
+         ObjectExplorerEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new ObjectExplorerEvent(data));
+      });
+
+      handlers_.put(ClientEvent.SendToTerminal, (event) ->
+      {
+         SendToTerminalEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new SendToTerminalEvent(data));
+      });
+
+      handlers_.put(ClientEvent.ClearTerminal, (event) ->
+      {
+         ClearTerminalEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new ClearTerminalEvent(data));
+      });
+
+      handlers_.put(ClientEvent.AddTerminal, (event) ->
+      {
+         AddTerminalEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new AddTerminalEvent(data));
+      });
+
+      handlers_.put(ClientEvent.RemoveTerminal, (event) ->
+      {
+         RemoveTerminalEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new RemoveTerminalEvent(data));
+      });
+
+      handlers_.put(ClientEvent.ActivateTerminal, (event) ->
+      {
+         ActivateNamedTerminalEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new ActivateNamedTerminalEvent(data));
+      });
+
+      handlers_.put(ClientEvent.TerminalCwd, (event) ->
+      {
+         TerminalCwdEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new TerminalCwdEvent(data));
+      });
+
+      handlers_.put(ClientEvent.AdminNotification, (event) ->
+      {
+         AdminNotification notification = event.getData();
+         eventBus_.dispatchEvent(new AdminNotificationEvent(notification));
+      });
+
+      handlers_.put(ClientEvent.RequestDocumentSave, (event) ->
+      {
+         RequestDocumentSaveEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new RequestDocumentSaveEvent(data));
+      });
+
+      handlers_.put(ClientEvent.RequestOpenProject, (event) ->
+      {
+         RequestOpenProjectEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new RequestOpenProjectEvent(data));
+      });
+
+      handlers_.put(ClientEvent.OpenFileDialog, (event) ->
+      {
+         OpenFileDialogEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new OpenFileDialogEvent(data));
+      });
+
+      handlers_.put(ClientEvent.ShowPageViewer, (event) ->
+      {
+         HTMLPreviewParams params = event.getData();
+         eventBus_.dispatchEvent(new ShowPageViewerEvent(params));
+      });
+
+      handlers_.put(ClientEvent.AskSecret, (event) ->
+      {
+         AskSecretEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new AskSecretEvent(data));
+      });
+
+      handlers_.put(ClientEvent.TestsStarted, (event) ->
+      {
+         TestsStartedEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new TestsStartedEvent(data));
+      });
+
+      handlers_.put(ClientEvent.TestsOutput, (event) ->
+      {
+         CompileOutput data = event.getData();
+         eventBus_.dispatchEvent(new TestsOutputEvent(data));
+      });
+
+      handlers_.put(ClientEvent.TestsCompleted, (event) ->
+      {
+         TestsResult result = event.getData();
+         eventBus_.dispatchEvent(new TestsCompletedEvent(result));
+      });
+
+      handlers_.put(ClientEvent.JobUpdated, (event) ->
+      {
+         JobUpdate data = event.getData();
+         eventBus_.dispatchEvent(new JobUpdatedEvent(data));
+      });
+
+      handlers_.put(ClientEvent.JobRefresh, (event) ->
+      {
+         JobState data = event.getData();
+         eventBus_.dispatchEvent(new JobRefreshEvent(data));
+      });
+
+      handlers_.put(ClientEvent.JobOutput, (event) ->
+      {
+         JobOutputEvent.Data output = event.getData();
+         eventBus_.dispatchEvent(new JobOutputEvent(output));
+      });
+
+      handlers_.put(ClientEvent.DataOutputCompleted, (event) ->
+      {
+         DataOutputResult result = event.getData();
+         eventBus_.dispatchEvent(new DataOutputCompletedEvent(result));
+      });
+
+      handlers_.put(ClientEvent.NewDocumentWithCode, (event) ->
+      {
+         NewDocumentWithCodeEvent.Data result = event.getData();
+         eventBus_.dispatchEvent(new NewDocumentWithCodeEvent(result));
+      });
+
+      handlers_.put(ClientEvent.AvailablePackagesReady, (event) ->
+      {
+         AvailablePackagesReadyEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new AvailablePackagesReadyEvent(data));
+      });
+
+      handlers_.put(ClientEvent.PlumberViewer, (event) ->
+      {
+         PlumberAPIParams data = event.getData();
+         eventBus_.dispatchEvent(new PlumberAPIStatusEvent(data, true));
+      });
+
+      handlers_.put(ClientEvent.ComputeThemeColors, (event) ->
+      {
+         eventBus_.dispatchEvent(new ComputeThemeColorsEvent());
+      });
+
+      handlers_.put(ClientEvent.RequestDocumentClose, (event) ->
+      {
+         RequestDocumentCloseEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new RequestDocumentCloseEvent(data));
+      });
+
+      handlers_.put(ClientEvent.ExecuteAppCommand, (event) ->
+      {
+         ExecuteAppCommandEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new ExecuteAppCommandEvent(data));
+      });
+
+      handlers_.put(ClientEvent.HighlightUi, (event) ->
+      {
+         HighlightEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new HighlightEvent(data));
+      });
+
+      handlers_.put(ClientEvent.TutorialCommand, (event) ->
+      {
+         TutorialCommandEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new TutorialCommandEvent(data));
+      });
+
+      handlers_.put(ClientEvent.TutorialLaunch, (event) ->
+      {
+         TutorialLaunchEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new TutorialLaunchEvent(data));
+      });
+
+      handlers_.put(ClientEvent.ReticulateEvent, (event) ->
+      {
+         ReticulateEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new ReticulateEvent(data));
+      });
+
+      handlers_.put(ClientEvent.RStudioApiRequest, (event) ->
+      {
+         RStudioApiRequestEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new RStudioApiRequestEvent(data));
+      });
+
+      handlers_.put(ClientEvent.DocumentCloseAllNoSave, (event) ->
+      {
+         eventBus_.dispatchEvent(new DocumentCloseAllNoSaveEvent());
+      });
+
+      handlers_.put(ClientEvent.MemoryUsageChanged, (event) ->
+      {
+         MemoryUsage data = event.getData();
+         eventBus_.dispatchEvent(new MemoryUsageChangedEvent(data));
+      });
+
+      handlers_.put(ClientEvent.CommandCallbacksChanged, (event) ->
+      {
+         JsArrayString commands = event.getData();
+         eventBus_.dispatchEvent(new CommandCallbacksChangedEvent(commands));
+      });
+
+      handlers_.put(ClientEvent.ConsoleActivate, (event) ->
+      {
+         boolean focusWindow = event.<Bool>getData().getValue();
+         eventBus_.dispatchEvent(new ConsoleActivateEvent(focusWindow));
+      });
+
+      handlers_.put(ClientEvent.JobsActivate, (event) ->
+      {
+         JobsActivateEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new JobsActivateEvent(data));
+      });
+
+      handlers_.put(ClientEvent.PresentationPreview, (event) ->
+      {
+         PresentationPreviewEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new PresentationPreviewEvent(data));
+      });
+
+      handlers_.put(ClientEvent.SuspendBlocked, (event) ->
+      {
+         SessionSuspendBlockedEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new SessionSuspendBlockedEvent(data));
+      });
+
+      handlers_.put(ClientEvent.ClipboardAction, (event) ->
+      {
+         ClipboardActionEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new ClipboardActionEvent(data));
+      });
+
+      handlers_.put(ClientEvent.DeploymentRecordsUpdated, (event) ->
+      {
+         DeploymentRecordsUpdatedEvent.Data data = event.getData();
+         eventBus_.dispatchEvent(new DeploymentRecordsUpdatedEvent(data));
+      });
+   }
 
    private final EventBus eventBus_;
 
-   private final ArrayList<ClientEvent> pendingEvents_ = new ArrayList<>();
+   // ring buffer of events awaiting dispatch
+   private final ArrayDeque<ClientEvent> pendingEvents_ = new ArrayDeque<>();
+
+   // maps client event types to the handlers which dispatch them
+   private final Map<String, CommandWithArg<ClientEvent>> handlers_ = new HashMap<>();
 
    private static final int MAX_EVENTS_AT_ONCE = 200;
 
@@ -182,7 +182,7 @@ import org.rstudio.studio.client.workbench.views.connections.model.ConnectionId;
 import org.rstudio.studio.client.workbench.views.connections.model.ConnectionObjectSpecifier;
 import org.rstudio.studio.client.workbench.views.connections.model.ConnectionUninstallResult;
 import org.rstudio.studio.client.workbench.views.connections.model.ConnectionUpdateResult;
-import org.rstudio.studio.client.workbench.views.connections.model.DatabaseObject;
+import org.rstudio.studio.client.workbench.views.connections.model.DatabaseObjectPage;
 import org.rstudio.studio.client.workbench.views.connections.model.Field;
 import org.rstudio.studio.client.workbench.views.connections.model.NewConnectionContext;
 import org.rstudio.studio.client.workbench.views.connections.model.NewConnectionInfo;
@@ -567,6 +567,20 @@ public class RemoteServer implements Server
                   requestCallback);
    }
 
+   @Override
+   public void setUserPrefChanges(JavaScriptObject changed,
+                                  JsArrayString removed,
+                                  ServerRequestCallback<Void> requestCallback)
+   {
+      JSONArray params = new JSONArray();
+      params.set(0, new JSONObject(changed));
+      params.set(1, new JSONArray(removed));
+      sendRequest(RPC_SCOPE,
+                  SET_USER_PREF_CHANGES,
+                  params,
+                  requestCallback);
+   }
+
    @Override
    public void setUserState(JavaScriptObject userState,
                             ServerRequestCallback<Void> requestCallback)
@@ -2358,6 +2372,34 @@ public class RemoteServer implements Server
       sendRequest(RPC_SCOPE, SAVE_DOCUMENT_DIFF, params, requestCallback);
    }
 
+   public void saveDocumentEdits(String id,
+                                 String path,
+                                 String fileType,
+                                 String encoding,
+                                 String foldSpec,
+                                 JsArray<ChunkDefinition> chunkDefs,
+                                 JsArray<JsObject> edits,
+                                 int rowCount,
+                                 String hash,
+                                 boolean retryWrite,
+                                 ServerRequestCallback<String> requestCallback)
+   {
+      eventBus_.fireEvent(new ApplicationTutorialEvent(ApplicationTutorialEvent.FILE_SAVE));
+
+      JSONArray params = new JSONArray();
+      params.set(0, new JSONString(id));
+      params.set(1, path == null ? JSONNull.getInstance() : new JSONString(path));
+      params.set(2, fileType == null ? JSONNull.getInstance() : new JSONString(fileType));
+      params.set(3, encoding == null ? JSONNull.getInstance() : new JSONString(encoding));
+      params.set(4, new JSONString(StringUtil.notNull(foldSpec)));
+      params.set(5, chunkDefs == null ? JSONNull.getInstance() : new JSONObject(chunkDefs));
+      params.set(6, new JSONArray(edits));
+      params.set(7, new JSONNumber(rowCount));
+      params.set(8, new JSONString(hash));
+      params.set(9, JSONBoolean.getInstance(retryWrite));
+      sendRequest(RPC_SCOPE, SAVE_DOCUMENT_EDITS, params, requestCallback);
+   }
+
    public void checkForExternalEdit(
          String id,
          ServerRequestCallback<CheckForExternalEditResult> requestCallback)
@@ -6198,11 +6240,19 @@ public class RemoteServer implements Server
    public void connectionListObjects(
                               ConnectionId connectionId,
                               ConnectionObjectSpecifier container,
-                              ServerRequestCallback<JsArray<DatabaseObject>> callback)
+                              int offset,
+                              int limit,
+                              String filter,
+                              boolean bypassCache,
+                              ServerRequestCallback<DatabaseObjectPage> callback)
    {
       JSONArray params = new JSONArray();
       params.set(0, new JSONObject(connectionId));
       params.set(1, new JSONArray(container.asJsArray()));
+      params.set(2, new JSONNumber(offset));
+      params.set(3, new JSONNumber(limit));
+      params.set(4, new JSONString(StringUtil.notNull(filter)));
+      params.set(5, JSONBoolean.getInstance(bypassCache));
       sendRequest(RPC_SCOPE, CONNECTION_LIST_OBJECTS, params, callback);
    }
 
@@ -6757,6 +6807,7 @@ public class RemoteServer implements Server
    private static final String SET_WORKBENCH_METRICS = "set_workbench_metrics";
    private static final String SET_PREFS = "set_prefs";
    private static final String SET_USER_PREFS = "set_user_prefs";
+   private static final String SET_USER_PREF_CHANGES = "set_user_pref_changes";
    private static final String SET_USER_STATE = "set_user_state";
    private static final String GET_R_PREFS = "get_r_prefs";
    private static final String SET_CLIENT_STATE = "set_client_state";
@@ -6893,6 +6944,7 @@ public class RemoteServer implements Server
    private static final String OPEN_DOCUMENT = "open_document";
    private static final String SAVE_DOCUMENT = "save_document";
    private static final String SAVE_DOCUMENT_DIFF = "save_document_diff";
+   private static final String SAVE_DOCUMENT_EDITS = "save_document_edits";
    private static final String CHECK_FOR_EXTERNAL_EDIT = "check_for_external_edit";
    private static final String IGNORE_EXTERNAL_EDIT = "ignore_external_edit";
    private static final String CLOSE_DOCUMENT = "close_document";
@@ -14,6 +14,7 @@
  */
 package org.rstudio.studio.client.vcs;
 
+import org.rstudio.core.client.AsyncShim;
 import org.rstudio.studio.client.application.ApplicationUncaughtExceptionHandler;
 import org.rstudio.studio.client.common.satellite.Satellite;
 import org.rstudio.studio.client.common.satellite.SatelliteApplication;
@@ -22,6 +23,8 @@ import org.rstudio.studio.client.workbench.commands.Commands;
 import org.rstudio.studio.client.workbench.prefs.model.UserPrefs;
 import org.rstudio.studio.client.workbench.views.source.editors.text.themes.AceThemes;
 
+import com.google.gwt.user.client.Command;
+import com.google.gwt.user.client.ui.RootLayoutPanel;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.Singleton;
@@ -29,6 +32,14 @@ import com.google.inject.Singleton;
 @Singleton
 public class VCSApplication extends SatelliteApplication
 {
+   // the review and history UI is only used in its satellite window, so
+   // it's downloaded separately from the workbench
+   public abstract static class Shim extends AsyncShim<VCSApplication>
+   {
+      public abstract void go(RootLayoutPanel rootPanel,
+                              Command dismissLoadingProgress);
+   }
+
    @Inject
    public VCSApplication(VCSApplicationView view,
                          Satellite satellite,
@@ -17,13 +17,13 @@ package org.rstudio.studio.client.workbench;
 import com.google.gwt.core.client.GWT;
 import com.google.gwt.core.client.Scheduler;
 import com.google.gwt.user.client.Command;
+import com.google.gwt.user.client.Timer;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 
 import org.rstudio.core.client.BrowseCap;
 import org.rstudio.core.client.Size;
 import org.rstudio.core.client.StringUtil;
-import org.rstudio.core.client.TimeBufferedCommand;
 import org.rstudio.core.client.command.AppCommand;
 import org.rstudio.core.client.command.CommandBinder;
 import org.rstudio.core.client.command.Handler;
@@ -175,14 +175,15 @@ public class Workbench implements BusyEvent.Handler,
       eventBus.addHandler(DeferredInitCompletedEvent.TYPE, this);
       eventBus.addHandler(ReportShortcutBindingEvent.TYPE, this);
 
-      // We don't want to send setWorkbenchMetrics more than once per 1/2-second
-      metricsChangedCommand_ = new TimeBufferedCommand(500)
+      // We don't send setWorkbenchMetrics until the metrics have stopped
+      // changing for 1/2-second (e.g. the user has finished dragging a
+      // splitter), since each change re-renders the current plot; in the
+      // meantime the plots pane scales the plot it's already showing
+      metricsChangedTimer_ = new Timer()
       {
          @Override
-         protected void performAction(boolean shouldSchedulePassive)
+         public void run()
          {
-            assert !shouldSchedulePassive;
-
             server_.setWorkbenchMetrics(lastWorkbenchMetrics_,
                                         new VoidServerRequestCallback());
          }
@@ -278,7 +279,7 @@ public class Workbench implements BusyEvent.Handler,
    public void onWorkbenchMetricsChanged(WorkbenchMetricsChangedEvent event)
    {
       lastWorkbenchMetrics_ = event.getWorkbenchMetrics();
-      metricsChangedCommand_.nudge();
+      metricsChangedTimer_.schedule(METRICS_SETTLE_MS);
    }
 
    public void onQuotaStatus(QuotaStatusEvent event)
@@ -772,8 +773,9 @@ public class Workbench implements BusyEvent.Handler,
    private final ProjectOpener projectOpener_;
    private final ConsoleDispatcher consoleDispatcher_;
    private final Provider<GitState> pGitState_;
-   private final TimeBufferedCommand metricsChangedCommand_;
+   private final Timer metricsChangedTimer_;
    private WorkbenchMetrics lastWorkbenchMetrics_;
+   private static final int METRICS_SETTLE_MS = 500;
    private final WorkbenchNewSession newSession_;
    private boolean nearQuotaWarningShown_ = false;
    
@@ -15,7 +15,7 @@
 package org.rstudio.studio.client.workbench.codesearch;
 
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collections;
 import java.util.List;
 
 import com.google.gwt.core.client.GWT;
@@ -146,7 +146,7 @@ public class CodeSearchOracle extends SuggestOracle
          if (request.getQuery() == res.getQuery())
          {
             callback.onSuggestionsReady(request, 
-                                        new Response(res.getSuggestions()));
+                                        new Response(res.getRankedSuggestions()));
             return;
          }
          
@@ -155,44 +155,15 @@ public class CodeSearchOracle extends SuggestOracle
          if (!res.getMoreAvailable() && 
              request.getQuery().startsWith(res.getQuery()))
          {
-            Pattern pattern = null;
-            String query = request.getQuery();
-            String queryLower = query.toLowerCase();
+            ArrayList<CodeSearchSuggestion> suggestions =
+                  res.filterSuggestions(request.getQuery());
             
-            if (queryLower.indexOf('*') != -1)
-               pattern = patternForTerm(queryLower);
-            
-            ArrayList<CodeSearchSuggestion> suggestions = new ArrayList<>();
-            for (int s=0; s<res.getSuggestions().size(); s++)
-            {
-               CodeSearchSuggestion sugg = res.getSuggestions().get(s);
-               
-               String name = sugg.getMatchedString().toLowerCase();
-               if (pattern != null)
-               {
-                  Match match = pattern.match(name, 0);
-                  if (match != null && match.getIndex() == 0)
-                     suggestions.add(sugg);
-               }
-               else
-               {
-                  int colonIndex = query.indexOf(":");
-                  if (colonIndex == -1)
-                     colonIndex = query.length();
-                  
-                  if (StringUtil.isSubsequence(name, StringUtil.substring(query, 0, colonIndex), true))
-                     suggestions.add(sugg);
-               }
-            }
-            
-            // process and cache suggestions. note that this adds an item to
-            // the end of the resultCache_ (which we are currently iterating
-            // over) no biggie because we are about to return from the loop
+            // process, rank, and cache suggestions. note that this adds an
+            // item to the end of the resultCache_ (which we are currently
+            // iterating over) no biggie because we are about to return from
+            // the loop
             suggestions = processSuggestions(request, suggestions, false);
             
-            // sort suggestions
-            sortSuggestions(suggestions, query);
-            
             // return suggestions
             callback.onSuggestionsReady(request, new Response(suggestions));
             
@@ -327,13 +298,10 @@ public class CodeSearchOracle extends SuggestOracle
                      new CodeSearchSuggestion(srcResults.get(i), context));    
                }
                   
-               // process suggestions (disambiguate paths & cache)
+               // process suggestions (disambiguate paths, rank & cache)
               suggestions = processSuggestions(request_, 
                                                suggestions,
                                                response.getMoreAvailable());
-              
-              // sort suggestions
-              sortSuggestions(suggestions, request_.getQuery());
                
                // return suggestions
                if (!invalidationToken_.isInvalid())
@@ -365,41 +333,69 @@ public class CodeSearchOracle extends SuggestOracle
       private boolean executing_;
    }
    
-   private void sortSuggestions(ArrayList<CodeSearchSuggestion> suggestions,
-                                String query)
+   // returns the suggestions sorted by score (ties going to the shorter
+   // matched string, and then to their original order). each suggestion is
+   // scored once up front rather than on every comparison
+   private static ArrayList<CodeSearchSuggestion> rankSuggestions(
+                                   List<CodeSearchSuggestion> suggestions,
+                                   String query)
    {
-      // sort the suggestions -- we want suggestions for which
-      // the query matches the start to come first
+      // we want suggestions for which the query matches the start to come first
       int colonIndex = query.indexOf(":");
-      final String localQuery = colonIndex > 0 ?
+      String localQuery = colonIndex > 0 ?
             StringUtil.substring(query, 0, colonIndex) :
             query;
       
-      java.util.Collections.sort(suggestions,
-            new Comparator<CodeSearchSuggestion>() {
-
-         @Override
-         public int compare(CodeSearchSuggestion lhs,
-                            CodeSearchSuggestion rhs)
-         {
-            int lhsScore = scoreMatch(lhs, localQuery);
-            int rhsScore = scoreMatch(rhs, localQuery);
-
-            if (lhsScore == rhsScore)
-            {
-               return lhs.getMatchedString().length() -
-                      rhs.getMatchedString().length();
-            }
-            else
-            {
-               return lhsScore < rhsScore ? -1 : 1;
-            }
-         }
-
+      int n = suggestions.size();
+      final int[] scores = new int[n];
+      final int[] lengths = new int[n];
+      ArrayList<Integer> order = new ArrayList<>(n);
+      for (int i = 0; i < n; i++)
+      {
+         CodeSearchSuggestion suggestion = suggestions.get(i);
+         scores[i] = scoreMatch(suggestion, localQuery);
+         lengths[i] = suggestion.getMatchedString().length();
+         order.add(i);
+      }
+      
+      // the sort is stable, so ties keep their original relative order
+      Collections.sort(order, (lhs, rhs) ->
+      {
+         if (scores[lhs] != scores[rhs])
+            return scores[lhs] < scores[rhs] ? -1 : 1;
+         return lengths[lhs] - lengths[rhs];
       });
       
+      ArrayList<CodeSearchSuggestion> ranked = new ArrayList<>(n);
+      for (int index : order)
+         ranked.add(suggestions.get(index));
+      return ranked;
    }
    
+   // returns a bitmask of the (lower case) characters appearing in a string,
+   // bucketed such that a string can only contain another as a subsequence
+   // if its mask includes all of the other's bits
+   private static int characterMask(String lower)
+   {
+      int mask = 0;
+      for (int i = 0, n = lower.length(); i < n; i++)
+      {
+         char ch = lower.charAt(i);
+         if (ch >= 'a' && ch <= 'z')
+            mask |= 1 << (ch - 'a');
+         else if (ch >= '0' && ch <= '9')
+            mask |= 1 << 26;
+         else if (ch == '_')
+            mask |= 1 << 27;
+         else if (ch == '.')
+            mask |= 1 << 28;
+         else if (ch == '-')
+            mask |= 1 << 29;
+         else if (ch != '*')
+            mask |= 1 << 30;
+      }
+      return mask;
+   }
    
    private ArrayList<CodeSearchSuggestion> processSuggestions(
                                    Request request, 
@@ -435,11 +431,12 @@ public class CodeSearchOracle extends SuggestOracle
       // the search term reverting back to empty)
       if (resultCache_.size() > 15)
          resultCache_.remove(0);
-      resultCache_.add(new SearchResult(request.getQuery(), 
-                                        newSuggestions, 
-                                        moreAvailable));
+      SearchResult result = new SearchResult(request.getQuery(),
+                                             newSuggestions,
+                                             moreAvailable);
+      resultCache_.add(result);
       
-      return newSuggestions;
+      return result.getRankedSuggestions();
    }
    
    private final Invalidation searchInvalidation_ = new Invalidation();
@@ -450,6 +447,9 @@ public class CodeSearchOracle extends SuggestOracle
    
    private final ArrayList<SearchResult> resultCache_ = new ArrayList<>();
    
+   // a set of suggestions returned for a query (kept in the order they were
+   // received, with files first), along with an index used to quickly filter
+   // them for refinements of that query
    private class SearchResult
    {
       public SearchResult(String query, 
@@ -459,6 +459,17 @@ public class CodeSearchOracle extends SuggestOracle
          query_ = query;
          suggestions_ = suggestions;
          moveAvailable_ = moreAvailable;
+         
+         int n = suggestions.size();
+         names_ = new String[n];
+         masks_ = new int[n];
+         for (int i = 0; i < n; i++)
+         {
+            names_[i] = suggestions.get(i).getMatchedString().toLowerCase();
+            masks_[i] = characterMask(names_[i]);
+         }
+         
+         rankedSuggestions_ = rankSuggestions(suggestions, query);
       }
       
       public String getQuery()
@@ -471,14 +482,68 @@ public class CodeSearchOracle extends SuggestOracle
          return suggestions_;
       }
       
+      public ArrayList<CodeSearchSuggestion> getRankedSuggestions()
+      {
+         return rankedSuggestions_;
+      }
+      
       public boolean getMoreAvailable()
       {
          return moveAvailable_;
       }
       
+      // returns the suggestions (in their original order) matching a query
+      public ArrayList<CodeSearchSuggestion> filterSuggestions(String query)
+      {
+         Pattern pattern = null;
+         String term;
+         if (query.indexOf('*') != -1)
+         {
+            term = query.toLowerCase();
+            pattern = patternForTerm(term);
+         }
+         else
+         {
+            int colonIndex = query.indexOf(":");
+            if (colonIndex == -1)
+               colonIndex = query.length();
+            term = StringUtil.substring(query, 0, colonIndex).toLowerCase();
+         }
+         
+         // skip over any suggestions missing characters in the query before
+         // doing the (more expensive) full match
+         int termMask = characterMask(term);
+         
+         ArrayList<CodeSearchSuggestion> suggestions = new ArrayList<>();
+         for (int i = 0; i < names_.length; i++)
+         {
+            if ((termMask & ~masks_[i]) != 0)
+               continue;
+            
+            String name = names_[i];
+            if (pattern != null)
+            {
+               Match match = pattern.match(name, 0);
+               if (match != null && match.getIndex() == 0)
+                  suggestions.add(suggestions_.get(i));
+            }
+            else
+            {
+               if (StringUtil.isSubsequence(name, term))
+                  suggestions.add(suggestions_.get(i));
+            }
+         }
+         return suggestions;
+      }
+      
       private final String query_;
       private final ArrayList<CodeSearchSuggestion> suggestions_;
       private final boolean moveAvailable_;
+      private final ArrayList<CodeSearchSuggestion> rankedSuggestions_;
+      
+      // lower case matched strings, and their character masks
+      private final String[] names_;
+      private final int[] masks_;
    }
    private static final CodeSearchConstants constants_ = GWT.create(CodeSearchConstants.class);
 }
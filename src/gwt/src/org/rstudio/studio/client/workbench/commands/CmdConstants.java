@@ -3158,6 +3158,12 @@ public interface CmdConstants extends Constants {
     @DefaultStringValue("Show internal request log") // $NON-NLS-1$
     String showRequestLogDesc();
     
+    // showSatelliteDiagnostics
+    @DefaultStringValue("_Satellite Window Events") // $NON-NLS-1$
+    String showSatelliteDiagnosticsMenuLabel();
+    @DefaultStringValue("Show the events forwarded to satellite windows") // $NON-NLS-1$
+    String showSatelliteDiagnosticsDesc();
+    
     // diagnosticsReport
     @DefaultStringValue("_Write Diagnostics Report") // $NON-NLS-1$
     String diagnosticsReportMenuLabel();
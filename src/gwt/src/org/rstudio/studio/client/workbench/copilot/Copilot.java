@@ -58,6 +58,7 @@ import org.rstudio.studio.client.workbench.model.Session;
 import org.rstudio.studio.client.workbench.prefs.model.UserPrefs;
 
 import com.google.gwt.core.client.GWT;
+import com.google.gwt.core.client.RunAsyncCallback;
 import com.google.gwt.dom.client.Element;
 import com.google.gwt.event.dom.client.ClickEvent;
 import com.google.gwt.event.dom.client.ClickHandler;
@@ -225,36 +226,43 @@ public class Copilot implements ProjectOptionsChangedEvent.Handler
                                            boolean isInstallationCurrent,
                                            CommandWithArg<Boolean> callback)
    {
-      CopilotInstallDialog dialog = new CopilotInstallDialog(isAlreadyInstalled, isInstallationCurrent);
-      
-      dialog.addClickHandler(new ClickHandler()
+      GWT.runAsync(CopilotInstallDialog.class, new DialogCallback(() -> callback.execute(false))
       {
          @Override
-         public void onClick(ClickEvent event)
+         public void onSuccess()
          {
-            CommandWithArg<Boolean> wrappedCallback = (result) ->
+            CopilotInstallDialog dialog = new CopilotInstallDialog(isAlreadyInstalled, isInstallationCurrent);
+            
+            dialog.addClickHandler(new ClickHandler()
             {
-               dialog.closeDialog();
-               callback.execute(result);
-            };
+               @Override
+               public void onClick(ClickEvent event)
+               {
+                  CommandWithArg<Boolean> wrappedCallback = (result) ->
+                  {
+                     dialog.closeDialog();
+                     callback.execute(result);
+                  };
+                  
+                  installAgent(
+                        dialog.getProgressIndicator(),
+                        wrappedCallback);
+               }
+            });
             
-            installAgent(
-                  dialog.getProgressIndicator(),
-                  wrappedCallback);
-         }
-      });
-      
-      dialog.addCancelHandler(new ClickHandler()
-      {
-         @Override
-         public void onClick(ClickEvent event)
-         {
-            dialog.closeDialog();
-            callback.execute(false);
+            dialog.addCancelHandler(new ClickHandler()
+            {
+               @Override
+               public void onClick(ClickEvent event)
+               {
+                  dialog.closeDialog();
+                  callback.execute(false);
+               }
+            });
+            
+            dialog.showModal();
          }
       });
-      
-      dialog.showModal();
    }
    
    private void installAgent(ProgressIndicator indicator,
@@ -328,8 +336,15 @@ public class Copilot implements ProjectOptionsChangedEvent.Handler
                   else
                   {
                      CopilotDiagnostics diagnostics = response.result.cast();
-                     CopilotDiagnosticsDialog dialog = new CopilotDiagnosticsDialog(diagnostics.report);
-                     dialog.showModal();
+                     GWT.runAsync(CopilotDiagnosticsDialog.class, new DialogCallback()
+                     {
+                        @Override
+                        public void onSuccess()
+                        {
+                           CopilotDiagnosticsDialog dialog = new CopilotDiagnosticsDialog(diagnostics.report);
+                           dialog.showModal();
+                        }
+                     });
                   }
                }
                
@@ -392,47 +407,54 @@ public class Copilot implements ProjectOptionsChangedEvent.Handler
             CopilotSignInResponseResult result = response.result.cast();
             if (result.status == CopilotConstants.STATUS_PROMPT_USER_DEVICE_FLOW)
             {
-               // Generate the dialog.
-               signInDialog_ = new CopilotSignInDialog(result.verificationUri, result.userCode);
-               signInDialog_.showModal();
-               
-               // Start polling for status, to see when the user has finished authenticating.
-               statusTimer_ = new Timer()
+               GWT.runAsync(CopilotSignInDialog.class, new DialogCallback()
                {
                   @Override
-                  public void run()
+                  public void onSuccess()
                   {
-                     server_.copilotStatus(new ServerRequestCallback<CopilotStatusResponse>()
+                     // Generate the dialog.
+                     signInDialog_ = new CopilotSignInDialog(result.verificationUri, result.userCode);
+                     signInDialog_.showModal();
+               
+                     // Start polling for status, to see when the user has finished authenticating.
+                     statusTimer_ = new Timer()
                      {
                         @Override
-                        public void onResponseReceived(CopilotStatusResponse response)
+                        public void run()
                         {
-                           if (response.result.status == CopilotConstants.STATUS_OK)
+                           server_.copilotStatus(new ServerRequestCallback<CopilotStatusResponse>()
                            {
-                              signInDialog_.closeDialog();
-                              callback.execute(response);
-                           }
-                           else if (response.result.status == CopilotConstants.STATUS_NOT_AUTHORIZED)
-                           {
-                              signInDialog_.closeDialog();
-                              callback.execute(response);
-                           }
-                           else
-                           {
-                              statusTimer_.schedule(1000);
-                           }
-                        }
+                              @Override
+                              public void onResponseReceived(CopilotStatusResponse response)
+                              {
+                                 if (response.result.status == CopilotConstants.STATUS_OK)
+                                 {
+                                    signInDialog_.closeDialog();
+                                    callback.execute(response);
+                                 }
+                                 else if (response.result.status == CopilotConstants.STATUS_NOT_AUTHORIZED)
+                                 {
+                                    signInDialog_.closeDialog();
+                                    callback.execute(response);
+                                 }
+                                 else
+                                 {
+                                    statusTimer_.schedule(1000);
+                                 }
+                              }
 
-                        @Override
-                        public void onError(ServerError error)
-                        {
-                           Debug.logError(error);
+                              @Override
+                              public void onError(ServerError error)
+                              {
+                                 Debug.logError(error);
+                              }
+                           });
                         }
-                     });
-                  }
-               };
+                     };
                
-               statusTimer_.schedule(1000);
+                     statusTimer_.schedule(1000);
+                  }
+               });
             }
             else if (result.status == CopilotConstants.STATUS_ALREADY_SIGNED_IN)
             {
@@ -591,6 +613,32 @@ public class Copilot implements ProjectOptionsChangedEvent.Handler
    {
    }
    
+   // Copilot's dialogs are only needed while setting it up, so each is
+   // downloaded the first time it's shown; if the download fails, the error
+   // is reported and onFailure (if any) lets the caller know
+   private abstract class DialogCallback implements RunAsyncCallback
+   {
+      public DialogCallback()
+      {
+         this(null);
+      }
+
+      public DialogCallback(Command onFailure)
+      {
+         onFailure_ = onFailure;
+      }
+
+      @Override
+      public void onFailure(Throwable reason)
+      {
+         globalDisplay_.showErrorMessage(reason.getMessage());
+         if (onFailure_ != null)
+            onFailure_.execute();
+      }
+
+      private final Command onFailure_;
+   }
+   
    private RProjectCopilotOptions copilotProjectOptions_;
    
    private final GlobalDisplay display_;
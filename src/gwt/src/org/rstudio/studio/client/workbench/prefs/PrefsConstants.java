@@ -3764,6 +3764,24 @@ public interface PrefsConstants extends com.google.gwt.i18n.client.Messages {
     @Key("chkTerminalLocalEchoTitle")
     String chkTerminalLocalEchoTitle();
 
+    /**
+     * Translated "Skip output when flooded".
+     *
+     * @return translated "Skip output when flooded"
+     */
+    @DefaultMessage("Skip output when flooded")
+    @Key("chkTerminalDropFloodOutputLabel")
+    String chkTerminalDropFloodOutputLabel();
+
+    /**
+     * Translated "When a program writes output faster than it can be displayed, skip older output rather than displaying all of it.".
+     *
+     * @return translated "When a program writes output faster than it can be displayed, skip older output rather than displaying all of it."
+     */
+    @DefaultMessage("When a program writes output faster than it can be displayed, skip older output rather than displaying all of it.")
+    @Key("chkTerminalDropFloodOutputTitle")
+    String chkTerminalDropFloodOutputTitle();
+
     /**
      * Translated "Connect with WebSockets".
      *
@@ -143,6 +143,19 @@ public abstract class Prefs
       }
       
       public T getValue()
+      {
+         // Resolving a value walks every layer, and some values are read on
+         // hot paths (e.g. per keystroke), so keep the resolved value until
+         // the layers next change.
+         if (cachedVersion_ == layerVersion_)
+            return cachedValue_;
+
+         cachedValue_ = resolveValue();
+         cachedVersion_ = layerVersion_;
+         return cachedValue_;
+      }
+
+      private T resolveValue()
       {
          // Work backwards through all layers, starting with the most specific
          // and working towards the most general.
@@ -194,6 +207,9 @@ public abstract class Prefs
                wasUnset = true;
             }
          }
+
+         if (wasUnset)
+            invalidateValues();
          
          if (fireEvents && wasUnset)
             ValueChangeEvent.fire(this, getValue());
@@ -227,6 +243,7 @@ public abstract class Prefs
          if (projValues.hasKey(name_))
          {
             projValues.unset(name_);
+            invalidateValues();
             if (fireEvents)
                ValueChangeEvent.fire(this, getValue());
          }
@@ -255,6 +272,7 @@ public abstract class Prefs
             return;
 
          doSetValue(root, name_, value);
+         invalidateValues();
          if (fireEvents)
             ValueChangeEvent.fire(this, getValue());
          
@@ -274,6 +292,11 @@ public abstract class Prefs
       private final String description_;
       private final T defaultValue_;
       private final HandlerManager handlerManager_ = new HandlerManager(this);
+
+      // the value resolved from the layers, and the version of the layers it
+      // was resolved from
+      private T cachedValue_;
+      private int cachedVersion_ = -1;
    }
 
    public class BooleanValue extends JsonValue<Boolean>
@@ -435,6 +458,15 @@ public abstract class Prefs
    public abstract int userLayer();
    public abstract int projectLayer();
 
+   /**
+    * Discards the values resolved from the preference layers; must be called
+    * after modifying a layer other than through a PrefValue.
+    */
+   public void invalidateValues()
+   {
+      layerVersion_++;
+   }
+
    @SuppressWarnings("unchecked")
    protected PrefValue<Boolean> bool(
       String name, String title, String description, boolean defaultValue)
@@ -535,8 +567,10 @@ public abstract class Prefs
    protected void updatePrefs(JsArray<PrefLayer> layers)
    {
       layers_ = layers;
+      invalidateValues();
    }
    
    private JsArray<PrefLayer> layers_;
+   private int layerVersion_ = 0;
    private final HashMap<String, PrefValue<?>> values_ = new HashMap<>();
 }
@@ -18,11 +18,18 @@ import org.rstudio.studio.client.server.ServerRequestCallback;
 import org.rstudio.studio.client.server.Void;
 
 import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArrayString;
 
 public interface PrefsServerOperations
 {
    void setUserPrefs(JavaScriptObject userPrefs,
                      ServerRequestCallback<Void> requestCallback);
+
+   // writes only the given changes to the user preference layer, leaving the
+   // rest of the layer as it is
+   void setUserPrefChanges(JavaScriptObject changed,
+                           JsArrayString removed,
+                           ServerRequestCallback<Void> requestCallback);
    
    void setUserState(JavaScriptObject userState,
                      ServerRequestCallback<Void> requestCallback);
@@ -14,6 +14,9 @@
  */
 package org.rstudio.studio.client.workbench.prefs.model;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.rstudio.core.client.BrowseCap;
 import org.rstudio.core.client.CommandWithArg;
 import org.rstudio.core.client.Debug;
@@ -21,6 +24,7 @@ import org.rstudio.core.client.StringUtil;
 import org.rstudio.core.client.command.CommandBinder;
 import org.rstudio.core.client.command.Handler;
 import org.rstudio.core.client.dom.WindowEx;
+import org.rstudio.core.client.js.JsObject;
 import org.rstudio.studio.client.RStudioGinjector;
 import org.rstudio.studio.client.application.ApplicationQuit;
 import org.rstudio.studio.client.application.AriaLiveService;
@@ -46,6 +50,8 @@ import org.rstudio.studio.client.workbench.prefs.events.UserPrefsChangedEvent;
 
 import com.google.gwt.core.client.GWT;
 import com.google.gwt.core.client.JsArray;
+import com.google.gwt.core.client.JsArrayString;
+import com.google.gwt.core.client.Scheduler;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
@@ -105,44 +111,117 @@ public class UserPrefs extends UserPrefsComputed
    public void writeUserPrefs(CommandWithArg<Boolean> onCompleted)
    {
       updatePrefs(session_.getSessionInfo().getPrefs());
-      server_.setUserPrefs(
-         session_.getSessionInfo().getUserPrefs(),
-         new ServerRequestCallback<Void>()
+
+      // coalesce writes requested in the same event loop, or while another
+      // write is in flight, into a single request
+      if (onCompleted != null)
+         pendingWriteCallbacks_.add(onCompleted);
+
+      writePending_ = true;
+      if (!writeScheduled_ && !writeInFlight_)
+      {
+         writeScheduled_ = true;
+         Scheduler.get().scheduleDeferred(() ->
          {
-            @Override
-            public void onResponseReceived(Void v)
-            {
-               UserPrefsChangedEvent event = new UserPrefsChangedEvent(
-                     session_.getSessionInfo().getUserPrefLayer());
+            writeScheduled_ = false;
+            flushUserPrefs();
+         });
+      }
+   }
 
-               if (Satellite.isCurrentWindowSatellite())
-               {
-                  RStudioGinjector.INSTANCE.getEventBus()
-                     .fireEventToMainWindow(event);
-               }
-               else
-               {
-                  // let satellites know prefs have changed
-                  satelliteManager_.dispatchCrossWindowEvent(event);
-               }
+   private void flushUserPrefs()
+   {
+      if (!writePending_ || writeInFlight_)
+         return;
 
-               if (onCompleted != null)
-               {
-                  onCompleted.execute(true);
-               }
+      writePending_ = false;
+      final List<CommandWithArg<Boolean>> callbacks = pendingWriteCallbacks_;
+      pendingWriteCallbacks_ = new ArrayList<>();
+      final JsObject userLayer = getUserLayer().clone();
+
+      ServerRequestCallback<Void> callback = new ServerRequestCallback<Void>()
+      {
+         @Override
+         public void onResponseReceived(Void v)
+         {
+            writtenUserLayer_ = userLayer;
+
+            UserPrefsChangedEvent event = new UserPrefsChangedEvent(
+                  session_.getSessionInfo().getUserPrefLayer());
+
+            if (Satellite.isCurrentWindowSatellite())
+            {
+               RStudioGinjector.INSTANCE.getEventBus()
+                  .fireEventToMainWindow(event);
             }
-            @Override
-            public void onError(ServerError error)
+            else
             {
-               if (onCompleted != null)
-               {
-                  onCompleted.execute(false);
-               }
-               Debug.logError(error);
+               // let satellites know prefs have changed
+               satelliteManager_.dispatchCrossWindowEvent(event);
             }
-         });
+
+            onWriteCompleted(callbacks, true);
+         }
+         @Override
+         public void onError(ServerError error)
+         {
+            Debug.logError(error);
+            onWriteCompleted(callbacks, false);
+         }
+      };
+
+      // until we know what the server has, write the whole layer
+      if (writtenUserLayer_ == null)
+      {
+         writeInFlight_ = true;
+         server_.setUserPrefs(userLayer, callback);
+         return;
+      }
+
+      // otherwise, write only the preferences changed since the last write
+      JsObject changed = JsObject.createJsObject();
+      JsArrayString removed = JsArrayString.createArray().cast();
+      diffLayers(writtenUserLayer_, userLayer, changed, removed);
+      if (changed.keys().length() == 0 && removed.length() == 0)
+      {
+         onWriteCompleted(callbacks, true);
+         return;
+      }
+
+      writeInFlight_ = true;
+      server_.setUserPrefChanges(changed, removed, callback);
    }
 
+   private void onWriteCompleted(List<CommandWithArg<Boolean>> callbacks,
+                                 boolean succeeded)
+   {
+      writeInFlight_ = false;
+      for (CommandWithArg<Boolean> callback : callbacks)
+         callback.execute(succeeded);
+
+      // write any changes made while this write was in flight
+      flushUserPrefs();
+   }
+
+   // collects the values in layer that differ from those in previous, and the
+   // names of those no longer present
+   private static native void diffLayers(JsObject previous,
+                                         JsObject layer,
+                                         JsObject changed,
+                                         JsArrayString removed)
+   /*-{
+      for (var key in layer) {
+         if (!previous.hasOwnProperty(key) ||
+             JSON.stringify(previous[key]) !== JSON.stringify(layer[key])) {
+            changed[key] = layer[key];
+         }
+      }
+      for (var key in previous) {
+         if (!layer.hasOwnProperty(key))
+            removed.push(key);
+      }
+   }-*/;
+
    /**
     * Indicates whether autosave is enabled, via any pref that turns it on.
     *
@@ -172,6 +251,14 @@ public class UserPrefs extends UserPrefsComputed
    @Override
    public void onUserPrefsChanged(UserPrefsChangedEvent e)
    {
+      // these values have been written by the server or another window, so
+      // needn't be included in our next write
+      if (writtenUserLayer_ != null &&
+          StringUtil.equals(e.getName(), PrefLayer.LAYER_USER))
+      {
+         writtenUserLayer_.insert(e.getValues().clone());
+      }
+
       syncPrefs(e.getName(), e.getValues());
    }
 
@@ -226,6 +313,7 @@ public class UserPrefs extends UserPrefsComputed
    public void onSessionInit(SessionInitEvent event)
    {
       updatePrefs(session_.getSessionInfo().getPrefs());
+      writtenUserLayer_ = null;
 
       origScreenReaderLabel_ = commands_.toggleScreenReaderSupport().getMenuLabel(false);
       announceScreenReaderState();
@@ -378,6 +466,14 @@ public class UserPrefs extends UserPrefsComputed
    private final AriaLiveService ariaLive_;
    private final ApplicationQuit quit_;
 
+   // the user layer as of our last successful write (null until the first
+   // write, which sends the whole layer)
+   private JsObject writtenUserLayer_ = null;
+   private List<CommandWithArg<Boolean>> pendingWriteCallbacks_ = new ArrayList<>();
+   private boolean writePending_ = false;
+   private boolean writeScheduled_ = false;
+   private boolean writeInFlight_ = false;
+
    private boolean reloadAfterInit_;
    private String origScreenReaderLabel_;
 
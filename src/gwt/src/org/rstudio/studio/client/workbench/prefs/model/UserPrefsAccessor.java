@@ -1973,6 +1973,18 @@ public class UserPrefsAccessor extends Prefs
          true);
    }
 
+   /**
+    * Whether to discard older pending output when a program writes to the Terminal faster than it can be displayed.
+    */
+   public PrefValue<Boolean> terminalDropFloodOutput()
+   {
+      return bool(
+         "terminal_drop_flood_output",
+         _constants.terminalDropFloodOutputTitle(), 
+         _constants.terminalDropFloodOutputDescription(), 
+         false);
+   }
+
    /**
     * Whether to use websockets to communicate with the shell in the Terminal tab.
     */
@@ -3934,6 +3946,8 @@ public class UserPrefsAccessor extends Prefs
          showTerminalTab().setValue(layer, source.getBool("show_terminal_tab"));
       if (source.hasKey("terminal_local_echo"))
          terminalLocalEcho().setValue(layer, source.getBool("terminal_local_echo"));
+      if (source.hasKey("terminal_drop_flood_output"))
+         terminalDropFloodOutput().setValue(layer, source.getBool("terminal_drop_flood_output"));
       if (source.hasKey("terminal_websockets"))
          terminalWebsockets().setValue(layer, source.getBool("terminal_websockets"));
       if (source.hasKey("terminal_close_behavior"))
@@ -4311,6 +4325,7 @@ public class UserPrefsAccessor extends Prefs
       prefs.add(executionBehavior());
       prefs.add(showTerminalTab());
       prefs.add(terminalLocalEcho());
+      prefs.add(terminalDropFloodOutput());
       prefs.add(terminalWebsockets());
       prefs.add(terminalCloseBehavior());
       prefs.add(terminalTrackEnvironment());
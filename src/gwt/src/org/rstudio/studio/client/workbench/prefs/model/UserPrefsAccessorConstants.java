@@ -1165,6 +1165,14 @@ public interface UserPrefsAccessorConstants extends Constants {
    @DefaultStringValue("Whether to use local echo in the Terminal.")
    String terminalLocalEchoDescription();
 
+   /**
+    * Whether to discard older pending output when a program writes to the Terminal faster than it can be displayed.
+    */
+   @DefaultStringValue("Skip intermediate output when the Terminal is flooded")
+   String terminalDropFloodOutputTitle();
+   @DefaultStringValue("Whether to discard older pending output when a program writes to the Terminal faster than it can be displayed.")
+   String terminalDropFloodOutputDescription();
+
    /**
     * Whether to use websockets to communicate with the shell in the Terminal tab.
     */
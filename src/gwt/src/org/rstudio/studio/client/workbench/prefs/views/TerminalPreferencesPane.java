@@ -174,6 +174,11 @@ public class TerminalPreferencesPane extends PreferencesPane
          general.add(chkTerminalWebsocket);
          showPerfLabel = true;
       }
+      CheckBox chkTerminalDropFloodOutput = checkboxPref(constants_.chkTerminalDropFloodOutputLabel(),
+            prefs_.terminalDropFloodOutput(),
+            constants_.chkTerminalDropFloodOutputTitle());
+      general.add(chkTerminalDropFloodOutput);
+      showPerfLabel = true;
 
       perfLabel.setVisible(showPerfLabel);
 
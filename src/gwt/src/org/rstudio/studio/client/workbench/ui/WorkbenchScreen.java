@@ -47,6 +47,8 @@ import org.rstudio.studio.client.application.events.ChangeFontSizeEvent;
 import org.rstudio.studio.client.application.events.EventBus;
 import org.rstudio.studio.client.application.ui.appended.ApplicationEndedPopupPanel;
 import org.rstudio.studio.client.common.GlobalDisplay;
+import org.rstudio.studio.client.panmirror.PanmirrorWidget;
+import org.rstudio.studio.client.rsconnect.ui.RSConnectDeployLoader;
 import org.rstudio.studio.client.workbench.FileMRUList;
 import org.rstudio.studio.client.workbench.WorkbenchMainView;
 import org.rstudio.studio.client.workbench.commands.Commands;
@@ -92,13 +94,15 @@ public class WorkbenchScreen extends Composite
                           Commands commands,
                           final Provider<FileMRUList> mruList,
                           FontSizeManager fontSizeManager,
-                          OptionsLoader.Shim optionsLoader)
+                          OptionsLoader.Shim optionsLoader,
+                          RSConnectDeployLoader.Shim deployLoader)
    {
       globalDisplay_ = globalDisplay;
       eventBus_ = eventBus;
       session_ = session;
       edit_ = edit;
       optionsLoader_ = optionsLoader;
+      deployLoader_ = deployLoader;
 
       if (!BrowseCap.isMacintoshDesktop())
       {
@@ -225,6 +229,21 @@ public class WorkbenchScreen extends Composite
                   optionsLoader_.forceLoad(true, continuation);
                }
             });
+            prefetchQueue.addCommand(new SerializedCommand()
+            {
+               public void onExecute(Command continuation)
+               {
+                  deployLoader_.forceLoad(true, continuation);
+               }
+            });
+            prefetchQueue.addCommand(new SerializedCommand()
+            {
+               public void onExecute(Command continuation)
+               {
+                  PanmirrorWidget.prefetch();
+                  continuation.execute();
+               }
+            });
          }
       });
    }
@@ -498,6 +517,7 @@ public class WorkbenchScreen extends Composite
    private final Session session_;
    private final Shim edit_;
    private final org.rstudio.studio.client.workbench.ui.OptionsLoader.Shim optionsLoader_;
+   private final RSConnectDeployLoader.Shim deployLoader_;
 
    private final MainSplitPanel tabsPanel_;
    private final PaneManager paneManager_;
@@ -98,6 +98,7 @@ public class ConnectionsPresenter extends BasePresenter
       void setExploredConnection(Connection connection);
       
       void updateExploredConnection(String hint);
+      void refreshExploredConnection();
       
       HasClickHandlers backToConnectionsButton();
       
@@ -499,7 +500,8 @@ public class ConnectionsPresenter extends BasePresenter
       if (exploredConnection_ == null)
          return;
       
-      display_.updateExploredConnection("");
+      // an explicit refresh doesn't use the listings cached by the session
+      display_.refreshExploredConnection();
    }
    
    private void showAllConnections(boolean animate)
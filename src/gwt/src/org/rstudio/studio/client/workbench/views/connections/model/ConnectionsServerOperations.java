@@ -33,9 +33,23 @@ public interface ConnectionsServerOperations extends CryptoServerOperations
                                 String action,
                                 ServerRequestCallback<Void> callback);
    
+   /**
+    * Lists a page of the objects in a container.
+    *
+    * @param offset The index of the first object to list.
+    * @param limit The maximum number of objects to list.
+    * @param filter If non-empty, only objects whose names contain this text
+    *    (ignoring case) are listed.
+    * @param bypassCache Whether to discard the objects and columns cached for
+    *    the connection and list them afresh.
+    */
    void connectionListObjects(ConnectionId connectionId,
                               ConnectionObjectSpecifier object,
-                              ServerRequestCallback<JsArray<DatabaseObject>> callback);
+                              int offset,
+                              int limit,
+                              String filter,
+                              boolean bypassCache,
+                              ServerRequestCallback<DatabaseObjectPage> callback);
    
    void connectionListFields(ConnectionId connectionId,
                              ConnectionObjectSpecifier object,
@@ -0,0 +1,45 @@
+/*
+ * DatabaseObjectPage.java
+ *
+ * Copyright (C) 2022 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+
+package org.rstudio.studio.client.workbench.views.connections.model;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArray;
+
+/**
+ * A page of the objects in a container, as listed by the server.
+ */
+public class DatabaseObjectPage extends JavaScriptObject
+{
+   protected DatabaseObjectPage()
+   {
+   }
+
+   public final native JsArray<DatabaseObject> getObjects() /*-{
+      return this.objects || [];
+   }-*/;
+
+   public final native int getOffset() /*-{
+      return this.offset || 0;
+   }-*/;
+
+   /**
+    * @return The number of objects in the container (that match the filter,
+    *    if any), of which this page is a part.
+    */
+   public final native int getTotal() /*-{
+      return this.total || 0;
+   }-*/;
+}
@@ -140,6 +140,11 @@ public class ConnectionExplorer extends Composite implements RequiresResize
    {   
       objectBrowser_.update(connection_, hint);
    }
+
+   public void refreshObjectBrowser()
+   {
+      objectBrowser_.update(connection_, "", true);
+   }
    
    public void setFilterText(String text)
    {
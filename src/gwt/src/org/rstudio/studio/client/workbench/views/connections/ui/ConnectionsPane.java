@@ -291,6 +291,12 @@ public class ConnectionsPane extends WorkbenchPane
    {
       connectionExplorer_.updateObjectBrowser(hint);
    }
+
+   @Override
+   public void refreshExploredConnection()
+   {
+      connectionExplorer_.refreshObjectBrowser();
+   }
    
    @Override
    public void showConnectionsList(boolean animate)
@@ -62,6 +62,15 @@ public class ObjectBrowser extends Composite implements RequiresResize
    }
    
    public void update(Connection connection, String hint)
+   {
+      update(connection, hint, false);
+   }
+
+   /**
+    * Lists the connection's objects again; if bypassCache is set, they're
+    * listed afresh rather than from the session's cache.
+    */
+   public void update(Connection connection, String hint, boolean bypassCache)
    { 
       // create tables model and widget
       objectsModel_ = new ObjectBrowserModel();
@@ -77,7 +86,7 @@ public class ObjectBrowser extends Composite implements RequiresResize
          {
             // clear progress and show the object tree again
             hostPanel_.setWidget(scrollPanel_);
-         }, null);
+         }, null, bypassCache);
 
       // create new widget
       objects_ = new CellTree(objectsModel_, null, RES, MESSAGES, 512);
@@ -20,9 +20,7 @@ import java.util.HashMap;
 import java.util.Set;
 
 import com.google.gwt.core.client.GWT;
-import org.rstudio.core.client.CommandWithArg;
 import org.rstudio.core.client.Debug;
-import org.rstudio.core.client.JsArrayUtil;
 import org.rstudio.core.client.SafeHtmlUtil;
 import org.rstudio.core.client.StringUtil;
 import org.rstudio.core.client.js.JsObject;
@@ -38,6 +36,7 @@ import org.rstudio.studio.client.workbench.views.connections.model.ConnectionObj
 import org.rstudio.studio.client.workbench.views.connections.model.ConnectionObjectType;
 import org.rstudio.studio.client.workbench.views.connections.model.ConnectionsServerOperations;
 import org.rstudio.studio.client.workbench.views.connections.model.DatabaseObject;
+import org.rstudio.studio.client.workbench.views.connections.model.DatabaseObjectPage;
 import org.rstudio.studio.client.workbench.views.connections.model.Field;
 
 import com.google.gwt.cell.client.AbstractCell;
@@ -52,6 +51,7 @@ import com.google.gwt.user.client.Command;
 import com.google.gwt.view.client.AsyncDataProvider;
 import com.google.gwt.view.client.HasData;
 import com.google.gwt.view.client.NoSelectionModel;
+import com.google.gwt.view.client.Range;
 import com.google.gwt.view.client.TreeViewModel;
 import com.google.inject.Inject;
 
@@ -74,9 +74,11 @@ public class ObjectBrowserModel implements TreeViewModel
    public void update(Connection connection,
                       Set<DatabaseObject> expandedNodes,
                       Command onTableUpdateCompleted,
-                      Command onNodeExpansionCompleted)
+                      Command onNodeExpansionCompleted,
+                      boolean bypassCache)
    {
       connection_ = connection;
+      bypassCache_ = bypassCache;
       expandedNodeRefreshQueue_ = expandedNodes;
       onTableUpdateCompleted_ = onTableUpdateCompleted;
       onNodeExpansionCompleted_ = onNodeExpansionCompleted;
@@ -199,6 +201,13 @@ public class ObjectBrowserModel implements TreeViewModel
       }
    }
    
+   /**
+    * Provides the objects in a container, a page at a time: pages are listed
+    * by the server as the displays' ranges grow. When a container's objects
+    * all fit in the first page, they're filtered here (so that containers
+    * whose children match remain visible); larger containers are filtered
+    * by the server.
+    */
    private class ObjectProvider extends AsyncDataProvider<DatabaseObject>
    {
       public ObjectProvider()
@@ -213,7 +222,7 @@ public class ObjectBrowserModel implements TreeViewModel
 
       public void clear()
       {
-         prefetchedObjectList_ = null;
+         reset();
          fieldProviders_.clear();
          clearData();
       }
@@ -225,15 +234,13 @@ public class ObjectBrowserModel implements TreeViewModel
         
          // prefetch the objects so there is no gap between clearing the table
          // and redrawing the nodes
-         listObjects(new CommandWithArg<JsArray<DatabaseObject>>() {
-            @Override
-            public void execute(JsArray<DatabaseObject> objects)
+         reset();
+         listObjects(getRequiredCount(), () ->
+         {
+            for (HasData<DatabaseObject> display : getDataDisplays())
             {
-               for (HasData<DatabaseObject> display : getDataDisplays())
-               {
-                 display.setVisibleRangeAndClearData(display.getVisibleRange(), 
-                                                     true);
-               }
+              display.setVisibleRangeAndClearData(display.getVisibleRange(), 
+                                                  true);
             }
          });
       }
@@ -246,18 +253,29 @@ public class ObjectBrowserModel implements TreeViewModel
       public boolean applyFilter(String filter)
       {
          // ignore if not fetched yet
-         if (prefetchedObjectList_ == null)
+         if (objects_ == null)
             return false;
 
+         if (paged_)
+         {
+            // list the matching objects from the server; we can't tell yet
+            // whether any match, so presume they do
+            if (!StringUtil.equals(serverFilter_, filter))
+            {
+               serverFilter_ = filter;
+               refresh();
+            }
+            return true;
+         }
+
          boolean anyMatched = false;
          
          // don't be case sensitive
          String lowerFilter = filter.toLowerCase();
          
-         for (int i = 0; i < prefetchedObjectList_.length(); i++)
+         for (DatabaseObject object : objects_)
          {
             // retrieve name of object for matching
-            DatabaseObject object = prefetchedObjectList_.get(i);
             String name = object.getName();
             if (name == null)
                continue;
@@ -281,7 +299,7 @@ public class ObjectBrowserModel implements TreeViewModel
          }
          
          // redraw
-         updateData(prefetchedObjectList_);
+         updateData();
 
          // indicate whether any of the child nodes matched
          return anyMatched;
@@ -293,44 +311,65 @@ public class ObjectBrowserModel implements TreeViewModel
         if (connection_ == null)
         {
            clearData();
+           return;
         }
-        else if (prefetchedObjectList_ != null)
-        {
-           JsArray<DatabaseObject> objects = prefetchedObjectList_;
-           updateData(objects);
-        }
-        else
-        {
-           listObjects(new CommandWithArg<JsArray<DatabaseObject>>() {
-               @Override
-               public void execute(JsArray<DatabaseObject> objects)
-               {
-                  updateData(objects);
-               }
-           });
-        }
+
+        Range range = display.getVisibleRange();
+        listObjects(range.getStart() + range.getLength(), () -> updateData());
       } 
       
       private void clearData()
       {
          updateRowCount(0, true);
          updateRowData(0, new ArrayList<>());
-         prefetchedObjectList_ = null; 
+         reset();
          fireUpdateCompleted();
       }
       
-      private void updateData(JsArray<DatabaseObject> objects)
+      private void updateData()
       {
-         updateRowCount(objects.length(), true);
-         ArrayList<DatabaseObject> data = JsArrayUtil.toArrayList(objects);
-         updateRowData(0, data);
+         updateRowCount(total_, true);
+         updateRowData(0, objects_);
          fireUpdateCompleted();
       }
+
+      // discards the objects listed so far, and any responses still to come
+      private void reset()
+      {
+         objects_ = null;
+         total_ = 0;
+         generation_++;
+         continuations_.clear();
+      }
+
+      // the number of objects needed to fill the displays
+      private int getRequiredCount()
+      {
+         int count = PAGE_SIZE;
+         for (HasData<DatabaseObject> display : getDataDisplays())
+         {
+            Range range = display.getVisibleRange();
+            count = Math.max(count, range.getStart() + range.getLength());
+         }
+         return count;
+      }
       
-      private void listObjects(final CommandWithArg<JsArray<DatabaseObject>> onCompleted)
+      /**
+       * Ensures the first 'count' objects (or all of them, if there are
+       * fewer) have been listed, then executes 'onCompleted'.
+       */
+      private void listObjects(final int count, final Command onCompleted)
       {
-         objectListContinuations_.add(onCompleted);
-         if (objectListContinuations_.size() > 1)
+         if (objects_ != null && objects_.size() >= Math.min(count, total_))
+         {
+            onCompleted.execute();
+            return;
+         }
+
+         // once the objects come back, check again, since this may need more
+         // of them than were requested
+         continuations_.add(() -> listObjects(count, onCompleted));
+         if (continuations_.size() > 1)
          {
             // if we're currently waiting for objects to come back, just leave this one on the stack
             return;
@@ -342,28 +381,62 @@ public class ObjectBrowserModel implements TreeViewModel
             specifier = new ConnectionObjectSpecifier();
          else
             specifier = parent_.createSpecifier();
+
+         final int generation = generation_;
+         final int offset = objects_ == null ? 0 : objects_.size();
+         final int limit = Math.max(count - offset, PAGE_SIZE);
+
+         // only the first request needs to bypass the cache, as that clears
+         // it for the requests that follow
+         final boolean bypassCache = bypassCache_;
+         bypassCache_ = false;
          
          server_.connectionListObjects(
             connection_.getId(), 
             specifier,
-            new SimpleRequestCallback<JsArray<DatabaseObject>>() {
+            offset,
+            limit,
+            serverFilter_,
+            bypassCache,
+            new SimpleRequestCallback<DatabaseObjectPage>() {
                @Override
-               public void onResponseReceived(JsArray<DatabaseObject> objects)
+               public void onResponseReceived(DatabaseObjectPage page)
                {
+                  // ignore responses for objects since discarded
+                  if (generation != generation_)
+                     return;
+
+                  if (objects_ == null)
+                     objects_ = new ArrayList<>();
+
+                  JsArray<DatabaseObject> objects = page.getObjects();
                   for (int i = 0; i < objects.length(); i++)
+                  {
                      objects.get(i).setParent(parent_);
-                  
-                  // save object list for later manipulation
-                  prefetchedObjectList_ = objects;
+                     objects_.add(objects.get(i));
+                  }
+                  total_ = page.getTotal();
+
+                  // the list may have changed since the previous page; if it
+                  // came up short, take what we have
+                  if (objects.length() < limit)
+                     total_ = objects_.size();
+
+                  // a container whose (unfiltered) objects don't fit in the
+                  // first page is filtered by the server from now on
+                  if (offset == 0 && serverFilter_.isEmpty())
+                     paged_ = total_ > objects_.size();
                   
                   // execute each continuation, w/ try/catch so that any that throw exceptions
                   // won't prevent execution of further continuations (nor leave us with a stack
                   // of uncompleted continuations)
-                  for (CommandWithArg<JsArray<DatabaseObject>> cmd: objectListContinuations_)
+                  ArrayList<Command> continuations = new ArrayList<>(continuations_);
+                  continuations_.clear();
+                  for (Command cmd: continuations)
                   {
                      try
                      {
-                        cmd.execute(objects);
+                        cmd.execute();
                      }
                      catch (Exception e)
                      {
@@ -371,16 +444,16 @@ public class ObjectBrowserModel implements TreeViewModel
                      }
                   }
                   
-                  // clear completed continuations
-                  objectListContinuations_.clear();
                   dequeNodeExpansion(parent_);
                }
                
                @Override
                public void onError(ServerError error)
                {
+                  if (generation != generation_)
+                     return;
+
                   super.onError(error);
-                  objectListContinuations_.clear();
                   clearData();
                }
             });
@@ -409,7 +482,16 @@ public class ObjectBrowserModel implements TreeViewModel
       }
       
       private final DatabaseObject parent_;
-      private JsArray<DatabaseObject> prefetchedObjectList_ = null;
+      private final ArrayList<Command> continuations_ = new ArrayList<>();
+
+      // the objects listed so far (the first of those matching serverFilter_,
+      // if any), and the total number of them
+      private ArrayList<DatabaseObject> objects_ = null;
+      private int total_ = 0;
+
+      private boolean paged_ = false;
+      private String serverFilter_ = "";
+      private int generation_ = 0;
    }
    
    private class FieldProvider extends AsyncDataProvider<Field>
@@ -542,6 +624,7 @@ public class ObjectBrowserModel implements TreeViewModel
    
    private Connection connection_;
    private String filter_;
+   private boolean bypassCache_ = false;
    
    private Set<DatabaseObject> expandedNodeRefreshQueue_ = null;
    private Command onTableUpdateCompleted_ = null;
@@ -550,12 +633,13 @@ public class ObjectBrowserModel implements TreeViewModel
    private ConnectionsServerOperations server_;
    private EventBus eventBus_;
 
-   private final ArrayList<CommandWithArg<JsArray<DatabaseObject>>> objectListContinuations_ =
-      new ArrayList<>();
-   
    private static NoSelectionModel<DatabaseObject> noObjectSelectionModel_ = new NoSelectionModel<>();
    private static NoSelectionModel<Field> noFieldSelectionModel_ = new NoSelectionModel<>();
    
+   // the number of objects listed at a time; matches the node size of the
+   // object browser's tree
+   private static final int PAGE_SIZE = 512;
+
    static final ObjectBrowser.Resources RES = ObjectBrowser.RES;
    private static final ConnectionsConstants constants_ = GWT.create(ConnectionsConstants.class);
 }
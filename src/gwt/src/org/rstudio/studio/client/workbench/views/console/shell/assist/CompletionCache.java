@@ -56,6 +56,12 @@ public class CompletionCache
          if (cache_.containsKey(substring))
          {
             Completions completions = narrow(line, substring, cache_.get(substring));
+
+            // cache the narrowed completions, so that as the user continues
+            // typing we narrow from this (smaller) set of completions rather
+            // than from the original set
+            cache_.put(line, completions);
+
             requestCallback.onResponseReceived(completions);
             return true;
          }
@@ -126,9 +132,19 @@ public class CompletionCache
          }
       }
       
+      // Score each completion once up front, rather than on each comparison
+      final int n = completionsNarrow.size();
+      final int[] typeScores = new int[n];
+      final int[] matchScores = new int[n];
+      for (int i = 0; i < n; i++)
+      {
+         typeScores[i] = RCompletionType.score(typeNarrow.get(i), contextNarrow.get(i));
+         matchScores[i] = CodeSearchOracle.scoreMatch(completionsNarrow.get(i), token, false);
+      }
+
       // Finally, sort these based on score
-      List<Integer> indices = new ArrayList<>();
-      for (int i = 0, n = completionsNarrow.size(); i < n; i++)
+      List<Integer> indices = new ArrayList<>(n);
+      for (int i = 0; i < n; i++)
          indices.add(i);
       
       // Sort our indices vector
@@ -137,27 +153,18 @@ public class CompletionCache
          @Override
          public int compare(Integer lhs, Integer rhs)
          {
-            int lhsContext = contextNarrow.get(lhs);
-            int rhsContext = contextNarrow.get(rhs);
-
-            int lhsType = typeNarrow.get(lhs);
-            int rhsType = typeNarrow.get(rhs);
-
-            int lhsTypeScore = RCompletionType.score(lhsType, lhsContext);
-            int rhsTypeScore = RCompletionType.score(rhsType, rhsContext);
+            int lhsTypeScore = typeScores[lhs];
+            int rhsTypeScore = typeScores[rhs];
             if (lhsTypeScore < rhsTypeScore)
                return -1;
             else if (lhsTypeScore > rhsTypeScore)
                return 1;
 
-            String lhsName = completionsNarrow.get(lhs);
-            String rhsName = completionsNarrow.get(rhs);
-            
-            int lhsScore = CodeSearchOracle.scoreMatch(lhsName, token, false);
-            int rhsScore = CodeSearchOracle.scoreMatch(rhsName, token, false);
+            int lhsScore = matchScores[lhs];
+            int rhsScore = matchScores[rhs];
             
             if (lhsScore == rhsScore)
-               return lhsName.compareTo(rhsName);
+               return completionsNarrow.get(lhs).compareTo(completionsNarrow.get(rhs));
             
             return lhsScore < rhsScore ? -1 : 1;
          }
@@ -182,7 +189,7 @@ public class CompletionCache
          packagesSorted.push(packagesNarrow.get(index));
          quoteSorted.push(quoteNarrow.get(index));
          typeSorted.push(typeNarrow.get(index));
-         contextSorted.push(context.get(index));
+         contextSorted.push(contextNarrow.get(index));
          suggestOnAcceptSorted.push(suggestOnAcceptNarrow.get(index));
          replaceToEndSorted.push(replaceToEndNarrow.get(index));
          metaSorted.push(metaNarrow.get(index));
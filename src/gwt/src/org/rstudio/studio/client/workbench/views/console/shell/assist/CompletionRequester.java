@@ -132,7 +132,10 @@ public class CompletionRequester
          // otherwise, produce a new completion list
          if (diff.length() > 0 && !diff.endsWith("::"))
          {
-            callback.onResponseReceived(narrow(cachedResult.token + diff, diff, cachedResult));
+            callback.onResponseReceived(narrow(
+                  cachedResult.token + diff,
+                  diff,
+                  narrowingBase(diff, cachedResult)));
             return true;
          }
       }
@@ -140,6 +143,28 @@ public class CompletionRequester
       return false;
    }
 
+   // Find the cached result for the longest prefix of 'diff' that we can
+   // narrow from. Extending a token can only remove candidates, so narrowing
+   // the result for a shorter prefix gives the same candidates as narrowing
+   // the original result -- unless the extension changes which part of the
+   // token is matched (e.g. adds a path separator).
+   private CompletionResult narrowingBase(String diff,
+                                          CompletionResult cachedResult)
+   {
+      for (int i = diff.length() - 1; i > 0; i--)
+      {
+         String extension = StringUtil.substring(diff, i);
+         if (extension.contains("/") || extension.contains(":"))
+            break;
+
+         CompletionResult result = cachedCompletions_.get(StringUtil.substring(diff, 0, i));
+         if (result != null)
+            return result;
+      }
+
+      return cachedResult;
+   }
+
    private String basename(String absolutePath)
    {
       return StringUtil.substring(absolutePath, absolutePath.lastIndexOf('/') + 1);
@@ -199,38 +224,55 @@ public class CompletionRequester
          }
       }
 
-      newCompletions.sort(new Comparator<QualifiedName>()
+      // Score each completion once up front, rather than on each comparison
+      final int n = newCompletions.size();
+      final int[] typeScores = new int[n];
+      final int[] matchScores = new int[n];
+      for (int i = 0; i < n; i++)
+      {
+         QualifiedName qname = newCompletions.get(i);
+         typeScores[i] = RCompletionType.score(qname.type, qname.context);
+         matchScores[i] = RCompletionType.isFileType(qname.type)
+               ? CodeSearchOracle.scoreMatch(basename(qname.name), tokenSub, true)
+               : CodeSearchOracle.scoreMatch(qname.name, token, false);
+      }
+
+      final ArrayList<QualifiedName> candidates = newCompletions;
+      ArrayList<Integer> indices = new ArrayList<>(n);
+      for (int i = 0; i < n; i++)
+         indices.add(i);
+
+      indices.sort(new Comparator<Integer>()
       {
          @Override
-         public int compare(QualifiedName lhs, QualifiedName rhs)
+         public int compare(Integer lhs, Integer rhs)
          {
             // compare completion type first
-            int lhsTypeScore = RCompletionType.score(lhs.type, lhs.context);
-            int rhsTypeScore = RCompletionType.score(rhs.type, rhs.context);
+            int lhsTypeScore = typeScores[lhs];
+            int rhsTypeScore = typeScores[rhs];
             if (lhsTypeScore < rhsTypeScore)
                return -1;
             else if (lhsTypeScore > rhsTypeScore)
                return 1;
 
-            // when type score is equal: calculate score with scoreMatch()
-            int lhsScore = RCompletionType.isFileType(lhs.type)
-                  ? CodeSearchOracle.scoreMatch(basename(lhs.name), tokenSub, true)
-                  : CodeSearchOracle.scoreMatch(lhs.name, token, false);
-            
-            int rhsScore = RCompletionType.isFileType(rhs.type)
-               ? CodeSearchOracle.scoreMatch(basename(rhs.name), tokenSub, true)
-               : CodeSearchOracle.scoreMatch(rhs.name, token, false);
+            // when type score is equal: compare scoreMatch() scores
+            int lhsScore = matchScores[lhs];
+            int rhsScore = matchScores[rhs];
 
             if (lhsScore == rhsScore)
-               return lhs.compareTo(rhs);
+               return candidates.get(lhs).compareTo(candidates.get(rhs));
 
             return lhsScore < rhsScore ? -1 : 1;
          }
       });
 
+      ArrayList<QualifiedName> sortedCompletions = new ArrayList<>(n);
+      for (int i = 0; i < n; i++)
+         sortedCompletions.add(candidates.get(indices.get(i)));
+
       CompletionResult result = new CompletionResult(
             token,
-            newCompletions,
+            sortedCompletions,
             cachedResult.guessedFunctionName,
             cachedResult.dontInsertParens);
 
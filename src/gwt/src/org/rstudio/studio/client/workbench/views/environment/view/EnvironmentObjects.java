@@ -17,7 +17,9 @@ package org.rstudio.studio.client.workbench.views.environment.view;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.google.gwt.core.client.GWT;
 import com.google.gwt.core.client.JsArray;
@@ -139,14 +141,15 @@ public class EnvironmentObjects extends ResizeComposite
 
    public void addObject(RObject obj)
    {
+      List<RObjectEntry> objects = objectDataProvider_.getList();
       int idx = indexOfExistingObject(obj.getName());
       final RObjectEntry newEntry = entryFromRObject(obj);
-      boolean added = false;
+      boolean refill = false;
 
       // if the object is already in the environment, just update the value
       if (idx >= 0)
       {
-         final RObjectEntry oldEntry = objectDataProvider_.getList().get(idx);
+         final RObjectEntry oldEntry = objects.get(idx);
 
          if (oldEntry.rObject.getType() == obj.getType())
          {
@@ -158,30 +161,39 @@ public class EnvironmentObjects extends ResizeComposite
                // refill it immediately. (another approach would be to push the
                // set of currently expanded objects to the server so these
                // objects would show up on the client already expanded)
-               fillEntryContents(newEntry, idx, false);
+               refill = true;
             }
             else
             {
                // contents aren't deferred, just use the expanded state directly
                newEntry.expanded = oldEntry.expanded;
             }
-            objectDataProvider_.getList().set(idx, newEntry);
-            added = true;
+         }
+
+         if (oldEntry.rObject.getType() == obj.getType() &&
+             isSortedAt(idx, newEntry))
+         {
+            objects.set(idx, newEntry);
+            entriesByName_.put(obj.getName(), newEntry);
+            updateCategoryLeadersAt(idx);
          }
          else
          {
-            // types did change, do a full add/remove
-            objectDataProvider_.getList().remove(idx);
+            // types (or the sort order) did change, do a full add/remove
+            removeEntryAt(idx);
+            idx = -1;
          }
-
       }
-      if (!added)
+      if (idx < 0)
       {
-         RObjectEntry entry = entryFromRObject(obj);
-         idx = indexOfNewObject(entry);
-         objectDataProvider_.getList().add(idx, entry);
+         idx = indexOfNewObject(newEntry);
+         objects.add(idx, newEntry);
+         entriesByName_.put(obj.getName(), newEntry);
+         updateCategoryLeadersAt(idx);
       }
-      updateCategoryLeaders(true);
+
+      if (refill)
+         fillEntryContents(newEntry, idx, false);
 
       // scroll into view
       scrollTimer_.setRow(idx);
@@ -193,15 +205,14 @@ public class EnvironmentObjects extends ResizeComposite
       int idx = indexOfExistingObject(objName);
       if (idx >= 0)
       {
-         objectDataProvider_.getList().remove(idx);
+         removeEntryAt(idx);
       }
-
-      updateCategoryLeaders(true);
    }
 
    public void clearObjects()
    {
       objectDataProvider_.getList().clear();
+      entriesByName_.clear();
    }
 
    public void clearSelection()
@@ -219,6 +230,7 @@ public class EnvironmentObjects extends ResizeComposite
       {
          RObjectEntry entry = entryFromRObject(objects.get(i));
          objectEntryList.add(entry);
+         entriesByName_.put(entry.rObject.getName(), entry);
       }
       Collections.sort(objectEntryList, objectSort_);
 
@@ -519,40 +531,80 @@ public class EnvironmentObjects extends ResizeComposite
 
    private int indexOfExistingObject(String objectName)
    {
-      List<RObjectEntry> objects = objectDataProvider_.getList();
+      RObjectEntry entry = entriesByName_.get(objectName);
+      if (entry == null)
+         return -1;
 
-      // find the position of the object in the list--we can't use binary
-      // search here since we're matching on names and the list isn't sorted
-      // by name (it's sorted by type, then name)
-      int index;
-      boolean foundObject = false;
-      for (index = 0; index < objects.size(); index++)
+      // the list is sorted, so binary search for the entry; this lands on
+      // some entry which sorts equal to it, so look for it among those
+      List<RObjectEntry> objects = objectDataProvider_.getList();
+      int index = Collections.binarySearch(objects, entry, objectSort_);
+      if (index >= 0)
       {
-         if (objects.get(index).rObject.getName() == objectName)
+         for (int i = index;
+              i >= 0 && objectSort_.compare(objects.get(i), entry) == 0;
+              i--)
          {
-            foundObject = true;
-            break;
+            if (objects.get(i) == entry)
+               return i;
          }
+
+         for (int i = index + 1;
+              i < objects.size() && objectSort_.compare(objects.get(i), entry) == 0;
+              i++)
+         {
+            if (objects.get(i) == entry)
+               return i;
+         }
+      }
+
+      // shouldn't happen, but fall back to a scan if the list isn't sorted
+      for (int i = 0; i < objects.size(); i++)
+      {
+         if (objects.get(i) == entry)
+            return i;
       }
 
-      return foundObject ? index : -1;
+      return -1;
    }
 
    // returns the position a new object entry should occupy in the table
+   // (after any entries which sort equal to it)
    private int indexOfNewObject(RObjectEntry obj)
    {
       List<RObjectEntry> objects = objectDataProvider_.getList();
-      int numObjects = objects.size();
-      int idx;
-      // consider: can we use binary search here?
-      for (idx = 0; idx < numObjects; idx++)
+      int lo = 0;
+      int hi = objects.size();
+      while (lo < hi)
       {
-         if (objectSort_.compare(obj, objects.get(idx)) < 0)
-         {
-            break;
-         }
+         int mid = (lo + hi) >>> 1;
+         if (objectSort_.compare(obj, objects.get(mid)) < 0)
+            hi = mid;
+         else
+            lo = mid + 1;
       }
-      return idx;
+      return lo;
+   }
+
+   // returns whether the entry can occupy the given position in the table
+   // without breaking the sort order
+   private boolean isSortedAt(int idx, RObjectEntry entry)
+   {
+      List<RObjectEntry> objects = objectDataProvider_.getList();
+      if (idx > 0 && objectSort_.compare(objects.get(idx - 1), entry) > 0)
+         return false;
+      if (idx < objects.size() - 1 &&
+          objectSort_.compare(entry, objects.get(idx + 1)) > 0)
+         return false;
+      return true;
+   }
+
+   private void removeEntryAt(int idx)
+   {
+      RObjectEntry entry = objectDataProvider_.getList().remove(idx);
+      if (entriesByName_.get(entry.rObject.getName()) == entry)
+         entriesByName_.remove(entry.rObject.getName());
+      updateCategoryLeadersAt(idx);
    }
 
    // after adds or removes, we need to tag the new category-leading objects
@@ -611,6 +663,54 @@ public class EnvironmentObjects extends ResizeComposite
       }
    }
 
+   // after an entry is added, removed or replaced at the given position, only
+   // the entry now at that position and the next visible entry can have a
+   // different visible predecessor, so only their leader flags can change
+   private void updateCategoryLeadersAt(int idx)
+   {
+      if (objectDisplayType_ != OBJECT_LIST_VIEW)
+         return;
+
+      List<RObjectEntry> objects = objectDataProvider_.getList();
+      int next = idx;
+      if (next < objects.size() && objects.get(next).visible)
+      {
+         updateCategoryLeader(next);
+         next++;
+      }
+
+      while (next < objects.size() && !objects.get(next).visible)
+         next++;
+
+      if (next < objects.size())
+         updateCategoryLeader(next);
+   }
+
+   // a visible entry leads its category if the visible entry before it (if
+   // any) is in a different category; this relies on the list view sorting
+   // entries by category first
+   private void updateCategoryLeader(int idx)
+   {
+      List<RObjectEntry> objects = objectDataProvider_.getList();
+      RObjectEntry entry = objects.get(idx);
+
+      int prev = idx - 1;
+      while (prev >= 0 && !objects.get(prev).visible)
+         prev--;
+
+      boolean isFirstObject = prev < 0;
+      boolean isCategoryLeader = isFirstObject ||
+            objects.get(prev).getCategory() != entry.getCategory();
+
+      if (entry.isFirstObject != isFirstObject ||
+          entry.isCategoryLeader != isCategoryLeader)
+      {
+         entry.isFirstObject = isFirstObject;
+         entry.isCategoryLeader = isCategoryLeader;
+         redrawRowSafely(idx);
+      }
+   }
+
    private Widget buildEmptyGridMessage()
    {
       ThemeStyles styles = ThemeResources.INSTANCE.themeStyles();
@@ -750,6 +850,9 @@ public class EnvironmentObjects extends ResizeComposite
    private ListDataProvider<RObjectEntry> objectDataProvider_;
    private RObjectEntrySort objectSort_;
 
+   // the entry for each object in the list, by name
+   private final Map<String, RObjectEntry> entriesByName_ = new HashMap<>();
+
    private EnvironmentObjectsObserver observer_;
    private int contextDepth_;
    private int callFramePanelHeight_;
@@ -148,6 +148,17 @@ public class History extends BasePresenter implements SelectionCommitEvent.Handl
          final String query = searchQuery_;
          if (searchQuery_ != null && searchQuery_.length() > 0)
          {
+            // a refinement of a query whose results we have in full can be
+            // answered from those results, without asking the server
+            if (canRefineResults(query))
+            {
+               ArrayList<HistoryEntry> entries = filterEntries(results_, query);
+               resultsQuery_ = query;
+               results_ = entries;
+               view_.showSearchResults(query, entries);
+               return;
+            }
+
             server_.searchHistoryArchive(
                   searchQuery_, COMMAND_CHUNK_SIZE,
                   new SimpleRequestCallback<RpcObjectList<HistoryEntry>>()
@@ -160,6 +171,9 @@ public class History extends BasePresenter implements SelectionCommitEvent.Handl
                            return;
 
                         ArrayList<HistoryEntry> entries = toList(response);
+                        resultsQuery_ = query;
+                        results_ = entries;
+                        resultsComplete_ = entries.size() < COMMAND_CHUNK_SIZE;
                         view_.showSearchResults(query, entries);
                      }
                   });
@@ -174,6 +188,11 @@ public class History extends BasePresenter implements SelectionCommitEvent.Handl
          {
             view_.dismissSearchResults();
          }
+         else if (canRefineResults(query))
+         {
+            // no server round trip needed, so no need to wait for more input
+            performAction(false);
+         }
          else
          {
             nudge();
@@ -186,7 +205,90 @@ public class History extends BasePresenter implements SelectionCommitEvent.Handl
          searchQuery_ = null;
       }
 
+      /**
+       * Forgets the results of previous searches; called when the history
+       * changes, since new entries may match.
+       */
+      public void invalidateResults()
+      {
+         resultsQuery_ = null;
+         results_ = null;
+         resultsComplete_ = false;
+      }
+
+      private boolean canRefineResults(String query)
+      {
+         // every entry matching the extended query also matches the original
+         // one, since each of its search terms contains one of the original's
+         return results_ != null &&
+                resultsComplete_ &&
+                query != null &&
+                query.startsWith(resultsQuery_);
+      }
+
       private String searchQuery_;
+
+      // the most recent search results, and whether they include every
+      // matching entry (i.e. weren't truncated by the server)
+      private String resultsQuery_;
+      private ArrayList<HistoryEntry> results_;
+      private boolean resultsComplete_;
+   }
+
+   // match entries in the same way as the server's history search: the query
+   // is split into terms on whitespace (with punctuation characters forming
+   // terms of their own), and an entry matches if it contains every term
+   private static ArrayList<HistoryEntry> filterEntries(ArrayList<HistoryEntry> entries,
+                                                        String query)
+   {
+      ArrayList<String> terms = searchTerms(query);
+      ArrayList<HistoryEntry> matches = new ArrayList<>();
+      for (HistoryEntry entry : entries)
+      {
+         String command = entry.getCommand();
+         boolean matched = true;
+         for (String term : terms)
+         {
+            if (!command.contains(term))
+            {
+               matched = false;
+               break;
+            }
+         }
+
+         if (matched)
+            matches.add(entry);
+      }
+      return matches;
+   }
+
+   private static ArrayList<String> searchTerms(String query)
+   {
+      ArrayList<String> terms = new ArrayList<>();
+      int start = -1;
+      for (int i = 0; i < query.length(); i++)
+      {
+         char ch = query.charAt(i);
+         boolean space = Character.isWhitespace(ch);
+         boolean punct = !space && ch > ' ' && ch < 127 &&
+                         !Character.isLetterOrDigit(ch);
+         if (space || punct)
+         {
+            if (start != -1)
+               terms.add(query.substring(start, i));
+            start = -1;
+            if (punct)
+               terms.add(String.valueOf(ch));
+         }
+         else if (start == -1)
+         {
+            start = i;
+         }
+      }
+
+      if (start != -1)
+         terms.add(query.substring(start));
+      return terms;
    }
 
    @Inject
@@ -218,6 +320,8 @@ public class History extends BasePresenter implements SelectionCommitEvent.Handl
          @Override
          public void onConsoleResetHistory(ConsoleResetHistoryEvent event)
          {
+            searchCommand_.invalidateResults();
+
             // convert to HistoryEntry
             ArrayList<HistoryEntry> commands = toRecentCommandsList(
                                                          event.getHistory());
@@ -261,6 +365,7 @@ public class History extends BasePresenter implements SelectionCommitEvent.Handl
       {
          public void onHistoryEntriesAdded(HistoryEntriesAddedEvent event)
          {
+            searchCommand_.invalidateResults();
             view_.addRecentCommands(toList(event.getEntries()), false);
             view_.truncateRecentCommands(
                         session_.getSessionInfo().getConsoleHistoryCapacity());
@@ -615,6 +720,7 @@ public class History extends BasePresenter implements SelectionCommitEvent.Handl
          return;
       }
 
+      fetchingMoreCommands_ = true;
       long startIndex = Math.max(0, historyPosition_ - COMMAND_CHUNK_SIZE);
       long endIndex = historyPosition_;
       server_.getHistoryItems(startIndex, endIndex,
@@ -154,6 +154,7 @@ public class HistoryPane extends WorkbenchPane
       });
 
       commandList_ = createHistoryTable(TimestampMode.NONE);
+      commandList_.setWindowed(true);
       vpanel.add(commandList_);
 
       recentScrollPanel_ = new BottomScrollPanel() {
@@ -167,6 +168,17 @@ public class HistoryPane extends WorkbenchPane
       recentScrollPanel_.setWidget(vpanel);
       commandList_.setOwningScrollPanel(recentScrollPanel_);
 
+      // fetch older commands on demand as the user scrolls towards the top
+      recentScrollPanel_.addScrollHandler(event ->
+      {
+         if (loadMore_.isVisible() &&
+             recentScrollPanel_.getVerticalScrollPosition() <
+                recentScrollPanel_.getOffsetHeight())
+         {
+            fireEvent(new FetchCommandsEvent());
+         }
+      });
+
       mainPanel_.add(recentScrollPanel_);
       mainPanel_.setWidgetTopBottom(recentScrollPanel_, 0, Unit.PX, 0, Unit.PX);
       mainPanel_.setWidgetLeftRight(recentScrollPanel_, 0, Unit.PX, 0, Unit.PX);
@@ -421,17 +433,26 @@ public class HistoryPane extends WorkbenchPane
    public void addRecentCommands(ArrayList<HistoryEntry> entries, boolean top)
    {
       TableRowElement topRow = null;
+      int scrollHeight = 0;
+      int scrollPosition = 0;
       if (top)
+      {
          topRow = commandList_.getTopRow();
+         scrollHeight = recentScrollPanel_.getElement().getScrollHeight();
+         scrollPosition = recentScrollPanel_.getVerticalScrollPosition();
+      }
 
       commandList_.addItems(entries, top);
 
       if (top)
       {
+         // keep the rows the user was looking at in place (the table may have
+         // re-rendered its window, so we can't rely on the old top row)
          if (topRow == null)
             recentScrollPanel_.scrollToBottom();
          else
-            recentScrollPanel_.setVerticalScrollPosition(topRow.getOffsetTop());
+            recentScrollPanel_.setVerticalScrollPosition(scrollPosition +
+                  recentScrollPanel_.getElement().getScrollHeight() - scrollHeight);
       }
       else
          recentScrollPanel_.onContentSizeChanged();
@@ -17,13 +17,16 @@ package org.rstudio.studio.client.workbench.views.history.view;
 import com.google.gwt.core.client.GWT;
 import com.google.gwt.dom.client.Document;
 import com.google.gwt.dom.client.Element;
+import com.google.gwt.dom.client.Style.Unit;
 import com.google.gwt.dom.client.TableColElement;
 import com.google.gwt.dom.client.TableSectionElement;
 import com.google.gwt.event.dom.client.HasAllKeyHandlers;
 import com.google.gwt.event.dom.client.MouseDownEvent;
 import com.google.gwt.event.dom.client.MouseDownHandler;
+import com.google.gwt.event.shared.HandlerRegistration;
 import com.google.gwt.user.client.DOM;
 import com.google.gwt.user.client.Event;
+import com.google.gwt.user.client.ui.ScrollPanel;
 import org.rstudio.core.client.widget.FastSelectTable;
 import org.rstudio.core.client.widget.FontSizer;
 import org.rstudio.studio.client.workbench.commands.Commands;
@@ -34,6 +37,8 @@ import org.rstudio.studio.client.workbench.views.history.view.HistoryEntryItemCo
 import org.rstudio.studio.client.workbench.views.history.view.HistoryPane.Resources;
 
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.TreeSet;
 
 public class HistoryTable extends FastSelectTable<HistoryEntry, String, Long>
    implements HasHistory
@@ -104,11 +109,166 @@ public class HistoryTable extends FastSelectTable<HistoryEntry, String, Long>
       getElement().insertAfter(tbody, lastCol_);
    }
 
+   /**
+    * In windowed mode the table keeps all of its entries in memory but, once
+    * there are more than WINDOW_THRESHOLD of them, only renders rows for the
+    * entries near the owning scroll panel's viewport; the space taken by the
+    * remaining entries is reserved using margins above and below the table.
+    * Must be set before any items are added.
+    */
+   public void setWindowed(boolean windowed)
+   {
+      windowed_ = windowed;
+   }
+
+   @Override
+   public void setOwningScrollPanel(ScrollPanel scrollPanel)
+   {
+      super.setOwningScrollPanel(scrollPanel);
+      scrollPanel_ = scrollPanel;
+
+      if (scrollHandler_ != null)
+         scrollHandler_.removeHandler();
+      scrollHandler_ = scrollPanel.addScrollHandler(event -> onScroll());
+   }
+
+   @Override
+   public void addItems(Iterable<HistoryEntry> items, boolean top)
+   {
+      if (!windowed_)
+      {
+         super.addItems(items, top);
+         return;
+      }
+
+      ArrayList<HistoryEntry> added = new ArrayList<>();
+      for (HistoryEntry item : items)
+         added.add(item);
+      if (added.isEmpty())
+         return;
+
+      int count = entries_.size();
+      if (top)
+      {
+         entries_.addAll(0, added);
+         shiftOffscreenSelection(added.size());
+         if (windowStart_ == 0)
+            super.addItems(added, true);
+         else
+            windowStart_ += added.size();
+         windowEnd_ += added.size();
+      }
+      else
+      {
+         entries_.addAll(added);
+         if (windowEnd_ == count)
+         {
+            super.addItems(added, false);
+            windowEnd_ += added.size();
+         }
+      }
+
+      // once the rendered rows outgrow the threshold, trim them back down to
+      // the rows around the viewport
+      if (entries_.size() > WINDOW_THRESHOLD &&
+          windowEnd_ - windowStart_ > WINDOW_THRESHOLD)
+      {
+         renderWindow();
+      }
+      else
+      {
+         updateMargins();
+      }
+   }
+
+   @Override
+   public void removeTopRows(int rowCount)
+   {
+      if (!windowed_)
+      {
+         super.removeTopRows(rowCount);
+         return;
+      }
+
+      rowCount = Math.min(rowCount, entries_.size());
+      if (rowCount <= 0)
+         return;
+
+      entries_.subList(0, rowCount).clear();
+      shiftOffscreenSelection(-rowCount);
+
+      if (rowCount <= windowStart_)
+      {
+         windowStart_ -= rowCount;
+         windowEnd_ -= rowCount;
+         updateMargins();
+      }
+      else
+      {
+         renderWindow();
+      }
+   }
+
+   @Override
+   public int getRowCount()
+   {
+      return windowed_ ? entries_.size() : super.getRowCount();
+   }
+
+   @Override
+   public void clearSelection()
+   {
+      offscreenSelection_.clear();
+      super.clearSelection();
+   }
+
+   @Override
+   public ArrayList<Integer> getSelectedRowIndexes()
+   {
+      if (!windowed_)
+         return super.getSelectedRowIndexes();
+
+      return new ArrayList<>(getSelectedPositions());
+   }
+
+   @Override
+   public ArrayList<String> getSelectedValues()
+   {
+      if (!windowed_)
+         return super.getSelectedValues();
+
+      ArrayList<String> results = new ArrayList<>();
+      for (int position : getSelectedPositions())
+         results.add(entries_.get(position).getCommand());
+      return results;
+   }
+
+   @Override
+   public ArrayList<Long> getSelectedValues2()
+   {
+      if (!windowed_)
+         return super.getSelectedValues2();
+
+      ArrayList<Long> results = new ArrayList<>();
+      for (int position : getSelectedPositions())
+         results.add(entries_.get(position).getIndex());
+      return results;
+   }
+
    @Override
    public void clear()
    {
       super.clear();
       applyWidthConstraints();
+
+      if (windowed_)
+      {
+         entries_.clear();
+         offscreenSelection_.clear();
+         windowStart_ = 0;
+         windowEnd_ = 0;
+         updateMargins();
+      }
    }
 
    public ArrayList<Long> getSelectedCommandIndexes()
@@ -126,7 +286,123 @@ public class HistoryTable extends FastSelectTable<HistoryEntry, String, Long>
       return getElement();
    }
 
+   private void onScroll()
+   {
+      if (!windowed_ || entries_.size() <= WINDOW_THRESHOLD)
+         return;
+
+      int first = getFirstVisibleEntry();
+      int last = first + getVisibleEntryCount();
+      int margin = WINDOW_OVERSCAN / 2;
+      if ((windowStart_ > 0 && first < windowStart_ + margin) ||
+          (windowEnd_ < entries_.size() && last > windowEnd_ - margin))
+      {
+         renderWindow();
+      }
+   }
+
+   private void renderWindow()
+   {
+      int count = entries_.size();
+      int start = 0;
+      int end = count;
+      if (count > WINDOW_THRESHOLD && scrollPanel_ != null)
+      {
+         int first = getFirstVisibleEntry();
+         int visible = getVisibleEntryCount();
+         start = Math.max(0, Math.min(first, count - visible) - WINDOW_OVERSCAN);
+         end = Math.min(count, first + visible + WINDOW_OVERSCAN);
+      }
+
+      // remember the selection (by entry position) across the re-render
+      offscreenSelection_.addAll(getSelectedPositions());
+
+      super.clear();
+      applyWidthConstraints();
+      windowStart_ = start;
+      windowEnd_ = end;
+      super.addItems(entries_.subList(start, end), false);
+
+      Iterator<Integer> it = offscreenSelection_.iterator();
+      while (it.hasNext())
+      {
+         int position = it.next();
+         if (position >= start && position < end)
+         {
+            super.setSelected(position - start, 1, true);
+            it.remove();
+         }
+      }
+
+      if (end > start && getElement().getOffsetHeight() > 0)
+         rowHeight_ = Math.max(1, getElement().getOffsetHeight() / (end - start));
+      updateMargins();
+   }
+
+   private void updateMargins()
+   {
+      marginTop_ = windowStart_ * rowHeight_;
+      getElement().getStyle().setMarginTop(marginTop_, Unit.PX);
+      getElement().getStyle().setMarginBottom(
+            (entries_.size() - windowEnd_) * rowHeight_, Unit.PX);
+   }
+
+   private TreeSet<Integer> getSelectedPositions()
+   {
+      TreeSet<Integer> positions = new TreeSet<>(offscreenSelection_);
+      for (Integer row : super.getSelectedRowIndexes())
+      {
+         if (row != null)
+            positions.add(windowStart_ + row);
+      }
+      return positions;
+   }
+
+   private void shiftOffscreenSelection(int delta)
+   {
+      if (offscreenSelection_.isEmpty())
+         return;
+
+      TreeSet<Integer> shifted = new TreeSet<>();
+      for (int position : offscreenSelection_)
+      {
+         if (position + delta >= 0)
+            shifted.add(position + delta);
+      }
+      offscreenSelection_ = shifted;
+   }
+
+   private int getFirstVisibleEntry()
+   {
+      // offset of the top of the table (including its top margin) within the
+      // scroll panel's content
+      int tableTop = getElement().getAbsoluteTop() - marginTop_ -
+            scrollPanel_.getElement().getAbsoluteTop() +
+            scrollPanel_.getVerticalScrollPosition();
+      int offset = scrollPanel_.getVerticalScrollPosition() - tableTop;
+      return Math.max(0, Math.min(entries_.size() - 1, offset / rowHeight_));
+   }
+
+   private int getVisibleEntryCount()
+   {
+      return scrollPanel_.getOffsetHeight() / rowHeight_ + 1;
+   }
+
    private TableColElement lastCol_;
    private boolean searchResult_;
+
+   private boolean windowed_ = false;
+   private ScrollPanel scrollPanel_;
+   private HandlerRegistration scrollHandler_;
+   private final ArrayList<HistoryEntry> entries_ = new ArrayList<>();
+   private TreeSet<Integer> offscreenSelection_ = new TreeSet<>();
+   private int windowStart_ = 0;
+   private int windowEnd_ = 0;
+   private int marginTop_ = 0;
+   private int rowHeight_ = DEFAULT_ROW_HEIGHT;
+
+   private static final int WINDOW_THRESHOLD = 1000;
+   private static final int WINDOW_OVERSCAN = 100;
+   private static final int DEFAULT_ROW_HEIGHT = 16;
    private static final HistoryConstants constants_ = GWT.create(HistoryConstants.class);
 }
@@ -214,15 +214,6 @@ public interface OutputConstants extends com.google.gwt.i18n.client.Messages {
     @Key("customFilterPatterValue")
     String customFilterPatterValue();
 
-    /**
-     * Translated "More than 1000 matching lines were found. Only the first 1000 lines are shown.".
-     *
-     * @return translated "More than 1000 matching lines were found. Only the first 1000 lines are shown."
-     */
-    @DefaultMessage("More than 1000 matching lines were found. Only the first 1000 lines are shown.")
-    @Key("overFlowMessage")
-    String overFlowMessage();
-
     /**
      * Translated "Find Results".
      *
@@ -376,6 +367,15 @@ public interface OutputConstants extends com.google.gwt.i18n.client.Messages {
     @Key("summaryLabel")
     String summaryLabel(int successCount, int errorCount);
 
+    /**
+     * Translated "(showing the first {0} of {1} results; search again to see all)".
+     *
+     * @return translated "(showing the first {0} of {1} results; search again to see all)"
+     */
+    @DefaultMessage("(showing the first {0} of {1} results; search again to see all)")
+    @Key("resultsTruncatedText")
+    String resultsTruncatedText(int shownCount, int totalCount);
+
     /**
      * Translated "Are you sure you want to cancel the replace? Changes already made will not be reverted.".
      *
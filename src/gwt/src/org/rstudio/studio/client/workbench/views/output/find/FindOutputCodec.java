@@ -14,7 +14,6 @@
  */
 package org.rstudio.studio.client.workbench.views.output.find;
 
-import com.google.gwt.core.client.GWT;
 import com.google.gwt.dom.client.Document;
 import com.google.gwt.dom.client.TableCellElement;
 import com.google.gwt.dom.client.TableRowElement;
@@ -22,7 +21,6 @@ import org.rstudio.core.client.CodeNavigationTarget;
 import org.rstudio.core.client.FilePosition;
 import org.rstudio.core.client.StringUtil;
 import org.rstudio.core.client.widget.HeaderBreaksItemCodec;
-import org.rstudio.studio.client.workbench.views.output.OutputConstants;
 import org.rstudio.studio.client.workbench.views.output.find.FindOutputResources.Styles;
 import org.rstudio.studio.client.workbench.views.output.find.model.FindResult;
 
@@ -37,18 +35,6 @@ public class FindOutputCodec
    @Override
    public TableRowElement getRowForItem(FindResult entry)
    {
-      if (entry == null)
-      {
-         // Overflow message
-         TableRowElement tr = Document.get().createTRElement();
-         TableCellElement td = Document.get().createTDElement();
-         td.setClassName(styles_.overflowWarning());
-         td.setColSpan(2);
-         td.setInnerText(constants_.overFlowMessage());
-         tr.appendChild(td);
-         return tr;
-      }
-
       TableRowElement tr = Document.get().createTRElement();
       tr.setAttribute(DATA_FILE, entry.getFile());
       tr.setAttribute(DATA_LINE, entry.getLine() + "");
@@ -125,5 +111,4 @@ public class FindOutputCodec
 
    private static final String DATA_FILE = "data-file";
    private static final String DATA_LINE = "data-line";
-   private static final OutputConstants constants_ = GWT.create(OutputConstants.class);
 }
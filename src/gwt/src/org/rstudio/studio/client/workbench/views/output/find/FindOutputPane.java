@@ -16,6 +16,7 @@ package org.rstudio.studio.client.workbench.views.output.find;
 
 import com.google.gwt.core.client.GWT;
 import com.google.gwt.dom.client.NativeEvent;
+import com.google.gwt.dom.client.Style.Unit;
 import com.google.gwt.dom.client.TableRowElement;
 import com.google.gwt.event.dom.client.*;
 import com.google.gwt.event.shared.HandlerRegistration;
@@ -32,6 +33,7 @@ import org.rstudio.core.client.dom.DomUtils;
 import org.rstudio.core.client.events.EnsureVisibleEvent;
 import org.rstudio.core.client.events.HasSelectionCommitHandlers;
 import org.rstudio.core.client.events.SelectionCommitEvent;
+import org.rstudio.core.client.jsonrpc.RpcObjectList;
 import org.rstudio.core.client.theme.res.ThemeStyles;
 import org.rstudio.core.client.widget.*;
 import org.rstudio.core.client.widget.events.SelectionChangedEvent;
@@ -40,6 +42,7 @@ import org.rstudio.studio.client.workbench.commands.Commands;
 import org.rstudio.studio.client.workbench.ui.WorkbenchPane;
 import org.rstudio.studio.client.workbench.views.output.OutputConstants;
 import org.rstudio.studio.client.workbench.views.output.find.model.FindResult;
+import org.rstudio.studio.client.workbench.views.output.find.model.FindResultList;
 import org.rstudio.studio.client.workbench.views.output.find.events.PreviewReplaceEvent;
 
 import java.util.ArrayList;
@@ -144,8 +147,6 @@ public class FindOutputPane extends WorkbenchPane
    @Override
    protected Widget createMainWidget()
    {
-      context_ = new FindResultContext();
-
       FindOutputResources resources = GWT.create(FindOutputResources.class);
       resources.styles().ensureInjected();
 
@@ -194,6 +195,8 @@ public class FindOutputPane extends WorkbenchPane
       statusPanel_.setSize("100%", "100%");
       scrollPanel_ = new ScrollPanel(table_);
       scrollPanel_.setSize("100%", "100%");
+      scrollPanel_.addScrollHandler(event -> onScroll());
+      table_.addSelectionChangedHandler(event -> onSelectionChanged());
       container_.setWidget(scrollPanel_);
       return container_;
    }
@@ -220,41 +223,32 @@ public class FindOutputPane extends WorkbenchPane
    }
 
    @Override
-   public void addMatches(ArrayList<FindResult> findResults)
+   public void addMatches(RpcObjectList<FindResult> findResults)
    {
-      int matchesToAdd = Math.min(findResults.size(), MAX_COUNT - matchCount_);
-
-      if (matchesToAdd > 0)
-      {
-         matchCount_ += matchesToAdd;
-
-         if (matchCount_ > 0 && container_.getWidget() != scrollPanel_)
-            container_.setWidget(scrollPanel_);
-
-         if (!replaceMode_ || regexPreviewMode_)
-            context_.addMatches(findResults.subList(0, matchesToAdd));
-         table_.addItems(findResults.subList(0, matchesToAdd), false);
-      }
+      appendResults(findResults, false);
+   }
 
-      if (matchCount_ >= MAX_COUNT)
-         showOverflow();
+   @Override
+   public void addReplaceResults(RpcObjectList<FindResult> results)
+   {
+      appendResults(results, true);
    }
 
    public void addReplaceMatches(String value)
    {
-      table_.clear();
-      matchCount_ = 0;
-      context_.updateFileMatches(value);
-      addMatches(context_.getFindResults());
+      results_.setReplace(value);
+      renderWindow();
    }
 
    @Override
    public void clearMatches()
    {
-      context_.reset();
+      results_.clear();
       table_.clear();
-      overflow_ = false;
-      matchCount_ = 0;
+      windowStart_ = 0;
+      windowEnd_ = 0;
+      selectedResult_ = -1;
+      updateMargins();
       statusPanel_.setStatusText("");
       container_.setWidget(statusPanel_);
    }
@@ -262,7 +256,7 @@ public class FindOutputPane extends WorkbenchPane
    @Override
    public void showSearchCompleted()
    {
-      if (matchCount_ == 0)
+      if (results_.size() == 0)
          statusPanel_.setStatusText(constants_.noResultsFoundText());
    }
 
@@ -319,17 +313,6 @@ public class FindOutputPane extends WorkbenchPane
       return table_.addSelectionChangedHandler(handler);
    }
 
-   @Override
-   public void showOverflow()
-   {
-      if (overflow_)
-         return;
-      overflow_ = true;
-      ArrayList<FindResult> items = new ArrayList<>();
-      items.add(null);
-      table_.addItems(items, false);
-   }
-
    @Override
    public void updateSearchLabel(String query, String path, boolean wholeWord)
    {
@@ -391,6 +374,15 @@ public class FindOutputPane extends WorkbenchPane
       searchLabel_.setText("");
    }
 
+   @Override
+   public void showResultsTruncated(int totalCount)
+   {
+      SafeHtmlBuilder builder = new SafeHtmlBuilder();
+      builder.appendHtmlConstant(searchLabel_.getElement().getInnerHTML())
+            .appendEscaped(" " + constants_.resultsTruncatedText(results_.size(), totalCount));
+      searchLabel_.getElement().setInnerHTML(builder.toSafeHtml().asString());
+   }
+
    @Override
    public HandlerRegistration addSelectionCommitHandler(
       SelectionCommitEvent.Handler<CodeNavigationTarget> handler)
@@ -509,6 +501,108 @@ public class FindOutputPane extends WorkbenchPane
       };
    }
 
+   private void appendResults(RpcObjectList<FindResult> findResults,
+                              boolean replaced)
+   {
+      int count = results_.size();
+      results_.append(findResults, replaced, regexPreviewMode_);
+      int newCount = results_.size();
+      if (newCount == count)
+         return;
+
+      if (container_.getWidget() != scrollPanel_)
+         container_.setWidget(scrollPanel_);
+
+      if (windowEnd_ < count)
+      {
+         // the new results are below the rendered window
+         updateMargins();
+      }
+      else if (newCount - windowStart_ > WINDOW_THRESHOLD)
+      {
+         // too many rows to render; trim back to the rows around the viewport
+         renderWindow();
+      }
+      else
+      {
+         table_.addItems(results_.subList(count, newCount), false);
+         windowEnd_ = newCount;
+         updateMargins();
+      }
+   }
+
+   // renders the results around the viewport (or all of them, if there
+   // aren't too many), replacing the rows currently rendered
+   private void renderWindow()
+   {
+      int count = results_.size();
+      int start = 0;
+      int end = count;
+      if (count > WINDOW_THRESHOLD)
+      {
+         int first = getFirstVisibleResult();
+         int visible = getVisibleResultCount();
+         start = Math.max(0, Math.min(first, count - visible) - WINDOW_OVERSCAN);
+         end = Math.min(count, first + visible + WINDOW_OVERSCAN);
+      }
+
+      int selected = selectedResult_;
+      table_.clear();
+      windowStart_ = start;
+      windowEnd_ = end;
+      table_.addItems(results_.subList(start, end), false);
+
+      // restore the selection if it's in the window
+      selectedResult_ = selected;
+      if (selected >= start && selected < end)
+         table_.setSelected(selected - start, 1, true);
+
+      int height = table_.getOffsetHeight();
+      if (end > start && height > 0)
+         rowHeight_ = Math.max(1, height / (end - start));
+      updateMargins();
+   }
+
+   private void onScroll()
+   {
+      if (results_.size() <= WINDOW_THRESHOLD)
+         return;
+
+      int first = getFirstVisibleResult();
+      int last = first + getVisibleResultCount();
+      int margin = WINDOW_OVERSCAN / 2;
+      if ((windowStart_ > 0 && first < windowStart_ + margin) ||
+          (windowEnd_ < results_.size() && last > windowEnd_ - margin))
+      {
+         renderWindow();
+      }
+   }
+
+   private void onSelectionChanged()
+   {
+      // track the selection by result, so it survives the window moving
+      ArrayList<Integer> rows = table_.getSelectedRowIndexes();
+      if (!rows.isEmpty() && rows.get(0) != null)
+         selectedResult_ = windowStart_ + rows.get(0);
+   }
+
+   private void updateMargins()
+   {
+      table_.getElement().getStyle().setMarginTop(windowStart_ * rowHeight_, Unit.PX);
+      table_.getElement().getStyle().setMarginBottom(
+            (results_.size() - windowEnd_) * rowHeight_, Unit.PX);
+   }
+
+   private int getFirstVisibleResult()
+   {
+      return scrollPanel_.getVerticalScrollPosition() / rowHeight_;
+   }
+
+   private int getVisibleResultCount()
+   {
+      return scrollPanel_.getOffsetHeight() / rowHeight_ + 1;
+   }
+
    private void fireSelectionCommitted()
    {
       ArrayList<CodeNavigationTarget> values = table_.getSelectedValues();
@@ -533,7 +627,6 @@ public class FindOutputPane extends WorkbenchPane
    }
 
    private FastSelectTable<FindResult, CodeNavigationTarget, Object> table_;
-   private FindResultContext context_;
    private final Commands commands_;
    private final EventBus eventBus_;
    private Label searchLabel_;
@@ -542,8 +635,14 @@ public class FindOutputPane extends WorkbenchPane
    private SimplePanel container_;
    private ScrollPanel scrollPanel_;
    private StatusPanel statusPanel_;
-   private boolean overflow_ = false;
-   private int matchCount_;
+
+   // all results, of which those in [windowStart_, windowEnd_) are rendered;
+   // the rest are stood in for by margins sized from the measured row height
+   private final FindResultList results_ = new FindResultList();
+   private int windowStart_ = 0;
+   private int windowEnd_ = 0;
+   private int selectedResult_ = -1;
+   private int rowHeight_ = DEFAULT_ROW_HEIGHT;
 
    private LeftRightToggleButton showFindButton_;
    private LeftRightToggleButton showReplaceButton_;
@@ -559,7 +658,12 @@ public class FindOutputPane extends WorkbenchPane
 
    private DebouncedCommand displayPreview_;
 
-   // This must be the same as MAX_COUNT in SessionFind.cpp
-   private static final int MAX_COUNT = 1000;
+   // results are only rendered in a window once there are more than
+   // WINDOW_THRESHOLD; the window extends WINDOW_OVERSCAN rows beyond the
+   // viewport in each direction
+   private static final int WINDOW_THRESHOLD = 1000;
+   private static final int WINDOW_OVERSCAN = 100;
+   private static final int DEFAULT_ROW_HEIGHT = 18;
+
    private static final OutputConstants constants_ = GWT.create(OutputConstants.class);
 }
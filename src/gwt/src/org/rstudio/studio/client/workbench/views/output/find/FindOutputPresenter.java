@@ -14,8 +14,6 @@
  */
 package org.rstudio.studio.client.workbench.views.output.find;
 
-import java.util.ArrayList;
-
 import org.rstudio.core.client.CodeNavigationTarget;
 import org.rstudio.core.client.Debug;
 import org.rstudio.core.client.StringUtil;
@@ -26,6 +24,7 @@ import org.rstudio.core.client.events.HasSelectionCommitHandlers;
 import org.rstudio.core.client.events.SelectionCommitEvent;
 import org.rstudio.core.client.files.FileSystemItem;
 import org.rstudio.core.client.js.JsObject;
+import org.rstudio.core.client.jsonrpc.RpcObjectList;
 import org.rstudio.core.client.widget.Operation;
 import org.rstudio.core.client.widget.OperationWithInput;
 import org.rstudio.core.client.widget.ProgressBar;
@@ -57,6 +56,7 @@ import org.rstudio.studio.client.workbench.views.output.find.events.ReplaceResul
 import org.rstudio.studio.client.workbench.views.output.find.model.FindInFilesServerOperations;
 import org.rstudio.studio.client.workbench.views.output.find.model.FindInFilesState;
 import org.rstudio.studio.client.workbench.views.output.find.model.FindResult;
+import org.rstudio.studio.client.workbench.views.output.find.model.FindResultList;
 
 import com.google.gwt.core.client.GWT;
 import com.google.gwt.core.client.JsArrayString;
@@ -74,7 +74,8 @@ public class FindOutputPresenter extends BasePresenter
                                     HasSelectionCommitHandlers<CodeNavigationTarget>,
                                     HasEnsureHiddenHandlers
    {
-      void addMatches(ArrayList<FindResult> findResults);
+      void addMatches(RpcObjectList<FindResult> findResults);
+      void addReplaceResults(RpcObjectList<FindResult> results);
       void clearMatches();
       void ensureVisible(boolean activate);
 
@@ -85,8 +86,6 @@ public class FindOutputPresenter extends BasePresenter
 
       HandlerRegistration addSelectionChangedHandler(SelectionChangedEvent.Handler handler);
 
-      void showOverflow();
-
       void showSearchCompleted();
 
       void updateSearchLabel(String query, String path, boolean wholeWord);
@@ -94,6 +93,7 @@ public class FindOutputPresenter extends BasePresenter
       void updateSearchLabel(String query, String path, String replace, boolean wholeWord,
                              int successCount, int errorCount);
       void clearSearchLabel();
+      void showResultsTruncated(int totalCount);
 
       boolean getRegexPreviewMode();
       boolean getReplaceMode();
@@ -172,16 +172,8 @@ public class FindOutputPresenter extends BasePresenter
                return;
 
             view_.ensureVisible(true);
-            {
-               int count = 0;
-               for (FindResult fr : event.getResults())
-               {
-                  count += fr.getMatchOns().size();
-                  if (view_.getRegexPreviewMode())
-                     fr.setRegexPreviewIndicator();
-               }
-               dialogState_.updateResultsCount(count);
-            }
+            dialogState_.updateResultsCount(
+                  FindResultList.countMatches(event.getResults()));
             view_.addMatches(event.getResults());
          }
       });
@@ -363,14 +355,11 @@ public class FindOutputPresenter extends BasePresenter
             if (!StringUtil.equals(event.getHandle(), currentFindHandle_))
                return;
 
-            // toggle replace mode so matches get added to context
-            view_.setReplaceMode(true);
-
-            ArrayList<FindResult> results = event.getResults();
+            RpcObjectList<FindResult> results = event.getResults();
             int errorCount = 0;
-            for (FindResult fr : results)
+            for (int i = 0; i < results.length(); i++)
             {
-               fr.setReplaceIndicator();
+               FindResult fr = results.get(i);
                if (!StringUtil.isNullOrEmpty(fr.getErrors()))
                {
                   errorCount++;
@@ -379,8 +368,9 @@ public class FindOutputPresenter extends BasePresenter
             }
             dialogState_.updateErrorCount(errorCount);
 
+            // clear any replace preview before showing the replaced lines
             view_.setReplaceMode(false);
-            view_.addMatches(results);
+            view_.addReplaceResults(results);
             view_.setReplaceMode(true);
 
             view_.ensureVisible(true);
@@ -474,10 +464,15 @@ public class FindOutputPresenter extends BasePresenter
 
       currentFindHandle_ = state.getHandle();
       view_.clearMatches();
-      view_.addMatches(state.getResults().toArrayList());
+      view_.addMatches(state.getResults());
 
       updateSearchLabel(state.getInput(), state.getPath(), state.isWholeWord(), state.isRegex());
 
+      // only the first results of a large search are restored
+      int resultCount = state.getResultCount();
+      if (resultCount > state.getResults().length())
+         view_.showResultsTruncated(resultCount);
+
       if (state.isRunning())
          view_.setStopSearchButtonVisible(true);
       else
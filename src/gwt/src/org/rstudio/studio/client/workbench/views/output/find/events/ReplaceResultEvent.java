@@ -19,7 +19,6 @@ import com.google.gwt.event.shared.EventHandler;
 import com.google.gwt.event.shared.GwtEvent;
 import org.rstudio.core.client.jsonrpc.RpcObjectList;
 import org.rstudio.studio.client.workbench.views.output.find.model.FindResult;
-import java.util.ArrayList;
 
 public class ReplaceResultEvent extends GwtEvent<ReplaceResultEvent.Handler>
 {
@@ -43,7 +42,7 @@ public class ReplaceResultEvent extends GwtEvent<ReplaceResultEvent.Handler>
       }-*/;
    }
 
-   public ReplaceResultEvent(String handle, ArrayList<FindResult> results)
+   public ReplaceResultEvent(String handle, RpcObjectList<FindResult> results)
    {
       handle_ = handle;
       results_ = results;
@@ -54,7 +53,7 @@ public class ReplaceResultEvent extends GwtEvent<ReplaceResultEvent.Handler>
       return handle_;
    }
 
-   public ArrayList<FindResult> getResults()
+   public RpcObjectList<FindResult> getResults()
    {
       return results_;
    }
@@ -72,7 +71,7 @@ public class ReplaceResultEvent extends GwtEvent<ReplaceResultEvent.Handler>
    }
 
    private final String handle_;
-   private final ArrayList<FindResult> results_;
+   private final RpcObjectList<FindResult> results_;
 
    public static final Type<Handler> TYPE = new Type<>();
 }
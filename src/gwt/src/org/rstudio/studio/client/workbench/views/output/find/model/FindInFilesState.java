@@ -38,6 +38,11 @@ public class FindInFilesState extends JavaScriptObject
       return this.results;
    }-*/;
 
+   // the number of results found, which may be more than were restored
+   public native final int getResultCount() /*-{
+      return this.resultCount || 0;
+   }-*/;
+
    public native final boolean isRunning() /*-{
       return this.running;
    }-*/;
@@ -0,0 +1,173 @@
+/*
+ * FindResultList.java
+ *
+ * Copyright (C) 2022 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.output.find.model;
+
+import java.util.ArrayList;
+
+import org.rstudio.core.client.jsonrpc.RpcObjectList;
+
+import com.google.gwt.core.client.JavaScriptObject;
+
+/**
+ * Holds the results of a find or replace operation in columnar form (as they
+ * are sent by the server), with each file's path stored once. FindResult
+ * objects are only created for the results being displayed, so there's no
+ * limit on the number of results that can be held.
+ */
+public class FindResultList
+{
+   public FindResultList()
+   {
+      clear();
+   }
+
+   public void clear()
+   {
+      columns_ = createColumns();
+      replace_ = "";
+   }
+
+   public int size()
+   {
+      return size(columns_);
+   }
+
+   /**
+    * Appends a batch of results as received from the server.
+    *
+    * @param replaced Whether the results are of a completed replace.
+    * @param regexPreview Whether the results are a preview of a regex replace.
+    */
+   public void append(RpcObjectList<FindResult> results,
+                      boolean replaced,
+                      boolean regexPreview)
+   {
+      int flags = (replaced ? FLAG_REPLACED : 0) |
+                  (regexPreview ? FLAG_REGEX_PREVIEW : 0);
+      append(columns_, results, flags);
+   }
+
+   public FindResult get(int index)
+   {
+      return get(columns_, index, replace_);
+   }
+
+   public ArrayList<FindResult> subList(int start, int end)
+   {
+      ArrayList<FindResult> results = new ArrayList<>(end - start);
+      for (int i = start; i < end; i++)
+         results.add(get(i));
+      return results;
+   }
+
+   /**
+    * Sets the text previewed as replacing each match. Like
+    * FindResult.setReplace, this ends any regex replace preview.
+    */
+   public void setReplace(String replace)
+   {
+      replace_ = replace == null ? "" : replace;
+      clearFlag(columns_, FLAG_REGEX_PREVIEW);
+   }
+
+   /**
+    * @return The number of matches (rather than matching lines) in a batch of
+    *    results.
+    */
+   public static native int countMatches(RpcObjectList<FindResult> results) /*-{
+      var matchOn = results.matchOn || [];
+      var count = 0;
+      for (var i = 0, n = matchOn.length; i < n; i++)
+         count += (matchOn[i] || []).length;
+      return count;
+   }-*/;
+
+   private static native JavaScriptObject createColumns() /*-{
+      return {
+         paths: [],
+         pathIndexes: new Map(),
+         file: [],
+         line: [],
+         lineValue: [],
+         matchOn: [],
+         matchOff: [],
+         replaceMatchOn: [],
+         replaceMatchOff: [],
+         errors: [],
+         flags: []
+      };
+   }-*/;
+
+   private static native int size(JavaScriptObject columns) /*-{
+      return columns.file.length;
+   }-*/;
+
+   private static native void append(JavaScriptObject columns,
+                                     JavaScriptObject results,
+                                     int flags) /*-{
+      var files = results.file || [];
+      var names = ["line", "lineValue", "matchOn", "matchOff",
+                   "replaceMatchOn", "replaceMatchOff", "errors"];
+
+      for (var i = 0, n = files.length; i < n; i++) {
+         var path = files[i];
+         var index = columns.pathIndexes.get(path);
+         if (index === undefined) {
+            index = columns.paths.length;
+            columns.paths.push(path);
+            columns.pathIndexes.set(path, index);
+         }
+         columns.file.push(index);
+
+         for (var j = 0; j < names.length; j++) {
+            var column = results[names[j]];
+            columns[names[j]].push(column ? column[i] : null);
+         }
+         columns.flags.push(flags);
+      }
+   }-*/;
+
+   private static native FindResult get(JavaScriptObject columns,
+                                        int index,
+                                        String replace) /*-{
+      var flags = columns.flags[index];
+      return {
+         file: columns.paths[columns.file[index]],
+         line: columns.line[index],
+         lineValue: columns.lineValue[index],
+         matchOn: columns.matchOn[index],
+         matchOff: columns.matchOff[index],
+         replaceMatchOn: columns.replaceMatchOn[index],
+         replaceMatchOff: columns.replaceMatchOff[index],
+         errors: columns.errors[index],
+         replace: replace,
+         replaceIndicator: (flags & 1) !== 0,
+         regexPreviewIndicator: (flags & 2) !== 0
+      };
+   }-*/;
+
+   private static native void clearFlag(JavaScriptObject columns, int flag) /*-{
+      var flags = columns.flags;
+      for (var i = 0, n = flags.length; i < n; i++)
+         flags[i] &= ~flag;
+   }-*/;
+
+   private JavaScriptObject columns_;
+   private String replace_;
+
+   // these must match the flags tested in get()
+   private static final int FLAG_REPLACED = 1;
+   private static final int FLAG_REGEX_PREVIEW = 2;
+}
@@ -17,6 +17,8 @@ package org.rstudio.studio.client.workbench.views.packages;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Set;
@@ -794,11 +796,14 @@ public class Packages
    {
       PackageState newState = event.getPackageState();
 
-      // if the event contains embedded state, apply it directly; if it doesn't,
-      // fetch the new state from the server.
-      if (newState != null)
+      // if the event contains embedded state, apply it directly; if it doesn't
+      // (or it only contains changes we can't apply), fetch the new state
+      // from the server.
+      if (newState == null)
+         updatePackageState(false, false);
+      else if (newState.getPackageDelta() == null)
          setPackageState(newState);
-      else
+      else if (!applyPackageDelta(newState))
          updatePackageState(false, false);
    }
 
@@ -826,8 +831,10 @@ public class Packages
          if (packageInfo.getName() == status.getName() &&
              packageInfo.getLibrary() == status.getLib())
          {
-            allPackages_.set(i, status.isLoaded() ? packageInfo.asLoaded() :
-                                                    packageInfo.asUnloaded());
+            PackageInfo updated = status.isLoaded() ? packageInfo.asLoaded() :
+                                                      packageInfo.asUnloaded();
+            allPackages_.set(i, updated);
+            packageIndex_.put(updated.getKey(), updated);
          }
       }
    }
@@ -841,36 +848,29 @@ public class Packages
       {
          packages = new ArrayList<>();
 
-         // first do prefix search
-         for (PackageInfo pkgInfo : allPackages_)
-         {
-            if (pkgInfo.getName().toLowerCase().startsWith(packageFilter_))
-               packages.add(pkgInfo);
-         }
-
-         // then do contains search on name & desc
+         // within each library, list packages whose names start with the
+         // filter first, followed by those whose name or description contain
+         // it (packages are already grouped by library)
+         ArrayList<PackageInfo> containing = new ArrayList<>();
+         PackageLibraryType libraryType = null;
          for (PackageInfo pkgInfo : allPackages_)
          {
-            if (pkgInfo.getName().toLowerCase().contains(packageFilter_) ||
-                pkgInfo.getDesc().toLowerCase().contains(packageFilter_))
+            PackageLibraryType pkgLibraryType = typeOfLibrary(pkgInfo);
+            if (pkgLibraryType != libraryType)
             {
-               if (!packages.contains(pkgInfo))
-                  packages.add(pkgInfo);
+               packages.addAll(containing);
+               containing.clear();
+               libraryType = pkgLibraryType;
             }
-         }
 
-         // sort results by library (to preserve grouping)
-         Collections.sort(packages, new Comparator<PackageInfo>()
-               {
-                  @Override
-                  public int compare(PackageInfo o1, PackageInfo o2)
-                  {
-                     return PackageLibraryUtils.typeOfLibrary(
-                                   session_, o1.getLibrary()).compareTo(
-                             PackageLibraryUtils.typeOfLibrary(
-                                   session_, o2.getLibrary()));
-                  }
-               });
+            String name = pkgInfo.getSearchName();
+            if (name.startsWith(packageFilter_))
+               packages.add(pkgInfo);
+            else if (name.contains(packageFilter_) ||
+                     pkgInfo.getSearchDesc().contains(packageFilter_))
+               containing.add(pkgInfo);
+         }
+         packages.addAll(containing);
       }
       else
       {
@@ -1205,36 +1205,96 @@ public class Packages
    {
       // sort the packages
       allPackages_ = new ArrayList<>();
+      packageIndex_.clear();
+      libraryTypes_.clear();
       JsArray<PackageInfo> serverPackages = newState.getPackageList();
       for (int i = 0; i < serverPackages.length(); i++)
-         allPackages_.add(serverPackages.get(i));
-      Collections.sort(allPackages_, new Comparator<PackageInfo>() {
-         public int compare(PackageInfo o1, PackageInfo o2)
+      {
+         PackageInfo pkgInfo = serverPackages.get(i);
+         allPackages_.add(pkgInfo);
+         packageIndex_.put(pkgInfo.getKey(), pkgInfo);
+      }
+      Collections.sort(allPackages_, packageOrder_);
+
+      packageStateVersion_ = newState.getVersion();
+      onPackagesChanged(newState);
+   }
+
+   // Merges the packages added, changed and removed since the state we have;
+   // returns false if the changes can't be applied to it
+   private boolean applyPackageDelta(PackageState newState)
+   {
+      PackageState.PackageDelta delta = newState.getPackageDelta();
+      if (packageStateVersion_ == 0 ||
+          delta.getBaseVersion() != packageStateVersion_)
+      {
+         return false;
+      }
+
+      // drop removed packages, and old versions of changed ones
+      HashSet<String> replaced = new HashSet<>();
+      JsArray<PackageInfo> removed = delta.getRemoved();
+      for (int i = 0; i < removed.length(); i++)
+      {
+         String key = removed.get(i).getKey();
+         packageIndex_.remove(key);
+         replaced.add(key);
+      }
+
+      JsArray<PackageInfo> added = delta.getAdded();
+      for (int i = 0; i < added.length(); i++)
+         replaced.add(added.get(i).getKey());
+
+      if (!replaced.isEmpty())
+      {
+         ArrayList<PackageInfo> packages = new ArrayList<>(allPackages_.size());
+         for (PackageInfo pkgInfo : allPackages_)
          {
-            // sort first by library, then by name
-            int library =
-                  PackageLibraryUtils.typeOfLibrary(
-                        session_, o1.getLibrary()).compareTo(
-                  PackageLibraryUtils.typeOfLibrary(
-                        session_, o2.getLibrary()));
-            return library == 0 ?
-                  o1.getName().compareToIgnoreCase(o2.getName()) :
-                  library;
+            if (!replaced.contains(pkgInfo.getKey()))
+               packages.add(pkgInfo);
          }
-      });
+         allPackages_ = packages;
+      }
+
+      // insert new versions of packages in order
+      for (int i = 0; i < added.length(); i++)
+      {
+         PackageInfo pkgInfo = added.get(i);
+         int index = Collections.binarySearch(allPackages_, pkgInfo, packageOrder_);
+         if (index < 0)
+            index = -(index + 1);
+         while (index < allPackages_.size() &&
+                packageOrder_.compare(allPackages_.get(index), pkgInfo) == 0)
+         {
+            index++;
+         }
+         allPackages_.add(index, pkgInfo);
+         packageIndex_.put(pkgInfo.getKey(), pkgInfo);
+      }
+
+      // if we've lost track, fall back to fetching the whole state
+      if (allPackages_.size() != delta.getCount() ||
+          packageIndex_.size() != delta.getCount())
+      {
+         packageStateVersion_ = 0;
+         return false;
+      }
+
+      packageStateVersion_ = newState.getVersion();
+      onPackagesChanged(newState);
+      return true;
+   }
 
+   private void onPackagesChanged(PackageState newState)
+   {
       // Mark  which packages are first in their respective libraries (used
       // later to render headers)
       PackageLibraryType libraryType = PackageLibraryType.None;
       for (PackageInfo pkgInfo: allPackages_)
       {
-         PackageLibraryType pkgLibraryType = PackageLibraryUtils.typeOfLibrary(
-               session_, pkgInfo.getLibrary());
-         if (pkgLibraryType != libraryType)
-         {
-            pkgInfo.setFirstInLibrary(true);
-            libraryType = pkgLibraryType;
-         }
+         PackageLibraryType pkgLibraryType = typeOfLibrary(pkgInfo);
+         pkgInfo.setFirstInLibrary(pkgLibraryType != libraryType);
+         libraryType = pkgLibraryType;
       }
 
       projectContext_ = newState.getProjectContext();
@@ -1242,6 +1302,30 @@ public class Packages
       setViewPackageList();
    }
 
+   private PackageLibraryType typeOfLibrary(PackageInfo pkgInfo)
+   {
+      String library = pkgInfo.getLibrary();
+      PackageLibraryType type = libraryTypes_.get(library);
+      if (type == null)
+      {
+         type = PackageLibraryUtils.typeOfLibrary(session_, library);
+         libraryTypes_.put(library, type);
+      }
+      return type;
+   }
+
+   // sort first by library, then by name
+   private final Comparator<PackageInfo> packageOrder_ = new Comparator<PackageInfo>()
+   {
+      public int compare(PackageInfo o1, PackageInfo o2)
+      {
+         int library = typeOfLibrary(o1).compareTo(typeOfLibrary(o2));
+         return library == 0 ?
+               o1.getName().compareToIgnoreCase(o2.getName()) :
+               library;
+      }
+   };
+
    private void getPackageNamesFromActions(
          JsArray<PackratPackageAction> actions,
          Set<String> pkgNames)
@@ -1258,6 +1342,14 @@ public class Packages
    private final PackratServerOperations packratServer_;
    private final RenvServerOperations renvServer_;
    private ArrayList<PackageInfo> allPackages_ = new ArrayList<>();
+
+   // packages keyed by name and library, and the version of the package
+   // state they reflect (zero if unknown)
+   private final HashMap<String, PackageInfo> packageIndex_ = new HashMap<>();
+   private int packageStateVersion_ = 0;
+
+   // the type of each library, as computed by PackageLibraryUtils
+   private final HashMap<String, PackageLibraryType> libraryTypes_ = new HashMap<>();
    private ProjectContext projectContext_;
    private String packageFilter_ = new String();
    private HandlerRegistration consolePromptHandlerReg_ = null;
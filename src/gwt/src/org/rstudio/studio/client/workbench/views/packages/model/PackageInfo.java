@@ -53,6 +53,25 @@ public class PackageInfo extends JavaScriptObject
       return this.desc == null ? "" : this.desc;
    }-*/;
    
+   // lower-cased name and description, used when filtering
+   public final native String getSearchName() /*-{
+      if (this.search_name == null)
+         this.search_name = (this.name || "").toLowerCase();
+      return this.search_name;
+   }-*/;
+
+   public final native String getSearchDesc() /*-{
+      if (this.search_desc == null)
+         this.search_desc = (this.desc || "").toLowerCase();
+      return this.search_desc;
+   }-*/;
+
+   // identifies the package among all installed packages
+   public final String getKey()
+   {
+      return getName() + "\n" + getLibrary();
+   }
+
    public final native String getHelpUrl() /*-{
       return "help/library/" + this.name + "/html/00Index.html";
    }-*/;
@@ -25,9 +25,45 @@ public class PackageState extends JavaScriptObject
    {
    }
    
+   // Describes the packages added (or changed) and removed since the
+   // package list with version 'base_version' was sent
+   public static class PackageDelta extends JavaScriptObject
+   {
+      protected PackageDelta()
+      {
+      }
+
+      public final native int getBaseVersion() /*-{
+         return this.base_version;
+      }-*/;
+
+      public final native JsArray<PackageInfo> getAdded() /*-{
+         return this.added || [];
+      }-*/;
+
+      // entries contain only the package's name and library
+      public final native JsArray<PackageInfo> getRemoved() /*-{
+         return this.removed || [];
+      }-*/;
+
+      // the number of packages after the delta has been applied
+      public final native int getCount() /*-{
+         return this.count;
+      }-*/;
+   }
+
    public final native JsArray<PackageInfo> getPackageList() /*-{
       return this.package_list;
    }-*/;
+
+   // set (instead of the package list) when only changes are being sent
+   public final native PackageDelta getPackageDelta() /*-{
+      return this.package_delta || null;
+   }-*/;
+
+   public final native int getVersion() /*-{
+      return this.version || 0;
+   }-*/;
    
    public final native ProjectContext getProjectContext() /*-{
       return {
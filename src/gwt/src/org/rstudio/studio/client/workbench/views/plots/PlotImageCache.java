@@ -0,0 +1,110 @@
+/*
+ * PlotImageCache.java
+ *
+ * Copyright (C) 2022 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.plots;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.google.gwt.dom.client.Document;
+import com.google.gwt.dom.client.ImageElement;
+
+/**
+ * Remembers the images of recently shown plots by plot, size and device
+ * pixel ratio, so that a plot can be shown again at a size it has already
+ * been rendered at (e.g. when paging back through plots, or when a pane
+ * returns to an earlier size) without waiting on the server.
+ *
+ * Graphics URLs name immutable images which the browser caches, so only the
+ * URLs are kept here. Prefetched images are also loaded into an image element
+ * (held while the entry is cached) so they're ready to show.
+ */
+public class PlotImageCache
+{
+   /**
+    * @return The URL of the plot's image at the given size, or null if it
+    *    isn't cached.
+    */
+   public String get(String plotId, int width, int height, double dpr)
+   {
+      if (plotId.length() == 0)
+         return null;
+
+      Entry entry = entries_.get(key(plotId, width, height, dpr));
+      return entry == null ? null : entry.url;
+   }
+
+   public void put(String plotId, int width, int height, double dpr, String url)
+   {
+      if (plotId.length() == 0)
+         return;
+
+      entries_.put(key(plotId, width, height, dpr), new Entry(url, null));
+   }
+
+   /**
+    * Caches the plot's image and starts loading it, unless it's already
+    * cached.
+    */
+   public void prefetch(String plotId, int width, int height, double dpr, String url)
+   {
+      if (plotId.length() == 0)
+         return;
+
+      String key = key(plotId, width, height, dpr);
+      if (entries_.containsKey(key))
+         return;
+
+      ImageElement image = Document.get().createImageElement();
+      image.setSrc(url);
+      entries_.put(key, new Entry(url, image));
+   }
+
+   public void clear()
+   {
+      entries_.clear();
+   }
+
+   private static String key(String plotId, int width, int height, double dpr)
+   {
+      return plotId + ":" + width + "x" + height + "@" + dpr;
+   }
+
+   private static class Entry
+   {
+      Entry(String url, ImageElement image)
+      {
+         this.url = url;
+         this.image = image;
+      }
+
+      final String url;
+
+      @SuppressWarnings("unused")
+      final ImageElement image;
+   }
+
+   // access-ordered, so the least recently used entry is the one dropped
+   private final LinkedHashMap<String, Entry> entries_ =
+         new LinkedHashMap<String, Entry>(16, 0.75f, true)
+   {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest)
+      {
+         return size() > MAX_ENTRIES;
+      }
+   };
+
+   private static final int MAX_ENTRIES = 30;
+}
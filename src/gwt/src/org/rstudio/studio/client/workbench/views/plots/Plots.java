@@ -15,6 +15,7 @@
 package org.rstudio.studio.client.workbench.views.plots;
 
 import com.google.gwt.core.client.GWT;
+import com.google.gwt.core.client.JsArray;
 import com.google.gwt.event.dom.client.ClickEvent;
 import com.google.gwt.event.dom.client.ClickHandler;
 import com.google.gwt.event.logical.shared.HasResizeHandlers;
@@ -57,6 +58,7 @@ import org.rstudio.studio.client.workbench.views.console.events.ConsolePromptEve
 import org.rstudio.studio.client.workbench.views.plots.events.LocatorEvent;
 import org.rstudio.studio.client.workbench.views.plots.events.PlotsChangedEvent;
 import org.rstudio.studio.client.workbench.views.plots.events.PlotsZoomSizeChangedEvent;
+import org.rstudio.studio.client.workbench.views.plots.model.PlotImageInfo;
 import org.rstudio.studio.client.workbench.views.plots.model.PlotsServerOperations;
 import org.rstudio.studio.client.workbench.views.plots.model.PlotsState;
 import org.rstudio.studio.client.workbench.views.plots.model.SavePlotAsPdfOptions;
@@ -64,6 +66,8 @@ import org.rstudio.studio.client.workbench.views.plots.ui.export.ExportPlot;
 import org.rstudio.studio.client.workbench.views.plots.ui.manipulator.ManipulatorChangedHandler;
 import org.rstudio.studio.client.workbench.views.plots.ui.manipulator.ManipulatorManager;
 
+import java.util.HashMap;
+
 public class Plots extends BasePresenter implements PlotsChangedEvent.Handler,
                                                     LocatorEvent.Handler,
                                                     ConsolePromptEvent.Handler,
@@ -174,6 +178,11 @@ public class Plots extends BasePresenter implements PlotsChangedEvent.Handler,
 
       events.addHandler(DeferredInitCompletedEvent.TYPE, this);
       events.addHandler(PlotsZoomSizeChangedEvent.TYPE, this);
+
+      // while the pane is resized the frame scales the plot it's showing
+      // until the server re-renders it; if the plot has already been
+      // rendered at the new size then show that image instead
+      view_.addResizeHandler(event -> showCachedPlot());
 }
 
    public void onPlotsChanged(PlotsChangedEvent event)
@@ -197,9 +206,19 @@ public class Plots extends BasePresenter implements PlotsChangedEvent.Handler,
       else
       {
          String url = server_.getGraphicsUrl(plotsState.getFilename());
+         imageCache_.put(plotsState.getPlotId(),
+                         plotsState.getWidth(),
+                         plotsState.getHeight(),
+                         BrowseCap.devicePixelRatio(),
+                         url);
          view_.showPlot(url);
       }
 
+      // remember the plot and prefetch its neighbors' images
+      plotId_ = plotsState.getPlotId();
+      plotIndex_ = plotsState.getPlotIndex();
+      prefetchNeighbors(plotsState.getNeighbors());
+
       // activate the plots tab if requested
       if (plotsState.getActivatePlots())
          view_.bringToFront();
@@ -226,14 +245,16 @@ public class Plots extends BasePresenter implements PlotsChangedEvent.Handler,
    void onNextPlot()
    {
       view_.bringToFront();
-      setChangePlotProgress();
+      if (!showCachedNeighbor(plotIndex_ + 1))
+         setChangePlotProgress();
       server_.nextPlot(new PlotRequestCallback());
    }
 
    void onPreviousPlot()
    {
       view_.bringToFront();
-      setChangePlotProgress();
+      if (!showCachedNeighbor(plotIndex_ - 1))
+         setChangePlotProgress();
       server_.previousPlot(new PlotRequestCallback());
    }
 
@@ -499,6 +520,55 @@ public class Plots extends BasePresenter implements PlotsChangedEvent.Handler,
       }
    }
 
+   private void prefetchNeighbors(JsArray<PlotImageInfo> neighbors)
+   {
+      neighbors_.clear();
+      double dpr = BrowseCap.devicePixelRatio();
+      for (int i = 0; i < neighbors.length(); i++)
+      {
+         PlotImageInfo neighbor = neighbors.get(i);
+         neighbors_.put(neighbor.getPlotIndex(), neighbor.getPlotId());
+         imageCache_.prefetch(neighbor.getPlotId(),
+                              neighbor.getWidth(),
+                              neighbor.getHeight(),
+                              dpr,
+                              server_.getGraphicsUrl(neighbor.getFilename()));
+      }
+   }
+
+   // shows the plot at the given index if its image at the current size is
+   // cached; the server still activates (and if need be re-renders) it
+   private boolean showCachedNeighbor(int plotIndex)
+   {
+      String plotId = neighbors_.get(plotIndex);
+      if (plotId == null || plotSize_ == null)
+         return false;
+
+      String url = imageCache_.get(plotId,
+                                   plotSize_.width,
+                                   plotSize_.height,
+                                   BrowseCap.devicePixelRatio());
+      if (url == null)
+         return false;
+
+      view_.showPlot(url);
+      return true;
+   }
+
+   private void showCachedPlot()
+   {
+      if (plotId_ == null)
+         return;
+
+      Size size = view_.getPlotFrameSize();
+      String url = imageCache_.get(plotId_,
+                                   size.width,
+                                   size.height,
+                                   BrowseCap.devicePixelRatio());
+      if (url != null && !url.equals(view_.getPlotUrl()))
+         view_.showPlot(url);
+   }
+
    private void setChangePlotProgress()
    {
       if (!Desktop.isDesktop())
@@ -618,5 +688,12 @@ public class Plots extends BasePresenter implements PlotsChangedEvent.Handler,
 
    // size of most recently rendered plot
    Size plotSize_ = null;
+
+   // images of recently shown plots, and the current plot and its neighbors
+   private final PlotImageCache imageCache_ = new PlotImageCache();
+   private final HashMap<Integer, String> neighbors_ = new HashMap<>();
+   private String plotId_ = null;
+   private int plotIndex_ = -1;
+
    private static final PlotsConstants constants_ = com.google.gwt.core.client.GWT.create(PlotsConstants.class);
 }
@@ -15,6 +15,7 @@
 package org.rstudio.studio.client.workbench.views.plots.model;
 
 import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArray;
 
 public class PlotsState extends JavaScriptObject
 {
@@ -45,6 +46,17 @@ public class PlotsState extends JavaScriptObject
    public final native int getPlotCount() /*-{
       return this.plotCount;
    }-*/;
+
+   // identifies the plot's content; it changes only when the plot is redrawn,
+   // not when it's re-rendered at another size
+   public final native String getPlotId() /*-{
+      return this.plotId || "";
+   }-*/;
+
+   // the adjacent plots which already have an image at their current size
+   public final native JsArray<PlotImageInfo> getNeighbors() /*-{
+      return this.neighbors || [];
+   }-*/;
    
    public final native boolean getActivatePlots() /*-{
       return this.activatePlots;
@@ -118,6 +118,7 @@ import org.rstudio.studio.client.workbench.views.source.editors.explorer.events.
 import org.rstudio.studio.client.workbench.views.source.editors.explorer.events.OpenObjectExplorerEvent;
 import org.rstudio.studio.client.workbench.views.source.editors.explorer.events.RefreshObjectExplorerEvent;
 import org.rstudio.studio.client.workbench.views.source.editors.explorer.model.ObjectExplorerHandle;
+import org.rstudio.studio.client.workbench.views.source.editors.placeholder.PlaceholderEditingTarget;
 import org.rstudio.studio.client.workbench.views.source.editors.profiler.OpenProfileEvent;
 import org.rstudio.studio.client.workbench.views.source.editors.profiler.model.ProfilerContents;
 import org.rstudio.studio.client.workbench.views.source.editors.text.AceEditor;
@@ -679,6 +680,7 @@ public class Source implements InsertSourceEvent.Handler,
    {
       final JsArray<SourceDocument> docs =
             session.getSessionInfo().getSourceDocuments();
+      final ArrayList<PlaceholderEditingTarget> placeholders = new ArrayList<>();
 
       for (int i = 0; i < docs.length(); i++)
       {
@@ -725,10 +727,58 @@ public class Source implements InsertSourceEvent.Handler,
             // next one
             if (sourceEditor == null)
                continue;
+
+            if (sourceEditor instanceof PlaceholderEditingTarget)
+               placeholders.add((PlaceholderEditingTarget) sourceEditor);
          }
       }
       columnManager_.setDocsRestored();
       columnManager_.beforeShow(true);
+
+      prefetchDocuments(placeholders);
+   }
+
+   /**
+    * Once startup has settled, loads the restored documents that were most
+    * recently edited (and so are likely to be used soon), one at a time.
+    */
+   private void prefetchDocuments(ArrayList<PlaceholderEditingTarget> placeholders)
+   {
+      if (placeholders.isEmpty())
+         return;
+
+      placeholders.sort((a, b) -> Double.compare(
+            b.getDocument().getLastContentUpdate(),
+            a.getDocument().getLastContentUpdate()));
+
+      final Queue<PlaceholderEditingTarget> queue = new LinkedList<>(
+            placeholders.subList(0, Math.min(PREFETCH_COUNT, placeholders.size())));
+
+      new Timer()
+      {
+         @Override
+         public void run()
+         {
+            prefetchNextDocument(queue);
+         }
+      }.schedule(PREFETCH_DELAY_MS);
+   }
+
+   private void prefetchNextDocument(Queue<PlaceholderEditingTarget> queue)
+   {
+      PlaceholderEditingTarget placeholder = queue.poll();
+      if (placeholder == null)
+         return;
+
+      // skip documents that were closed, or loaded because they were used
+      if (placeholder.isLoaded() ||
+          columnManager_.findEditor(placeholder.getId()) != placeholder)
+      {
+         prefetchNextDocument(queue);
+         return;
+      }
+
+      placeholder.withTarget(target -> prefetchNextDocument(queue));
    }
 
    private void openEditPublishedDocs()
@@ -1980,11 +2030,10 @@ public class Source implements InsertSourceEvent.Handler,
             {
                // NOTE: we defer execution here as otherwise we might attempt navigation
                // before the underlying Ace editor has been fully initialized
-               Scheduler.get().scheduleDeferred(() ->
-               {
-                  TextEditingTarget target = (TextEditingTarget) editor;
-                  target.navigateToPresentationEditorLocation(event.getLocation());
-               });
+               // (the editor may also be a restored document still to be loaded)
+               columnManager_.withTarget(editor.getId(), target ->
+                  Scheduler.get().scheduleDeferred(() ->
+                     target.navigateToPresentationEditorLocation(event.getLocation())));
             });
      
       
@@ -2002,11 +2051,10 @@ public class Source implements InsertSourceEvent.Handler,
             {
                // NOTE: we defer execution here as otherwise we might attempt navigation
                // before the underlying Ace editor has been fully initialized
-               Scheduler.get().scheduleDeferred(() ->
-               {
-                  TextEditingTarget target = (TextEditingTarget) editor;
-                  target.navigateToXRef(event.getXRef(), event.getForceVisualMode());
-               });
+               // (the editor may also be a restored document still to be loaded)
+               columnManager_.withTarget(editor.getId(), target ->
+                  Scheduler.get().scheduleDeferred(() ->
+                     target.navigateToXRef(event.getXRef(), event.getForceVisualMode())));
             });
 
    }
@@ -2956,18 +3004,15 @@ public class Source implements InsertSourceEvent.Handler,
       }
       else if (type == GetEditorContextEvent.TYPE_SOURCE_EDITOR)
       {
-         if (StringUtil.isNullOrEmpty(id))
-         {
-            if (columnManager_.requestActiveEditorContext())
-               return;
-         }
-         else
-         {
-            if (columnManager_.requestEditorContext(id))
-               return;
-         }
+         columnManager_.requestEditorContext(id, () -> onEditorContextUnavailable());
+         return;
       }
 
+      onEditorContextUnavailable();
+   }
+
+   private void onEditorContextUnavailable()
+   {
       // We need to ensure a 'getEditorContext' event is always
       // returned as we have a 'wait-for' event on the server side
       server_.getEditorContextCompleted(
@@ -3274,6 +3319,8 @@ public class Source implements InsertSourceEvent.Handler,
    private boolean suspendSourceNavigationAdding_;
 
    private static final String MODULE_SOURCE = "source-pane";
+   private static final int PREFETCH_COUNT = 5;
+   private static final int PREFETCH_DELAY_MS = 3000;
    private static final String KEY_ACTIVETAB = "activeTab";
    private boolean initialized_;
 
@@ -63,6 +63,7 @@ import org.rstudio.studio.client.workbench.ui.unsaved.UnsavedChangesDialog;
 import org.rstudio.studio.client.workbench.views.source.editors.EditingTarget;
 import org.rstudio.studio.client.workbench.views.source.editors.EditingTargetSource;
 import org.rstudio.studio.client.workbench.views.source.editors.codebrowser.CodeBrowserEditingTarget;
+import org.rstudio.studio.client.workbench.views.source.editors.placeholder.PlaceholderEditingTarget;
 import org.rstudio.studio.client.workbench.views.source.editors.text.TextEditingTarget;
 import org.rstudio.studio.client.workbench.views.source.editors.text.events.FileTypeChangedEvent;
 import org.rstudio.studio.client.workbench.views.source.editors.text.events.SourceOnSaveChangedEvent;
@@ -487,15 +488,13 @@ public class SourceColumn implements BeforeShowEvent.Handler,
 
    public EditingTarget addTab(SourceDocument doc, Integer position, int mode)
    {
-      final EditingTarget target = editingTargetSource_.getEditingTarget(
-            this,
-            doc,
-            fileContext_,
-            (EditingTarget et) ->
-            {
-               String prefix = et.getDefaultNamePrefix();
-               return getNextDefaultName(prefix);
-            });
+      // documents restored without their contents get a placeholder, which
+      // loads the document when it's first needed
+      FileType type = EditingTargetSource.getTypeFromDocument(
+            RStudioGinjector.INSTANCE.getFileTypeRegistry(), doc);
+      final EditingTarget target = doc.isContentsDeferred() && type instanceof TextFileType
+            ? new PlaceholderEditingTarget(doc, type, this::loadPlaceholder)
+            : createEditingTarget(doc);
 
       final Widget widget = createWidget(target);
 
@@ -528,6 +527,36 @@ public class SourceColumn implements BeforeShowEvent.Handler,
                       true);
       fireDocTabsChanged();
 
+      bindTarget(target, widget);
+
+      events_.fireEvent(new SourceDocAddedEvent(doc, mode, name_));
+
+      applyDocState(target, doc);
+
+      // adding a tab may enable commands that are only available when
+      // multiple documents are open; if this is the second document, go check
+      if (editors_.size() == 2)
+         manageMultiTabCommands(true);
+
+      return target;
+   }
+
+   private EditingTarget createEditingTarget(SourceDocument doc)
+   {
+      return editingTargetSource_.getEditingTarget(
+            this,
+            doc,
+            fileContext_,
+            (EditingTarget et) ->
+            {
+               String prefix = et.getDefaultNamePrefix();
+               return getNextDefaultName(prefix);
+            });
+   }
+
+   // connects a target to the tab showing the given widget
+   private void bindTarget(EditingTarget target, Widget widget)
+   {
       target.getName().addValueChangeHandler(event -> {
          display_.renameTab(widget,
                             target.getIcon(),
@@ -545,25 +574,64 @@ public class SourceColumn implements BeforeShowEvent.Handler,
       target.addEnsureVisibleHandler(event -> display_.selectTab(widget));
 
       target.addCloseHandler(voidCloseEvent -> closeTab(widget, false));
+   }
 
-      events_.fireEvent(new SourceDocAddedEvent(doc, mode, name_));
-
+   private void applyDocState(EditingTarget target, SourceDocument doc)
+   {
       if (target instanceof TextEditingTarget && doc.isReadOnly())
       {
          ((TextEditingTarget) target).setIntendedAsReadOnly(
             JsUtil.toList(doc.getReadOnlyAlternatives()));
       }
 
-      // adding a tab may enable commands that are only available when
-      // multiple documents are open; if this is the second document, go check
-      if (editors_.size() == 2)
-         manageMultiTabCommands(true);
-
       // if the target had an editing session active, attempt to resume it
       if (doc.getCollabParams() != null)
          target.beginCollabSession(doc.getCollabParams());
+   }
 
-      return target;
+   /**
+    * Fetches a placeholder's document from the server and replaces the
+    * placeholder with an editing target for it. The target's widget is shown
+    * within the placeholder's, so the tab (and its position) is unchanged.
+    */
+   private void loadPlaceholder(PlaceholderEditingTarget placeholder)
+   {
+      server_.getSourceDocument(placeholder.getId(), new ServerRequestCallback<SourceDocument>()
+      {
+         @Override
+         public void onResponseReceived(SourceDocument doc)
+         {
+            // the tab may have been closed while the document was loading
+            int idx = editors_.indexOf(placeholder);
+            if (idx < 0)
+               return;
+
+            EditingTarget target = createEditingTarget(doc);
+            editors_.set(idx, target);
+            bindTarget(target, placeholder.asWidget());
+            applyDocState(target, doc);
+
+            boolean active = activeEditor_ == placeholder;
+            if (active)
+               activeEditor_ = target;
+
+            placeholder.onLoaded(target);
+
+            if (active)
+            {
+               target.onActivate();
+               manageCommands(true);
+               if (initialized_ && !isDebugSelectionPending())
+                  target.focus();
+            }
+         }
+
+         @Override
+         public void onError(ServerError error)
+         {
+            placeholder.onLoadFailed(error.getUserMessage());
+         }
+      });
    }
 
    public void closeDoc(String docId)
@@ -608,6 +676,17 @@ public class SourceColumn implements BeforeShowEvent.Handler,
 
    public boolean insertCode(String code, boolean isBlock)
    {
+      // a restored document is loaded before the code is inserted
+      if (activeEditor_ instanceof PlaceholderEditingTarget)
+      {
+         ((PlaceholderEditingTarget) activeEditor_).withTarget(target ->
+         {
+            if (target instanceof TextEditingTarget)
+               ((TextEditingTarget) target).insertCode(code, isBlock);
+         });
+         return true;
+      }
+
       if (activeEditor_ != null &&
           activeEditor_ instanceof TextEditingTarget &&
           commands_.executeCode().isEnabled())
@@ -93,6 +93,7 @@ import org.rstudio.studio.client.workbench.views.source.editors.codebrowser.Code
 import org.rstudio.studio.client.workbench.views.source.editors.data.DataEditingTarget;
 import org.rstudio.studio.client.workbench.views.source.editors.explorer.ObjectExplorerEditingTarget;
 import org.rstudio.studio.client.workbench.views.source.editors.explorer.model.ObjectExplorerHandle;
+import org.rstudio.studio.client.workbench.views.source.editors.placeholder.PlaceholderEditingTarget;
 import org.rstudio.studio.client.workbench.views.source.editors.text.AceEditor;
 import org.rstudio.studio.client.workbench.views.source.editors.text.DocDisplay;
 import org.rstudio.studio.client.workbench.views.source.editors.text.TextEditingTarget;
@@ -874,38 +875,14 @@ public class SourceColumnManager implements CommandPaletteEntrySource,
       return getByName(name) == null || getByName(name).getTabCount() == 0;
    }
 
-   public boolean requestActiveEditorContext()
+   /**
+    * Requests the editor context of the document with the given id (or of
+    * the active document, if no id is given), loading restored documents
+    * first. Runs onFailure if there's no such text editor.
+    */
+   public void requestEditorContext(String id, Command onFailure)
    {
-      boolean hasActiveEditor =
-            hasActiveEditor() &&
-            activeColumn_.getActiveEditor() instanceof TextEditingTarget;
-
-      if (!hasActiveEditor)
-         return false;
-
-      TextEditingTarget editingTarget = (TextEditingTarget) activeColumn_.getActiveEditor();
-      editingTarget.getEditorContext();
-      return true;
-   }
-   
-   public boolean requestEditorContext(String id)
-   {
-      for (SourceColumn column : columnList_)
-      {
-         for (EditingTarget target : column.getEditors())
-         {
-            if (target instanceof TextEditingTarget)
-            {
-               if (StringUtil.equals(target.getId(), id))
-               {
-                  ((TextEditingTarget) target).getEditorContext();
-                  return true;
-               }
-            }
-         }
-      }
-      
-      return false;
+      withTarget(id, target -> target.getEditorContext(), onFailure);
    }
 
    public void activateCodeBrowser(
@@ -2264,7 +2241,7 @@ public class SourceColumnManager implements CommandPaletteEntrySource,
                           Command onFailure)
    {
       EditingTarget target = StringUtil.isNullOrEmpty(id)
-         ? activeColumn_.getActiveEditor()
+         ? (hasActiveEditor() ? activeColumn_.getActiveEditor() : null)
          : findEditor(id);
 
       if (target == null)
@@ -2274,6 +2251,21 @@ public class SourceColumnManager implements CommandPaletteEntrySource,
          return;
       }
 
+      // restored documents that haven't been used yet need to be loaded first
+      if (target instanceof PlaceholderEditingTarget)
+      {
+         ((PlaceholderEditingTarget) target).withTarget(loaded ->
+               withTarget(loaded, command, onFailure), onFailure);
+         return;
+      }
+
+      withTarget(target, command, onFailure);
+   }
+
+   private void withTarget(EditingTarget target,
+                           CommandWithArg<TextEditingTarget> command,
+                           Command onFailure)
+   {
       if (!(target instanceof TextEditingTarget))
       {
          if (onFailure != null)
@@ -2740,13 +2732,8 @@ public class SourceColumnManager implements CommandPaletteEntrySource,
 
    private void pasteFileContentsAtCursor(final String path, final String encoding)
    {
-      if (activeColumn_ == null)
-         return;
-
-      EditingTarget activeEditor = activeColumn_.getActiveEditor();
-      if (activeEditor instanceof TextEditingTarget)
+      withTarget(null, target ->
       {
-         final TextEditingTarget target = (TextEditingTarget) activeEditor;
          server_.getFileContents(path, encoding, new ServerRequestCallback<String>()
          {
             @Override
@@ -2761,7 +2748,7 @@ public class SourceColumnManager implements CommandPaletteEntrySource,
                Debug.logError(error);
             }
          });
-      }
+      });
    }
 
    private void pasteRCodeExecutionResult(final String code)
@@ -2771,12 +2758,7 @@ public class SourceColumnManager implements CommandPaletteEntrySource,
          @Override
          public void onResponseReceived(String output)
          {
-            if (hasActiveEditor() &&
-                activeColumn_.getActiveEditor() instanceof TextEditingTarget)
-            {
-               TextEditingTarget editor = (TextEditingTarget) activeColumn_.getActiveEditor();
-               editor.insertCode(output, false);
-            }
+            withTarget(null, editor -> editor.insertCode(output, false));
          }
 
          @Override
@@ -2789,49 +2771,22 @@ public class SourceColumnManager implements CommandPaletteEntrySource,
 
    private void reflowText()
    {
-      if (hasActiveEditor() &&
-          activeColumn_.getActiveEditor() instanceof TextEditingTarget)
-      {
-         TextEditingTarget editor = (TextEditingTarget) activeColumn_.getActiveEditor();
-         editor.reflowText();
-      }
+      withTarget(null, editor -> editor.reflowText());
    }
 
    private void reindent()
    {
-      if (hasActiveEditor() &&
-          activeColumn_.getActiveEditor() instanceof TextEditingTarget)
-      {
-         TextEditingTarget editor = (TextEditingTarget) activeColumn_.getActiveEditor();
-         editor.getDocDisplay().reindent();
-      }
+      withTarget(null, editor -> editor.getDocDisplay().reindent());
    }
 
    private void saveActiveSourceDoc()
    {
-      if (hasActiveEditor() &&
-          activeColumn_.getActiveEditor() instanceof TextEditingTarget)
-      {
-         TextEditingTarget target = (TextEditingTarget) activeColumn_.getActiveEditor();
-         target.save();
-      }
+      withTarget(null, target -> target.save());
    }
 
    private void saveAndCloseActiveSourceDoc()
    {
-      if (hasActiveEditor() &&
-          activeColumn_.getActiveEditor() instanceof TextEditingTarget)
-      {
-         TextEditingTarget target = (TextEditingTarget) activeColumn_.getActiveEditor();
-         target.save(new Command()
-         {
-            @Override
-            public void execute()
-            {
-               onCloseSourceDoc();
-            }
-         });
-      }
+      withTarget(null, target -> target.save(() -> onCloseSourceDoc()));
    }
 
    private void revertActiveDocument()
@@ -2848,12 +2803,7 @@ public class SourceColumnManager implements CommandPaletteEntrySource,
 
    private void showHelpAtCursor()
    {
-      if (hasActiveEditor() &&
-          activeColumn_.getActiveEditor() instanceof TextEditingTarget)
-      {
-         TextEditingTarget editor = (TextEditingTarget) activeColumn_.getActiveEditor();
-         editor.showHelpAtCursor();
-      }
+      withTarget(null, editor -> editor.showHelpAtCursor());
    }
 
    /**
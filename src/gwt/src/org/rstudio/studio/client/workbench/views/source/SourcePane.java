@@ -154,7 +154,7 @@ public class SourcePane extends LazyPanel implements Display,
    @Override
    public void selectTab(Widget child)
    {
-      tabPanel_.selectTab(child);
+      tabPanel_.selectTab(getTabChild(child));
    }
 
    @Override
@@ -169,7 +169,7 @@ public class SourcePane extends LazyPanel implements Display,
                          String value,
                          String tooltip)
    {
-      tabPanel_.replaceDocName(tabPanel_.getWidgetIndex(child),
+      tabPanel_.replaceDocName(tabPanel_.getWidgetIndex(getTabChild(child)),
                                icon,
                                value,
                                tooltip);
@@ -184,7 +184,7 @@ public class SourcePane extends LazyPanel implements Display,
    @Override
    public void setDirty(Widget widget, boolean dirty)
    {
-      Widget tab = tabPanel_.getTabWidget(widget);
+      Widget tab = tabPanel_.getTabWidget(getTabChild(widget));
       if (dirty)
          tab.addStyleName(ThemeStyles.INSTANCE.dirtyTab());
       else
@@ -200,7 +200,20 @@ public class SourcePane extends LazyPanel implements Display,
    @Override
    public void closeTab(Widget child, boolean interactive, Command onClosed)
    {
-      closeTab(tabPanel_.getWidgetIndex(child), interactive, onClosed);
+      closeTab(tabPanel_.getWidgetIndex(getTabChild(child)), interactive, onClosed);
+   }
+
+   // the widget of an editor created for a placeholder tab is shown within
+   // the placeholder's widget, which remains the tab's child
+   private Widget getTabChild(Widget widget)
+   {
+      if (tabPanel_.getWidgetIndex(widget) < 0 &&
+          widget.getParent() != null &&
+          tabPanel_.getWidgetIndex(widget.getParent()) >= 0)
+      {
+         return widget.getParent();
+      }
+      return widget;
    }
 
    @Override
@@ -2729,4 +2729,22 @@ public interface ViewsSourceConstants extends com.google.gwt.i18n.client.Message
     @Key("couldNotResolveIssue")
     String couldNotResolveIssue(String issue);
 
+    /**
+     * Translated "Loading {0}...".
+     *
+     * @return translated "Loading {0}..."
+     */
+    @DefaultMessage("Loading {0}...")
+    @Key("loadingDocument")
+    String loadingDocument(String name);
+
+    /**
+     * Translated "Could not open {0}: {1}".
+     *
+     * @return translated "Could not open {0}: {1}"
+     */
+    @DefaultMessage("Could not open {0}: {1}")
+    @Key("couldNotOpenDocument")
+    String couldNotOpenDocument(String name, String message);
+
 }
@@ -169,6 +169,31 @@ public class ObjectExplorerDataGrid
          return !!this["matched"];
       }-*/;
 
+      // The lower-cased text searched when filtering (the node's
+      // name, type and description); computed once and cached.
+      public final String getSearchKey()
+      {
+         String key = getSearchKeyImpl();
+         if (key == null)
+         {
+            key = (getDisplayName() + "\0" +
+                   getDisplayType() + "\0" +
+                   getDisplayDesc()).toLowerCase();
+            setSearchKeyImpl(key);
+         }
+         return key;
+      }
+
+      private final native String getSearchKeyImpl()
+      /*-{
+         return this["search_key"] || null;
+      }-*/;
+
+      private final native void setSearchKeyImpl(String key)
+      /*-{
+         this["search_key"] = key;
+      }-*/;
+
       // The current expansion state of this row.
       // Rows can either be expanded (children are visible),
       // or not expanded (children are hidden).
@@ -626,7 +651,40 @@ public class ObjectExplorerDataGrid
    public void setFilter(String filter)
    {
       filter_ = filter;
-      synchronize();
+      if (root_ == null)
+         return;
+
+      String matchFilter = normalizeFilter(filter);
+      if (matchFilter.equals(matchFilter_))
+         return;
+
+      saveScrollPosition();
+
+      List<Data> candidates;
+      if (!matchFilter_.isEmpty() && matchFilter.contains(matchFilter_))
+      {
+         // the filter has been narrowed: only rows matching the previous
+         // filter can match this one, and those are all currently shown
+         candidates = getData();
+         for (Data data : candidates)
+         {
+            if (data.isMatched())
+               updateMatched(data, matchFilter);
+         }
+      }
+      else
+      {
+         candidates = rows_;
+         if (!matchFilter.isEmpty())
+         {
+            for (Data data : candidates)
+               updateMatched(data, matchFilter);
+         }
+      }
+
+      matchFilter_ = matchFilter;
+      setData(filterRows(candidates));
+      redraw();
    }
 
    public HandlerRegistration addSelectionChangedHandler(SelectionChangedEvent.Handler handler)
@@ -1013,8 +1071,8 @@ public class ObjectExplorerDataGrid
             if (attributes != null)
                attributes.setVisible(true);
 
-            // force update of data grid
-            synchronize();
+            // update data grid
+            synchronizeSubtree(data);
             setFocusDeferred(true);
          }
       });
@@ -1047,8 +1105,8 @@ public class ObjectExplorerDataGrid
             if (attributes != null)
                attributes.setVisible(false);
 
-            // force update of data grid
-            synchronize();
+            // update data grid
+            synchronizeSubtree(data);
             setFocusDeferred(true);
          }
       });
@@ -1087,7 +1145,7 @@ public class ObjectExplorerDataGrid
    private void retrieveMore(int row)
    {
       Data data = getData().get(row);
-      Data parent = data.getParentData();
+      final Data parent = data.getParentData();
       if (parent == null)
          return;
 
@@ -1102,7 +1160,7 @@ public class ObjectExplorerDataGrid
          @Override
          public void execute()
          {
-            synchronize();
+            synchronizeSubtree(parent);
          }
       });
    }
@@ -1209,66 +1267,103 @@ public class ObjectExplorerDataGrid
    {
       saveScrollPosition();
 
-      final String filter = StringUtil.notNull(filter_).trim();
-
       // only include visible data in the table
-      // TODO: we should consider how to better handle
-      // piecewise updates to the table, rather than
-      // shunting a whole new list in
-      List<Data> data = flatten(root_, new Filter<Data>()
+      rows_ = flatten(root_, VISIBLE);
+
+      // detect which rows match the current filter
+      matchFilter_ = normalizeFilter(filter_);
+      if (!matchFilter_.isEmpty())
+      {
+         for (Data data : rows_)
+            updateMatched(data, matchFilter_);
+      }
+
+      setData(filterRows(rows_));
+      redraw();
+   }
+
+   // Update the table after the rows beneath 'data' have changed
+   // (e.g. it was expanded or collapsed), re-flattening only its subtree.
+   private void synchronizeSubtree(Data data)
+   {
+      int index = rows_.indexOf(data);
+      if (index == -1)
+      {
+         synchronize();
+         return;
+      }
+
+      saveScrollPosition();
+
+      List<Data> subtree = flatten(data, VISIBLE);
+      if (!matchFilter_.isEmpty())
+      {
+         for (Data row : subtree)
+            updateMatched(row, matchFilter_);
+      }
+      replaceSubtree(rows_, index, subtree);
+
+      List<Data> shown = new ArrayList<>(getData());
+      int shownIndex = shown.indexOf(data);
+      if (shownIndex == -1)
+         shown = filterRows(rows_);
+      else
+         replaceSubtree(shown, shownIndex, filterRows(subtree));
+
+      setData(shown);
+      redraw();
+   }
+
+   // Replace the rows for the node at 'index' (that is, the node itself
+   // and the descendant rows following it) with 'rows'.
+   private static void replaceSubtree(List<Data> list, int index, List<Data> rows)
+   {
+      Data data = list.get(index);
+      int end = index + 1;
+      while (end < list.size() && list.get(end).hasParentData(data))
+         end++;
+
+      list.subList(index, end).clear();
+      list.addAll(index, rows);
+   }
+
+   // Remove rows which neither match the current filter, nor have
+   // a parent that matches it.
+   private List<Data> filterRows(List<Data> rows)
+   {
+      if (matchFilter_.isEmpty())
+         return new ArrayList<>(rows);
+
+      return ListUtil.filter(rows, new FilterPredicate<Data>()
       {
          @Override
-         public boolean accept(Data data)
+         public boolean test(Data object)
          {
-            // detect if this matches the current filter
-            if (!filter.isEmpty())
+            for (Data self = object;
+                 self != null;
+                 self = self.getParentData())
             {
-               data.setMatched(false);
-               String[] fields = {
-                     data.getDisplayName(),
-                     data.getDisplayType(),
-                     data.getDisplayDesc()
-               };
-
-               for (String field : fields)
-               {
-                  int index = field.toLowerCase().indexOf(filter.toLowerCase());
-                  if (index != -1)
-                  {
-                     data.setMatched(true);
-                     break;
-                  }
-               }
+               if (self.isMatched())
+                  return true;
             }
 
-            // otherwise, check whether it's currently visible
-            return data.isVisible();
+            return false;
          }
       });
+   }
 
-      // remove entries that don't match filter
-      if (!filter.isEmpty())
-      {
-         data = ListUtil.filter(data, new FilterPredicate<Data>()
-         {
-            @Override
-            public boolean test(Data object)
-            {
-               for (Data self = object;
-                    self != null;
-                    self = self.getParentData())
-               {
-                  if (self.isMatched())
-                     return true;
-               }
+   private static void updateMatched(Data data, String filter)
+   {
+      // 'More...' placeholders are shown based on their parent
+      if (data.isMorePlaceholder())
+         return;
 
-               return false;
-            }
-         });
-      }
+      data.setMatched(data.getSearchKey().indexOf(filter) != -1);
+   }
 
-      setData(data);
-      redraw();
+   private static String normalizeFilter(String filter)
+   {
+      return StringUtil.notNull(filter).trim().toLowerCase();
    }
 
    @Override
@@ -1378,6 +1473,11 @@ public class ObjectExplorerDataGrid
    private TableRowElement hoveredRow_;
    private boolean showAttributes_;
    private String filter_;
+
+   // all visible rows (before filtering), and the (normalized)
+   // filter the rows' match state was last computed for
+   private List<Data> rows_ = new ArrayList<>();
+   private String matchFilter_ = "";
    private boolean didReceiveNonRepeatingKeyDownEvent_ = false;
 
    // Injected ----
@@ -1397,6 +1497,15 @@ public class ObjectExplorerDataGrid
    private static final String ACTION_EXTRACT = "extract";
    private static final String ACTION_VIEW    = "view";
 
+   private static final Filter<Data> VISIBLE = new Filter<Data>()
+   {
+      @Override
+      public boolean accept(Data data)
+      {
+         return data.isVisible();
+      }
+   };
+
    private static final String TAG_ATTRIBUTES = "attributes";
    private static final String TAG_VIRTUAL    = "virtual";
 
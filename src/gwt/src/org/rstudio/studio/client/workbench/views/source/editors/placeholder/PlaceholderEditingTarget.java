@@ -0,0 +1,594 @@
+/*
+ * PlaceholderEditingTarget.java
+ *
+ * Copyright (C) 2022 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.source.editors.placeholder;
+
+import com.google.gwt.core.client.GWT;
+import com.google.gwt.event.logical.shared.CloseEvent;
+import com.google.gwt.event.logical.shared.CloseHandler;
+import com.google.gwt.event.shared.GwtEvent;
+import com.google.gwt.event.shared.HandlerManager;
+import com.google.gwt.event.shared.HandlerRegistration;
+import com.google.gwt.user.client.Command;
+import com.google.gwt.user.client.ui.HasValue;
+import com.google.gwt.user.client.ui.Label;
+import com.google.gwt.user.client.ui.Widget;
+
+import org.rstudio.core.client.CommandWithArg;
+import org.rstudio.core.client.command.AppCommand;
+import org.rstudio.core.client.events.EnsureHeightEvent;
+import org.rstudio.core.client.events.EnsureVisibleEvent;
+import org.rstudio.core.client.files.FileSystemContext;
+import org.rstudio.core.client.files.FileSystemItem;
+import org.rstudio.core.client.widget.SimplePanelWithProgress;
+import org.rstudio.studio.client.common.ReadOnlyValue;
+import org.rstudio.studio.client.common.Value;
+import org.rstudio.studio.client.common.filetypes.FileIcon;
+import org.rstudio.studio.client.common.filetypes.FileType;
+import org.rstudio.studio.client.common.filetypes.TextFileType;
+import org.rstudio.studio.client.palette.model.CommandPaletteEntryProvider;
+import org.rstudio.studio.client.workbench.views.source.SourceColumn;
+import org.rstudio.studio.client.workbench.views.source.ViewsSourceConstants;
+import org.rstudio.studio.client.workbench.views.source.editors.EditingTarget;
+import org.rstudio.studio.client.workbench.views.source.editors.EditingTargetSource.EditingTargetNameProvider;
+import org.rstudio.studio.client.workbench.views.source.editors.text.ace.Position;
+import org.rstudio.studio.client.workbench.views.source.events.CollabEditStartParams;
+import org.rstudio.studio.client.workbench.views.source.model.SourceDocument;
+import org.rstudio.studio.client.workbench.views.source.model.SourcePosition;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+
+/**
+ * Stands in for the editor of a document restored at session start until
+ * the document is first needed. A placeholder holds only the document's
+ * metadata; the document is fetched from the server, and its editing target
+ * created, when the tab is first activated or something needs the document.
+ *
+ * Once loaded, the column replaces the placeholder with the real editing
+ * target, whose widget is shown within the placeholder's (so the tab itself
+ * doesn't change); any calls still made on the placeholder are forwarded to
+ * the real target. Until then, operations on the document are queued until
+ * it's loaded, and queries are answered as for a clean document.
+ */
+public class PlaceholderEditingTarget implements EditingTarget
+{
+   public interface Loader
+   {
+      /**
+       * Fetches the placeholder's document and creates its editing target,
+       * calling onLoaded (or onLoadFailed) when done.
+       */
+      void load(PlaceholderEditingTarget placeholder);
+   }
+
+   public PlaceholderEditingTarget(SourceDocument document,
+                                   FileType type,
+                                   Loader loader)
+   {
+      doc_ = document;
+      type_ = type;
+      loader_ = loader;
+      name_.setValue(FileSystemItem.getNameFromPath(document.getPath()), true);
+   }
+
+   public SourceDocument getDocument()
+   {
+      return doc_;
+   }
+
+   public boolean isLoaded()
+   {
+      return target_ != null;
+   }
+
+   /**
+    * Runs an operation on the document's editing target, loading the
+    * document first if necessary.
+    */
+   public void withTarget(CommandWithArg<EditingTarget> operation)
+   {
+      withTarget(operation, null);
+   }
+
+   /**
+    * As above, but runs onFailure instead if the document can't be loaded
+    * (or the tab is closed before it is).
+    */
+   public void withTarget(CommandWithArg<EditingTarget> operation,
+                          Command onFailure)
+   {
+      if (target_ != null)
+      {
+         operation.execute(target_);
+         return;
+      }
+
+      if (dismissed_)
+      {
+         if (onFailure != null)
+            onFailure.execute();
+         return;
+      }
+
+      pending_.add(operation);
+      if (onFailure != null)
+         pendingFailures_.add(onFailure);
+      load();
+   }
+
+   public void load()
+   {
+      if (target_ != null || loading_ || dismissed_)
+         return;
+
+      loading_ = true;
+      panel_.showProgress(PROGRESS_DELAY_MS,
+                          constants_.loadingDocument(name_.getValue()));
+      loader_.load(this);
+   }
+
+   public void onLoaded(EditingTarget target)
+   {
+      loading_ = false;
+      target_ = target;
+
+      Widget widget = target.asWidget();
+      widget.setSize("100%", "100%");
+      panel_.setWidget(widget);
+
+      ArrayList<CommandWithArg<EditingTarget>> pending = new ArrayList<>(pending_);
+      pending_.clear();
+      pendingFailures_.clear();
+      for (CommandWithArg<EditingTarget> operation : pending)
+         operation.execute(target);
+   }
+
+   public void onLoadFailed(String message)
+   {
+      // the document will be loaded again the next time it's needed
+      loading_ = false;
+      failPending();
+      panel_.setWidget(new Label(
+            constants_.couldNotOpenDocument(name_.getValue(), message)));
+   }
+
+   private void failPending()
+   {
+      ArrayList<Command> failures = new ArrayList<>(pendingFailures_);
+      pending_.clear();
+      pendingFailures_.clear();
+      for (Command onFailure : failures)
+         onFailure.execute();
+   }
+
+   @Override
+   public String getId()
+   {
+      return doc_.getId();
+   }
+
+   @Override
+   public HasValue<String> getName()
+   {
+      return target_ != null ? target_.getName() : name_;
+   }
+
+   @Override
+   public String getTitle()
+   {
+      return getName().getValue();
+   }
+
+   @Override
+   public String getPath()
+   {
+      return target_ != null ? target_.getPath() : doc_.getPath();
+   }
+
+   @Override
+   public String getContext()
+   {
+      return target_ != null ? target_.getContext() : null;
+   }
+
+   @Override
+   public FileIcon getIcon()
+   {
+      return target_ != null ? target_.getIcon() : type_.getDefaultFileIcon();
+   }
+
+   @Override
+   public String getTabTooltip()
+   {
+      return getPath();
+   }
+
+   @Override
+   public FileType getFileType()
+   {
+      return target_ != null ? target_.getFileType() : type_;
+   }
+
+   @Override
+   public TextFileType getTextFileType()
+   {
+      if (target_ != null)
+         return target_.getTextFileType();
+      return type_ instanceof TextFileType ? (TextFileType) type_ : null;
+   }
+
+   @Override
+   public void adaptToExtendedFileType(String extendedType)
+   {
+      withTarget(target -> target.adaptToExtendedFileType(extendedType));
+   }
+
+   @Override
+   public String getExtendedFileType()
+   {
+      return target_ != null ? target_.getExtendedFileType() : doc_.getExtendedType();
+   }
+
+   @Override
+   public boolean isShinyPrerenderedDoc()
+   {
+      return target_ != null && target_.isShinyPrerenderedDoc();
+   }
+
+   @Override
+   public HashSet<AppCommand> getSupportedCommands()
+   {
+      return target_ != null ? target_.getSupportedCommands() : new HashSet<>();
+   }
+
+   @Override
+   public void manageCommands()
+   {
+      if (target_ != null)
+         target_.manageCommands();
+   }
+
+   @Override
+   public boolean canCompilePdf()
+   {
+      return target_ != null && target_.canCompilePdf();
+   }
+
+   @Override
+   public void verifyCppPrerequisites()
+   {
+      withTarget(target -> target.verifyCppPrerequisites());
+   }
+
+   @Override
+   public void verifyPythonPrerequisites()
+   {
+      withTarget(target -> target.verifyPythonPrerequisites());
+   }
+
+   @Override
+   public void verifyD3Prerequisites()
+   {
+      withTarget(target -> target.verifyD3Prerequisites());
+   }
+
+   @Override
+   public void verifyNewSqlPrerequisites()
+   {
+      withTarget(target -> target.verifyNewSqlPrerequisites());
+   }
+
+   @Override
+   public void focus()
+   {
+      // the column focuses the editor once loaded, if it's still active
+      if (target_ != null)
+         target_.focus();
+   }
+
+   @Override
+   public void onActivate()
+   {
+      if (target_ != null)
+         target_.onActivate();
+      else
+         load();
+   }
+
+   @Override
+   public void onDeactivate()
+   {
+      if (target_ != null)
+         target_.onDeactivate();
+   }
+
+   @Override
+   public void onInitiallyLoaded()
+   {
+      withTarget(target -> target.onInitiallyLoaded());
+   }
+
+   @Override
+   public void recordCurrentNavigationPosition()
+   {
+      if (target_ != null)
+         target_.recordCurrentNavigationPosition();
+   }
+
+   @Override
+   public void navigateToPosition(SourcePosition position,
+                                  boolean recordCurrent)
+   {
+      withTarget(target -> target.navigateToPosition(position, recordCurrent));
+   }
+
+   @Override
+   public void navigateToPosition(SourcePosition position,
+                                  boolean recordCurrent,
+                                  boolean highlightLine)
+   {
+      withTarget(target -> target.navigateToPosition(
+            position, recordCurrent, highlightLine));
+   }
+
+   @Override
+   public void navigateToPosition(SourcePosition position,
+                                  boolean recordCurrent,
+                                  boolean highlightLine,
+                                  boolean moveCursor,
+                                  Command onNavigationCompleted)
+   {
+      withTarget(target -> target.navigateToPosition(
+            position, recordCurrent, highlightLine, moveCursor, onNavigationCompleted));
+   }
+
+   @Override
+   public void restorePosition(SourcePosition position)
+   {
+      withTarget(target -> target.restorePosition(position));
+   }
+
+   @Override
+   public SourcePosition currentPosition()
+   {
+      return target_ != null ? target_.currentPosition() : null;
+   }
+
+   @Override
+   public boolean isAtSourceRow(SourcePosition position)
+   {
+      return target_ != null && target_.isAtSourceRow(position);
+   }
+
+   @Override
+   public void forceLineHighlighting()
+   {
+      withTarget(target -> target.forceLineHighlighting());
+   }
+
+   @Override
+   public void setSourceOnSave(boolean sourceOnSave)
+   {
+      withTarget(target -> target.setSourceOnSave(sourceOnSave));
+   }
+
+   @Override
+   public void setCursorPosition(Position position)
+   {
+      withTarget(target -> target.setCursorPosition(position));
+   }
+
+   @Override
+   public void ensureCursorVisible()
+   {
+      withTarget(target -> target.ensureCursorVisible());
+   }
+
+   @Override
+   public Position search(String regex)
+   {
+      return target_ != null ? target_.search(regex) : null;
+   }
+
+   @Override
+   public Position search(Position startPos, String regex)
+   {
+      return target_ != null ? target_.search(startPos, regex) : null;
+   }
+
+   @Override
+   public void highlightDebugLocation(SourcePosition startPos,
+                                      SourcePosition endPos,
+                                      boolean executing)
+   {
+      withTarget(target -> target.highlightDebugLocation(startPos, endPos, executing));
+   }
+
+   @Override
+   public void endDebugHighlighting()
+   {
+      if (target_ != null)
+         target_.endDebugHighlighting();
+   }
+
+   @Override
+   public void beginCollabSession(CollabEditStartParams params)
+   {
+      withTarget(target -> target.beginCollabSession(params));
+   }
+
+   @Override
+   public void endCollabSession()
+   {
+      if (target_ != null)
+         target_.endCollabSession();
+   }
+
+   @Override
+   public boolean onBeforeDismiss()
+   {
+      return target_ == null || target_.onBeforeDismiss();
+   }
+
+   @Override
+   public void onDismiss(int dismissType)
+   {
+      if (target_ != null)
+      {
+         target_.onDismiss(dismissType);
+         return;
+      }
+
+      dismissed_ = true;
+      failPending();
+   }
+
+   @Override
+   public ReadOnlyValue<Boolean> dirtyState()
+   {
+      // placeholders are only used for documents that were clean when
+      // restored, and can't be modified until loaded
+      return target_ != null ? target_.dirtyState() : dirtyState_;
+   }
+
+   @Override
+   public boolean isSaveCommandActive()
+   {
+      return target_ != null && target_.isSaveCommandActive();
+   }
+
+   @Override
+   public void forceSaveCommandActive()
+   {
+      withTarget(target -> target.forceSaveCommandActive());
+   }
+
+   @Override
+   public void save(Command onCompleted)
+   {
+      if (target_ != null)
+         target_.save(onCompleted);
+      else
+         onCompleted.execute();
+   }
+
+   @Override
+   public void saveWithPrompt(Command onCompleted, Command onCancelled)
+   {
+      if (target_ != null)
+         target_.saveWithPrompt(onCompleted, onCancelled);
+      else
+         onCompleted.execute();
+   }
+
+   @Override
+   public void revertChanges(Command onCompleted)
+   {
+      if (target_ != null)
+         target_.revertChanges(onCompleted);
+      else
+         onCompleted.execute();
+   }
+
+   @Override
+   public void initialize(SourceColumn column,
+                          SourceDocument document,
+                          FileSystemContext fileContext,
+                          FileType type,
+                          EditingTargetNameProvider defaultNameProvider)
+   {
+      // placeholders are created directly by their column, with their
+      // document's metadata
+   }
+
+   @Override
+   public long getFileSizeLimit()
+   {
+      return target_ != null ? target_.getFileSizeLimit() : Long.MAX_VALUE;
+   }
+
+   @Override
+   public long getLargeFileSize()
+   {
+      return target_ != null ? target_.getLargeFileSize() : Long.MAX_VALUE;
+   }
+
+   @Override
+   public String getDefaultNamePrefix()
+   {
+      return null;
+   }
+
+   @Override
+   public String getCurrentStatus()
+   {
+      return target_ != null
+            ? target_.getCurrentStatus()
+            : constants_.loadingDocument(name_.getValue());
+   }
+
+   @Override
+   public CommandPaletteEntryProvider getPaletteEntryProvider()
+   {
+      return target_ != null ? target_.getPaletteEntryProvider() : null;
+   }
+
+   @Override
+   public Widget asWidget()
+   {
+      return panel_;
+   }
+
+   @Override
+   public HandlerRegistration addEnsureVisibleHandler(EnsureVisibleEvent.Handler handler)
+   {
+      return handlers_.addHandler(EnsureVisibleEvent.TYPE, handler);
+   }
+
+   @Override
+   public HandlerRegistration addEnsureHeightHandler(EnsureHeightEvent.Handler handler)
+   {
+      return handlers_.addHandler(EnsureHeightEvent.TYPE, handler);
+   }
+
+   @Override
+   public HandlerRegistration addCloseHandler(CloseHandler<Void> handler)
+   {
+      return handlers_.addHandler(CloseEvent.getType(), handler);
+   }
+
+   @Override
+   public void fireEvent(GwtEvent<?> event)
+   {
+      handlers_.fireEvent(event);
+   }
+
+   private final SourceDocument doc_;
+   private final FileType type_;
+   private final Loader loader_;
+   private final Value<String> name_ = new Value<>(null);
+   private final Value<Boolean> dirtyState_ = new Value<>(false);
+   private final SimplePanelWithProgress panel_ = new SimplePanelWithProgress();
+   private final HandlerManager handlers_ = new HandlerManager(this);
+   private final ArrayList<CommandWithArg<EditingTarget>> pending_ = new ArrayList<>();
+   private final ArrayList<Command> pendingFailures_ = new ArrayList<>();
+
+   private EditingTarget target_;
+   private boolean loading_;
+   private boolean dismissed_;
+
+   private static final int PROGRESS_DELAY_MS = 200;
+   private static final ViewsSourceConstants constants_ = GWT.create(ViewsSourceConstants.class);
+}
@@ -77,6 +77,7 @@ import org.rstudio.studio.client.workbench.views.output.lint.model.LintItem;
 import org.rstudio.studio.client.workbench.views.source.editors.text.AceEditorWidget.TabKeyMode;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.AceAfterCommandExecutedEvent;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.AceBackgroundHighlighter;
+import org.rstudio.studio.client.workbench.views.source.editors.text.ace.AceBackgroundWorkScheduler;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.AceClickEvent.Handler;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.AceCommand;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.AceCommandManager;
@@ -353,6 +354,7 @@ public class AceEditor implements DocDisplay,
 
       backgroundTokenizer_ = new BackgroundTokenizer(this);
       vim_ = new Vim(this);
+      backgroundWorkScheduler_ = new AceBackgroundWorkScheduler(this);
       bgLinkHighlighter_ = new AceEditorBackgroundLinkHighlighter(this);
       bgChunkHighlighter_ = new AceBackgroundHighlighter(this);
 
@@ -1293,6 +1295,55 @@ public class AceEditor implements DocDisplay,
          applyChanges.run();
    }
 
+   /**
+    * Applies a set of whole-line changes (expressed in the coordinates of
+    * the current document, and in document order), preserving the cursor
+    * position and undo history. Only the changed lines are touched.
+    */
+   public void applyLineChanges(List<TextEditorContainer.LineChange> changes)
+   {
+      withPreservedCursorPosition(() ->
+      {
+         EditSession session = getSession();
+
+         // apply from the bottom up so earlier rows stay valid
+         for (int i = changes.size() - 1; i >= 0; i--)
+         {
+            TextEditorContainer.LineChange change = changes.get(i);
+            int row = change.row;
+            int lastRow = row + change.removedCount - 1;
+            int n = session.getLength();
+            String text = change.lines.join("\n");
+
+            if (change.removedCount > 0 && change.lines.length() > 0)
+            {
+               session.replace(
+                     Range.create(row, 0, lastRow, session.getLine(lastRow).length()),
+                     text);
+            }
+            else if (change.removedCount > 0)
+            {
+               // remove the lines along with their newline
+               if (lastRow + 1 < n)
+                  session.replace(Range.create(row, 0, lastRow + 1, 0), "");
+               else if (row > 0)
+                  session.replace(Range.create(row - 1, session.getLine(row - 1).length(),
+                                               lastRow, session.getLine(lastRow).length()), "");
+               else
+                  session.replace(Range.create(0, 0, lastRow, session.getLine(lastRow).length()), "");
+            }
+            else if (change.lines.length() > 0)
+            {
+               // insert the lines before row (or after the last row)
+               if (row < n)
+                  session.insert(Position.create(row, 0), text + "\n");
+               else
+                  session.insert(Position.create(n - 1, session.getLine(n - 1).length()), "\n" + text);
+            }
+         }
+      });
+   }
+
    private static Position advancePosition(EditSession session, Position startPos, Integer chars)
    {
       // iterate through rows until we've consumed all the chars
@@ -2314,6 +2365,12 @@ public class AceEditor implements DocDisplay,
       return new AceEditorChangeTracker();
    }
 
+   @Override
+   public int getDroppedChangeEventCount()
+   {
+      return widget_.getDroppedChangeEventCount();
+   }
+
    // Because anchored selections create Ace event listeners, they
    // must be explicitly detached (otherwise they will listen for
    // edit events into perpetuity). The easiest way to facilitate this
@@ -4339,6 +4396,11 @@ public class AceEditor implements DocDisplay,
       return lastCursorChangedTime_;
    }
 
+   public AceBackgroundWorkScheduler getBackgroundWorkScheduler()
+   {
+      return backgroundWorkScheduler_;
+   }
+
    public int getFirstVisibleRow()
    {
       return widget_.getEditor().getFirstVisibleRow();
@@ -4815,6 +4877,7 @@ public class AceEditor implements DocDisplay,
    private boolean showChunkOutputInline_ = false;
    private BackgroundTokenizer backgroundTokenizer_;
    private final Vim vim_;
+   private final AceBackgroundWorkScheduler backgroundWorkScheduler_;
    private final AceBackgroundHighlighter bgChunkHighlighter_;
    private final AceEditorBackgroundLinkHighlighter bgLinkHighlighter_;
    private int scrollTarget_ = 0;
@@ -171,13 +171,16 @@ public class AceEditorWidget extends Composite
             if (inOnChangeHandler_)
             {
                Debug.log("Warning: ignoring recursive ACE change event");
+               droppedChangeEvents_++;
                return;
             }
             inOnChangeHandler_ = true;
+            boolean delivered = false;
             try
             {
                ValueChangeEvent.fire(AceEditorWidget.this, null);
                AceEditorWidget.this.fireEvent(new DocumentChangedEvent(event));
+               delivered = true;
 
                updateBreakpoints(event);
                updateAnnotations(event);
@@ -200,6 +203,8 @@ public class AceEditorWidget extends Composite
             {
                Debug.log("Exception occurred during ACE change event: " +
                          ex.getMessage());
+               if (!delivered)
+                  droppedChangeEvents_++;
             }
             inOnChangeHandler_ = false;
          }
@@ -1390,6 +1395,16 @@ public class AceEditorWidget extends Composite
       return isRendered_;
    }
 
+   /**
+    * @return The number of change events ignored because they were fired
+    *    while another was being handled (or whose handling failed), so that
+    *    listeners tracking individual changes can tell they've missed some.
+    */
+   public int getDroppedChangeEventCount()
+   {
+      return droppedChangeEvents_;
+   }
+
    public enum TabKeyMode
    {
       TrackUserPref,
@@ -1426,6 +1441,7 @@ public class AceEditorWidget extends Composite
    private final List<HandlerRegistration> aceEventHandlers_;
    private boolean initToEmptyString_ = true;
    private boolean inOnChangeHandler_ = false;
+   private int droppedChangeEvents_ = 0;
    private boolean isRendered_ = false;
    private final ArrayList<Breakpoint> breakpoints_ = new ArrayList<>();
    private ArrayList<AnchoredAceAnnotation> annotations_ = new ArrayList<>();
@@ -19,6 +19,7 @@ import org.rstudio.studio.client.RStudioGinjector;
 import org.rstudio.studio.client.application.ApplicationUncaughtExceptionHandler;
 import org.rstudio.studio.client.common.satellite.Satellite;
 import org.rstudio.studio.client.common.satellite.SatelliteApplication;
+import org.rstudio.studio.client.server.remote.ClientEvent;
 import org.rstudio.studio.client.workbench.commands.Commands;
 import org.rstudio.studio.client.workbench.prefs.model.UserPrefs;
 import org.rstudio.studio.client.workbench.views.source.editors.text.themes.AceThemes;
@@ -46,6 +47,20 @@ public class ChunkSatellite extends SatelliteApplication
    {
       initialize(name_, view, satellite, pAceThemes, pUserPrefs, exHandler, commands);
    }
+
+   @Override
+   protected String[] getEventSubscriptions()
+   {
+      // chunk windows only render chunk output (and the console output
+      // emitted while their chunk runs)
+      return withCommonEventTypes(
+            ClientEvent.ConsoleOutput,
+            ClientEvent.ConsoleError,
+            ClientEvent.ChunkOutput,
+            ClientEvent.ChunkOutputFinished,
+            ClientEvent.ChunkPlotRefreshed,
+            ClientEvent.ChunkPlotRefreshFinished);
+   }
    
    private final String name_;
 }
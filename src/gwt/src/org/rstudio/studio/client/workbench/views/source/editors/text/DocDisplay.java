@@ -135,6 +135,7 @@ public interface DocDisplay extends HasValueChangeHandlers<Void>,
    void insertCode(InputEditorPosition position, String code);
    void applyChanges(TextChange[] changes);
    void applyChanges(TextChange[] changes, boolean preserveCursorPosition);
+   void applyLineChanges(List<TextEditorContainer.LineChange> changes);
    void focus();
    boolean isFocused();
    void print();
@@ -174,6 +175,7 @@ public interface DocDisplay extends HasValueChangeHandlers<Void>,
    void reindent();
    void reindent(Range range);
    ChangeTracker getChangeTracker();
+   int getDroppedChangeEventCount();
 
    String getCode(Position start, Position end);
    DocDisplay.AnchoredSelection createAnchoredSelection(Widget hostWidget,
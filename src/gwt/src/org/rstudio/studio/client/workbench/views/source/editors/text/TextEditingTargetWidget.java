@@ -1997,6 +1997,12 @@ public class TextEditingTargetWidget
          }
       }
 
+      @Override
+      public void applyLineChanges(List<TextEditorContainer.LineChange> changes)
+      {
+         editor_.applyLineChanges(changes);
+      }
+
       @Override
       public String getCode()
       {
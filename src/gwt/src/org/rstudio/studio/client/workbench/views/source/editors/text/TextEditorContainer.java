@@ -16,11 +16,13 @@
 package org.rstudio.studio.client.workbench.views.source.editors.text;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import org.rstudio.core.client.patch.TextChange;
 import org.rstudio.core.client.widget.CanFocus;
 import org.rstudio.core.client.widget.IsHideableWidget;
 
+import com.google.gwt.core.client.JsArrayString;
 import com.google.gwt.dom.client.Style.Unit;
 import com.google.gwt.user.client.ui.LayoutPanel;
 
@@ -43,6 +45,21 @@ public class TextEditorContainer extends LayoutPanel implements CanFocus
       public final Navigator navigator;
    }
 
+   // replaces a run of whole lines (possibly empty) starting at row
+   public static class LineChange
+   {
+      public LineChange(int row, int removedCount, JsArrayString lines)
+      {
+         this.row = row;
+         this.removedCount = removedCount;
+         this.lines = lines;
+      }
+      
+      public final int row;
+      public final int removedCount;
+      public final JsArrayString lines;
+   }
+
    public static interface Navigator
    {
       void onNavigate(DocDisplay docDisplay);
@@ -53,6 +70,7 @@ public class TextEditorContainer extends LayoutPanel implements CanFocus
       String getCode();
       void setCode(String code);
       void applyChanges(Changes changes, boolean activatingEditor);
+      void applyLineChanges(List<LineChange> changes);
    }
    
    public TextEditorContainer(Editor editor)
@@ -34,7 +34,6 @@ import com.google.gwt.core.client.JavaScriptObject;
 import com.google.gwt.event.logical.shared.ValueChangeEvent;
 import com.google.gwt.event.logical.shared.ValueChangeHandler;
 import com.google.gwt.event.shared.HandlerRegistration;
-import com.google.gwt.user.client.Timer;
 import com.google.inject.Inject;
 
 public class AceBackgroundHighlighter
@@ -53,107 +52,6 @@ public class AceBackgroundHighlighter
       public Pattern end;
    }
   
-   private class Worker
-   {
-      public Worker()
-      {
-         timer_ = new Timer()
-         {
-            @Override
-            public void run()
-            {
-               work();
-            }
-         };
-      }
-      
-      private void work()
-      {
-         if (!enabled_)
-            return;
-         
-         // determine range to update
-         int n = editor_.getRowCount();
-         int startRow = row_;
-         int endRow = Math.min(startRow + CHUNK_SIZE, editor_.getRowCount());
-         
-         activeHighlightPattern_ = findActiveHighlightPattern(startRow);
-         
-         // first, update local background state for each row
-         for (int row = startRow; row < endRow; row++)
-         {
-            // determine what state this row is in
-            int state = computeState(row);
-            
-            // if there's been no change, bail
-            boolean isConsistentState =
-                  rowStates_.isSet(row) &&
-                  rowPatterns_.isSet(row) &&
-                  (rowStates_.get(row) == state) &&
-                  (rowPatterns_.get(row) == activeHighlightPattern_);
-            
-            if (isConsistentState)
-               break;
-            
-            // update state for this row
-            rowStates_.set(row, state);
-            rowPatterns_.set(row, activeHighlightPattern_);
-         }
-         
-         // then, notify Ace and perform actual rendering of markers
-         for (int row = startRow; row < endRow; row++)
-         {
-            int state = rowStates_.get(row);
-            int marker = markerIds_.get(row, 0);
-            
-            // bail early if no action is necessary
-            boolean isConsistentState =
-                  (state == STATE_TEXT && marker == 0) ||
-                  (state != STATE_TEXT && marker != 0);
-            
-            if (isConsistentState)
-               continue;
-            
-            // clear a pre-existing marker if necessary
-            if (marker != 0)
-            {
-               session_.removeMarker(marker);
-               markerIds_.set(row, 0);
-            }
-            
-            // if this is a non-text state, then draw a marker
-            if (state != STATE_TEXT)
-            {
-               int markerId = session_.addMarker(
-                     Range.create(row, 0, row, Integer.MAX_VALUE),
-                     MARKER_CLASS,
-                     MARKER_TYPE,
-                     false);
-               
-               markerIds_.set(row, markerId);
-            }
-         }
-         
-         // update worker state and reschedule if there's
-         // more work to be done
-         row_ = endRow;
-         if (endRow != n)
-            timer_.schedule(DELAY_MS);
-      }
-      
-      public void start(int row)
-      {
-         row_ = Math.min(row, row_);
-         timer_.schedule(0);
-      }
-      
-      private final Timer timer_;
-      private int row_;
-      
-      private static final int DELAY_MS = 5;
-      private static final int CHUNK_SIZE = 200;
-   }
-   
    public AceBackgroundHighlighter(AceEditor editor)
    {
       RStudioGinjector.INSTANCE.injectMembers(this);
@@ -168,7 +66,11 @@ public class AceBackgroundHighlighter
       rowStates_ = JavaScriptObject.createArray(n).cast();
       rowPatterns_ = JavaScriptObject.createArray(n).cast();
       markerIds_ = JavaScriptObject.createArray(n).cast();
-      worker_ = new Worker();
+
+      // chunk state depends on the rows before it, so rows are processed
+      // in order from the first changed row
+      registration_ = editor.getBackgroundWorkScheduler().register(
+            row -> processRow(row), true);
       
       enabled_ = prefs_.highlightCodeChunks().getGlobalValue();
       prefs_.highlightCodeChunks().addValueChangeHandler(new ValueChangeHandler<Boolean>()
@@ -180,11 +82,13 @@ public class AceBackgroundHighlighter
             if (value)
             {
                enabled_ = true;
+               updateRegistration();
                synchronizeFrom(0);
             }
             else
             {
                enabled_ = false;
+               updateRegistration();
                clearMarkers();
             }
          }
@@ -192,6 +96,7 @@ public class AceBackgroundHighlighter
       
       activeModeId_ = editor.getSession().getMode().getId();
       refreshHighlighters();
+      updateRegistration();
    }
    
    @Inject
@@ -212,6 +117,7 @@ public class AceBackgroundHighlighter
       clearMarkers();
       clearRowState();
       refreshHighlighters();
+      updateRegistration();
       
       if (documentChangedHandler_ != null)
       {
@@ -261,6 +167,74 @@ public class AceBackgroundHighlighter
    }
    
    // Private Methods ----
+   
+   // updates the background state and marker for a row; returns whether the
+   // row's state changed
+   private boolean processRow(int row)
+   {
+      // starting a new run of rows; find the pattern active at this row
+      if (row != lastProcessedRow_ + 1)
+         activeHighlightPattern_ = findActiveHighlightPattern(row);
+      lastProcessedRow_ = row;
+      
+      // determine what state this row is in
+      int state = computeState(row);
+      boolean isConsistentState =
+            rowStates_.isSet(row) &&
+            rowPatterns_.isSet(row) &&
+            (rowStates_.get(row) == state) &&
+            (rowPatterns_.get(row) == activeHighlightPattern_);
+      
+      if (!isConsistentState)
+      {
+         // update state for this row
+         rowStates_.set(row, state);
+         rowPatterns_.set(row, activeHighlightPattern_);
+      }
+      
+      updateMarker(row);
+      return !isConsistentState;
+   }
+   
+   // notify Ace and perform actual rendering of the row's marker
+   private void updateMarker(int row)
+   {
+      int state = rowStates_.get(row);
+      int marker = markerIds_.get(row, 0);
+      
+      // bail early if no action is necessary
+      boolean isConsistentState =
+            (state == STATE_TEXT && marker == 0) ||
+            (state != STATE_TEXT && marker != 0);
+      
+      if (isConsistentState)
+         return;
+      
+      // clear a pre-existing marker if necessary
+      if (marker != 0)
+      {
+         session_.removeMarker(marker);
+         markerIds_.set(row, 0);
+      }
+      
+      // if this is a non-text state, then draw a marker
+      if (state != STATE_TEXT)
+      {
+         int markerId = session_.addMarker(
+               Range.create(row, 0, row, Integer.MAX_VALUE),
+               MARKER_CLASS,
+               MARKER_TYPE,
+               false);
+         
+         markerIds_.set(row, markerId);
+      }
+   }
+   
+   private void updateRegistration()
+   {
+      registration_.setEnabled(enabled_ && !highlightPatterns_.isEmpty());
+   }
+   
    HighlightPattern selectBeginPattern(String line)
    {
       for (HighlightPattern pattern : highlightPatterns_)
@@ -346,11 +320,13 @@ public class AceBackgroundHighlighter
       
       // if this row has no state, then we need to look
       // back until we find a row with cached state
+      int endRow = startRow;
       while (startRow > 0 && !rowStates_.isSet(startRow - 1))
          startRow--;
       
-      // start the worker that will update ace
-      worker_.start(startRow);
+      // have the rows re-processed (visible rows first)
+      lastProcessedRow_ = NO_ROW;
+      registration_.invalidate(startRow, endRow);
    }
    
    private void refreshHighlighters()
@@ -443,7 +419,12 @@ public class AceBackgroundHighlighter
    private final JsVectorInteger markerIds_;
    private final JsVector<HighlightPattern> rowPatterns_;
    
-   private final Worker worker_;
+   private final AceBackgroundWorkScheduler.Registration registration_;
+   private int lastProcessedRow_ = NO_ROW;
+
+   // never one less than a row, so the next row processed always looks up
+   // its active pattern (even row 0)
+   private static final int NO_ROW = -2;
    
    private static final String MARKER_CLASS = "ace_foreign_line background_highlight";
    private static final String MARKER_TYPE = "fullLine";
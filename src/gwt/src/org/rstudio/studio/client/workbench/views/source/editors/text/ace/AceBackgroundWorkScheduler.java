@@ -0,0 +1,500 @@
+/*
+ * AceBackgroundWorkScheduler.java
+ *
+ * Copyright (C) 2022 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.source.editors.text.ace;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.rstudio.core.client.JsVectorBoolean;
+import org.rstudio.studio.client.workbench.views.source.editors.text.AceEditor;
+import org.rstudio.studio.client.workbench.views.source.editors.text.events.DocumentChangedEvent;
+import org.rstudio.studio.client.workbench.views.source.events.ScrollYEvent;
+
+import com.google.gwt.core.client.Duration;
+import com.google.gwt.user.client.Timer;
+
+/**
+ * Schedules the per-row background passes made over an editor's document
+ * (highlighters, link detectors, etc.) so they share a single time-sliced
+ * work loop rather than each walking the whole document on its own timer.
+ *
+ * Rows visible in the editor are processed first, then rows near the
+ * viewport; the rest of the document is only processed while the browser is
+ * idle. Document changes invalidate just the rows they touch.
+ */
+public class AceBackgroundWorkScheduler
+      implements DocumentChangedEvent.Handler,
+                 ScrollYEvent.Handler
+{
+   public interface RowTask
+   {
+      /**
+       * Processes a single row.
+       *
+       * @return Whether the row's state changed. Sequential tasks stop
+       *    once they reach an unchanged row beyond the invalidated rows.
+       */
+      boolean processRow(int row);
+   }
+
+   public class Registration
+   {
+      private Registration(RowTask task, boolean sequential)
+      {
+         task_ = task;
+         sequential_ = sequential;
+      }
+
+      /**
+       * Marks the rows from startRow to endRow (inclusive) as needing to
+       * be processed again.
+       */
+      public void invalidate(int startRow, int endRow)
+      {
+         if (!enabled_)
+            return;
+
+         if (sequential_)
+         {
+            firstDirty_ = Math.min(firstDirty_, startRow);
+            lastDirty_ = Math.max(lastDirty_, endRow);
+         }
+         else
+         {
+            ensureDirtyLength();
+            int n = Math.min(endRow + 1, dirty_.length());
+            for (int row = Math.max(startRow, 0); row < n; row++)
+               markDirty(row);
+            scanRow_ = Math.min(scanRow_, startRow);
+         }
+
+         schedule(0);
+      }
+
+      public void invalidateAll()
+      {
+         if (!enabled_)
+            return;
+
+         int n = editor_.getRowCount();
+         if (sequential_)
+         {
+            firstDirty_ = 0;
+            lastDirty_ = n - 1;
+         }
+         else
+         {
+            dirty_ = JsVectorBoolean.ofLength(n);
+            dirty_.fill(true);
+            dirtyCount_ = n;
+            scanRow_ = 0;
+         }
+
+         schedule(0);
+      }
+
+      /**
+       * Discards any pending work, e.g. when the task has been disabled.
+       */
+      public void clear()
+      {
+         firstDirty_ = Integer.MAX_VALUE;
+         lastDirty_ = -1;
+         dirty_ = JsVectorBoolean.createVector();
+         dirtyCount_ = 0;
+         scanRow_ = Integer.MAX_VALUE;
+      }
+
+      /**
+       * Waits the given number of milliseconds after an edit before
+       * processing the rows it touched (e.g. so links aren't highlighted
+       * while they're still being typed).
+       */
+      public void setEditDelay(int delayMs)
+      {
+         editDelayMs_ = delayMs;
+      }
+
+      /**
+       * Enables or disables the task; disabled tasks ignore document changes
+       * and aren't run, so should be invalidated when re-enabled.
+       */
+      public void setEnabled(boolean enabled)
+      {
+         enabled_ = enabled;
+         if (!enabled)
+            clear();
+      }
+
+      public void remove()
+      {
+         clear();
+         registrations_.remove(this);
+      }
+
+      private boolean hasWork()
+      {
+         if (!enabled_)
+            return false;
+
+         return sequential_
+               ? firstDirty_ != Integer.MAX_VALUE
+               : dirtyCount_ > 0;
+      }
+
+      private boolean isDeferred()
+      {
+         return deferredUntil_ > Duration.currentTimeMillis();
+      }
+
+      private void markDirty(int row)
+      {
+         if (!dirty_.get(row, false))
+         {
+            dirty_.set(row, true);
+            dirtyCount_++;
+         }
+      }
+
+      // the dirty vector is lazily sized, as rows are invalidated
+      private void ensureDirtyLength()
+      {
+         int n = editor_.getRowCount();
+         if (dirty_.length() < n)
+            dirty_.setLength(n);
+      }
+
+      private void onDocumentChanged(int startRow, int insertedRows, int removedRows)
+      {
+         if (!enabled_)
+            return;
+
+         if (editDelayMs_ > 0)
+            deferredUntil_ = Duration.currentTimeMillis() + editDelayMs_;
+
+         if (sequential_)
+         {
+            if (lastDirty_ >= startRow)
+               lastDirty_ = Math.max(startRow, lastDirty_ + insertedRows - removedRows);
+            firstDirty_ = Math.min(firstDirty_, startRow);
+            lastDirty_ = Math.max(lastDirty_, startRow + insertedRows);
+            return;
+         }
+
+         // keep the dirty vector aligned with the rows being shifted
+         if (dirty_.length() <= startRow)
+            dirty_.setLength(startRow + 1);
+
+         if (removedRows > 0)
+         {
+            int end = Math.min(startRow + 1 + removedRows, dirty_.length());
+            for (int row = startRow + 1; row < end; row++)
+               if (dirty_.get(row, false))
+                  dirtyCount_--;
+            dirty_.remove(startRow + 1, removedRows);
+         }
+
+         if (insertedRows > 0)
+         {
+            JsVectorBoolean inserted = JsVectorBoolean.ofLength(insertedRows);
+            inserted.fill(true);
+            dirty_.insert(startRow + 1, inserted);
+            dirtyCount_ += insertedRows;
+         }
+
+         markDirty(startRow);
+         scanRow_ = Math.min(scanRow_, startRow);
+      }
+
+      // processes dirty rows between startRow and endRow; returns false if
+      // the deadline passed before the work was done
+      private boolean process(int startRow, int endRow, double deadline)
+      {
+         int n = editor_.getRowCount();
+         endRow = Math.min(endRow, n - 1);
+
+         if (sequential_)
+         {
+            while (firstDirty_ <= endRow)
+            {
+               if (Duration.currentTimeMillis() > deadline)
+                  return false;
+
+               int row = firstDirty_;
+               boolean changed = task_.processRow(row);
+               firstDirty_ = row + 1;
+
+               // once past the invalidated rows, an unchanged row means the
+               // rest of the document is already up to date
+               if (!changed && row >= lastDirty_)
+                  firstDirty_ = n;
+            }
+
+            if (firstDirty_ >= n)
+            {
+               firstDirty_ = Integer.MAX_VALUE;
+               lastDirty_ = -1;
+            }
+            return true;
+         }
+
+         for (int row = Math.max(startRow, 0); row <= endRow && dirtyCount_ > 0; row++)
+         {
+            if (!dirty_.get(row, false))
+               continue;
+
+            if (Duration.currentTimeMillis() > deadline)
+               return false;
+
+            dirty_.set(row, false);
+            dirtyCount_--;
+            task_.processRow(row);
+         }
+         return true;
+      }
+
+      // processes dirty rows through the rest of the document
+      private boolean processRemaining(double deadline)
+      {
+         if (sequential_)
+            return process(firstDirty_, Integer.MAX_VALUE, deadline);
+
+         int n = editor_.getRowCount();
+         for (; scanRow_ < n && dirtyCount_ > 0; scanRow_++)
+         {
+            if (!dirty_.get(scanRow_, false))
+               continue;
+
+            if (Duration.currentTimeMillis() > deadline)
+               return false;
+
+            dirty_.set(scanRow_, false);
+            dirtyCount_--;
+            task_.processRow(scanRow_);
+         }
+
+         // anything left over was beyond the end of the document
+         dirty_.setLength(Math.min(dirty_.length(), n));
+         dirtyCount_ = 0;
+         scanRow_ = Integer.MAX_VALUE;
+         return true;
+      }
+
+      private final RowTask task_;
+      private final boolean sequential_;
+      private boolean enabled_ = true;
+      private int editDelayMs_ = 0;
+      private double deferredUntil_ = 0;
+
+      // sequential tasks: the range of rows needing to be processed
+      private int firstDirty_ = Integer.MAX_VALUE;
+      private int lastDirty_ = -1;
+
+      // other tasks: the rows needing to be processed, and the first row
+      // not yet checked by the idle pass
+      private JsVectorBoolean dirty_ = JsVectorBoolean.createVector();
+      private int dirtyCount_ = 0;
+      private int scanRow_ = Integer.MAX_VALUE;
+   }
+
+   public AceBackgroundWorkScheduler(AceEditor editor)
+   {
+      editor_ = editor;
+      timer_ = new Timer()
+      {
+         @Override
+         public void run()
+         {
+            work();
+         }
+      };
+
+      editor_.addDocumentChangedHandler(this);
+      editor_.addScrollYHandler(this);
+   }
+
+   /**
+    * Registers a per-row task. Sequential tasks (whose state for a row
+    * depends on the rows before it) are always processed in order, from the
+    * first invalidated row; other tasks may have their rows processed in
+    * any order.
+    */
+   public Registration register(RowTask task, boolean sequential)
+   {
+      Registration registration = new Registration(task, sequential);
+      registrations_.add(registration);
+      return registration;
+   }
+
+   @Override
+   public void onDocumentChanged(DocumentChangedEvent event)
+   {
+      AceDocumentChangeEventNative nativeEvent = event.getEvent();
+      Range range = nativeEvent.getRange();
+      int startRow = range.getStart().getRow();
+      int newlineCount = range.getEnd().getRow() - startRow;
+      boolean insert = nativeEvent.getAction().startsWith("insert");
+
+      int delayMs = Integer.MAX_VALUE;
+      for (Registration registration : registrations_)
+      {
+         registration.onDocumentChanged(
+               startRow,
+               insert ? newlineCount : 0,
+               insert ? 0 : newlineCount);
+         delayMs = Math.min(delayMs, registration.editDelayMs_);
+      }
+
+      if (!registrations_.isEmpty())
+         schedule(delayMs);
+   }
+
+   @Override
+   public void onScrollY(ScrollYEvent event)
+   {
+      // newly visible rows take priority over any idle work
+      if (hasWork())
+         schedule(0);
+   }
+
+   private void schedule(int delayMs)
+   {
+      // keep an earlier run if one is already scheduled
+      delayMs = Math.max(delayMs, MIN_DELAY_MS);
+      double runAt = Duration.currentTimeMillis() + delayMs;
+      if (timer_.isRunning() && runAt >= scheduledAt_)
+         return;
+
+      scheduledAt_ = runAt;
+      timer_.schedule(delayMs);
+   }
+
+   private boolean hasWork()
+   {
+      for (Registration registration : registrations_)
+         if (registration.hasWork())
+            return true;
+      return false;
+   }
+
+   private void work()
+   {
+      double deadline = Duration.currentTimeMillis() + FOREGROUND_BUDGET_MS;
+      int firstRow = Math.max(editor_.getFirstVisibleRow(), 0);
+      int lastRow = editor_.getLastVisibleRow();
+
+      // visible rows first, then those near the viewport
+      boolean done =
+            processRange(firstRow, lastRow, deadline) &&
+            processRange(Math.max(firstRow - NEARBY_ROWS, 0),
+                         lastRow + NEARBY_ROWS,
+                         deadline);
+
+      if (!done)
+         schedule(MIN_DELAY_MS);
+      else
+         scheduleIdleWork();
+   }
+
+   private boolean processRange(int startRow, int endRow, double deadline)
+   {
+      for (Registration registration : new ArrayList<>(registrations_))
+      {
+         if (!registration.hasWork() || registration.isDeferred())
+            continue;
+
+         if (!registration.process(startRow, endRow, deadline))
+            return false;
+      }
+      return true;
+   }
+
+   private void onIdle(double timeRemaining)
+   {
+      idleRequested_ = false;
+
+      // if the foreground pass is pending, let it go first
+      if (timer_.isRunning())
+         return;
+
+      double budget = Math.min(timeRemaining, IDLE_BUDGET_MS);
+      double deadline = Duration.currentTimeMillis() + budget;
+      for (Registration registration : new ArrayList<>(registrations_))
+      {
+         if (!registration.hasWork() || registration.isDeferred())
+            continue;
+
+         if (!registration.processRemaining(deadline))
+            break;
+      }
+
+      scheduleIdleWork();
+   }
+
+   private void scheduleIdleWork()
+   {
+      double deferredUntil = 0;
+      boolean hasWork = false;
+      for (Registration registration : registrations_)
+      {
+         if (!registration.hasWork())
+            continue;
+
+         if (registration.isDeferred())
+            deferredUntil = Math.max(deferredUntil, registration.deferredUntil_);
+         else
+            hasWork = true;
+      }
+
+      // come back for work that's waiting out an edit delay
+      if (deferredUntil > 0)
+         schedule((int) (deferredUntil - Duration.currentTimeMillis()));
+
+      if (hasWork && !idleRequested_)
+      {
+         idleRequested_ = true;
+         requestIdleCallback();
+      }
+   }
+
+   private final native void requestIdleCallback()
+   /*-{
+      var self = this;
+      var callback = $entry(function(deadline) {
+         var remaining = deadline ? deadline.timeRemaining() : 0;
+         self.@org.rstudio.studio.client.workbench.views.source.editors.text.ace.AceBackgroundWorkScheduler::onIdle(D)(remaining);
+      });
+
+      // fall back to a timer (with a fixed budget) where idle callbacks
+      // aren't available
+      if ($wnd.requestIdleCallback)
+         $wnd.requestIdleCallback(callback, { timeout: 1000 });
+      else
+         $wnd.setTimeout(function() {
+            callback({ timeRemaining: function() { return 4; } });
+         }, 50);
+   }-*/;
+
+   private final AceEditor editor_;
+   private final Timer timer_;
+   private final List<Registration> registrations_ = new ArrayList<>();
+   private double scheduledAt_ = 0;
+   private boolean idleRequested_ = false;
+
+   private static final int MIN_DELAY_MS = 5;
+   private static final int FOREGROUND_BUDGET_MS = 8;
+   private static final int IDLE_BUDGET_MS = 10;
+   private static final int NEARBY_ROWS = 200;
+}
@@ -60,7 +60,6 @@ import com.google.gwt.event.shared.HandlerRegistration;
 import com.google.gwt.resources.client.ClientBundle;
 import com.google.gwt.resources.client.CssResource;
 import com.google.gwt.user.client.Event;
-import com.google.gwt.user.client.Timer;
 import com.google.gwt.user.client.Event.NativePreviewEvent;
 import com.google.gwt.user.client.Event.NativePreviewHandler;
 import com.google.inject.Inject;
@@ -99,25 +98,14 @@ public class AceEditorBackgroundLinkHighlighter
       editor_ = editor;
       activeMarkers_ = new SafeMap<>();
 
-      nextHighlightStart_ = 0;
-      timer_ = new Timer()
+      // rows can be highlighted in any order; wait for typing to pause
+      // before highlighting edited rows
+      registration_ = editor_.getBackgroundWorkScheduler().register(row ->
       {
-         @Override
-         public void run()
-         {
-            int n = editor_.getCurrentLineCount();
-            int startRow = nextHighlightStart_;
-            int endRow   = Math.min(nextHighlightStart_ + N_HIGHLIGHT_ROWS, n);
-
-            for (int row = startRow; row < endRow; row++)
-               highlightRow(row);
-
-            nextHighlightStart_ = endRow;
-            if (endRow != n)
-               timer_.schedule(5);
-         }
-      };
-
+         highlightRow(row);
+         return true;
+      }, false);
+      registration_.setEditDelay(700);
 
       highlighters_ = new ArrayList<>();
       
@@ -160,8 +148,8 @@ public class AceEditorBackgroundLinkHighlighter
                highlighters_.add(markdownLinkHighlighter());
             }
             
-            nextHighlightStart_ = 0;
-            timer_.schedule(100);
+            registration_.setEnabled(!highlighters_.isEmpty());
+            registration_.invalidateAll();
          }
       });
    }
@@ -608,10 +596,7 @@ public class AceEditorBackgroundLinkHighlighter
       // clear markers within the delete range
       clearMarkers(event.getEvent().getRange());
 
-      // prepare highlighter
-      int row = event.getEvent().getRange().getStart().getRow();
-      nextHighlightStart_ = Math.min(nextHighlightStart_, row);
-      timer_.schedule(700);
+      // (the edited rows are re-highlighted by the background scheduler)
 
       // update marker positions (deferred so that anchors update)
       Scheduler.get().scheduleDeferred(new ScheduledCommand()
@@ -751,12 +736,10 @@ public class AceEditorBackgroundLinkHighlighter
 
    private final AceEditor editor_;
    private final List<Highlighter> highlighters_;
-   private final Timer timer_;
+   private final AceBackgroundWorkScheduler.Registration registration_;
    private final List<HandlerRegistration> handlers_;
 
    private SafeMap<Integer, List<MarkerRegistration>> activeMarkers_;
-   private int nextHighlightStart_;
-   private static final int N_HIGHLIGHT_ROWS = 200;
 
    private HandlerRegistration previewHandler_;
    
@@ -354,28 +354,13 @@ public class VisualMode implements VisualModeEditorSync,
                             alignScopeTreeAfterUpdate(markdown.location);
                         }
                         
-                        // we used to apply diffs here unless the wrapChanged (which was too expensive
-                        // for the diff-match-patch algorithem), now we *never* apply diffs b/c
-                        // we had some reports of source editor corruption. when investigating
-                        // this, also noted that we turned off diff changes already for the cannonical
-                        // source transform b/c we actually did find another case that confused the
-                        // algorithm enough to cause data corrupt there. if there is one case there
-                        // are certainly others, so we are going to turn this off entirely unless/until
-                        // we understand its limitations better
-                        /*
-                        if (!writerOptions.wrapChanged) 
-                        {
-                           TextEditorContainer.Changes changes = toEditorChanges(markdown);
-                           getSourceEditor().applyChanges(changes, syncType == SyncType.SyncTypeActivate); 
-                        }
-                        else
-                        {
-                           getSourceEditor().setCode(markdown.code);
-                        }
-                        */
-                        
-                        // always set all of the code (no diffs, see comment above)
-                        getSourceEditor().setCode(markdown.code);
+                        // we used to apply character-level diffs here, but stopped after
+                        // reports of source editor corruption (the diff-match-patch based
+                        // diffs confused by some documents). we now apply line-level changes,
+                        // which are verified by replaying them before they're applied and by
+                        // checking the editor's contents afterwards; if either check fails
+                        // we fall back to setting all of the code
+                        syncEditorCode(markdown.code);
                         
                         // if the format comment has changed then show the reload prompt
                         if ((panmirrorFormatConfig_ != null) && panmirrorFormatConfig_.requiresReload())
@@ -1402,6 +1387,38 @@ public class VisualMode implements VisualModeEditorSync,
             new VoidServerRequestCallback());
    }
    
+   /**
+    * Updates the source editor's code to match the visual editor's markdown,
+    * touching only the lines that changed where possible.
+    */
+   private void syncEditorCode(String code)
+   {
+      String editorCode = getEditorCode();
+      String normalizedCode = StringUtil.normalizeNewLines(code);
+      if (StringUtil.equals(editorCode, normalizedCode))
+         return;
+      
+      // compute (and verify) the changed lines; if a large part of the
+      // document changed it's cheaper to just replace it
+      List<TextEditorContainer.LineChange> changes =
+            VisualModeLineDiff.diff(editorCode, normalizedCode);
+      if (changes == null ||
+          VisualModeLineDiff.changedLineCount(changes) > kMaxIncrementalSyncLines)
+      {
+         getSourceEditor().setCode(code);
+         return;
+      }
+      
+      getSourceEditor().applyLineChanges(changes);
+      
+      // make sure the editor ended up with the expected code
+      if (VisualModeLineDiff.hash(getEditorCode()) != VisualModeLineDiff.hash(normalizedCode))
+      {
+         Debug.logWarning("Incremental sync to source editor failed; replacing document");
+         getSourceEditor().setCode(code);
+      }
+   }
+   
    @SuppressWarnings("unused")
    private TextEditorContainer.Changes toEditorChanges(PanmirrorCode panmirrorCode)
    {
@@ -1529,6 +1546,17 @@ public class VisualMode implements VisualModeEditorSync,
          PanmirrorWidget.create(context, formatSource, options, widgetOptions, view_.getMarkdownToolbar(), kCreationProgressDelayMs, 
             (panmirror) -> {
          
+            // the visual editor couldn't be loaded (the error has already
+            // been reported); stay in source mode
+            if (panmirror == null)
+            {
+               isLoading_ = false;
+               progress_.endProgressOperation();
+               view_.editorContainer().activateEditor(false);
+               docUpdateSentinel_.setBoolProperty(TextEditingTarget.RMD_VISUAL_MODE, false);
+               return;
+            }
+            
             // save reference to panmirror
             panmirror_ = panmirror;
             
@@ -1963,6 +1991,7 @@ public class VisualMode implements VisualModeEditorSync,
    
    private static final int kCreationProgressDelayMs = 0;
    private static final int kSerializationProgressDelayMs = 5000;
+   private static final int kMaxIncrementalSyncLines = 2000;
    
    // priority task queue for expensive calls to panmirror_.setMarkdown
    // (currently active tab bumps itself up in priority)
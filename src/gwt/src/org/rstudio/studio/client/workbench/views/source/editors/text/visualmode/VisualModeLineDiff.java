@@ -0,0 +1,218 @@
+/*
+ * VisualModeLineDiff.java
+ *
+ * Copyright (C) 2022 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.source.editors.text.visualmode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.rstudio.core.client.StringUtil;
+import org.rstudio.studio.client.workbench.views.source.editors.text.TextEditorContainer.LineChange;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArrayString;
+
+/**
+ * Computes the whole-line changes that turn one version of a document into
+ * another, so that syncing the visual editor to the source editor only
+ * touches the lines that changed.
+ *
+ * Unlike the character-level diff previously used for this (which was
+ * disabled after it was found to corrupt documents), the changes are
+ * verified by replaying them against the old document before they're used;
+ * callers fall back to replacing the whole document when verification fails.
+ */
+public class VisualModeLineDiff
+{
+   /**
+    * @return The changes turning fromCode into toCode (in document order,
+    *    in the coordinates of fromCode), or null if they couldn't be verified.
+    */
+   public static List<LineChange> diff(String fromCode, String toCode)
+   {
+      JsArrayString from = StringUtil.split(fromCode, "\n");
+      JsArrayString to = StringUtil.split(toCode, "\n");
+      List<LineChange> changes = diff(from, to);
+
+      // verify that the changes reproduce the new document
+      String replayed = apply(from, changes);
+      if (hash(replayed) != hash(toCode))
+         return null;
+
+      return changes;
+   }
+
+   public static List<LineChange> diff(JsArrayString from, JsArrayString to)
+   {
+      List<LineChange> changes = new ArrayList<>();
+      int n = from.length();
+      int m = to.length();
+
+      // skip lines common to the start and end of both documents
+      int prefix = 0;
+      while (prefix < n && prefix < m &&
+             StringUtil.equals(from.get(prefix), to.get(prefix)))
+      {
+         prefix++;
+      }
+
+      int suffix = 0;
+      while (suffix < n - prefix && suffix < m - prefix &&
+             StringUtil.equals(from.get(n - suffix - 1), to.get(m - suffix - 1)))
+      {
+         suffix++;
+      }
+
+      int fromCount = n - prefix - suffix;
+      int toCount = m - prefix - suffix;
+      if (fromCount == 0 && toCount == 0)
+         return changes;
+
+      // diff the remaining lines when that's cheap enough; otherwise replace
+      // them as a single change
+      if ((long) fromCount * toCount <= MAX_DIFF_CELLS)
+         diffLines(from, prefix, fromCount, to, prefix, toCount, changes);
+      else
+         changes.add(new LineChange(prefix, fromCount, slice(to, prefix, prefix + toCount)));
+
+      return changes;
+   }
+
+   /**
+    * Applies changes (as returned from diff) to a document's lines.
+    */
+   public static String apply(JsArrayString lines, List<LineChange> changes)
+   {
+      JsArrayString result = JavaScriptObject.createArray().cast();
+      int row = 0;
+      for (LineChange change : changes)
+      {
+         append(result, lines, row, change.row);
+         append(result, change.lines, 0, change.lines.length());
+         row = change.row + change.removedCount;
+      }
+      append(result, lines, row, lines.length());
+      return result.join("\n");
+   }
+
+   /**
+    * @return The number of lines touched by a set of changes.
+    */
+   public static int changedLineCount(List<LineChange> changes)
+   {
+      int count = 0;
+      for (LineChange change : changes)
+         count += Math.max(change.removedCount, change.lines.length());
+      return count;
+   }
+
+   /**
+    * A 32-bit FNV-1a hash of a string.
+    */
+   public static native int hash(String value)
+   /*-{
+      var hash = 0x811c9dc5;
+      for (var i = 0, n = value.length; i < n; i++) {
+         hash ^= value.charCodeAt(i);
+         hash = Math.imul(hash, 0x01000193);
+      }
+      return hash | 0;
+   }-*/;
+
+   // computes the changes between two runs of lines using their longest
+   // common subsequence
+   private static void diffLines(JsArrayString from, int fromStart, int fromCount,
+                                 JsArrayString to, int toStart, int toCount,
+                                 List<LineChange> changes)
+   {
+      // lcs[i * (toCount + 1) + j] is the length of the longest common
+      // subsequence of from[i...] and to[j...]
+      int width = toCount + 1;
+      int[] lcs = new int[(fromCount + 1) * width];
+      for (int i = fromCount - 1; i >= 0; i--)
+      {
+         String line = from.get(fromStart + i);
+         for (int j = toCount - 1; j >= 0; j--)
+         {
+            lcs[i * width + j] = StringUtil.equals(line, to.get(toStart + j))
+                  ? lcs[(i + 1) * width + j + 1] + 1
+                  : Math.max(lcs[(i + 1) * width + j], lcs[i * width + j + 1]);
+         }
+      }
+
+      // walk the table, collecting runs of differing lines into changes
+      int i = 0, j = 0;
+      int changeFrom = -1, changeTo = -1;
+      while (i < fromCount || j < toCount)
+      {
+         boolean equal = i < fromCount && j < toCount &&
+               StringUtil.equals(from.get(fromStart + i), to.get(toStart + j));
+
+         if (equal)
+         {
+            if (changeFrom != -1)
+            {
+               addChange(to, fromStart, toStart, changeFrom, i, changeTo, j, changes);
+               changeFrom = changeTo = -1;
+            }
+            i++;
+            j++;
+            continue;
+         }
+
+         if (changeFrom == -1)
+         {
+            changeFrom = i;
+            changeTo = j;
+         }
+
+         if (j >= toCount || (i < fromCount && lcs[(i + 1) * width + j] >= lcs[i * width + j + 1]))
+            i++;
+         else
+            j++;
+      }
+
+      if (changeFrom != -1)
+         addChange(to, fromStart, toStart, changeFrom, i, changeTo, j, changes);
+   }
+
+   private static void addChange(JsArrayString to, int fromStart, int toStart,
+                                 int fromBegin, int fromEnd,
+                                 int toBegin, int toEnd,
+                                 List<LineChange> changes)
+   {
+      changes.add(new LineChange(
+            fromStart + fromBegin,
+            fromEnd - fromBegin,
+            slice(to, toStart + toBegin, toStart + toEnd)));
+   }
+
+   private static final native JsArrayString slice(JsArrayString lines, int begin, int end)
+   /*-{
+      return lines.slice(begin, end);
+   }-*/;
+
+   private static final native void append(JsArrayString result,
+                                           JsArrayString lines,
+                                           int begin,
+                                           int end)
+   /*-{
+      for (var i = begin; i < end; i++)
+         result.push(lines[i]);
+   }-*/;
+
+   // the largest number of lines (changed lines in the old document times
+   // those in the new) to diff line by line
+   private static final long MAX_DIFF_CELLS = 250000;
+}
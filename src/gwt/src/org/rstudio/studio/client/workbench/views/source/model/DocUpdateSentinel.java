@@ -14,7 +14,9 @@
  */
 package org.rstudio.studio.client.workbench.views.source.model;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.rstudio.core.client.Barrier.Token;
@@ -42,6 +44,7 @@ import org.rstudio.studio.client.workbench.views.source.ViewsSourceConstants;
 import org.rstudio.studio.client.workbench.views.source.editors.text.DocDisplay;
 import org.rstudio.studio.client.workbench.views.source.editors.text.Fold;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.VimMarks;
+import org.rstudio.studio.client.workbench.views.source.editors.text.events.DocumentChangedEvent;
 import org.rstudio.studio.client.workbench.views.source.editors.text.events.FoldChangeEvent;
 import org.rstudio.studio.client.workbench.views.source.editors.text.events.SourceOnSaveChangedEvent;
 import org.rstudio.studio.client.workbench.views.source.editors.text.rmd.ChunkDefinition;
@@ -82,7 +85,9 @@ public class DocUpdateSentinel
             SourceDocument response)
       {
          sourceDoc_ = response;
+         unappliedEdits_.clear();
          docDisplay_.setCode(sourceDoc_.getContents(), true);
+         resetEditTracker();
          dirtyState_.markClean();
 
          if (progress_ != null)
@@ -136,6 +141,7 @@ public class DocUpdateSentinel
       chunkDefProvider_ = chunkDefProvider;
       changeTracker_ = docDisplay.getChangeTracker();
       propertyChangeHandlers_ = new HashMap<>();
+      droppedChangeEvents_ = docDisplay.getDroppedChangeEventCount();
 
       prefs_.autoSaveOnIdle().bind((String behavior) ->
       {
@@ -167,6 +173,7 @@ public class DocUpdateSentinel
 
       docDisplay_.addValueChangeHandler(this);
       docDisplay_.addFoldChangeHandler(this);
+      docDisplay_.addDocumentChangedHandler(this::onDocumentChanged);
 
       // Web only
       if (!Desktop.isDesktop())
@@ -420,12 +427,28 @@ public class DocUpdateSentinel
       });
    }
 
-   private boolean doSave(String path,
-                          String fileType,
-                          String encoding,
-                          boolean retryWrite,
-                          ProgressIndicator progress)
+   private boolean doSave(final String path,
+                          final String fileType,
+                          final String encoding,
+                          final boolean retryWrite,
+                          final ProgressIndicator progress)
    {
+      // Only one save is sent at a time: edits (and diffs) are relative to
+      // the contents the server has, which a save in flight may yet change
+      // (or, if it fails, not change). Later saves wait for it to finish.
+      if (saveInFlight_)
+      {
+         pendingSaves_.add(() ->
+         {
+            if (!doSave(path, fileType, encoding, retryWrite, progress) &&
+                progress != null)
+            {
+               progress.onCompleted();
+            }
+         });
+         return true;
+      }
+
       boolean didSave = false;
       try
       {
@@ -480,8 +503,6 @@ public class DocUpdateSentinel
          actually sent to the server. */
       final ChangeTracker thisChangeTracker = changeTracker_.fork();
 
-      final String newContents = docDisplay_.getCode();
-      String oldContents = sourceDoc_.getContents();
       final String hash = sourceDoc_.getHash();
 
       final String foldSpec = Fold.encode(Fold.flatten(docDisplay_.getFolds()));
@@ -491,6 +512,47 @@ public class DocUpdateSentinel
       JsArray<ChunkDefinition> oldChunkDefs =
             sourceDoc_.getNotebookDoc().getChunkDefs();
 
+      // If we've been able to track every edit made since the last save,
+      // send just those edits; this avoids materializing and diffing the
+      // full document contents
+      checkForDroppedChanges();
+      if (editTracker_.isValid())
+      {
+         // Don't auto-save when there are no changes. In addition to being
+         // wasteful, it causes the server to think the document is dirty.
+         if (path == null && fileType == null && editTracker_.isEmpty()
+             && foldSpec == oldFoldSpec
+             && (newChunkDefs == null ||
+                 ChunkDefinition.equalTo(newChunkDefs, oldChunkDefs)))
+         {
+            changesPending_ = false;
+            return false;
+         }
+
+         final JsArray<JsObject> edits = editTracker_.takeEdits();
+         notifySaveInitiated(path);
+
+         saveInFlight_ = true;
+         server_.saveDocumentEdits(
+               sourceDoc_.getId(),
+               path,
+               fileType,
+               encoding,
+               foldSpec,
+               newChunkDefs,
+               edits,
+               docDisplay_.getRowCount(),
+               hash,
+               retryWrite,
+               new SaveCallback(path, fileType, encoding, retryWrite, progress,
+                     thisChangeTracker, hash, foldSpec, newChunkDefs, null, edits));
+
+         return true;
+      }
+
+      final String newContents = docDisplay_.getCode();
+      String oldContents = getSavedContents();
+
       SubstringDiff diff = new SubstringDiff(oldContents, newContents);
 
       // Don't auto-save when there are no changes. In addition to being
@@ -517,20 +579,12 @@ public class DocUpdateSentinel
          return false;
       }
 
+      // start tracking edits relative to the contents we're about to send
+      resetEditTracker();
 
-      try
-      {
-         if (path != null)
-         {
-            // notify that a save is underway (for collaborative editing)
-            eventBus_.fireEvent(new SaveInitiatedEvent(path, getId()));
-         }
-      }
-      catch(Exception e)
-      {
-         Debug.logException(e);
-      }
+      notifySaveInitiated(path);
 
+      saveInFlight_ = true;
       server_.saveDocumentDiff(
             sourceDoc_.getId(),
             path,
@@ -544,113 +598,248 @@ public class DocUpdateSentinel
             diff.isValid(),
             hash,
             retryWrite,
-            new ServerRequestCallback<String>()
+            new SaveCallback(path, fileType, encoding, retryWrite, progress,
+                  thisChangeTracker, hash, foldSpec, newChunkDefs, newContents, null));
+
+      return true;
+   }
+
+   private void notifySaveInitiated(String path)
+   {
+      try
+      {
+         if (path != null)
+         {
+            // notify that a save is underway (for collaborative editing)
+            eventBus_.fireEvent(new SaveInitiatedEvent(path, getId()));
+         }
+      }
+      catch(Exception e)
+      {
+         Debug.logException(e);
+      }
+   }
+
+   /**
+    * Handles the server's response to a diff, edit, or full-content save.
+    * Exactly one of newContents (for diff and full-content saves) and edits
+    * (for edit-based saves) is non-null.
+    */
+   private class SaveCallback extends ServerRequestCallback<String>
+   {
+      public SaveCallback(String path,
+                          String fileType,
+                          String encoding,
+                          boolean retryWrite,
+                          ProgressIndicator progress,
+                          ChangeTracker thisChangeTracker,
+                          String hash,
+                          String foldSpec,
+                          JsArray<ChunkDefinition> newChunkDefs,
+                          String newContents,
+                          JsArray<JsObject> edits)
+      {
+         savePath_ = path;
+         fileType_ = fileType;
+         encoding_ = encoding;
+         retryWrite_ = retryWrite;
+         saveProgress_ = progress;
+         thisChangeTracker_ = thisChangeTracker;
+         hash_ = hash;
+         foldSpec_ = foldSpec;
+         newChunkDefs_ = newChunkDefs;
+         newContents_ = newContents;
+         savedEdits_ = edits;
+      }
+
+      @Override
+      public void onError(ServerError error)
+      {
+         // Always log save errors.
+         Debug.logError(error);
+
+         // Report errors to indicator.
+         if (saveProgress_ != null)
+         {
+            String errorMessage =
+                  constants_.errorSavingPathPlusMessage(savePath_, error.getUserMessage());
+
+            saveProgress_.onError(errorMessage);
+         }
+
+         // Attempt to report save error.
+         try
+         {
+            if (savePath_ != null)
             {
-               @Override
-               public void onError(ServerError error)
-               {
-                  // Always log save errors.
-                  Debug.logError(error);
+               eventBus_.fireEvent(new SaveFailedEvent(savePath_, getId()));
+            }
+         }
+         catch (Exception e)
+         {
+            Debug.logException(e);
+         }
 
-                  // Report errors to indicator.
-                  if (progress != null)
-                  {
-                     String errorMessage =
-                           constants_.errorSavingPathPlusMessage(path, error.getUserMessage());
+         // The server may not have our changes; make sure they get sent
+         // again next time around.
+         onSaveRejected();
 
-                     progress.onError(errorMessage);
-                  }
+         changesPending_ = false;
+         onSaveFinished();
+      }
 
-                  // Attempt to report save error.
-                  try
-                  {
-                     if (path != null)
-                     {
-                        eventBus_.fireEvent(new SaveFailedEvent(path, getId()));
-                     }
-                  }
-                  catch (Exception e)
-                  {
-                     Debug.logException(e);
-                  }
+      @Override
+      public void onResponseReceived(String newHash)
+      {
+         if (newHash != null)
+         {
+            // If the document hasn't changed further since the version
+            // we saved, then we know we're all synced up.
+            try
+            {
+               if (!thisChangeTracker_.hasChanged())
+                  changeTracker_.reset();
+
+               // update the foldSpec and newChunkDefs so we
+               // can use them for change detection the next
+               // time around
+               sourceDoc_.setFoldSpec(foldSpec_);
+               sourceDoc_.getNotebookDoc().setChunkDefs(newChunkDefs_);
+
+               onSuccessfulUpdate(newContents_,
+                                  savedEdits_,
+                                  newHash,
+                                  savePath_,
+                                  fileType_,
+                                  encoding_);
+            }
+            catch(Exception ex)
+            {
+               // log exception, but continue (we want to guarantee the
+               // progress indicator is updated)
+               Debug.log("Exception in post-save update " + savePath_ +
+                         " to " + newHash + ": " + ex.getMessage());
+            }
+            if (saveProgress_ != null)
+               saveProgress_.onCompleted();
 
-                  changesPending_ = false;
-               }
+            // let anyone interested know we just saved
+            try
+            {
+               SaveFileEvent saveEvent = new SaveFileEvent(savePath_, fileType_, encoding_);
+               docDisplay_.fireEvent(saveEvent);
+               eventBus_.fireEvent(saveEvent);
+            }
+            finally
+            {
+               onSaveFinished();
+            }
+         }
+         else if (hash_ != sourceDoc_.getHash())
+         {
+            // We just hit a race condition where two updates
+            // happened at once. Try again
+            onSaveRejected();
+            saveInFlight_ = false;
+            if (!doSave(savePath_, fileType_, encoding_, retryWrite_, saveProgress_) &&
+                saveProgress_ != null)
+            {
+               saveProgress_.onCompleted();
+            }
+            sendPendingSaves();
+         }
+         else
+         {
+            /*Debug.log("Diff-based save failed--falling back to " +
+                      "snapshot save");*/
+            String contents = newContents_;
+            if (contents == null)
+            {
+               contents = docDisplay_.getCode();
+               resetEditTracker();
+            }
 
-               @Override
-               public void onResponseReceived(String newHash)
-               {
-                  if (newHash != null)
-                  {
-                     // If the document hasn't changed further since the version
-                     // we saved, then we know we're all synced up.
-                     try
-                     {
-                        if (!thisChangeTracker.hasChanged())
-                           changeTracker_.reset();
-
-                        // update the foldSpec and newChunkDefs so we
-                        // can use them for change detection the next
-                        // time around
-                        sourceDoc_.setFoldSpec(foldSpec);
-                        sourceDoc_.getNotebookDoc().setChunkDefs(newChunkDefs);
-
-                        onSuccessfulUpdate(newContents,
-                                           newHash,
-                                           path,
-                                           fileType,
-                                           encoding);
-                     }
-                     catch(Exception ex)
-                     {
-                        // log exception, but continue (we want to guarantee the
-                        // progress indicator is updated)
-                        Debug.log("Exception in post-save update " + path +
-                                  " to " + newHash + ": " + ex.getMessage());
-                     }
-                     if (progress != null)
-                        progress.onCompleted();
+            server_.saveDocument(
+                  sourceDoc_.getId(),
+                  savePath_,
+                  fileType_,
+                  encoding_,
+                  foldSpec_,
+                  newChunkDefs_,
+                  contents,
+                  retryWrite_,
+                  savedEdits_ == null ? this : new SaveCallback(
+                        savePath_, fileType_, encoding_, retryWrite_, saveProgress_,
+                        thisChangeTracker_, hash_, foldSpec_, newChunkDefs_,
+                        contents, null));
+         }
+      }
 
-                     // let anyone interested know we just saved
-                     SaveFileEvent saveEvent = new SaveFileEvent(path, fileType, encoding);
-                     docDisplay_.fireEvent(saveEvent);
-                     eventBus_.fireEvent(saveEvent);
-                  }
-                  else if (hash != sourceDoc_.getHash())
-                  {
-                     // We just hit a race condition where two updates
-                     // happened at once. Try again
-                     doSave(path, fileType, encoding, retryWrite, progress);
-                  }
-                  else
-                  {
-                     /*Debug.log("Diff-based save failed--falling back to " +
-                               "snapshot save");*/
-                     server_.saveDocument(
-                           sourceDoc_.getId(),
-                           path,
-                           fileType,
-                           encoding,
-                           foldSpec,
-                           newChunkDefs,
-                           newContents,
-                           retryWrite,
-                           this);
-                  }
-               }
-            });
+      private void onSaveRejected()
+      {
+         if (savedEdits_ != null)
+         {
+            // send these edits again, ahead of any made since
+            editTracker_.restoreEdits(savedEdits_);
+         }
+         else
+         {
+            // edits made since were recorded relative to contents the
+            // server doesn't have, so fall back to diffing the contents
+            editTracker_.invalidate();
+         }
+      }
 
-      return true;
+      private final String savePath_;
+      private final String fileType_;
+      private final String encoding_;
+      private final boolean retryWrite_;
+      private final ProgressIndicator saveProgress_;
+      private final ChangeTracker thisChangeTracker_;
+      private final String hash_;
+      private final String foldSpec_;
+      private final JsArray<ChunkDefinition> newChunkDefs_;
+      private final String newContents_;
+      private final JsArray<JsObject> savedEdits_;
+   }
+
+   /**
+    * Called when the save in flight (if any) has finished, successfully or
+    * not; sends the next save waiting on it.
+    */
+   private void onSaveFinished()
+   {
+      saveInFlight_ = false;
+      sendPendingSaves();
+   }
+
+   private void sendPendingSaves()
+   {
+      while (!saveInFlight_ && !pendingSaves_.isEmpty())
+         pendingSaves_.remove(0).execute();
    }
 
    private void onSuccessfulUpdate(String contents,
+                                   JsArray<JsObject> edits,
                                    String hash,
                                    String path,
                                    String fileType,
                                    String encoding)
    {
       changesPending_ = false;
-      sourceDoc_.setContents(contents);
+      if (edits != null)
+      {
+         // defer applying the edits to our copy of the contents until
+         // someone actually needs them
+         unappliedEdits_.add(edits);
+         if (unappliedEdits_.size() > MAX_UNAPPLIED_EDITS)
+            getSavedContents();
+      }
+      else
+      {
+         unappliedEdits_.clear();
+         sourceDoc_.setContents(contents);
+      }
       sourceDoc_.setHash(hash);
       if (path != null)
       {
@@ -881,14 +1070,66 @@ public class DocUpdateSentinel
 
    public String getContents()
    {
-      return sourceDoc_.getContents();
+      return getSavedContents();
    }
 
    public SourceDocument getDoc()
    {
+      getSavedContents();
       return sourceDoc_;
    }
 
+   /**
+    * Returns the document contents as of the last successful save, applying
+    * any edits the server has acknowledged since to our copy of them.
+    */
+   private String getSavedContents()
+   {
+      if (!unappliedEdits_.isEmpty())
+      {
+         String contents = sourceDoc_.getContents();
+         for (JsArray<JsObject> edits : unappliedEdits_)
+            contents = DocumentEditTracker.applyEdits(contents, edits);
+         unappliedEdits_.clear();
+         sourceDoc_.setContents(contents);
+      }
+      return sourceDoc_.getContents();
+   }
+
+   private void onDocumentChanged(DocumentChangedEvent event)
+   {
+      // changes made with change detection suspended bring the document in
+      // line with the server's copy, so begin tracking edits from here
+      if (suspendDetectChanges_ > 0)
+         resetEditTracker();
+      else
+         editTracker_.onDocumentChanged(event.getEvent());
+   }
+
+   /**
+    * Starts tracking edits relative to the document as it is now.
+    */
+   private void resetEditTracker()
+   {
+      droppedChangeEvents_ = docDisplay_.getDroppedChangeEventCount();
+      editTracker_.reset();
+   }
+
+   /**
+    * The editor drops change events fired while it's handling another (see
+    * AceEditorWidget); if it has dropped any since we last checked, the
+    * tracked edits are incomplete and can't be sent.
+    */
+   private void checkForDroppedChanges()
+   {
+      int dropped = docDisplay_.getDroppedChangeEventCount();
+      if (dropped != droppedChangeEvents_)
+      {
+         droppedChangeEvents_ = dropped;
+         editTracker_.invalidate();
+      }
+   }
+
    public void stop()
    {
       if (autosaver_ != null)
@@ -991,6 +1232,15 @@ public class DocUpdateSentinel
                  propertyChangeHandlers_;
    private final ChunkDefinition.Provider chunkDefProvider_;
    private boolean loggedAutosaveError_ = false;
+   private final DocumentEditTracker editTracker_ = new DocumentEditTracker();
+   private final List<JsArray<JsObject>> unappliedEdits_ = new ArrayList<>();
+   private int droppedChangeEvents_;
+   private boolean saveInFlight_ = false;
+   private final List<Command> pendingSaves_ = new ArrayList<>();
+
+   // beyond this many acknowledged saves, apply their edits to our copy of
+   // the document contents rather than continuing to accumulate them
+   private static final int MAX_UNAPPLIED_EDITS = 100;
 
    public final static String PROPERTY_TRUE = "true";
    public final static String PROPERTY_FALSE = "false";
@@ -0,0 +1,366 @@
+/*
+ * DocumentEditTracker.java
+ *
+ * Copyright (C) 2022 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.source.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.rstudio.core.client.StringUtil;
+import org.rstudio.core.client.js.JsObject;
+import org.rstudio.studio.client.workbench.views.source.editors.text.ace.AceDocumentChangeEventNative;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArray;
+import com.google.gwt.core.client.JsArrayString;
+
+/**
+ * Accumulates the edits made to a document (as reported by Ace change events)
+ * since the last time they were taken for saving, coalescing adjacent edits
+ * (e.g. typing or repeated backspaces) so the list stays proportional to the
+ * number of distinct places that were edited rather than to keystrokes.
+ *
+ * Each edit replaces a range of the document, expressed in the coordinates of
+ * the document produced by the preceding edits, with new text. Each edit also
+ * records the length of the text it removed, which lets the server verify
+ * that the range it replaces holds the same text the client's did.
+ */
+public class DocumentEditTracker
+{
+   private static class Edit
+   {
+      public Edit(int startRow,
+                  int startColumn,
+                  int endRow,
+                  int endColumn,
+                  int removedLength,
+                  String text)
+      {
+         this.startRow = startRow;
+         this.startColumn = startColumn;
+         this.endRow = endRow;
+         this.endColumn = endColumn;
+         this.removedLength = removedLength;
+         this.text = text;
+      }
+
+      // row of the end of the inserted text, in the edited document
+      public int insertedEndRow()
+      {
+         return startRow + StringUtil.newlineCount(text);
+      }
+
+      // column of the end of the inserted text, in the edited document
+      public int insertedEndColumn()
+      {
+         int index = text.lastIndexOf('\n');
+         if (index == -1)
+            return startColumn + text.length();
+         return text.length() - index - 1;
+      }
+
+      public JsObject toJso()
+      {
+         JsObject object = JsObject.createJsObject();
+         object.setInteger("start_row", startRow);
+         object.setInteger("start_column", startColumn);
+         object.setInteger("end_row", endRow);
+         object.setInteger("end_column", endColumn);
+         object.setInteger("removed_length", removedLength);
+         object.setString("text", text);
+         return object;
+      }
+
+      public int startRow;
+      public int startColumn;
+      public int endRow;
+      public int endColumn;
+      public int removedLength;
+      public String text;
+   }
+
+   /**
+    * Records a change made to the document.
+    */
+   public void onDocumentChanged(AceDocumentChangeEventNative event)
+   {
+      if (!valid_)
+         return;
+
+      int startRow = event.start.getRow();
+      int startColumn = event.start.getColumn();
+      int endRow = event.end.getRow();
+      int endColumn = event.end.getColumn();
+      String text = joinLines(event.lines);
+
+      if (StringUtil.equals(event.action, "insert"))
+         onInsert(startRow, startColumn, text);
+      else if (StringUtil.equals(event.action, "remove"))
+         onRemove(startRow, startColumn, endRow, endColumn, text);
+      else
+         invalidate();
+
+      textSize_ += text.length();
+      if (edits_.size() > MAX_EDITS || textSize_ > MAX_TEXT_SIZE)
+         invalidate();
+   }
+
+   /**
+    * Takes the edits recorded since the last call, and starts recording a new
+    * set of edits relative to the document as it is now.
+    *
+    * @return The edits, or null if the edits could not be tracked (in which
+    *    case the caller should save the full document contents).
+    */
+   public JsArray<JsObject> takeEdits()
+   {
+      if (!valid_)
+         return null;
+
+      JsArray<JsObject> edits = JavaScriptObject.createArray().cast();
+      for (Edit edit : edits_)
+         edits.push(edit.toJso());
+
+      edits_.clear();
+      textSize_ = 0;
+      return edits;
+   }
+
+   /**
+    * Restores edits previously returned from takeEdits() which could not be
+    * saved, so that they're sent again (before any edits made since) on the
+    * next save.
+    */
+   public void restoreEdits(JsArray<JsObject> edits)
+   {
+      if (!valid_ || edits == null)
+         return;
+
+      List<Edit> restored = new ArrayList<>();
+      for (int i = 0; i < edits.length(); i++)
+      {
+         JsObject edit = edits.get(i);
+         restored.add(new Edit(
+               edit.getInteger("start_row"),
+               edit.getInteger("start_column"),
+               edit.getInteger("end_row"),
+               edit.getInteger("end_column"),
+               edit.getInteger("removed_length"),
+               edit.getString("text")));
+         textSize_ += edit.getString("text").length();
+      }
+
+      edits_.addAll(0, restored);
+      if (edits_.size() > MAX_EDITS || textSize_ > MAX_TEXT_SIZE)
+         invalidate();
+   }
+
+   /**
+    * Discards any recorded edits, and starts recording edits relative to the
+    * document as it is now.
+    */
+   public void reset()
+   {
+      edits_.clear();
+      textSize_ = 0;
+      valid_ = true;
+   }
+
+   /**
+    * Stops recording edits until the next reset(); used when the recorded
+    * edits can no longer be trusted to describe the document's changes.
+    */
+   public void invalidate()
+   {
+      edits_.clear();
+      textSize_ = 0;
+      valid_ = false;
+   }
+
+   public boolean isValid()
+   {
+      return valid_;
+   }
+
+   public boolean isEmpty()
+   {
+      return edits_.isEmpty();
+   }
+
+   /**
+    * Applies a set of edits to the given document contents, as the server
+    * does.
+    *
+    * @return The edited contents, or null if an edit's range doesn't hold
+    *    text of the length it recorded removing.
+    */
+   public static String applyEdits(String contents, JsArray<JsObject> edits)
+   {
+      if (edits == null || edits.length() == 0)
+         return contents;
+
+      JsArrayString lines = StringUtil.split(contents, "\n");
+      for (int i = 0; i < edits.length(); i++)
+      {
+         JsObject edit = edits.get(i);
+         if (!applyEdit(lines,
+               edit.getInteger("start_row"),
+               edit.getInteger("start_column"),
+               edit.getInteger("end_row"),
+               edit.getInteger("end_column"),
+               edit.getInteger("removed_length"),
+               edit.getString("text")))
+         {
+            return null;
+         }
+      }
+      return lines.join("\n");
+   }
+
+   private void onInsert(int row, int column, String text)
+   {
+      Edit last = lastEdit();
+
+      // extend the previous edit when inserting at the end of its text
+      if (last != null &&
+          row == last.insertedEndRow() &&
+          column == last.insertedEndColumn())
+      {
+         last.text = last.text + text;
+         return;
+      }
+
+      edits_.add(new Edit(row, column, row, column, 0, text));
+   }
+
+   private void onRemove(int startRow,
+                         int startColumn,
+                         int endRow,
+                         int endColumn,
+                         String text)
+   {
+      Edit last = lastEdit();
+      if (last != null)
+      {
+         int insertedEndRow = last.insertedEndRow();
+         int insertedEndColumn = last.insertedEndColumn();
+
+         // removing from the end of the previous edit's inserted text
+         // (e.g. backspacing over just-typed characters)
+         if (endRow == insertedEndRow &&
+             endColumn == insertedEndColumn &&
+             comparePositions(startRow, startColumn, last.startRow, last.startColumn) >= 0 &&
+             last.text.endsWith(text))
+         {
+            last.text = StringUtil.substring(last.text, 0, last.text.length() - text.length());
+            return;
+         }
+
+         // removing text which ends where the previous edit starts (e.g.
+         // repeated backspaces); positions before the previous edit are the
+         // same in both documents
+         if (endRow == last.startRow && endColumn == last.startColumn)
+         {
+            last.startRow = startRow;
+            last.startColumn = startColumn;
+            last.removedLength += text.length();
+            return;
+         }
+
+         // removing text which starts where the previous edit's inserted text
+         // ends (e.g. repeated forward deletes); map the end of the removed
+         // range back to the coordinates of the previous edit's document
+         if (startRow == insertedEndRow && startColumn == insertedEndColumn)
+         {
+            if (endRow == startRow)
+            {
+               last.endColumn = last.endColumn + (endColumn - startColumn);
+            }
+            else
+            {
+               last.endRow = last.endRow + (endRow - startRow);
+               last.endColumn = endColumn;
+            }
+            last.removedLength += text.length();
+            return;
+         }
+      }
+
+      edits_.add(new Edit(startRow, startColumn, endRow, endColumn, text.length(), ""));
+   }
+
+   private Edit lastEdit()
+   {
+      return edits_.isEmpty() ? null : edits_.get(edits_.size() - 1);
+   }
+
+   private static int comparePositions(int row1, int column1, int row2, int column2)
+   {
+      if (row1 != row2)
+         return row1 - row2;
+      return column1 - column2;
+   }
+
+   private static String joinLines(JsArrayString lines)
+   {
+      if (lines == null)
+         return "";
+      return lines.join("\n");
+   }
+
+   private static boolean applyEdit(JsArrayString lines,
+                                    int startRow,
+                                    int startColumn,
+                                    int endRow,
+                                    int endColumn,
+                                    int removedLength,
+                                    String text)
+   {
+      String startLine = lines.get(startRow);
+      String endLine = lines.get(endRow);
+
+      // the removed text spans the rest of the start row, each row between,
+      // and the start of the end row, plus a newline per row crossed
+      int removed = endColumn - startColumn;
+      for (int row = startRow; row < endRow; row++)
+         removed += lines.get(row).length() + 1;
+      if (removed != removedLength)
+         return false;
+
+      String replaced =
+            StringUtil.substring(startLine, 0, startColumn) +
+            text +
+            StringUtil.substring(endLine, endColumn);
+
+      JsArrayString newLines = StringUtil.split(replaced, "\n");
+      splice(lines, startRow, endRow - startRow + 1, newLines);
+      return true;
+   }
+
+   private static final native void splice(JsArrayString lines,
+                                           int index,
+                                           int count,
+                                           JsArrayString replacement)
+   /*-{
+      Array.prototype.splice.apply(lines, [index, count].concat(replacement));
+   }-*/;
+
+   private final List<Edit> edits_ = new ArrayList<>();
+   private int textSize_ = 0;
+   private boolean valid_ = true;
+
+   // beyond these limits it's cheaper (and safer) to just send the document
+   private static final int MAX_EDITS = 500;
+   private static final int MAX_TEXT_SIZE = 1024 * 1024;
+}
@@ -187,6 +187,23 @@ public class SourceDocument extends JavaScriptObject
    public native final boolean isReadOnly() /*-{
       return !!this.read_only;
    }-*/;
+
+   /**
+    * @return Whether the document's contents (and notebook) were left out,
+    *    as they are for documents restored at session start that can be
+    *    fetched when needed.
+    */
+   public native final boolean isContentsDeferred() /*-{
+      return !!this.contents_deferred;
+   }-*/;
+
+   /**
+    * @return A timestamp of the last change to the document's contents, for
+    *    ordering documents by how recently they were edited.
+    */
+   public native final double getLastContentUpdate() /*-{
+      return this.last_content_update || 0;
+   }-*/;
    
    public native final JsArrayString getReadOnlyAlternatives() /*-{
       return this.read_only_alternatives;
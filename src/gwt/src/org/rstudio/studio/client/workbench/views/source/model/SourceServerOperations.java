@@ -134,6 +134,31 @@ public interface SourceServerOperations extends FilesServerOperations,
                          boolean retryWrite,
                          ServerRequestCallback<String> requestCallback);
 
+   /**
+    * Same as saveDocumentDiff, but sends the sequence of edits made in the
+    * editor since the last successful save (see DocumentEditTracker) rather
+    * than a single diff, so the client never needs to materialize or diff
+    * the full document contents. The server verifies each edit against the
+    * length of the text it removed, and the edited contents against the
+    * client's row count.
+    *
+    * If the return value is null, the edits could not be applied (e.g. the
+    * hash, an edit, or the row count did not match) and saveDocument() should
+    * be used as a fallback.
+    * If the return value is non-null, it is the hash value of the new contents.
+    */
+   void saveDocumentEdits(String id,
+                          String path,
+                          String fileType,
+                          String encoding,
+                          String foldSpec,
+                          JsArray<ChunkDefinition> chunkOutput,
+                          JsArray<JsObject> edits,
+                          int rowCount,
+                          String hash,
+                          boolean retryWrite,
+                          ServerRequestCallback<String> requestCallback);
+
    void checkForExternalEdit(
          String id,
          ServerRequestCallback<CheckForExternalEditResult> requestCallback);
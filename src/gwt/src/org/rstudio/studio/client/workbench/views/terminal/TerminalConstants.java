@@ -241,6 +241,15 @@ public interface TerminalConstants extends com.google.gwt.i18n.client.Messages {
     @Key("matchFailuresText")
     String matchFailuresText();
 
+    /**
+     * Translated "\nOutput Statistics\n-----------------\n".
+     *
+     * @return translated "\nOutput Statistics\n-----------------\n"
+     */
+    @DefaultMessage("\nOutput Statistics\n-----------------\n")
+    @Key("outputStatisticsText")
+    String outputStatisticsText();
+
     /**
      * Translated "<Not applicable>\n".
      *
@@ -323,6 +332,24 @@ public interface TerminalConstants extends com.google.gwt.i18n.client.Messages {
     @Key("terminalTabLabel")
     String terminalTabLabel();
 
+    /**
+     * Translated "(output flooded)".
+     *
+     * @return translated "(output flooded)"
+     */
+    @DefaultMessage("(output flooded)")
+    @Key("outputFloodedLabel")
+    String outputFloodedLabel();
+
+    /**
+     * Translated "Output is arriving faster than the terminal can display it".
+     *
+     * @return translated "Output is arriving faster than the terminal can display it"
+     */
+    @DefaultMessage("Output is arriving faster than the terminal can display it")
+    @Key("outputFloodedTitle")
+    String outputFloodedTitle();
+
     /**
      * Translated "Terminal Creation Failure".
      *
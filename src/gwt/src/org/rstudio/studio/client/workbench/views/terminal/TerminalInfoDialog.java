@@ -91,6 +91,9 @@ public class TerminalInfoDialog extends ModalDialogBase
             diagnostics.append(constants_.notApplicableText());
          else
             diagnostics.append(session.getSocket().getLocalEchoDiagnostics());
+
+         diagnostics.append(constants_.outputStatisticsText());
+         diagnostics.append(session.getSocket().getOutputDiagnostics());
       }
       textArea_ = new TextArea();
       textArea_.addStyleName(ThemeFonts.getFixedWidthClass());
@@ -0,0 +1,352 @@
+/*
+ * TerminalOutputAccumulator.java
+ *
+ * Copyright (C) 2022 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+
+package org.rstudio.studio.client.workbench.views.terminal;
+
+import java.util.LinkedList;
+import java.util.function.Consumer;
+
+import com.google.gwt.animation.client.AnimationScheduler;
+
+/**
+ * Collects output destined for the terminal emulator and writes it once per
+ * animation frame, rather than once per packet received from the server.
+ *
+ * At most MAX_CHARS_PER_FRAME characters are written per frame so a flood of
+ * output can't starve user input; anything beyond that waits for the next
+ * frame. If output arrives faster than it can be written, the accumulator
+ * enters flood mode until it catches up and, if enabled, drops the oldest
+ * pending output (as real terminals skip intermediate screen states). Only
+ * printable text is dropped; escape sequences are kept, so the terminal's
+ * modes (alternate screen, colors, cursor, etc.) end up as they would have.
+ */
+public class TerminalOutputAccumulator implements Consumer<String>
+{
+   public TerminalOutputAccumulator(Consumer<String> writer,
+                                    Consumer<Boolean> floodModeHandler)
+   {
+      writer_ = writer;
+      floodModeHandler_ = floodModeHandler;
+   }
+
+   /**
+    * Queues output to be written on the next animation frame.
+    */
+   @Override
+   public void accept(String output)
+   {
+      if (output == null || output.isEmpty())
+         return;
+
+      packetsReceived_++;
+      pending_.add(output);
+      pendingChars_ += output.length();
+
+      if (pendingChars_ > FLOOD_THRESHOLD)
+      {
+         setFloodMode(true);
+         if (dropIntermediateOutput_)
+            dropPendingOutput();
+      }
+
+      if (frame_ == null)
+         frame_ = AnimationScheduler.get().requestAnimationFrame(timestamp -> onFrame());
+   }
+
+   /**
+    * Writes all pending output immediately; used before writing to the
+    * terminal by other means, so output stays in order.
+    */
+   public void flush()
+   {
+      cancelFrame();
+      while (!pending_.isEmpty())
+         writeChunk(Integer.MAX_VALUE);
+      setFloodMode(false);
+   }
+
+   /**
+    * Discards all pending output, e.g. when the terminal's buffer is about
+    * to be cleared or reloaded.
+    */
+   public void discard()
+   {
+      cancelFrame();
+      pending_.clear();
+      pendingChars_ = 0;
+      setFloodMode(false);
+   }
+
+   /**
+    * Sets whether to drop the oldest pending output while flooded, rather
+    * than writing all of it; see the terminal_drop_flood_output preference.
+    */
+   public void setDropIntermediateOutput(boolean drop)
+   {
+      dropIntermediateOutput_ = drop;
+
+      // we only follow escape sequences while dropping is enabled, so assume
+      // none is open when it's turned on
+      writtenState_ = STATE_TEXT;
+   }
+
+   public boolean isFloodMode()
+   {
+      return floodMode_;
+   }
+
+   public String getDiagnostics()
+   {
+      StringBuilder diagnostics = new StringBuilder();
+      diagnostics.append("Flood mode: ").append(isFloodMode() ? "active" : "inactive").append("\n");
+      diagnostics.append("Drop intermediate output: ").append(dropIntermediateOutput_).append("\n");
+      diagnostics.append("Packets received: ").append(packetsReceived_).append("\n");
+      diagnostics.append("Characters written: ").append(charsWritten_).append("\n");
+      diagnostics.append("Frames used: ").append(framesUsed_).append("\n");
+      diagnostics.append("Flood mode entered: ").append(floodCount_).append("\n");
+      diagnostics.append("Characters dropped: ").append(charsDropped_).append("\n");
+      return diagnostics.toString();
+   }
+
+   public void resetDiagnostics()
+   {
+      packetsReceived_ = 0;
+      charsWritten_ = 0;
+      framesUsed_ = 0;
+      floodCount_ = 0;
+      charsDropped_ = 0;
+   }
+
+   public int getPacketsReceived()
+   {
+      return packetsReceived_;
+   }
+
+   public long getCharsWritten()
+   {
+      return charsWritten_;
+   }
+
+   public int getFramesUsed()
+   {
+      return framesUsed_;
+   }
+
+   // package-private so tests can drive frames without waiting for them
+   void onFrame()
+   {
+      frame_ = null;
+      if (pending_.isEmpty())
+         return;
+
+      framesUsed_++;
+      writeChunk(MAX_CHARS_PER_FRAME);
+
+      if (pending_.isEmpty())
+         setFloodMode(false);
+      else
+         frame_ = AnimationScheduler.get().requestAnimationFrame(timestamp -> onFrame());
+   }
+
+   // writes up to maxChars of pending output with a single write
+   private void writeChunk(int maxChars)
+   {
+      StringBuilder chunk = new StringBuilder();
+      while (!pending_.isEmpty() && chunk.length() < maxChars)
+      {
+         String output = pending_.removeFirst();
+         int remaining = maxChars - chunk.length();
+         if (output.length() > remaining)
+         {
+            // leave the rest of this packet for later
+            pending_.addFirst(output.substring(remaining));
+            output = output.substring(0, remaining);
+         }
+         chunk.append(output);
+      }
+
+      String written = chunk.toString();
+      pendingChars_ -= written.length();
+      charsWritten_ += written.length();
+
+      // track whether the output written so far ends within an escape
+      // sequence, so we know where dropping pending output starts from
+      if (dropIntermediateOutput_)
+         writtenState_ = scanControlSequences(written, writtenState_, null);
+
+      writer_.accept(written);
+   }
+
+   private void dropPendingOutput()
+   {
+      StringBuilder kept = new StringBuilder();
+      int state = writtenState_;
+      int dropped = 0;
+
+      while (pendingChars_ > FLOOD_KEEP && pending_.size() > 1)
+      {
+         String output = pending_.removeFirst();
+         pendingChars_ -= output.length();
+         state = scanControlSequences(output, state, kept);
+         dropped += output.length();
+      }
+
+      // resume output at the start of a line
+      String first = pending_.removeFirst();
+      pendingChars_ -= first.length();
+      int newline = first.indexOf('\n');
+      if (newline != -1 && newline + 1 < first.length())
+      {
+         scanControlSequences(first.substring(0, newline + 1), state, kept);
+         dropped += newline + 1;
+         first = first.substring(newline + 1);
+      }
+
+      // the escape sequences from the dropped output (including any still
+      // open) are written ahead of the output that's kept
+      charsDropped_ += dropped - kept.length();
+      kept.append(first);
+      pending_.addFirst(kept.toString());
+      pendingChars_ += kept.length();
+   }
+
+   /**
+    * Follows the escape sequences in output, starting from the given state,
+    * and returns the state at its end. If kept is given, the characters of
+    * the escape sequences are appended to it, while printable text and other
+    * control characters are not.
+    */
+   static int scanControlSequences(String output, int state, StringBuilder kept)
+   {
+      int i = 0;
+      int length = output.length();
+      while (i < length)
+      {
+         if (state == STATE_TEXT)
+         {
+            // skip straight to the next escape sequence
+            int escape = output.indexOf(ESC, i);
+            if (escape == -1)
+               break;
+            i = escape;
+         }
+
+         char c = output.charAt(i++);
+         if (kept != null)
+            kept.append(c);
+
+         switch (state)
+         {
+         case STATE_TEXT:
+            state = STATE_ESCAPE;
+            break;
+
+         case STATE_ESCAPE:
+            if (c == '[')
+               state = STATE_CSI;
+            else if (c == ']' || c == 'P' || c == '_' || c == '^' || c == 'X')
+               state = STATE_STRING;
+            else if (c >= 0x20 && c <= 0x2F)
+               state = STATE_ESCAPE_INTERMEDIATE;
+            else
+               state = STATE_TEXT;
+            break;
+
+         case STATE_ESCAPE_INTERMEDIATE:
+            if (c < 0x20 || c > 0x2F)
+               state = STATE_TEXT;
+            break;
+
+         case STATE_CSI:
+            if (c == ESC)
+               state = STATE_ESCAPE;
+            else if (c >= 0x40 && c <= 0x7E)
+               state = STATE_TEXT;
+            break;
+
+         case STATE_STRING:
+            if (c == BEL)
+               state = STATE_TEXT;
+            else if (c == ESC)
+               state = STATE_STRING_ESCAPE;
+            break;
+
+         case STATE_STRING_ESCAPE:
+            state = c == '\\' ? STATE_TEXT : STATE_STRING;
+            break;
+         }
+      }
+      return state;
+   }
+
+   private void setFloodMode(boolean floodMode)
+   {
+      if (floodMode_ == floodMode)
+         return;
+
+      floodMode_ = floodMode;
+      if (floodMode)
+         floodCount_++;
+      if (floodModeHandler_ != null)
+         floodModeHandler_.accept(floodMode);
+   }
+
+   private void cancelFrame()
+   {
+      if (frame_ != null)
+      {
+         frame_.cancel();
+         frame_ = null;
+      }
+   }
+
+   private final Consumer<String> writer_;
+   private final Consumer<Boolean> floodModeHandler_;
+   private final LinkedList<String> pending_ = new LinkedList<>();
+   private int pendingChars_ = 0;
+   private AnimationScheduler.AnimationHandle frame_;
+   private boolean floodMode_ = false;
+   private boolean dropIntermediateOutput_ = false;
+
+   // where the output written so far leaves off within an escape sequence
+   private int writtenState_ = STATE_TEXT;
+
+   // counters
+   private int packetsReceived_ = 0;
+   private long charsWritten_ = 0;
+   private int framesUsed_ = 0;
+   private int floodCount_ = 0;
+   private long charsDropped_ = 0;
+
+   private static final int MAX_CHARS_PER_FRAME = 64 * 1024;
+
+   // pending output beyond which we consider the terminal flooded, and how
+   // much to keep when dropping intermediate output
+   private static final int FLOOD_THRESHOLD = 2 * 1024 * 1024;
+   private static final int FLOOD_KEEP = 4 * MAX_CHARS_PER_FRAME;
+
+   private static final char ESC = '\u001b';
+   private static final char BEL = '\u0007';
+
+   // states while following escape sequences: plain text, just after ESC,
+   // within an escape sequence's intermediate bytes, within a CSI sequence,
+   // and within a string (OSC, DCS, etc.) or just after an ESC in one
+   static final int STATE_TEXT = 0;
+   static final int STATE_ESCAPE = 1;
+   static final int STATE_ESCAPE_INTERMEDIATE = 2;
+   static final int STATE_CSI = 3;
+   static final int STATE_STRING = 4;
+   static final int STATE_STRING_ESCAPE = 5;
+}
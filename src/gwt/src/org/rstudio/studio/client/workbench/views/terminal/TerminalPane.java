@@ -144,6 +144,13 @@ public class TerminalPane extends WorkbenchPane
       terminalTitle_.setStyleName(ThemeStyles.INSTANCE.subtitle());
       toolbar.addLeftWidget(terminalTitle_);
 
+      // shown while output arrives faster than the terminal can display it
+      outputFlooded_ = new Label(constants_.outputFloodedLabel());
+      outputFlooded_.setStyleName(ThemeStyles.INSTANCE.subtitle());
+      outputFlooded_.setTitle(constants_.outputFloodedTitle());
+      outputFlooded_.setVisible(false);
+      toolbar.addLeftWidget(outputFlooded_);
+
       clearButton_ = commands_.clearTerminalScrollbackBuffer().createToolbarButton();
       clearButton_.addStyleName(ThemeStyles.INSTANCE.terminalClearButton());
       toolbar.addRightWidget(clearButton_);
@@ -206,6 +213,7 @@ public class TerminalPane extends WorkbenchPane
          interruptButton_.setVisible(interruptable);
          closeButton_.setVisible(closable);
          clearButton_.setVisible(clearable);
+         outputFlooded_.setVisible(visibleTerminal != null && visibleTerminal.isOutputFlooded());
          activeTerminalToolbarButton_.updateTerminalCommands();
       });
    }
@@ -1090,6 +1098,7 @@ public class TerminalPane extends WorkbenchPane
    private void showTerminalWidget(TerminalSession terminal)
    {
       registerChildProcsHandler(terminal);
+      registerOutputFloodedHandler(terminal);
       terminalSessionsPanel_.showTerminal(terminal);
       terminalSessionsPanel_.getVisibleTerminal().refresh();
       updateTerminalToolbar();
@@ -1122,6 +1131,25 @@ public class TerminalPane extends WorkbenchPane
       }
    }
 
+   private void registerOutputFloodedHandler(TerminalSession terminal)
+   {
+      unregisterOutputFloodedHandler();
+      if (terminal != null)
+      {
+         terminalOutputFloodedHandler_ = terminal.addOutputFloodedChangeHandler(event ->
+               outputFlooded_.setVisible(event.getValue()));
+      }
+   }
+
+   private void unregisterOutputFloodedHandler()
+   {
+      if (terminalOutputFloodedHandler_ != null)
+      {
+         terminalOutputFloodedHandler_.removeHandler();
+         terminalOutputFloodedHandler_ = null;
+      }
+   }
+
    private void setShowTerminalPref(boolean show)
    {
       if (uiPrefs_.showTerminalTab().getValue() != show)
@@ -1151,11 +1179,13 @@ public class TerminalPane extends WorkbenchPane
    private TerminalPopupMenu activeTerminalToolbarButton_;
    private final TerminalList terminals_ = new TerminalList();
    private Label terminalTitle_;
+   private Label outputFlooded_;
    private boolean creatingTerminal_;
    private ToolbarButton interruptButton_;
    private ToolbarButton closeButton_;
    private ToolbarButton clearButton_;
    private HandlerRegistration terminalHasChildProcsHandler_;
+   private HandlerRegistration terminalOutputFloodedHandler_;
    private boolean isRestartInProgress_;
    private boolean closingAll_;
    private boolean suppressAutoFocus_;
@@ -180,6 +180,7 @@ public class TerminalSession extends XTermWidget
                if (haveLoadedBuffer_)
                   updateStringOption("bellStyle", arg);
             }));
+            addHandlerRegistration(uiPrefs_.terminalDropFloodOutput().bind(arg -> socket_.setDropIntermediateOutput(arg)));
             addHandlerRegistration(uiPrefs_.terminalRenderer().bind(arg ->
             {
                updateStringOption("rendererType", arg);
@@ -542,6 +543,7 @@ public class TerminalSession extends XTermWidget
     */
    public void clearBuffer()
    {
+      socket_.discardOutput();
       clear();
 
       // talk directly to the server so it will wake up if suspended and
@@ -574,6 +576,7 @@ public class TerminalSession extends XTermWidget
 
    protected void writeError(String msg)
    {
+      socket_.flushOutput();
       writeln(constants_.writeErrorMessage(AnsiCode.ForeColor.RED, msg, AnsiCode.DEFAULTCOLORS));
    }
 
@@ -666,6 +669,26 @@ public class TerminalSession extends XTermWidget
       return hasChildProcs_.addValueChangeHandler(handler);
    }
 
+   /**
+    * Is output arriving faster than this terminal can display it?
+    * @return true if the terminal's output is flooded
+    */
+   public boolean isOutputFlooded()
+   {
+      return outputFlooded_.getValue();
+   }
+
+   @Override
+   public void outputFloodChanged(boolean flooded)
+   {
+      outputFlooded_.setValue(flooded, true);
+   }
+
+   public HandlerRegistration addOutputFloodedChangeHandler(ValueChangeHandler<Boolean> handler)
+   {
+      return outputFlooded_.addValueChangeHandler(handler);
+   }
+
    /**
     * Forcibly terminate the process associated with this terminal session.
     */
@@ -730,6 +753,7 @@ public class TerminalSession extends XTermWidget
     */
    public void reloadBuffer()
    {
+      socket_.discardOutput();
       deferredOutput_.clear();
       if (newTerminal_)
       {
@@ -826,6 +850,7 @@ public class TerminalSession extends XTermWidget
 
    public void showZombieMessage()
    {
+      socket_.flushOutput();
       writeln(constants_.processCompletedText());
       accept(constants_.zombieExitCodeText());
       if (procInfo_.getExitCode() != null)
@@ -947,6 +972,7 @@ public class TerminalSession extends XTermWidget
    private ConsoleProcessInfo procInfo_;
    private String title_;
    private final HasValue<Boolean> hasChildProcs_;
+   private final HasValue<Boolean> outputFlooded_ = new Value<>(false);
    private boolean connected_;
    private boolean connecting_;
    private boolean terminating_;
@@ -63,6 +63,13 @@ public class TerminalSessionSocket
        * Called to disconnect the terminal
        */
       void connectionDisconnected();
+
+      /**
+       * Called when output starts or stops arriving faster than it can be
+       * displayed.
+       * @param flooded whether output is flooding the terminal
+       */
+      void outputFloodChanged(boolean flooded);
    }
 
    public interface ConnectCallback
@@ -94,7 +101,12 @@ public class TerminalSessionSocket
    {
       session_ = session;
       xterm_ = xterm;
-      localEcho_ = new TerminalLocalEcho(xterm_);
+      output_ = new TerminalOutputAccumulator(xterm_, floodMode ->
+      {
+         diagnostic_.log(floodMode ? "Output flood started" : "Output flood ended");
+         session_.outputFloodChanged(floodMode);
+      });
+      localEcho_ = new TerminalLocalEcho(output_);
       webSocketPingInterval_ = webSocketPingInterval;
       webSocketConnectTimeout_ = webSocketConnectTimeout;
 
@@ -345,13 +357,31 @@ public class TerminalSessionSocket
       }
       if (!detectLocalEcho || localEcho_.isEmpty())
       {
-         xterm_.accept(output);
+         output_.accept(output);
          return;
       }
 
       localEcho_.write(output);
    }
 
+   /**
+    * Immediately write any output still waiting for an animation frame; call
+    * before writing directly to the terminal emulator.
+    */
+   public void flushOutput()
+   {
+      output_.flush();
+   }
+
+   /**
+    * Discard any output still waiting for an animation frame; call before
+    * clearing or reloading the terminal buffer.
+    */
+   public void discardOutput()
+   {
+      output_.discard();
+   }
+
    @Override
    public void onTerminalDataInput(TerminalDataInputEvent event)
    {
@@ -382,6 +412,7 @@ public class TerminalSessionSocket
    public void disconnect(boolean permanent)
    {
       diagnostic_.log(permanent ? constants_.permanentlyDisconnectedLabel() : constants_.disconnectedLabel());
+      output_.flush();
       if (socket_ != null)
          socket_.close();
       socket_ = null;
@@ -396,6 +427,7 @@ public class TerminalSessionSocket
    {
       diagnostic_.resetLog();
       localEcho_.resetDiagnostics();
+      output_.resetDiagnostics();
    }
 
    public String getConnectionDiagnostics()
@@ -408,6 +440,16 @@ public class TerminalSessionSocket
       return localEcho_.getDiagnostics();
    }
 
+   public String getOutputDiagnostics()
+   {
+      return output_.getDiagnostics();
+   }
+
+   public void setDropIntermediateOutput(boolean drop)
+   {
+      output_.setDropIntermediateOutput(drop);
+   }
+
    private void diagnosticError(String msg)
    {
       Debug.log(msg);
@@ -426,6 +468,7 @@ public class TerminalSessionSocket
    private HandlerRegistration terminalInputHandler_;
    private Websocket socket_;
    private final TerminalLocalEcho localEcho_;
+   private final TerminalOutputAccumulator output_;
    private final TerminalDiagnostics diagnostic_ = new TerminalDiagnostics();
 
    // RegEx to match common password prompts
@@ -28,6 +28,7 @@ import com.google.gwt.text.shared.SafeHtmlRenderer;
 import com.google.gwt.user.cellview.client.CellTable;
 import com.google.gwt.user.cellview.client.Column;
 import com.google.gwt.user.cellview.client.ColumnSortEvent;
+import com.google.gwt.user.cellview.client.ColumnSortList;
 import com.google.gwt.user.client.ui.Composite;
 import com.google.gwt.user.client.ui.LayoutPanel;
 import com.google.gwt.user.client.ui.ScrollPanel;
@@ -42,6 +43,8 @@ import org.rstudio.studio.client.workbench.views.vcs.ViewVcsConstants;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Set;
 
 public abstract class ChangelistTable extends Composite
@@ -281,6 +284,7 @@ public abstract class ChangelistTable extends Composite
       pathColumn.setSortable(true);
       sortHandler_.setComparator(pathColumn, new StatusAndPath.PathComparator());
       table_.addColumn(pathColumn, constants_.pathCapitalized());
+      pathColumn_ = pathColumn;
 
       table_.getColumnSortList().push(pathColumn);
    }
@@ -317,6 +321,62 @@ public abstract class ChangelistTable extends Composite
       }
    }
 
+   /**
+    * Applies changes to the status of individual files, updating only their
+    * rows rather than replacing all items. Files that are no longer modified
+    * are removed, and files not yet listed are added.
+    */
+   public void updateItems(ArrayList<StatusAndPath> changes)
+   {
+      LinkedHashMap<String, StatusAndPath> pending = new LinkedHashMap<>();
+      for (StatusAndPath change : changes)
+         pending.put(change.getRawPath(), change);
+
+      // the data provider's list batches these modifications into a single
+      // redraw of the table
+      List<StatusAndPath> items = dataProvider_.getList();
+      boolean removed = false;
+      for (int i = 0; i < items.size() && !pending.isEmpty(); i++)
+      {
+         StatusAndPath change = pending.remove(items.get(i).getRawPath());
+         if (change == null)
+            continue;
+
+         removed |= change.isUnmodified();
+         items.set(i, change);
+      }
+
+      if (removed)
+      {
+         ArrayList<StatusAndPath> remaining = new ArrayList<>(items.size());
+         for (StatusAndPath item : items)
+            if (!item.isUnmodified())
+               remaining.add(item);
+         items.clear();
+         items.addAll(remaining);
+      }
+
+      boolean added = false;
+      for (StatusAndPath change : pending.values())
+      {
+         if (!change.isUnmodified())
+         {
+            items.add(change);
+            added = true;
+         }
+      }
+
+      table_.setPageSize(items.size());
+
+      // rows updated in place keep their position when sorted by path, since
+      // their path hasn't changed
+      ColumnSortList sortList = table_.getColumnSortList();
+      boolean sortedByPath = sortList.size() == 0 ||
+                             sortList.get(0).getColumn() == pathColumn_;
+      if (added || !sortedByPath)
+         ColumnSortEvent.fire(table_, sortList);
+   }
+
    public ArrayList<StatusAndPath> getSelectedItems()
    {
       SelectionModel<? super StatusAndPath> selectionModel = table_.getSelectionModel();
@@ -429,6 +489,7 @@ public abstract class ChangelistTable extends Composite
    protected final MultiSelectionModel<StatusAndPath> selectionModel_;
    protected final ColumnSortEvent.ListHandler<StatusAndPath> sortHandler_;
    protected final ListDataProvider<StatusAndPath> dataProvider_;
+   private Column<StatusAndPath, String> pathColumn_;
    private final ProgressPanel progressPanel_;
    private LayoutPanel layout_;
    private ScrollPanel scrollPanel_;
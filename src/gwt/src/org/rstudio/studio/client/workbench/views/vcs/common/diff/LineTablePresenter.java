@@ -27,6 +27,7 @@ public class LineTablePresenter
    public interface Display
    {
       void setData(ArrayList<ChunkOrLine> diffData, PatchMode patchMode);
+      void appendData(ArrayList<ChunkOrLine> diffData);
       void clear();
       ArrayList<Line> getSelectedLines();
       ArrayList<Line> getAllLines();
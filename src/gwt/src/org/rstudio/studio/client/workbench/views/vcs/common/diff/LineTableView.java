@@ -21,12 +21,16 @@ import com.google.gwt.dom.client.Element;
 import com.google.gwt.dom.client.NativeEvent;
 import com.google.gwt.dom.client.Node;
 import com.google.gwt.dom.client.Style.Unit;
+import com.google.gwt.event.dom.client.ScrollEvent;
+import com.google.gwt.event.dom.client.ScrollHandler;
 import com.google.gwt.event.shared.HandlerRegistration;
 import com.google.gwt.safehtml.shared.SafeHtmlBuilder;
 import com.google.gwt.user.cellview.client.CellTable;
 import com.google.gwt.user.cellview.client.Column;
 import com.google.gwt.user.cellview.client.RowStyles;
 import com.google.gwt.user.cellview.client.TextColumn;
+import com.google.gwt.user.client.Window;
+import com.google.gwt.user.client.ui.ScrollPanel;
 import com.google.gwt.view.client.MultiSelectionModel;
 import com.google.gwt.view.client.ProvidesKey;
 import com.google.gwt.view.client.SelectionChangeEvent;
@@ -305,7 +309,9 @@ public class LineTableView extends MultiSelectCellTable<ChunkOrLine> implements
                String prefix = "";
                if (startRows_.contains(rowIndex))
                   prefix += res.cellTableStyle().start() + " ";
-               if (endRows_.contains(rowIndex))
+               // Edge case: last line is a diff line
+               if (endRows_.contains(rowIndex) ||
+                   (useEndBorder_ && rowIndex == lines_.size() - 1))
                   prefix += res.cellTableStyle().end() + " ";
 
                switch (line.getType())
@@ -383,8 +389,9 @@ public class LineTableView extends MultiSelectCellTable<ChunkOrLine> implements
 
    private void refreshValue(ChunkOrLine value)
    {
+      // rows outside the rendered window are drawn when scrolled to
       int index = lines_.indexOf(value);
-      if (index >= 0)
+      if (index >= windowStart_ && index < windowEnd_)
       {
          ArrayList<ChunkOrLine> list = new ArrayList<>();
          list.add(value);
@@ -426,6 +433,33 @@ public class LineTableView extends MultiSelectCellTable<ChunkOrLine> implements
       useEndBorder_ = useEndBorder;
    }
 
+   /**
+    * Renders only the rows near the visible part of the given scroll panel
+    * (which should directly contain this table) when showing large diffs.
+    */
+   public void setScrollPanel(final ScrollPanel scrollPanel)
+   {
+      scrollPanel_ = scrollPanel;
+      scrollPanel_.addScrollHandler(new ScrollHandler()
+      {
+         @Override
+         public void onScroll(ScrollEvent event)
+         {
+            if (!isWindowed())
+               return;
+
+            // re-render once the visible rows are no longer all rendered
+            int first = scrollPanel_.getVerticalScrollPosition() / rowHeight_;
+            int last = first + getViewportRowCount();
+            if ((first < windowStart_ && windowStart_ > 0) ||
+                (last > windowEnd_ && windowEnd_ < lines_.size()))
+            {
+               renderRows();
+            }
+         }
+      });
+   }
+
    @Override
    public void setData(ArrayList<ChunkOrLine> diffData, PatchMode patchMode)
    {
@@ -441,18 +475,39 @@ public class LineTableView extends MultiSelectCellTable<ChunkOrLine> implements
             break;
       }
 
-      lines_ = diffData;
-      setPageSize(diffData.size());
+      lines_ = new ArrayList<>(diffData);
       selectionModel_.clear();
       firstSelectedLine_ = null;
-      setRowData(diffData);
 
       startRows_.clear();
       endRows_.clear();
+      borderState_ = Line.Type.Same;
+      suppressNextStart_ = true; // Suppress at start to avoid 2px border
+      updateBorders(0);
+
+      renderRows();
+   }
 
-      Line.Type state = Line.Type.Same;
-      boolean suppressNextStart = true; // Suppress at start to avoid 2px border
-      for (int i = 0; i < lines_.size(); i++)
+   @Override
+   public void appendData(ArrayList<ChunkOrLine> diffData)
+   {
+      if (diffData.isEmpty())
+         return;
+
+      int lastRow = lines_.size() - 1;
+      lines_.addAll(diffData);
+      updateBorders(lastRow + 1);
+
+      // the previous last row no longer gets the end border by default
+      if (lastRow >= windowStart_ && lastRow < windowEnd_)
+         redrawRow(lastRow);
+
+      renderRows();
+   }
+
+   private void updateBorders(int startRow)
+   {
+      for (int i = startRow; i < lines_.size(); i++)
       {
          ChunkOrLine chunkOrLine = lines_.get(i);
          Line line = chunkOrLine.getLine();
@@ -462,38 +517,96 @@ public class LineTableView extends MultiSelectCellTable<ChunkOrLine> implements
          if (useStartBorder_ && i == 0)
             startRows_.add(i);
 
-         // Edge case: last line is a diff line
-         if (useEndBorder_ && i == lines_.size() - 1)
-            endRows_.add(i);
-
-         if (newState != state)
+         if (newState != borderState_)
          {
             // Note: endRows_ doesn't include the borders between insertions and
             // deletions, or vice versa. This is to avoid 2px borders between
             // these regions when just about everything else is 1px.
-            if (state != Line.Type.Same && newState == Line.Type.Same && !isChunk)
+            if (borderState_ != Line.Type.Same && newState == Line.Type.Same && !isChunk)
                endRows_.add(i-1);
-            if (!suppressNextStart && newState != Line.Type.Same)
+            if (!suppressNextStart_ && newState != Line.Type.Same)
                startRows_.add(i);
 
-            state = newState;
+            borderState_ = newState;
          }
 
-         suppressNextStart = isChunk;
+         suppressNextStart_ = isChunk;
       }
    }
 
+   private boolean isWindowed()
+   {
+      return scrollPanel_ != null && lines_.size() > WINDOW_THRESHOLD;
+   }
+
+   private int getViewportRowCount()
+   {
+      // the scroll panel may not have been laid out yet, in which case assume
+      // it could be as tall as the window
+      int height = scrollPanel_.getOffsetHeight();
+      if (height <= 0)
+         height = Window.getClientHeight();
+      return height / rowHeight_ + 1;
+   }
+
+   // renders the rows in the window around the visible rows (or all rows,
+   // for small diffs), with margins standing in for the rows on either side
+   private void renderRows()
+   {
+      int count = lines_.size();
+      int start = 0;
+      int end = count;
+      if (isWindowed())
+      {
+         int first = scrollPanel_.getVerticalScrollPosition() / rowHeight_;
+         start = Math.max(0, Math.min(count, first) - WINDOW_OVERSCAN);
+         end = Math.min(count, first + getViewportRowCount() + WINDOW_OVERSCAN);
+      }
+
+      windowStart_ = start;
+      windowEnd_ = end;
+
+      setRowCount(count, true);
+      setVisibleRange(start, end - start);
+      setRowData(start, lines_.subList(start, end));
+
+      if (!isWindowed())
+      {
+         getElement().getStyle().clearMarginTop();
+         getElement().getStyle().clearMarginBottom();
+         return;
+      }
+
+      // estimate the height of the unrendered rows from the rendered ones
+      flush();
+      int renderedHeight = getTableBodyElement().getOffsetHeight();
+      if (renderedHeight > 0 && end > start)
+         rowHeight_ = Math.max(1, renderedHeight / (end - start));
+
+      getElement().getStyle().setMarginTop(start * rowHeight_, Unit.PX);
+      getElement().getStyle().setMarginBottom((count - end) * rowHeight_, Unit.PX);
+   }
+
    @Override
    protected boolean canSelectVisibleRow(int visibleRow)
    {
-      if (visibleRow < 0 || visibleRow >= lines_.size())
+      int row = windowStart_ + visibleRow;
+      if (visibleRow < 0 || row >= windowEnd_)
          return false;
 
-      Line line = lines_.get(visibleRow).getLine();
+      Line line = lines_.get(row).getLine();
       return line != null && (line.getType() == Type.Insertion
                               || line.getType() == Type.Deletion);
    }
 
+   @Override
+   protected void selectAll()
+   {
+      // include the rows outside the rendered window
+      for (ChunkOrLine line : lines_)
+         selectionModel_.setSelected(line, true);
+   }
+
    @Override
    public void clear()
    {
@@ -544,14 +657,26 @@ public class LineTableView extends MultiSelectCellTable<ChunkOrLine> implements
    }
 
    private boolean showActions_ = true;
-   private ArrayList<ChunkOrLine> lines_;
+   private ArrayList<ChunkOrLine> lines_ = new ArrayList<>();
    private SwitchableSelectionModel<ChunkOrLine> selectionModel_;
    private HashSet<Integer> startRows_ = new HashSet<>();
    private HashSet<Integer> endRows_ = new HashSet<>();
    private boolean useStartBorder_ = false;
    private boolean useEndBorder_ = true;
+   private Line.Type borderState_ = Line.Type.Same;
+   private boolean suppressNextStart_ = true;
+
+   // when attached to a scroll panel, large diffs only render the rows in
+   // [windowStart_, windowEnd_)
+   private ScrollPanel scrollPanel_;
+   private int windowStart_ = 0;
+   private int windowEnd_ = 0;
+   private int rowHeight_ = 16;
    // Keep explicit track of the first selected line so we can render it differently
    private ChunkOrLine firstSelectedLine_;
+   private static final int WINDOW_THRESHOLD = 1000;
+   private static final int WINDOW_OVERSCAN = 100;
+
    private static final LineTableViewCellTableResources RES = GWT.create(LineTableViewCellTableResources.class);
    private static final LineActionButtonRenderer blueButtonRenderer_ = LineActionButtonRenderer.createBlue();
    private static final LineActionButtonRenderer grayButtonRenderer_ = LineActionButtonRenderer.createGray();
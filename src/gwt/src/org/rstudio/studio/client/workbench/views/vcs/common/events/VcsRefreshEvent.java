@@ -16,6 +16,9 @@ package org.rstudio.studio.client.workbench.views.vcs.common.events;
 
 import com.google.gwt.event.shared.EventHandler;
 import com.google.gwt.event.shared.GwtEvent;
+import org.rstudio.studio.client.common.vcs.StatusAndPath;
+
+import java.util.ArrayList;
 
 public class VcsRefreshEvent extends GwtEvent<VcsRefreshEvent.Handler>
 {
@@ -23,6 +26,7 @@ public class VcsRefreshEvent extends GwtEvent<VcsRefreshEvent.Handler>
 
    private final Reason reason_;
    private final int delayMs_;
+   private final ArrayList<StatusAndPath> changes_;
 
    public static final Type<Handler> TYPE = new Type<>();
 
@@ -40,6 +44,18 @@ public class VcsRefreshEvent extends GwtEvent<VcsRefreshEvent.Handler>
    {
       reason_ = reason;
       delayMs_ = delayMs;
+      changes_ = null;
+   }
+
+   /**
+    * @param changes The new status of each file that changed; files that
+    *    are no longer modified have a blank status.
+    */
+   public VcsRefreshEvent(Reason reason, ArrayList<StatusAndPath> changes)
+   {
+      reason_ = reason;
+      delayMs_ = 0;
+      changes_ = changes;
    }
 
    public Reason getReason()
@@ -52,6 +68,15 @@ public class VcsRefreshEvent extends GwtEvent<VcsRefreshEvent.Handler>
       return delayMs_;
    }
 
+   /**
+    * @return The files whose status changed, or null if the status of all
+    *    files may have changed.
+    */
+   public ArrayList<StatusAndPath> getChanges()
+   {
+      return changes_;
+   }
+
    @Override
    public Type<Handler> getAssociatedType()
    {
@@ -14,6 +14,8 @@
  */
 package org.rstudio.studio.client.workbench.views.vcs.common.model;
 
+import com.google.gwt.animation.client.AnimationScheduler;
+import com.google.gwt.animation.client.AnimationScheduler.AnimationHandle;
 import com.google.gwt.core.client.Scheduler;
 import com.google.gwt.core.client.Scheduler.RepeatingCommand;
 import com.google.gwt.core.client.Scheduler.ScheduledCommand;
@@ -21,7 +23,6 @@ import com.google.gwt.event.shared.HandlerManager;
 import com.google.gwt.event.shared.HandlerRegistration;
 import com.google.gwt.user.client.ui.Widget;
 import org.rstudio.core.client.HandlerRegistrations;
-import org.rstudio.core.client.StringUtil;
 import org.rstudio.core.client.WidgetHandlerRegistration;
 import org.rstudio.core.client.files.FileSystemItem;
 import org.rstudio.studio.client.application.events.EventBus;
@@ -35,6 +36,8 @@ import org.rstudio.studio.client.workbench.views.vcs.common.events.VcsRefreshEve
 import org.rstudio.studio.client.workbench.views.vcs.common.events.VcsRefreshEvent.Reason;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 
 public abstract class VcsState
 {
@@ -91,37 +94,18 @@ public abstract class VcsState
             FileChange fileChange = event.getFileChange();
             FileSystemItem file = fileChange.getFile();
 
-            StatusAndPath status = StatusAndPath.fromInfo(
-                  getStatusFromFile(file));
-
             if (needsFullRefresh(file))
             {
+               cancelPendingChanges();
                refresh(false);
                return;
             }
 
-            if (status_ != null && status != null)
-            {
-               for (int i = 0; i < status_.size(); i++)
-               {
-                  if (status.getRawPath() == status_.get(i).getRawPath())
-                  {
-                     if (StringUtil.notNull(status.getStatus()).trim().length() == 0)
-                        status_.remove(i);
-                     else
-                        status_.set(i, status);
-                     handlers_.fireEvent(new VcsRefreshEvent(Reason.FileChange));
-                     return;
-                  }
-               }
+            StatusAndPath status = StatusAndPath.fromInfo(
+                  getStatusFromFile(file));
 
-               if (status.getStatus().trim().length() != 0)
-               {
-                  status_.add(status);
-                  handlers_.fireEvent(new VcsRefreshEvent(Reason.FileChange));
-                  return;
-               }
-            }
+            if (status_ != null && status != null)
+               queueChange(status);
          }
       }));
 
@@ -170,12 +154,105 @@ public abstract class VcsState
       return status_;
    }
 
+   /**
+    * Replaces the status of all files, e.g. with the result of a full
+    * refresh. Any file changes not yet applied are dropped, since the new
+    * status already reflects them.
+    */
+   protected void setStatus(ArrayList<StatusAndPath> status)
+   {
+      cancelPendingChanges();
+      status_ = status;
+      indexStatus();
+   }
+
    public void refresh()
    {
       if (session_.getSessionInfo().isVcsEnabled())
          refresh(true);
    }
 
+   // file changes tend to arrive in storms (e.g. when switching branches or
+   // running a build), so they're collected and applied together on the
+   // next animation frame, with the last change to each path winning
+   private void queueChange(StatusAndPath status)
+   {
+      pendingChanges_.put(status.getRawPath(), status);
+      if (frame_ == null)
+         frame_ = AnimationScheduler.get().requestAnimationFrame(timestamp -> applyPendingChanges());
+   }
+
+   private void cancelPendingChanges()
+   {
+      if (frame_ != null)
+      {
+         frame_.cancel();
+         frame_ = null;
+      }
+      pendingChanges_.clear();
+   }
+
+   private void applyPendingChanges()
+   {
+      frame_ = null;
+      if (status_ == null || pendingChanges_.isEmpty())
+      {
+         pendingChanges_.clear();
+         return;
+      }
+
+      ArrayList<StatusAndPath> changes = new ArrayList<>();
+      boolean removed = false;
+      for (StatusAndPath status : pendingChanges_.values())
+      {
+         Integer index = statusIndex_.get(status.getRawPath());
+         if (status.isUnmodified())
+         {
+            if (index == null)
+               continue;
+
+            // removed entries are compacted out below, in a single pass
+            status_.set(index, null);
+            statusIndex_.remove(status.getRawPath());
+            removed = true;
+         }
+         else if (index != null)
+         {
+            status_.set(index, status);
+         }
+         else
+         {
+            statusIndex_.put(status.getRawPath(), status_.size());
+            status_.add(status);
+         }
+         changes.add(status);
+      }
+      pendingChanges_.clear();
+
+      if (removed)
+      {
+         ArrayList<StatusAndPath> remaining = new ArrayList<>(status_.size());
+         for (StatusAndPath status : status_)
+            if (status != null)
+               remaining.add(status);
+         status_ = remaining;
+         indexStatus();
+      }
+
+      if (!changes.isEmpty())
+         handlers_.fireEvent(new VcsRefreshEvent(Reason.FileChange, changes));
+   }
+
+   private void indexStatus()
+   {
+      statusIndex_.clear();
+      if (status_ == null)
+         return;
+
+      for (int i = 0; i < status_.size(); i++)
+         statusIndex_.put(status_.get(i).getRawPath(), i);
+   }
+
    protected abstract StatusAndPathInfo getStatusFromFile(FileSystemItem file);
 
    protected abstract boolean needsFullRefresh(FileSystemItem file);
@@ -186,6 +263,9 @@ public abstract class VcsState
 
    protected final HandlerManager handlers_ = new HandlerManager(this);
    protected ArrayList<StatusAndPath> status_;
+   private final HashMap<String, Integer> statusIndex_ = new HashMap<>();
+   private final LinkedHashMap<String, StatusAndPath> pendingChanges_ = new LinkedHashMap<>();
+   private AnimationHandle frame_;
    protected final EventBus eventBus_;
    protected final GlobalDisplay globalDisplay_;
    protected final Session session_;
@@ -37,8 +37,10 @@ import org.rstudio.studio.client.workbench.views.vcs.ViewVcsConstants;
 import org.rstudio.studio.client.workbench.views.vcs.dialog.HistoryPanel.Styles;
 import org.rstudio.studio.client.workbench.views.vcs.dialog.HistoryPresenter.CommitListDisplay;
 import org.rstudio.studio.client.workbench.views.vcs.dialog.graph.GraphLine;
+import org.rstudio.studio.client.workbench.views.vcs.dialog.graph.GraphPage;
 import org.rstudio.studio.client.workbench.views.vcs.dialog.graph.GraphTheme;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class CommitListTable extends MultiSelectCellTable<CommitInfo>
@@ -121,13 +123,13 @@ public class CommitListTable extends MultiSelectCellTable<CommitInfo>
       @Override
       public SafeHtml render(CommitInfo object)
       {
-         if (lastGraphImg_ != null && object.getGraph() == lastGraph_)
-            return lastGraphImg_;
-
-         lastGraph_ = object.getGraph();
-         if (object.getGraph().length() == 0)
-            return lastGraphImg_ = SafeHtmlUtil.createEmpty();
-         return lastGraphImg_ = new GraphLine(object.getGraph()).render(theme_);
+         // both the page and individual lines memoize their rendering
+         String graph = object.getGraph();
+         if (graph.length() == 0)
+            return SafeHtmlUtil.createEmpty();
+         if (graphPage_ != null && graphPage_.contains(graph))
+            return graphPage_.render(graph);
+         return new GraphLine(graph).render(theme_);
       }
 
       @Override
@@ -137,8 +139,6 @@ public class CommitListTable extends MultiSelectCellTable<CommitInfo>
       }
 
       private final GraphTheme theme_;
-      private String lastGraph_ = "";
-      private SafeHtml lastGraphImg_;
    }
 
    private class SubjectRenderer implements SafeHtmlRenderer<CommitInfo>
@@ -260,6 +260,18 @@ public class CommitListTable extends MultiSelectCellTable<CommitInfo>
          setColumnWidth(graphCol_, "0");
    }
 
+   // draws the graph for the whole page at once, rather than row by row
+   private void updateGraphPage(List<? extends CommitInfo> values)
+   {
+      if (graphPage_ != null)
+         graphPage_.dispose();
+
+      ArrayList<String> graphs = new ArrayList<>(values.size());
+      for (CommitInfo commit : values)
+         graphs.add(StringUtil.notNull(commit.getGraph()));
+      graphPage_ = new GraphPage(graphTheme_, graphs);
+   }
+
    @Override
    public void setRowData(int start, List<? extends CommitInfo> values)
    {
@@ -268,6 +280,7 @@ public class CommitListTable extends MultiSelectCellTable<CommitInfo>
          selectionModel_.setSelected(selectionModel_.getSelectedObject(),
                                      false);
       }
+      updateGraphPage(values);
       super.setRowData(start, values);
       updateGraphColumnWidth();
       maybePreselectFirstRow();
@@ -322,6 +335,7 @@ public class CommitListTable extends MultiSelectCellTable<CommitInfo>
    private final Styles styles_;
    private CommitColumn graphCol_;
    private GraphTheme graphTheme_;
+   private GraphPage graphPage_;
    private boolean autoSelectFirstRow_ = true;
    private static final ViewVcsConstants constants_ = GWT.create(ViewVcsConstants.class);
    private static final DateTimeFormat yearMonthDayFormat = DateTimeFormat.getFormat("yyyy-MM-dd");
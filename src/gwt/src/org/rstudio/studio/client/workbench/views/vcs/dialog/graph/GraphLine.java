@@ -22,15 +22,23 @@ import com.google.gwt.safehtml.shared.SafeHtml;
 import org.rstudio.core.client.SafeHtmlUtil;
 import org.rstudio.studio.client.workbench.views.vcs.ViewVcsConstants;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 public class GraphLine
 {
    public GraphLine(String value)
    {
+      value_ = value;
       String[] vals = value.length() == 0 ? new String[] {} : value.split(" ");
       columns_ = new GraphColumn[vals.length];
+      altText_ = "";
       for (int i = 0; i < columns_.length; i++)
+      {
          columns_[i] = new GraphColumn(vals[i]);
-      altText_ = "";
+         if (columns_[i].nexus)
+            altText_ = constants_.commitDepthAltText(i);
+      }
    }
 
    public GraphColumn[] getColumns()
@@ -52,27 +60,48 @@ public class GraphLine
       return Math.max(startColumns, endColumns) * theme.getColumnWidth();
    }
 
+   public String getAltText()
+   {
+      return altText_;
+   }
+
+   /**
+    * Renders the line as an image. Lines are identified by their column
+    * signature (the value they were created from), and identical lines are
+    * common in long histories, so rendered lines are cached rather than
+    * encoded again.
+    */
    public SafeHtml render(GraphTheme theme)
    {
-      draw(s_canvas, theme);
-      return SafeHtmlUtil.createOpenTag("img",
-                                        "alt", altText_,
-                                        "class", theme.getImgClassName(),
-                                        "src", s_canvas.toDataUrl());
+      String key = theme.getImgClassName() + ":" + value_;
+      SafeHtml html = s_cache.get(key);
+      if (html == null)
+      {
+         int height = theme.getRowHeight();
+         s_canvas.setCoordinateSpaceHeight(height);
+         s_canvas.setCoordinateSpaceWidth(theme.getColumnWidth() * getTotalWidth(theme));
+         draw(s_canvas.getContext2d(), theme);
+
+         html = SafeHtmlUtil.createOpenTag("img",
+                                           "alt", altText_,
+                                           "class", theme.getImgClassName(),
+                                           "src", s_canvas.toDataUrl());
+         s_cache.put(key, html);
+      }
+      return html;
    }
 
-   private void draw(Canvas canvas, GraphTheme theme)
+   /**
+    * Draws the line into a row of the given context, starting at its origin
+    * (the caller translates the context to draw into other rows).
+    */
+   void draw(Context2d ctx, GraphTheme theme)
    {
       int height = theme.getRowHeight();
       int colWidth = theme.getColumnWidth();
       double pad = theme.getVerticalLinePadding();
 
-      canvas.setCoordinateSpaceHeight(height);
-      canvas.setCoordinateSpaceWidth(colWidth * getTotalWidth(theme));
-      Context2d ctx = canvas.getContext2d();
-
-      //ctx.clearRect(0, 0, colWidth * columns_.length, height);
-
+      ctx.save();
       ctx.translate(colWidth / 2.0, 0);
 
       int startPos = -1;
@@ -112,7 +141,6 @@ public class GraphLine
             if (c.nexus)
             {
                nexusColumn = i;
-               altText_ = constants_.commitDepthAltText(nexusColumn);
                ctx.setFillStyle(theme.getColorForId(c.id));
             }
 
@@ -153,12 +181,26 @@ public class GraphLine
       ctx.setFillStyle("white");
       ctx.fill();
 
+      ctx.restore();
    }
 
+   private final String value_;
    private GraphColumn[] columns_;
    private String altText_;
 
    // Use a static canvas to avoid the overhead of continually recreating them
    private static final Canvas s_canvas = Canvas.createIfSupported();
+
+   // rendered lines, most recently used last
+   private static final Map<String, SafeHtml> s_cache =
+         new LinkedHashMap<String, SafeHtml>(16, 0.75f, true)
+   {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, SafeHtml> eldest)
+      {
+         return size() > CACHE_SIZE;
+      }
+   };
+   private static final int CACHE_SIZE = 500;
    private static final ViewVcsConstants constants_ = GWT.create(ViewVcsConstants.class);
 }
\ No newline at end of file
@@ -0,0 +1,156 @@
+/*
+ * GraphPage.java
+ *
+ * Copyright (C) 2022 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.vcs.dialog.graph;
+
+import com.google.gwt.canvas.client.Canvas;
+import com.google.gwt.canvas.dom.client.Context2d;
+import com.google.gwt.dom.client.Document;
+import com.google.gwt.dom.client.StyleElement;
+import com.google.gwt.safehtml.shared.SafeHtml;
+import com.google.gwt.safehtml.shared.SafeHtmlBuilder;
+import org.rstudio.core.client.SafeHtmlUtil;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Renders the graph lines of a page of commits together: each distinct line
+ * is drawn once, into a single canvas that is encoded once, and each row
+ * shows its line as a slice of that image. This avoids encoding an image per
+ * row when paging through history.
+ *
+ * The image is referenced from a style sheet rule rather than from each row,
+ * so the rows' HTML stays small; dispose() removes the rule once the page is
+ * no longer displayed.
+ */
+public class GraphPage
+{
+   /**
+    * @param graphs The graph line values on the page; empty values (commits
+    *    without a graph) are skipped.
+    */
+   public GraphPage(GraphTheme theme, List<String> graphs)
+   {
+      theme_ = theme;
+
+      ArrayList<GraphLine> lines = new ArrayList<>();
+      int width = 0;
+      for (String graph : graphs)
+      {
+         if (graph.length() == 0 || rows_.containsKey(graph))
+            continue;
+
+         GraphLine line = new GraphLine(graph);
+         rows_.put(graph, lines.size());
+         altText_.put(graph, line.getAltText());
+         lines.add(line);
+         width = Math.max(width, line.getTotalWidth(theme) + EXTRA_WIDTH);
+      }
+      width_ = width;
+
+      if (lines.isEmpty() || lines.size() > MAX_ROWS || s_canvas == null)
+      {
+         className_ = null;
+         return;
+      }
+
+      int height = theme.getRowHeight();
+      s_canvas.setCoordinateSpaceWidth(width);
+      s_canvas.setCoordinateSpaceHeight(height * lines.size());
+      Context2d ctx = s_canvas.getContext2d();
+      for (int i = 0; i < lines.size(); i++)
+      {
+         ctx.save();
+         ctx.translate(0, i * height);
+         lines.get(i).draw(ctx, theme);
+         ctx.restore();
+      }
+      String dataUrl = s_canvas.toDataUrl();
+
+      className_ = "rstudio-graph-page-" + (s_nextId++);
+      style_ = Document.get().createStyleElement();
+      style_.setType("text/css");
+      style_.setInnerText(
+            "." + className_ + " {" +
+            "background-image: url(" + dataUrl + ");" +
+            "background-repeat: no-repeat;" +
+            "}");
+      Document.get().getHead().appendChild(style_);
+   }
+
+   public void dispose()
+   {
+      if (style_ != null)
+      {
+         style_.removeFromParent();
+         style_ = null;
+      }
+      html_.clear();
+   }
+
+   /**
+    * @return Whether the given line can be rendered from this page.
+    */
+   public boolean contains(String graph)
+   {
+      return style_ != null && rows_.containsKey(graph);
+   }
+
+   /**
+    * Renders a line of this page as a slice of the page's image. Only lines
+    * for which contains() is true can be rendered.
+    */
+   public SafeHtml render(String graph)
+   {
+      SafeHtml html = html_.get(graph);
+      if (html != null)
+         return html;
+
+      int height = theme_.getRowHeight();
+      String style =
+            "width: " + width_ + "px; " +
+            "height: " + height + "px; " +
+            "background-position: 0 " + (-rows_.get(graph) * height) + "px;";
+
+      SafeHtmlBuilder builder = new SafeHtmlBuilder();
+      builder.append(SafeHtmlUtil.createOpenTag("div",
+                                                "role", "img",
+                                                "aria-label", altText_.get(graph),
+                                                "class", theme_.getImgClassName() + " " + className_,
+                                                "style", style));
+      builder.appendHtmlConstant("</div>");
+      html = builder.toSafeHtml();
+      html_.put(graph, html);
+      return html;
+   }
+
+   private final GraphTheme theme_;
+   private final HashMap<String, Integer> rows_ = new HashMap<>();
+   private final HashMap<String, String> altText_ = new HashMap<>();
+   private final HashMap<String, SafeHtml> html_ = new HashMap<>();
+   private final int width_;
+   private final String className_;
+   private StyleElement style_;
+
+   // room for the circle on the outermost column, as in the graph column
+   private static final int EXTRA_WIDTH = 12;
+
+   // keeps the canvas within the size limits browsers place on them
+   private static final int MAX_ROWS = 1000;
+
+   private static final Canvas s_canvas = Canvas.createIfSupported();
+   private static int s_nextId = 0;
+}
@@ -68,7 +68,10 @@ public class GitChangelistTablePresenter
          @Override
          public void onVcsRefresh(VcsRefreshEvent event)
          {
-            view_.setItems(gitState_.getStatus());
+            if (event.getChanges() != null)
+               view_.updateItems(event.getChanges());
+            else
+               view_.setItems(gitState_.getStatus());
 
             RemoteBranchInfo remote = gitState_.getRemoteBranchInfo();
             if (remote != null && remote.getCommitsBehind() > 0)
@@ -98,7 +98,10 @@ public class GitPresenter extends BaseVcsPresenter implements IsWidget
          @Override
          public void onVcsRefresh(VcsRefreshEvent event)
          {
-            view_.setItems(gitState_.getStatus());
+            // incremental changes are applied to the changelist table by
+            // GitChangelistTablePresenter; only reload it for full refreshes
+            if (event.getChanges() == null)
+               view_.setItems(gitState_.getStatus());
          }
       });
 
@@ -827,25 +827,32 @@ public class GitReviewPresenter implements ReviewPresenter
                   currentResponse_ = response;
                   currentSourceEncoding_ = diffResult.getSourceEncoding();
 
-                  UnifiedParser parser = new UnifiedParser(response);
+                  final UnifiedParser parser = new UnifiedParser(response);
                   parser.nextFilePair();
 
-                  ArrayList<ChunkOrLine> allLines = new ArrayList<>();
+                  // show the first chunks right away, and parse the rest of
+                  // a large diff in the background
+                  diffParseInvalidation_.invalidate();
+                  final Token parseToken = diffParseInvalidation_.getInvalidationToken();
 
                   activeChunks_.clear();
-                  for (DiffChunk chunk;
-                       null != (chunk = parser.nextChunk());)
-                  {
-                     activeChunks_.add(chunk);
-                     allLines.add(new ChunkOrLine(chunk));
-                     for (Line line : chunk.getLines())
-                        allLines.add(new ChunkOrLine(line));
-                  }
-
                   view_.setShowActions(
                         !"??".equals(item.getStatus()) &&
                         !"UU".equals(item.getStatus()));
-                  view_.setData(allLines, patchMode);
+                  view_.setData(parseChunks(parser), patchMode);
+
+                  Scheduler.get().scheduleIncremental(() ->
+                  {
+                     if (parseToken.isInvalid())
+                        return false;
+
+                     ArrayList<ChunkOrLine> lines = parseChunks(parser);
+                     if (lines.isEmpty())
+                        return false;
+
+                     view_.getLineTableDisplay().appendData(lines);
+                     return true;
+                  });
                }
 
                @Override
@@ -863,8 +870,24 @@ public class GitReviewPresenter implements ReviewPresenter
             });
    }
 
+   // parses the next chunks of the diff, up to roughly MAX_PARSED_ROWS rows
+   private ArrayList<ChunkOrLine> parseChunks(UnifiedParser parser)
+   {
+      ArrayList<ChunkOrLine> lines = new ArrayList<>();
+      for (DiffChunk chunk;
+           lines.size() < MAX_PARSED_ROWS && null != (chunk = parser.nextChunk());)
+      {
+         activeChunks_.add(chunk);
+         lines.add(new ChunkOrLine(chunk));
+         for (Line line : chunk.getLines())
+            lines.add(new ChunkOrLine(line));
+      }
+      return lines;
+   }
+
    private void clearDiff()
    {
+      diffParseInvalidation_.invalidate();
       softModeSwitch_ = false;
       currentResponse_ = null;
       currentFilename_ = null;
@@ -942,6 +965,7 @@ public class GitReviewPresenter implements ReviewPresenter
    }
 
    private final Invalidation diffInvalidation_ = new Invalidation();
+   private final Invalidation diffParseInvalidation_ = new Invalidation();
    private final GitServerOperations server_;
    private final GitPresenterCore gitPresenterCore_;
    private final Display view_;
@@ -962,5 +986,6 @@ public class GitReviewPresenter implements ReviewPresenter
    private final int gitCommitLargeFileSize_;
 
    private boolean overrideSizeWarning_ = false;
+   private static final int MAX_PARSED_ROWS = 2000;
    private static final ViewVcsConstants constants_ = GWT.create(ViewVcsConstants.class);
 }
@@ -0,0 +1,144 @@
+/*
+ * ConsoleOutputWriterPerformanceTests.java
+ *
+ * Copyright (C) 2022 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.core.client;
+
+import org.rstudio.core.client.dom.DomUtils;
+import org.rstudio.studio.client.workbench.prefs.model.UserPrefs;
+
+import com.google.gwt.core.client.Duration;
+import com.google.gwt.dom.client.Element;
+import com.google.gwt.junit.client.GWTTestCase;
+
+import junit.framework.Assert;
+
+public class ConsoleOutputWriterPerformanceTests extends GWTTestCase
+{
+   private static class FakePrefs implements VirtualConsole.Preferences
+   {
+      @Override
+      public int truncateLongLinesInConsoleHistory()
+      {
+         return 1000;
+      }
+
+      @Override
+      public String consoleAnsiMode()
+      {
+         return UserPrefs.ANSI_CONSOLE_MODE_ON;
+      }
+
+      @Override
+      public boolean screenReaderEnabled()
+      {
+         return false;
+      }
+
+      @Override
+      public boolean limitConsoleVisible()
+      {
+         return false;
+      }
+   }
+
+   private static class VCFactory implements VirtualConsoleFactory
+   {
+      @Override
+      public VirtualConsole create(Element elem)
+      {
+         return new VirtualConsole(elem, new FakePrefs());
+      }
+   }
+
+   private ConsoleOutputWriter getCOW()
+   {
+      return new ConsoleOutputWriter(new VCFactory(), null);
+   }
+
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   private void fill(ConsoleOutputWriter output, int lines)
+   {
+      for (int i = 0; i < lines; i++)
+      {
+         output.outputToConsole("line " + i + "\n", null, false, true, false);
+      }
+   }
+
+   private double timeSubmits(ConsoleOutputWriter output, int count)
+   {
+      Duration duration = new Duration();
+      for (int i = 0; i < count; i++)
+      {
+         output.outputToConsole("iteration " + i + " \033[32mok\033[0m\n",
+               null, false, true, false);
+      }
+      return duration.elapsedMillis();
+   }
+
+   public void testLineCountMatchesDom()
+   {
+      ConsoleOutputWriter output = getCOW();
+      output.outputToConsole("one\ntwo", null, false, true, false);
+      Assert.assertEquals(1, output.getCurrentLines());
+      output.outputToConsole("\rTWO\nthree\n", null, false, true, false);
+      Assert.assertEquals(3, output.getCurrentLines());
+      output.outputToConsole("error\n", "myErrorClass", true, true, false);
+      Assert.assertEquals(4, output.getCurrentLines());
+      Assert.assertEquals(DomUtils.countLines(output.getElement(), true),
+            output.getCurrentLines());
+   }
+
+   public void testOverwriteDoesNotAddLines()
+   {
+      ConsoleOutputWriter output = getCOW();
+      output.outputToConsole("progress 1", null, false, true, false);
+      for (int i = 2; i <= 100; i++)
+      {
+         output.outputToConsole("\rprogress " + i, null, false, true, false);
+         Assert.assertEquals(0, output.getCurrentLines());
+      }
+      output.outputToConsole("\n", null, false, true, false);
+      Assert.assertEquals(1, output.getCurrentLines());
+      Assert.assertEquals(DomUtils.countLines(output.getElement(), true),
+            output.getCurrentLines());
+   }
+
+   public void testSubmitCostIndependentOfConsoleSize()
+   {
+      final int submits = 500;
+
+      ConsoleOutputWriter small = getCOW();
+      fill(small, 100);
+      timeSubmits(small, submits); // warm up
+      double smallMillis = timeSubmits(small, submits);
+
+      ConsoleOutputWriter large = getCOW();
+      fill(large, 20000);
+      double largeMillis = timeSubmits(large, submits);
+
+      Assert.assertEquals(20000 + submits, large.getCurrentLines());
+
+      // a console 200x larger should not make submits meaningfully slower;
+      // allow generous slack for timer resolution and GC noise
+      Assert.assertTrue(
+            "submits into large console took " + largeMillis + "ms vs " +
+            smallMillis + "ms into small console",
+            largeMillis <= (smallMillis * 4) + 100);
+   }
+}
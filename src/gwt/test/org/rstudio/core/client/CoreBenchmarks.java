@@ -0,0 +1,189 @@
+/*
+ * CoreBenchmarks.java
+ *
+ * Copyright (C) 2022 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.core.client;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.rstudio.core.client.benchmark.Benchmark;
+import org.rstudio.studio.client.workbench.prefs.model.UserPrefs;
+
+import com.google.gwt.core.client.JsArrayString;
+import com.google.gwt.dom.client.Document;
+import com.google.gwt.junit.client.GWTTestCase;
+
+public class CoreBenchmarks extends GWTTestCase
+{
+   private static class FakePrefs implements VirtualConsole.Preferences
+   {
+      @Override
+      public int truncateLongLinesInConsoleHistory()
+      {
+         return 1000;
+      }
+
+      @Override
+      public String consoleAnsiMode()
+      {
+         return UserPrefs.ANSI_CONSOLE_MODE_ON;
+      }
+
+      @Override
+      public boolean screenReaderEnabled()
+      {
+         return false;
+      }
+
+      @Override
+      public boolean limitConsoleVisible()
+      {
+         return false;
+      }
+   }
+
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   public void testVirtualConsoleSubmit()
+   {
+      for (int lines : SIZES)
+      {
+         // colored, bold and progress-style (carriage return) output
+         StringBuilder builder = new StringBuilder();
+         for (int i = 0; i < lines; i++)
+         {
+            builder.append("\033[1m").append(i).append("\033[22m ")
+                   .append("\033[32mok\033[39m \033[33mwarning\033[0m ")
+                   .append("progress 50%\rprogress 100%\n");
+         }
+         String output = builder.toString();
+
+         Benchmark.run("VirtualConsole.submit", lines, () ->
+         {
+            VirtualConsole console = new VirtualConsole(
+                  Document.get().createDivElement(), new FakePrefs());
+            console.submit(output);
+            return console.getLength();
+         });
+      }
+   }
+
+   public void testStringUtilIsSubsequence()
+   {
+      for (int count : SIZES)
+      {
+         String[] candidates = identifiers(count);
+         Benchmark.run("StringUtil.isSubsequence", count, () ->
+         {
+            int matches = 0;
+            for (String candidate : candidates)
+               if (StringUtil.isSubsequence(candidate, "rdfm", true))
+                  matches++;
+            return matches;
+         });
+      }
+   }
+
+   public void testStringUtilGetCommonPrefix()
+   {
+      for (int count : SIZES)
+      {
+         String[] lines = new String[count];
+         for (int i = 0; i < count; i++)
+            lines[i] = "#'   roxygen comment line " + i;
+
+         Benchmark.run("StringUtil.getCommonPrefix", count, () ->
+               StringUtil.getCommonPrefix(lines, true, false).length());
+      }
+   }
+
+   public void testStringUtilSplit()
+   {
+      for (int count : SIZES)
+      {
+         StringBuilder builder = new StringBuilder();
+         for (int i = 0; i < count; i++)
+            builder.append("x <- rnorm(").append(i).append(")\n");
+         String text = builder.toString();
+
+         Benchmark.run("StringUtil.split", count, () ->
+         {
+            JsArrayString lines = StringUtil.split(text, "\n");
+            return lines.length();
+         });
+      }
+   }
+
+   public void testDirectedGraphEnsureNode()
+   {
+      for (int count : SIZES)
+      {
+         List<List<String>> paths = paths(count);
+         Benchmark.run("DirectedGraph.ensureNode", count, () ->
+         {
+            DirectedGraph<String, Integer> graph = new DirectedGraph<String, Integer>(() -> 0);
+            for (List<String> path : paths)
+               graph.ensureNode(path);
+            return graph.getChildren().size();
+         });
+      }
+   }
+
+   public void testDirectedGraphFlatten()
+   {
+      for (int count : SIZES)
+      {
+         DirectedGraph<String, Integer> graph = new DirectedGraph<String, Integer>(() -> 0);
+         for (List<String> path : paths(count))
+            graph.ensureNode(path);
+
+         Benchmark.run("DirectedGraph.flatten", count, () ->
+               graph.flatten().size());
+      }
+   }
+
+   private static String[] identifiers(int count)
+   {
+      String[] prefixes = { "read", "rnorm", "rbind", "reduce", "render", "df_" };
+      String[] suffixes = { "", "_file", "Frame", "_md", ".data.frame", "_impl" };
+      String[] identifiers = new String[count];
+      for (int i = 0; i < count; i++)
+      {
+         identifiers[i] = prefixes[i % prefixes.length] +
+                          suffixes[(i / prefixes.length) % suffixes.length] + i;
+      }
+      return identifiers;
+   }
+
+   // paths three levels deep, e.g. project/R/file.R
+   private static List<List<String>> paths(int count)
+   {
+      List<List<String>> paths = new ArrayList<>(count);
+      for (int i = 0; i < count; i++)
+      {
+         List<String> path = new ArrayList<>();
+         path.add("dir" + (i % 10));
+         path.add("sub" + (i % 100));
+         path.add("file" + i);
+         paths.add(path);
+      }
+      return paths;
+   }
+
+   private static final int[] SIZES = { 100, 1000, 10000 };
+}
@@ -0,0 +1,156 @@
+/*
+ * Benchmark.java
+ *
+ * Copyright (C) 2022 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.core.client.benchmark;
+
+import com.google.gwt.core.client.Duration;
+import com.google.gwt.json.client.JSONNull;
+import com.google.gwt.json.client.JSONNumber;
+import com.google.gwt.json.client.JSONObject;
+import com.google.gwt.json.client.JSONString;
+
+/**
+ * Times an operation on inputs of a given size and reports the result.
+ *
+ * Each result is printed on a line of its own, as a JSON object following
+ * RESULT_PREFIX; the benchmark target in build.xml collects these lines into
+ * a results file, so that runs from different releases can be compared.
+ *
+ * Allocation is estimated from the change in the JavaScript heap size over
+ * the timed iterations, which is only possible in browsers that report it
+ * (performance.memory); elsewhere bytesPerOp is null.
+ */
+public class Benchmark
+{
+   public interface Operation
+   {
+      /**
+       * Performs the operation once.
+       *
+       * @return A value derived from the operation's result, so that the work
+       *    can't be optimized away.
+       */
+      int run();
+   }
+
+   /**
+    * Runs an operation repeatedly, first to warm up and then for at least
+    * MIN_MILLIS, and reports the rate at which it ran.
+    *
+    * @param name The name of the benchmark, e.g. "VirtualConsole.submit".
+    * @param size The size of the operation's input (lines, items, etc.).
+    */
+   public static Result run(String name, int size, Operation operation)
+   {
+      int sink = 0;
+
+      Duration warmup = new Duration();
+      while (warmup.elapsedMillis() < WARMUP_MILLIS)
+         sink += operation.run();
+
+      double heapBefore = usedHeapSize();
+      int iterations = 0;
+      Duration duration = new Duration();
+      while (iterations < MIN_ITERATIONS || duration.elapsedMillis() < MIN_MILLIS)
+      {
+         sink += operation.run();
+         iterations++;
+      }
+      int millis = Math.max(1, duration.elapsedMillis());
+      double heapAfter = usedHeapSize();
+
+      Result result = new Result(name, size, iterations, millis);
+      if (heapBefore >= 0 && heapAfter >= heapBefore)
+         result.bytesPerOp_ = (heapAfter - heapBefore) / iterations;
+
+      result.sink_ = sink;
+      report(result);
+      return result;
+   }
+
+   public static class Result
+   {
+      private Result(String name, int size, int iterations, int millis)
+      {
+         name_ = name;
+         size_ = size;
+         iterations_ = iterations;
+         millis_ = millis;
+      }
+
+      public String getName()
+      {
+         return name_;
+      }
+
+      public int getSize()
+      {
+         return size_;
+      }
+
+      public double getOpsPerSec()
+      {
+         return iterations_ * 1000.0 / millis_;
+      }
+
+      /**
+       * @return The estimated bytes allocated (and not yet collected) per
+       *    operation, or -1 if unknown.
+       */
+      public double getBytesPerOp()
+      {
+         return bytesPerOp_;
+      }
+
+      public String toJson()
+      {
+         JSONObject json = new JSONObject();
+         json.put("benchmark", new JSONString(name_));
+         json.put("size", new JSONNumber(size_));
+         json.put("iterations", new JSONNumber(iterations_));
+         json.put("millis", new JSONNumber(millis_));
+         json.put("opsPerSec", new JSONNumber(Math.round(getOpsPerSec() * 100) / 100.0));
+         json.put("bytesPerOp", bytesPerOp_ < 0
+               ? JSONNull.getInstance()
+               : new JSONNumber(Math.round(bytesPerOp_)));
+         return json.toString();
+      }
+
+      private final String name_;
+      private final int size_;
+      private final int iterations_;
+      private final int millis_;
+      private double bytesPerOp_ = -1;
+
+      @SuppressWarnings("unused")
+      private int sink_;
+   }
+
+   private static void report(Result result)
+   {
+      System.out.println(RESULT_PREFIX + result.toJson());
+   }
+
+   private static final native double usedHeapSize() /*-{
+      var memory = $wnd.performance && $wnd.performance.memory;
+      return memory ? memory.usedJSHeapSize : -1;
+   }-*/;
+
+   // must match the prefix the benchmark target in build.xml looks for
+   public static final String RESULT_PREFIX = "rstudio-benchmark: ";
+
+   private static final int WARMUP_MILLIS = 200;
+   private static final int MIN_MILLIS = 1000;
+   private static final int MIN_ITERATIONS = 5;
+}
@@ -0,0 +1,38 @@
+/*
+ * RStudioBenchmarkSuite.java
+ *
+ * Copyright (C) 2022 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client;
+
+import org.rstudio.core.client.CoreBenchmarks;
+import org.rstudio.studio.client.workbench.views.console.shell.assist.CompletionBenchmarks;
+import org.rstudio.studio.client.workbench.views.vcs.common.diff.UnifiedParserBenchmarks;
+
+import com.google.gwt.junit.tools.GWTTestSuite;
+
+import junit.framework.Test;
+
+// Benchmarks are kept out of RStudioUnitTestSuite since they take a while
+// and only report timings; run them with 'ant benchmark'.
+public class RStudioBenchmarkSuite extends GWTTestSuite
+{
+   public static Test suite()
+   {
+      GWTTestSuite suite = new GWTTestSuite("RStudio Benchmark Suite");
+      suite.addTestSuite(CoreBenchmarks.class);
+      suite.addTestSuite(UnifiedParserBenchmarks.class);
+      suite.addTestSuite(CompletionBenchmarks.class);
+
+      return suite;
+   }
+}
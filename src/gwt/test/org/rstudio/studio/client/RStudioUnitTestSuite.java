@@ -15,6 +15,7 @@
 package org.rstudio.studio.client;
 
 import org.rstudio.core.client.AnsiCodeTests;
+import org.rstudio.core.client.ConsoleOutputWriterPerformanceTests;
 import org.rstudio.core.client.ConsoleOutputWriterTests;
 import org.rstudio.core.client.ElementIdsTests;
 import org.rstudio.core.client.SafeHtmlUtilTests;
@@ -24,6 +25,7 @@ import org.rstudio.core.client.VirtualConsoleTests;
 import org.rstudio.core.client.dom.DomUtilsTests;
 import org.rstudio.studio.client.application.ApplicationUtilsTests;
 import org.rstudio.studio.client.application.model.SessionScopeTests;
+import org.rstudio.studio.client.common.compile.CompileOutputLineBufferTests;
 import org.rstudio.studio.client.common.r.RTokenizerTests;
 import org.rstudio.studio.client.projects.model.ProjectMRUEntryTests;
 import org.rstudio.studio.client.workbench.views.jobs.model.JobManagerTests;
@@ -31,8 +33,11 @@ import org.rstudio.studio.client.workbench.views.jobs.view.JobsListTests;
 // Disabled in v1.3 due to failures. See #4249.
 // import org.rstudio.studio.client.workbench.views.source.editors.text.assist.RChunkHeaderParserTests;
 import org.rstudio.studio.client.workbench.views.terminal.TerminalLocalEchoTests;
+import org.rstudio.studio.client.workbench.views.terminal.TerminalOutputAccumulatorTests;
 import org.rstudio.studio.client.workbench.views.terminal.TerminalSessionSocketTests;
 import org.rstudio.studio.client.workbench.views.source.editors.text.rmd.ChunkContextUiTests;
+import org.rstudio.studio.client.workbench.views.source.editors.text.visualmode.VisualModeLineDiffTests;
+import org.rstudio.studio.client.workbench.views.source.model.DocumentEditTrackerTests;
 
 import com.google.gwt.junit.tools.GWTTestSuite;
 
@@ -46,10 +51,12 @@ public class RStudioUnitTestSuite extends GWTTestSuite
       suite.addTestSuite(RTokenizerTests.class);
       suite.addTestSuite(VirtualConsoleTests.class);
       suite.addTestSuite(ConsoleOutputWriterTests.class);
+      suite.addTestSuite(ConsoleOutputWriterPerformanceTests.class);
       suite.addTestSuite(StringUtilTests.class);
       suite.addTestSuite(DomUtilsTests.class);
       suite.addTestSuite(AnsiCodeTests.class);
       suite.addTestSuite(TerminalLocalEchoTests.class);
+      suite.addTestSuite(TerminalOutputAccumulatorTests.class);
       suite.addTestSuite(TerminalSessionSocketTests.class);
       suite.addTestSuite(JobManagerTests.class);
       suite.addTestSuite(URIUtilsTests.class);
@@ -63,6 +70,9 @@ public class RStudioUnitTestSuite extends GWTTestSuite
       suite.addTestSuite(TestMocks.class);
       suite.addTestSuite(ApplicationUtilsTests.class);
       suite.addTestSuite(ProjectMRUEntryTests.class);
+      suite.addTestSuite(VisualModeLineDiffTests.class);
+      suite.addTestSuite(CompileOutputLineBufferTests.class);
+      suite.addTestSuite(DocumentEditTrackerTests.class);
 
       return suite;
    }
@@ -0,0 +1,87 @@
+/*
+ * CompileOutputLineBufferTests.java
+ *
+ * Copyright (C) 2022 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.common.compile;
+
+import org.rstudio.studio.client.common.compile.CompileOutputBufferWithHighlight.OutputType;
+
+import com.google.gwt.junit.client.GWTTestCase;
+
+public class CompileOutputLineBufferTests extends GWTTestCase
+{
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   public void testSplitsLines()
+   {
+      CompileOutputLineBuffer buffer = new CompileOutputLineBuffer(100, 10000);
+      buffer.append("one\ntwo\nthr", OutputType.Output, "output");
+      assertEquals(3, buffer.getLineCount());
+      assertTrue(buffer.isLastLineOpen());
+
+      buffer.append("ee\n", OutputType.Output, "output");
+      assertEquals(3, buffer.getLineCount());
+      assertFalse(buffer.isLastLineOpen());
+      assertEquals("one", buffer.getText(0));
+      assertEquals("two", buffer.getText(1));
+      assertEquals("three", buffer.getText(2));
+   }
+
+   public void testEmptyLines()
+   {
+      CompileOutputLineBuffer buffer = new CompileOutputLineBuffer(100, 10000);
+      buffer.append("\n\na\n", OutputType.Output, "output");
+      assertEquals(3, buffer.getLineCount());
+      assertEquals("", buffer.getText(0));
+      assertEquals("", buffer.getText(1));
+      assertEquals("a", buffer.getText(2));
+   }
+
+   public void testErrorStyleTakesPrecedence()
+   {
+      CompileOutputLineBuffer buffer = new CompileOutputLineBuffer(100, 10000);
+      buffer.append("compiling ", OutputType.Output, "output");
+      buffer.append("error\n", OutputType.Error, "error");
+      buffer.append("ok", OutputType.Error, "error");
+      buffer.append(" done\n", OutputType.Output, "output");
+      assertEquals("compiling error", buffer.getText(0));
+      assertEquals("error", buffer.getClassName(0));
+      assertEquals("ok done", buffer.getText(1));
+      assertEquals("error", buffer.getClassName(1));
+   }
+
+   public void testDropsOldestLines()
+   {
+      CompileOutputLineBuffer buffer = new CompileOutputLineBuffer(3, 10000);
+      for (int i = 0; i < 5; i++)
+         buffer.append("line " + i + "\n", OutputType.Output, "output");
+
+      assertEquals(5, buffer.getLineCount());
+      assertEquals(2, buffer.getFirstLine());
+      assertEquals(2, buffer.getDroppedLines());
+      assertEquals("line 2", buffer.getText(2));
+      assertEquals("line 4", buffer.getText(4));
+   }
+
+   public void testDropsLinesBeyondCharacterLimit()
+   {
+      CompileOutputLineBuffer buffer = new CompileOutputLineBuffer(100, 10);
+      buffer.append("aaaa\nbbbb\ncccc\n", OutputType.Output, "output");
+      assertEquals(1, buffer.getFirstLine());
+      assertEquals("bbbb", buffer.getText(1));
+   }
+}
@@ -0,0 +1,121 @@
+/*
+ * CompletionBenchmarks.java
+ *
+ * Copyright (C) 2022 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.console.shell.assist;
+
+import org.rstudio.core.client.benchmark.Benchmark;
+import org.rstudio.studio.client.common.codetools.Completions;
+import org.rstudio.studio.client.common.codetools.RCompletionType;
+import org.rstudio.studio.client.server.ServerError;
+import org.rstudio.studio.client.server.ServerRequestCallback;
+import org.rstudio.studio.client.workbench.codesearch.CodeSearchOracle;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArrayBoolean;
+import com.google.gwt.core.client.JsArrayInteger;
+import com.google.gwt.core.client.JsArrayString;
+import com.google.gwt.junit.client.GWTTestCase;
+
+public class CompletionBenchmarks extends GWTTestCase
+{
+   private static class CountingCallback extends ServerRequestCallback<Completions>
+   {
+      @Override
+      public void onResponseReceived(Completions response)
+      {
+         count_ += response.getCompletions().length();
+      }
+
+      @Override
+      public void onError(ServerError error)
+      {
+      }
+
+      private int count_;
+   }
+
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   public void testCompletionCacheNarrow()
+   {
+      for (int count : SIZES)
+      {
+         Completions completions = createCompletions("r", count);
+         Benchmark.run("CompletionCache.narrow", count, () ->
+         {
+            // narrowing happens as the user types past the cached token
+            CompletionCache cache = new CompletionCache();
+            cache.store("r", completions);
+            CountingCallback callback = new CountingCallback();
+            cache.satisfyRequest("rn", callback);
+            cache.satisfyRequest("rno", callback);
+            return callback.count_;
+         });
+      }
+   }
+
+   public void testCodeSearchOracleScoreMatch()
+   {
+      for (int count : SIZES)
+      {
+         String[] candidates = identifiers(count);
+         Benchmark.run("CodeSearchOracle.scoreMatch", count, () ->
+         {
+            int total = 0;
+            for (String candidate : candidates)
+               total += CodeSearchOracle.scoreMatch(candidate, "rnorm", false);
+            return total;
+         });
+      }
+   }
+
+   private static Completions createCompletions(String token, int count)
+   {
+      String[] identifiers = identifiers(count);
+      JsArrayString names = JavaScriptObject.createArray().cast();
+      JsArrayString packages = JavaScriptObject.createArray().cast();
+      JsArrayBoolean flags = JavaScriptObject.createArray().cast();
+      JsArrayInteger types = JavaScriptObject.createArray().cast();
+      JsArrayInteger contexts = JavaScriptObject.createArray().cast();
+      JsArrayString meta = JavaScriptObject.createArray().cast();
+      for (int i = 0; i < count; i++)
+      {
+         names.push(identifiers[i]);
+         packages.push("stats");
+         flags.push(false);
+         types.push(RCompletionType.FUNCTION);
+         contexts.push(0);
+         meta.push("");
+      }
+
+      return Completions.createCompletions(
+            token, names, names, packages, flags, types, flags, flags, meta,
+            "", false, false, false, true, null, "R", contexts);
+   }
+
+   private static String[] identifiers(int count)
+   {
+      String[] prefixes = { "rnorm", "read", "rbind", "round", "rownames", "rev" };
+      String[] identifiers = new String[count];
+      for (int i = 0; i < count; i++)
+         identifiers[i] = prefixes[i % prefixes.length] + "_" + i;
+      return identifiers;
+   }
+
+   private static final int[] SIZES = { 100, 1000, 10000 };
+}
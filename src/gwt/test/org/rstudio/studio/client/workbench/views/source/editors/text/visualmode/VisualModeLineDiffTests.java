@@ -0,0 +1,78 @@
+/*
+ * VisualModeLineDiffTests.java
+ *
+ * Copyright (C) 2022 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.source.editors.text.visualmode;
+
+import java.util.List;
+
+import org.rstudio.core.client.StringUtil;
+import org.rstudio.studio.client.workbench.views.source.editors.text.TextEditorContainer.LineChange;
+
+import com.google.gwt.junit.client.GWTTestCase;
+
+public class VisualModeLineDiffTests extends GWTTestCase
+{
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   public void testIdentical()
+   {
+      List<LineChange> changes = VisualModeLineDiff.diff("a\nb\nc", "a\nb\nc");
+      assertNotNull(changes);
+      assertEquals(0, changes.size());
+   }
+
+   public void testSingleLineChanged()
+   {
+      List<LineChange> changes = VisualModeLineDiff.diff("a\nb\nc", "a\nB\nc");
+      assertEquals(1, changes.size());
+      assertEquals(1, changes.get(0).row);
+      assertEquals(1, changes.get(0).removedCount);
+      assertEquals("B", changes.get(0).lines.join("\n"));
+   }
+
+   public void testInsertAndRemove()
+   {
+      List<LineChange> changes = VisualModeLineDiff.diff("a\nb\nc\nd", "a\nx\nb\nd");
+      assertNotNull(changes);
+      assertEquals(2, changes.size());
+      assertEquals(2, VisualModeLineDiff.changedLineCount(changes));
+   }
+
+   public void testChangesAtEdges()
+   {
+      assertRoundTrip("a\nb", "x\na\nb\ny");
+      assertRoundTrip("x\na\nb\ny", "a\nb");
+      assertRoundTrip("", "a\nb");
+      assertRoundTrip("a\nb", "");
+      assertRoundTrip("a\nb\n", "a\nb");
+   }
+
+   public void testSeparatedChanges()
+   {
+      assertRoundTrip(
+            "# Title\n\nOne\n\n```{r}\n1 + 1\n```\n\nTwo\n",
+            "# Title\n\nOne changed\n\n```{r}\n1 + 1\n```\n\nTwo\nThree\n");
+   }
+
+   private void assertRoundTrip(String from, String to)
+   {
+      List<LineChange> changes = VisualModeLineDiff.diff(from, to);
+      assertNotNull(changes);
+      assertEquals(to, VisualModeLineDiff.apply(StringUtil.split(from, "\n"), changes));
+   }
+}
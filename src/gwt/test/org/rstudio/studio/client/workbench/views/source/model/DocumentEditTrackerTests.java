@@ -0,0 +1,217 @@
+/*
+ * DocumentEditTrackerTests.java
+ *
+ * Copyright (C) 2022 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.source.model;
+
+import org.rstudio.core.client.StringUtil;
+import org.rstudio.core.client.js.JsObject;
+import org.rstudio.studio.client.workbench.views.source.editors.text.ace.AceDocumentChangeEventNative;
+import org.rstudio.studio.client.workbench.views.source.editors.text.ace.Position;
+
+import com.google.gwt.core.client.JsArray;
+import com.google.gwt.junit.client.GWTTestCase;
+
+public class DocumentEditTrackerTests extends GWTTestCase
+{
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   @Override
+   protected void gwtSetUp()
+   {
+      tracker_ = new DocumentEditTracker();
+   }
+
+   public void testTypingCoalesces()
+   {
+      String original = "x <- 1\n";
+      String doc = original;
+      doc = insert(doc, 1, 0, "y");
+      doc = insert(doc, 1, 1, " ");
+      doc = insert(doc, 1, 2, "<-");
+      doc = insert(doc, 1, 4, " 2\nz");
+
+      assertEdits(original, doc, 1);
+   }
+
+   public void testBackspacesCoalesce()
+   {
+      String original = "abcdef";
+      String doc = original;
+      doc = remove(doc, 0, 5, 0, 6);
+      doc = remove(doc, 0, 4, 0, 5);
+      doc = remove(doc, 0, 3, 0, 4);
+
+      assertEdits(original, doc, 1);
+   }
+
+   public void testBackspacingOverTypedText()
+   {
+      String original = "ab\ncd";
+      String doc = original;
+      doc = insert(doc, 0, 2, "xyz");
+      doc = remove(doc, 0, 4, 0, 5);
+      doc = remove(doc, 0, 3, 0, 4);
+      doc = remove(doc, 0, 2, 0, 3);
+      doc = remove(doc, 0, 1, 0, 2);
+
+      assertEdits(original, doc, 1);
+      assertEquals("a\ncd", doc);
+   }
+
+   public void testForwardDeletesCoalesce()
+   {
+      String original = "abc\ndef";
+      String doc = original;
+      doc = insert(doc, 0, 1, "x");
+      doc = remove(doc, 0, 2, 0, 3);
+      doc = remove(doc, 0, 2, 1, 0);
+      doc = remove(doc, 0, 2, 0, 3);
+
+      assertEdits(original, doc, 1);
+      assertEquals("axef", doc);
+   }
+
+   public void testSeparateEdits()
+   {
+      String original = "one\ntwo\nthree\nfour";
+      String doc = original;
+      doc = insert(doc, 3, 4, "\nfive");
+      doc = remove(doc, 0, 0, 1, 0);
+      doc = insert(doc, 1, 0, "3: ");
+      doc = remove(doc, 0, 1, 2, 2);
+
+      assertEdits(original, doc, 4);
+   }
+
+   public void testRestoredEditsPrecedeNewEdits()
+   {
+      String original = "abc";
+      String doc = insert(original, 0, 3, "\ndef");
+      JsArray<JsObject> edits = tracker_.takeEdits();
+
+      doc = remove(doc, 0, 0, 0, 1);
+      tracker_.restoreEdits(edits);
+
+      assertEdits(original, doc, 2);
+   }
+
+   public void testInvalidation()
+   {
+      insert("abc", 0, 0, "x");
+      tracker_.invalidate();
+      assertNull(tracker_.takeEdits());
+
+      insert("xabc", 0, 0, "y");
+      assertNull(tracker_.takeEdits());
+
+      tracker_.reset();
+      String doc = insert("yxabc", 0, 5, "z");
+      assertEquals("yxabcz", DocumentEditTracker.applyEdits("yxabc", tracker_.takeEdits()));
+      assertEquals("yxabcz", doc);
+   }
+
+   public void testTooManyEditsInvalidates()
+   {
+      String doc = "";
+      for (int i = 0; i < 1000 && tracker_.isValid(); i++)
+         doc = insert(doc, 0, 0, "x");
+
+      assertFalse(tracker_.isValid());
+      assertNull(tracker_.takeEdits());
+   }
+
+   public void testRemovedLengthDetectsDivergence()
+   {
+      String original = "abc\ndef";
+      String doc = original;
+      doc = remove(doc, 0, 2, 1, 1);
+      doc = remove(doc, 0, 1, 0, 2);
+      doc = insert(doc, 0, 1, "x");
+
+      JsArray<JsObject> edits = tracker_.takeEdits();
+      assertEquals(1, edits.length());
+      assertEquals(4, edits.get(0).getInteger("removed_length"));
+      assertEquals(doc, DocumentEditTracker.applyEdits(original, edits));
+
+      // the same edits can't be applied to a document whose text differs
+      assertNull(DocumentEditTracker.applyEdits("abcd\nef", edits));
+   }
+
+   private void assertEdits(String original, String edited, int count)
+   {
+      JsArray<JsObject> edits = tracker_.takeEdits();
+      assertNotNull(edits);
+      assertEquals(count, edits.length());
+      assertEquals(edited, DocumentEditTracker.applyEdits(original, edits));
+      assertTrue(tracker_.isEmpty());
+   }
+
+   // Inserts text into the document, reporting the change to the tracker as
+   // Ace would, and returns the new document.
+   private String insert(String doc, int row, int column, String text)
+   {
+      int newlines = StringUtil.newlineCount(text);
+      int endRow = row + newlines;
+      int endColumn = newlines == 0
+            ? column + text.length()
+            : text.length() - text.lastIndexOf('\n') - 1;
+
+      tracker_.onDocumentChanged(event("insert", row, column, endRow, endColumn, text));
+
+      int offset = offset(doc, row, column);
+      return doc.substring(0, offset) + text + doc.substring(offset);
+   }
+
+   // Removes a range from the document, reporting the change to the tracker
+   // as Ace would, and returns the new document.
+   private String remove(String doc, int startRow, int startColumn, int endRow, int endColumn)
+   {
+      int start = offset(doc, startRow, startColumn);
+      int end = offset(doc, endRow, endColumn);
+
+      tracker_.onDocumentChanged(event("remove",
+            startRow, startColumn, endRow, endColumn, doc.substring(start, end)));
+
+      return doc.substring(0, start) + doc.substring(end);
+   }
+
+   private static AceDocumentChangeEventNative event(String action,
+                                                     int startRow,
+                                                     int startColumn,
+                                                     int endRow,
+                                                     int endColumn,
+                                                     String text)
+   {
+      AceDocumentChangeEventNative event = new AceDocumentChangeEventNative();
+      event.action = action;
+      event.start = Position.create(startRow, startColumn);
+      event.end = Position.create(endRow, endColumn);
+      event.lines = StringUtil.split(text, "\n");
+      return event;
+   }
+
+   private static int offset(String doc, int row, int column)
+   {
+      int offset = 0;
+      for (int i = 0; i < row; i++)
+         offset = doc.indexOf('\n', offset) + 1;
+      return offset + column;
+   }
+
+   private DocumentEditTracker tracker_;
+}
@@ -0,0 +1,247 @@
+/*
+ * TerminalOutputAccumulatorTests.java
+ *
+ * Copyright (C) 2022 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.terminal;
+
+import com.google.gwt.junit.client.GWTTestCase;
+import junit.framework.Assert;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TerminalOutputAccumulatorTests extends GWTTestCase
+{
+   private static final int FRAME_CHARS = 64 * 1024;
+
+   // enough frame-sized packets to exceed the flood threshold
+   private static final int FLOOD_PACKETS = 33;
+
+   private static String repeat(char c, int count)
+   {
+      StringBuilder builder = new StringBuilder();
+      for (int i = 0; i < count; i++)
+         builder.append(c);
+      return builder.toString();
+   }
+
+   private static String join(List<String> writes)
+   {
+      StringBuilder builder = new StringBuilder();
+      for (String write : writes)
+         builder.append(write);
+      return builder.toString();
+   }
+
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   public void testPacketsBatchedIntoOneWrite()
+   {
+      List<String> writes = new ArrayList<>();
+      TerminalOutputAccumulator output = new TerminalOutputAccumulator(writes::add, null);
+
+      output.accept("abc");
+      output.accept("");
+      output.accept("def");
+      output.accept("ghi");
+      Assert.assertTrue(writes.isEmpty());
+
+      output.onFrame();
+      Assert.assertEquals(1, writes.size());
+      Assert.assertEquals("abcdefghi", writes.get(0));
+      Assert.assertEquals(3, output.getPacketsReceived());
+      Assert.assertEquals(9, output.getCharsWritten());
+      Assert.assertEquals(1, output.getFramesUsed());
+
+      // nothing pending, so no write and no frame used
+      output.onFrame();
+      Assert.assertEquals(1, writes.size());
+      Assert.assertEquals(1, output.getFramesUsed());
+   }
+
+   public void testFlushWritesPendingOutput()
+   {
+      List<String> writes = new ArrayList<>();
+      TerminalOutputAccumulator output = new TerminalOutputAccumulator(writes::add, null);
+
+      output.accept("abc");
+      output.accept("def");
+      output.flush();
+      Assert.assertEquals(1, writes.size());
+      Assert.assertEquals("abcdef", writes.get(0));
+      Assert.assertEquals(0, output.getFramesUsed());
+   }
+
+   public void testDiscardDropsPendingOutput()
+   {
+      List<String> writes = new ArrayList<>();
+      TerminalOutputAccumulator output = new TerminalOutputAccumulator(writes::add, null);
+
+      output.accept("abc");
+      output.discard();
+      output.flush();
+      Assert.assertEquals("", join(writes));
+      Assert.assertEquals(0, output.getCharsWritten());
+   }
+
+   public void testWritesCappedPerFrame()
+   {
+      List<String> writes = new ArrayList<>();
+      TerminalOutputAccumulator output = new TerminalOutputAccumulator(writes::add, null);
+
+      output.accept(repeat('a', FRAME_CHARS - 10));
+      output.accept(repeat('b', 20));
+
+      output.onFrame();
+      Assert.assertEquals(1, writes.size());
+      Assert.assertEquals(FRAME_CHARS, writes.get(0).length());
+      Assert.assertTrue(writes.get(0).endsWith("bbbbbbbbbb"));
+
+      output.onFrame();
+      Assert.assertEquals(2, writes.size());
+      Assert.assertEquals("bbbbbbbbbb", writes.get(1));
+      Assert.assertEquals(2, output.getFramesUsed());
+      Assert.assertEquals(FRAME_CHARS + 10, output.getCharsWritten());
+   }
+
+   public void testFloodModeKeepsOutput()
+   {
+      List<String> writes = new ArrayList<>();
+      List<Boolean> floodModes = new ArrayList<>();
+      TerminalOutputAccumulator output = new TerminalOutputAccumulator(writes::add, floodModes::add);
+
+      for (int i = 0; i < FLOOD_PACKETS; i++)
+         output.accept(repeat('a', FRAME_CHARS));
+      Assert.assertTrue(output.isFloodMode());
+      Assert.assertEquals(1, floodModes.size());
+      Assert.assertTrue(floodModes.get(0));
+      Assert.assertTrue(output.getDiagnostics().contains("Flood mode: active"));
+
+      output.flush();
+      Assert.assertFalse(output.isFloodMode());
+      Assert.assertEquals(2, floodModes.size());
+      Assert.assertFalse(floodModes.get(1));
+      Assert.assertEquals(FLOOD_PACKETS * FRAME_CHARS, join(writes).length());
+      Assert.assertTrue(output.getDiagnostics().contains("Flood mode: inactive"));
+   }
+
+   public void testFloodModeEndsWhenCaughtUp()
+   {
+      List<String> writes = new ArrayList<>();
+      List<Boolean> floodModes = new ArrayList<>();
+      TerminalOutputAccumulator output = new TerminalOutputAccumulator(writes::add, floodModes::add);
+
+      for (int i = 0; i < FLOOD_PACKETS; i++)
+         output.accept(repeat('a', FRAME_CHARS));
+
+      for (int i = 0; i < FLOOD_PACKETS - 1; i++)
+      {
+         output.onFrame();
+         Assert.assertTrue(output.isFloodMode());
+      }
+      output.onFrame();
+      Assert.assertFalse(output.isFloodMode());
+      Assert.assertEquals(FLOOD_PACKETS, writes.size());
+      Assert.assertEquals(FLOOD_PACKETS, output.getFramesUsed());
+   }
+
+   public void testFloodModeDropsIntermediateOutput()
+   {
+      List<String> writes = new ArrayList<>();
+      List<Boolean> floodModes = new ArrayList<>();
+      TerminalOutputAccumulator output = new TerminalOutputAccumulator(writes::add, floodModes::add);
+      output.setDropIntermediateOutput(true);
+
+      // each packet ends part way through a line
+      String packet = "a\n" + repeat('b', FRAME_CHARS - 2);
+      for (int i = 0; i < FLOOD_PACKETS; i++)
+         output.accept(packet);
+      Assert.assertTrue(output.isFloodMode());
+
+      output.flush();
+      String written = join(writes);
+
+      // the oldest output is dropped, and output resumes at a line start
+      Assert.assertTrue(written.length() < FLOOD_PACKETS * FRAME_CHARS);
+      Assert.assertTrue(written.length() <= 4 * FRAME_CHARS);
+      Assert.assertTrue(written.startsWith("b"));
+      Assert.assertTrue(written.endsWith(packet));
+      Assert.assertFalse(output.isFloodMode());
+      Assert.assertEquals(2, floodModes.size());
+   }
+
+   public void testFloodModeKeepsEscapeSequences()
+   {
+      List<String> writes = new ArrayList<>();
+      TerminalOutputAccumulator output = new TerminalOutputAccumulator(writes::add, null);
+      output.setDropIntermediateOutput(true);
+
+      // the dropped output switches to the alternate screen and back, sets
+      // the title (split across packets) and changes colors
+      String altScreenOn = "\u001b[?1049h";
+      String altScreenOff = "\u001b[?1049l";
+      output.accept(altScreenOn + repeat('a', FRAME_CHARS) + "\u001b]0;ti");
+      output.accept("tle\u0007\u001b[31m" + repeat('a', FRAME_CHARS) + altScreenOff + "\u001b[0m");
+
+      String packet = "a\n" + repeat('b', FRAME_CHARS - 2);
+      for (int i = 0; i < FLOOD_PACKETS; i++)
+         output.accept(packet);
+      Assert.assertTrue(output.isFloodMode());
+
+      output.flush();
+      String written = join(writes);
+
+      // the escape sequences are written in order, without the text
+      String sequences = altScreenOn + "\u001b]0;title\u0007\u001b[31m" + altScreenOff + "\u001b[0m";
+      Assert.assertTrue(written.startsWith(sequences + "b"));
+      Assert.assertTrue(written.endsWith(packet));
+   }
+
+   public void testFloodModeKeepsOpenEscapeSequence()
+   {
+      List<String> writes = new ArrayList<>();
+      TerminalOutputAccumulator output = new TerminalOutputAccumulator(writes::add, null);
+      output.setDropIntermediateOutput(true);
+
+      // the written output ends within a title sequence
+      output.accept("text\u001b]0;ti");
+      output.flush();
+
+      // so the rest of it must be kept when the next output is dropped
+      output.accept("tle\u0007" + repeat('a', FRAME_CHARS));
+      String packet = "a\n" + repeat('b', FRAME_CHARS - 2);
+      for (int i = 0; i < FLOOD_PACKETS; i++)
+         output.accept(packet);
+
+      output.flush();
+      String written = join(writes);
+      Assert.assertTrue(written.startsWith("text\u001b]0;title\u0007b"));
+   }
+
+   public void testScanControlSequences()
+   {
+      StringBuilder kept = new StringBuilder();
+      int state = TerminalOutputAccumulator.scanControlSequences(
+            "ab\u001b[1;3", TerminalOutputAccumulator.STATE_TEXT, kept);
+      Assert.assertEquals(TerminalOutputAccumulator.STATE_CSI, state);
+
+      state = TerminalOutputAccumulator.scanControlSequences(
+            "1mcd\u001b(Bef\u001bP1$r\u001b\\gh", state, kept);
+      Assert.assertEquals(TerminalOutputAccumulator.STATE_TEXT, state);
+      Assert.assertEquals("\u001b[1;31m\u001b(B\u001bP1$r\u001b\\", kept.toString());
+   }
+}
@@ -0,0 +1,80 @@
+/*
+ * UnifiedParserBenchmarks.java
+ *
+ * Copyright (C) 2022 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.vcs.common.diff;
+
+import org.rstudio.core.client.benchmark.Benchmark;
+
+import com.google.gwt.junit.client.GWTTestCase;
+
+public class UnifiedParserBenchmarks extends GWTTestCase
+{
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   public void testParseDiff()
+   {
+      for (int hunks : SIZES)
+      {
+         String diff = createDiff(hunks);
+         Benchmark.run("UnifiedParser.parse", hunks * LINES_PER_HUNK, () ->
+         {
+            int lines = 0;
+            UnifiedParser parser = new UnifiedParser(diff);
+            while (parser.nextFilePair() != null)
+            {
+               DiffChunk chunk;
+               while (null != (chunk = parser.nextChunk()))
+                  lines += chunk.getLines().size();
+            }
+            return lines;
+         });
+      }
+   }
+
+   // a diff of files with HUNKS_PER_FILE hunks each, every hunk replacing
+   // one line between three lines of context
+   private static String createDiff(int hunks)
+   {
+      StringBuilder diff = new StringBuilder();
+      for (int hunk = 0; hunk < hunks; hunk++)
+      {
+         if (hunk % HUNKS_PER_FILE == 0)
+         {
+            String file = "R/file" + (hunk / HUNKS_PER_FILE) + ".R";
+            diff.append("diff --git a/").append(file).append(" b/").append(file).append("\n")
+                .append("index 1a2b3c4..5d6e7f8 100644\n")
+                .append("--- a/").append(file).append("\n")
+                .append("+++ b/").append(file).append("\n");
+         }
+
+         int start = (hunk % HUNKS_PER_FILE) * 20 + 1;
+         diff.append("@@ -").append(start).append(",7 +").append(start).append(",7 @@\n");
+         for (int i = 0; i < 3; i++)
+            diff.append(" x").append(i).append(" <- rnorm(").append(i).append(")\n");
+         diff.append("-y <- mean(x0)\n")
+             .append("+y <- median(x0)\n");
+         for (int i = 3; i < 6; i++)
+            diff.append(" x").append(i).append(" <- rnorm(").append(i).append(")\n");
+      }
+      return diff.toString();
+   }
+
+   private static final int HUNKS_PER_FILE = 10;
+   private static final int LINES_PER_HUNK = 8;
+   private static final int[] SIZES = { 10, 100, 1000 };
+}